@@ -0,0 +1,164 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.index.codec.postings;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.codecs.PostingsFormat;
+import org.apache.lucene.codecs.lucene101.Lucene101Codec;
+import org.apache.lucene.codecs.lucene101.Lucene101PostingsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.codec.postings.ES812PostingsFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares top-10 disjunctions and conjunctions of text terms on {@link ES812PostingsFormat}, which only keeps impacts
+ * on its first skip level, with {@link Lucene101PostingsFormat}, which keeps impacts on two levels and encodes dense
+ * blocks as bit sets.
+ *
+ * <p>Messages are built from a vocabulary whose term frequencies follow a Zipf-like distribution, so that the
+ * {@code frequent} term shows up in most documents while the {@code rare} term only shows up in a few of them,
+ * similar to what we see in log messages.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TopKPostingsFormatBenchmark {
+
+    private static final String FIELD = "message";
+    private static final int VOCABULARY_SIZE = 10_000;
+    private static final int TERMS_PER_DOC = 12;
+
+    @Param({ "es812", "lucene101" })
+    public String postingsFormat;
+
+    @Param({ "1000000" })
+    public int numDocs;
+
+    @Param({ "frequent_frequent", "frequent_rare", "medium_medium" })
+    public String terms;
+
+    private Path path;
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Query disjunction;
+    private Query conjunction;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        PostingsFormat format = switch (postingsFormat) {
+            case "es812" -> new ES812PostingsFormat();
+            case "lucene101" -> new Lucene101PostingsFormat();
+            default -> throw new IllegalArgumentException("unknown postings format [" + postingsFormat + "]");
+        };
+        path = Files.createTempDirectory("postings");
+        directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer()).setCodec(new Lucene101Codec() {
+            @Override
+            public PostingsFormat getPostingsFormatForField(String field) {
+                return format;
+            }
+        });
+        Random random = new Random(42);
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            StringBuilder message = new StringBuilder();
+            for (int i = 0; i < numDocs; i++) {
+                message.setLength(0);
+                for (int j = 0; j < TERMS_PER_DOC; j++) {
+                    message.append("t").append(zipf(random)).append(' ');
+                }
+                Document doc = new Document();
+                doc.add(new TextField(FIELD, message.toString(), Field.Store.NO));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+
+        String[] queryTerms = switch (terms) {
+            case "frequent_frequent" -> new String[] { "t0", "t1" };
+            case "frequent_rare" -> new String[] { "t0", "t5000" };
+            case "medium_medium" -> new String[] { "t50", "t60" };
+            default -> throw new IllegalArgumentException("unknown terms [" + terms + "]");
+        };
+        disjunction = booleanQuery(queryTerms, BooleanClause.Occur.SHOULD);
+        conjunction = booleanQuery(queryTerms, BooleanClause.Occur.MUST);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        IOUtils.close(reader, directory);
+        IOUtils.rm(path);
+    }
+
+    /**
+     * Picks a term from the vocabulary, term {@code i} being roughly {@code i} times less frequent than term 0.
+     */
+    private static int zipf(Random random) {
+        double harmonic = Math.log(VOCABULARY_SIZE) + 0.5772;
+        return Math.min(VOCABULARY_SIZE - 1, (int) Math.floor(Math.exp(random.nextDouble() * harmonic) - 1));
+    }
+
+    private static Query booleanQuery(String[] queryTerms, BooleanClause.Occur occur) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : queryTerms) {
+            builder.add(new TermQuery(new Term(FIELD, term)), occur);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public TopDocs disjunction() throws IOException {
+        return searcher.search(disjunction, 10);
+    }
+
+    @Benchmark
+    public TopDocs conjunction() throws IOException {
+        return searcher.search(conjunction, 10);
+    }
+}
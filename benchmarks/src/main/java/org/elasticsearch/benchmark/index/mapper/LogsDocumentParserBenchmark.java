@@ -0,0 +1,138 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.index.mapper;
+
+import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.index.mapper.LuceneDocument;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.SourceToParse;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses log documents with nested objects against a stable mapping, optionally with fields that the mapping does not define and
+ * that are ignored since the mapping is not dynamic.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LogsDocumentParserBenchmark {
+
+    @Param({ "0", "10" })
+    private int unmappedFields;
+
+    private final Random random = new Random(1600172297);
+    private MapperService mapperService;
+    private SourceToParse[] sources;
+
+    @Setup
+    public void setUp() {
+        this.mapperService = MapperServiceFactory.create("""
+            {
+              "_doc": {
+                "dynamic": false,
+                "properties": {
+                  "@timestamp": { "type": "date" },
+                  "message": { "type": "text" },
+                  "log": {
+                    "properties": {
+                      "level": { "type": "keyword" },
+                      "logger": { "type": "keyword" },
+                      "file": { "properties": { "path": { "type": "keyword" } } }
+                    }
+                  },
+                  "host": {
+                    "properties": {
+                      "name": { "type": "keyword" },
+                      "ip": { "type": "ip" },
+                      "architecture": { "type": "keyword" }
+                    }
+                  },
+                  "service": {
+                    "properties": {
+                      "name": { "type": "keyword" },
+                      "version": { "type": "keyword" }
+                    }
+                  },
+                  "http": {
+                    "properties": {
+                      "request": { "properties": { "method": { "type": "keyword" }, "bytes": { "type": "long" } } },
+                      "response": { "properties": { "status_code": { "type": "long" }, "bytes": { "type": "long" } } }
+                    }
+                  },
+                  "url": { "properties": { "path": { "type": "keyword" } } },
+                  "event": {
+                    "properties": {
+                      "dataset": { "type": "keyword" },
+                      "duration": { "type": "long" }
+                    }
+                  }
+                }
+              }
+            }
+            """);
+        this.sources = new SourceToParse[1_000];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = generateDocument();
+        }
+    }
+
+    private SourceToParse generateDocument() {
+        StringBuilder doc = new StringBuilder();
+        doc.append("{\"@timestamp\":").append(1_700_000_000_000L + random.nextInt(86_400_000));
+        doc.append(",\"message\":\"").append(randomFrom("request served", "cache miss", "connection reset by peer")).append('"');
+        doc.append(",\"log\":{\"level\":\"").append(randomFrom("INFO", "WARN", "ERROR")).append('"');
+        doc.append(",\"logger\":\"org.example.http.RequestHandler\",\"file\":{\"path\":\"/var/log/app.log\"}}");
+        doc.append(",\"host\":{\"name\":\"host-").append(random.nextInt(100)).append('"');
+        doc.append(",\"ip\":\"10.0.").append(random.nextInt(255)).append('.').append(random.nextInt(255)).append('"');
+        doc.append(",\"architecture\":\"x86_64\"}");
+        doc.append(",\"service\":{\"name\":\"frontend\",\"version\":\"1.2.3\"}");
+        doc.append(",\"http\":{\"request\":{\"method\":\"").append(randomFrom("GET", "POST")).append('"');
+        doc.append(",\"bytes\":").append(random.nextInt(4096)).append('}');
+        doc.append(",\"response\":{\"status_code\":").append(randomFrom(200, 204, 404, 500));
+        doc.append(",\"bytes\":").append(random.nextInt(65536)).append("}}");
+        doc.append(",\"url\":{\"path\":\"/api/v1/items/").append(random.nextInt(10_000)).append("\"}");
+        doc.append(",\"event\":{\"dataset\":\"app.access\",\"duration\":").append(random.nextInt(1_000_000)).append('}');
+        for (int i = 0; i < unmappedFields; i++) {
+            doc.append(",\"labels_").append(i).append("\":\"value-").append(random.nextInt(100)).append('"');
+        }
+        doc.append('}');
+        return new SourceToParse(UUIDs.randomBase64UUID(), new BytesArray(doc.toString()), XContentType.JSON);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private <T> T randomFrom(T... items) {
+        return items[random.nextInt(items.length)];
+    }
+
+    @Benchmark
+    public List<LuceneDocument> parseLogsDocument() {
+        return mapperService.documentMapper().parse(randomFrom(sources)).docs();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.index.merge;
+
+import org.apache.lucene.codecs.DocValuesFormat;
+import org.apache.lucene.codecs.lucene101.Lucene101Codec;
+import org.apache.lucene.codecs.lucene90.Lucene90DocValuesFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.elasticsearch.common.lucene.store.FilterIndexOutput;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.TimePartitionedMergePolicy;
+import org.elasticsearch.index.codec.TimestampRangeDocValuesFormat;
+import org.elasticsearch.index.mapper.DateFieldMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the write amplification of merges and the latency of {@code @timestamp} range queries of the merge policies that
+ * {@code index.merge.policy.type} can select, on data that mostly arrives in timestamp order with a small share of late data.
+ *
+ * <p>{@link #index} indexes all documents and reports how many bytes merges wrote per flushed byte as the {@code writeAmplification}
+ * counter. {@link #rangeCount} counts the documents of random one hour ranges of an index that was built with the same policy.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TimePartitionedMergePolicyBenchmark {
+
+    private static final String FIELD = "@timestamp";
+    private static final long HOUR = TimeValue.timeValueHours(1).millis();
+    private static final int HOURS = 48;
+    private static final int DOCS_PER_FLUSH = 10_000;
+
+    @Param({ "tiered", "log_byte_size", "time_partitioned" })
+    public String mergePolicy;
+
+    @Param({ "2000000" })
+    public int numDocs;
+
+    @Param({ "0.05" })
+    public double lateDataRatio;
+
+    private Path path;
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Random queryRandom;
+
+    /**
+     * The bytes that merges wrote per byte that flushes wrote while indexing.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WriteCounters {
+        public double writeAmplification;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        path = Files.createTempDirectory("time_partitioned_merge_policy");
+        directory = FSDirectory.open(path);
+        indexDocuments(directory);
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        queryRandom = new Random(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        IOUtils.close(reader, directory);
+        IOUtils.rm(path);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void index(WriteCounters counters) throws IOException {
+        Path indexPath = Files.createTempDirectory("time_partitioned_merge_policy_index");
+        try (CountingDirectory countingDirectory = new CountingDirectory(FSDirectory.open(indexPath))) {
+            indexDocuments(countingDirectory);
+            counters.writeAmplification = (double) countingDirectory.mergeBytes.get() / countingDirectory.flushBytes.get();
+        } finally {
+            IOUtils.rm(indexPath);
+        }
+    }
+
+    @Benchmark
+    public int rangeCount() throws IOException {
+        long from = queryRandom.nextInt(HOURS) * HOUR + queryRandom.nextLong(HOUR);
+        return searcher.count(LongPoint.newRangeQuery(FIELD, from, from + HOUR - 1));
+    }
+
+    private void indexDocuments(Directory dir) throws IOException {
+        DocValuesFormat docValuesFormat = new Lucene90DocValuesFormat();
+        DocValuesFormat timestampDocValuesFormat = new TimestampRangeDocValuesFormat(
+            docValuesFormat,
+            DateFieldMapper.Resolution.MILLISECONDS
+        );
+        IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(mergePolicy())
+            .setMergeScheduler(new SerialMergeScheduler())
+            .setMaxBufferedDocs(DOCS_PER_FLUSH)
+            .setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+            .setCodec(new Lucene101Codec() {
+                @Override
+                public DocValuesFormat getDocValuesFormatForField(String field) {
+                    return FIELD.equals(field) ? timestampDocValuesFormat : docValuesFormat;
+                }
+            });
+        Random random = new Random(42);
+        long step = HOURS * HOUR / numDocs;
+        try (IndexWriter writer = new IndexWriter(dir, config)) {
+            for (int i = 0; i < numDocs; i++) {
+                long timestamp = i * step;
+                if (random.nextDouble() < lateDataRatio) {
+                    timestamp = Math.max(0, timestamp - random.nextLong(2 * HOUR));
+                }
+                Document doc = new Document();
+                doc.add(new LongPoint(FIELD, timestamp));
+                doc.add(new SortedNumericDocValuesField(FIELD, timestamp));
+                writer.addDocument(doc);
+            }
+            writer.commit();
+        }
+    }
+
+    private MergePolicy mergePolicy() {
+        return switch (mergePolicy) {
+            case "tiered" -> new TieredMergePolicy();
+            case "log_byte_size" -> new LogByteSizeMergePolicy();
+            case "time_partitioned" -> new TimePartitionedMergePolicy(new LogByteSizeMergePolicy(), TimeValue.timeValueHours(1));
+            default -> throw new IllegalArgumentException("unknown merge policy [" + mergePolicy + "]");
+        };
+    }
+
+    /**
+     * Counts the bytes of the files that flushes and merges write.
+     */
+    private static class CountingDirectory extends FilterDirectory {
+
+        final AtomicLong flushBytes = new AtomicLong();
+        final AtomicLong mergeBytes = new AtomicLong();
+
+        CountingDirectory(Directory in) {
+            super(in);
+        }
+
+        @Override
+        public IndexOutput createOutput(String name, IOContext context) throws IOException {
+            AtomicLong counter = context.context() == IOContext.Context.MERGE ? mergeBytes : flushBytes;
+            return new CountingIndexOutput(super.createOutput(name, context), counter);
+        }
+    }
+
+    private static class CountingIndexOutput extends FilterIndexOutput {
+
+        private final AtomicLong counter;
+
+        CountingIndexOutput(IndexOutput out, AtomicLong counter) {
+            super("CountingIndexOutput(out=" + out + ")", out);
+            this.counter = counter;
+        }
+
+        @Override
+        public void close() throws IOException {
+            counter.addAndGet(getFilePointer());
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.ingest;
+
+import org.elasticsearch.grok.Grok;
+import org.elasticsearch.grok.GrokBuiltinPatterns;
+import org.elasticsearch.grok.MatcherWatchdog;
+import org.elasticsearch.grok.PatternBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches log lines against a grok expression made of several common log formats, like a grok processor with many patterns does. The
+ * {@code grok} parameter picks between a {@link Grok} that is built from the alternatives, which rules out the formats that cannot
+ * match a line before matching it, and one that is built from the combined pattern.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GrokBenchmark {
+
+    private static final List<String> PATTERNS = List.of(
+        "(?:%{ELB_ACCESS_LOG})",
+        "(?:%{CISCO_TAGGED_SYSLOG})",
+        "(?:%{HAPROXYHTTP})",
+        "(?:%{MONGO3_LOG})",
+        "(?:%{RUBY_LOGGER})",
+        "(?:%{POSTGRESQL})",
+        "(?:%{SYSLOGLINE})",
+        "(?:%{COMBINEDAPACHELOG})"
+    );
+
+    private static final Map<String, String> LINES = Map.of(
+        "last",
+        "127.0.0.1 - frank [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326 "
+            + "\"http://www.example.com/start.html\" \"Mozilla/4.08 [en] (Win98; I ;Nav)\"",
+        "none",
+        "2024-05-01 12:00:00,123 this line is in none of the formats that the grok expression knows about"
+    );
+
+    @Param({ "alternatives", "combined" })
+    private String grok;
+
+    @Param({ "last", "none" })
+    private String line;
+
+    private Grok compiled;
+    private String text;
+
+    @Setup
+    public void setup() {
+        PatternBank patternBank = GrokBuiltinPatterns.get(false);
+        compiled = switch (grok) {
+            case "alternatives" -> Grok.ofAlternatives(patternBank, PATTERNS, MatcherWatchdog.noop(), message -> {});
+            case "combined" -> new Grok(patternBank, String.join("|", PATTERNS), MatcherWatchdog.noop(), message -> {});
+            default -> throw new IllegalArgumentException("unknown grok [" + grok + "]");
+        };
+        text = LINES.get(line);
+    }
+
+    @Benchmark
+    public Map<String, Object> captures() {
+        return compiled.captures(text);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.ingest;
+
+import org.elasticsearch.cluster.metadata.ProjectId;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.ingest.AbstractProcessor;
+import org.elasticsearch.ingest.ConfigurationUtils;
+import org.elasticsearch.ingest.IngestDocument;
+import org.elasticsearch.ingest.Pipeline;
+import org.elasticsearch.ingest.Processor;
+import org.elasticsearch.plugins.PluginsLoader;
+import org.elasticsearch.plugins.PluginsService;
+import org.elasticsearch.plugins.ScriptPlugin;
+import org.elasticsearch.script.ScriptModule;
+import org.elasticsearch.script.ScriptService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes a pipeline that resembles the pipelines that Beats and Fleet integrations install: a series of cheap processors that each
+ * only run if a painless condition on the document holds. The {@code conditions} parameter picks conditions that only compare a field
+ * to {@code null} or to a string, which are evaluated without executing the script, or equivalent conditions that must run the script.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PipelineConditionsBenchmark {
+
+    @Param({ "simple", "script" })
+    private String conditions;
+
+    private final PluginsService pluginsService = new PluginsService(
+        Settings.EMPTY,
+        null,
+        PluginsLoader.createPluginsLoader(Set.of(), PluginsLoader.loadPluginsBundles(Path.of(System.getProperty("plugins.dir"))), Map.of())
+    );
+    private final ScriptModule scriptModule = new ScriptModule(Settings.EMPTY, pluginsService.filterPlugins(ScriptPlugin.class).toList());
+
+    private Pipeline pipeline;
+    private IngestDocument document;
+
+    @Setup
+    public void setup() throws Exception {
+        ScriptService scriptService = new ScriptService(Settings.EMPTY, scriptModule.engines, scriptModule.contexts, () -> 1L);
+        Map<String, Processor.Factory> factories = Map.of("set", new SetProcessor.Factory(), "rename", new RenameProcessor.Factory());
+
+        List<Map<String, Object>> processors = new ArrayList<>();
+        processors.add(processor("rename", "ctx.message != null", Map.of("field", "message", "target_field", "event.original")));
+        processors.add(processor("set", "ctx.event?.dataset == null", Map.of("field", "event.dataset", "value", "system.auth")));
+        processors.add(
+            processor("set", "ctx.event?.dataset == 'system.auth'", Map.of("field", "event.category", "value", "authentication"))
+        );
+        processors.add(processor("set", "ctx.event?.dataset == 'system.syslog'", Map.of("field", "event.category", "value", "host")));
+        processors.add(processor("set", "ctx.event?.kind == null", Map.of("field", "event.kind", "value", "event")));
+        processors.add(processor("set", "ctx.host?.os?.type == 'linux'", Map.of("field", "host.os.family", "value", "unix")));
+        processors.add(processor("set", "ctx.process?.name != null", Map.of("field", "process.present", "value", "true")));
+        processors.add(processor("set", "ctx.user?.name != null", Map.of("field", "related.user", "value", "root")));
+        processors.add(processor("set", "ctx.error?.message != null", Map.of("field", "event.outcome", "value", "failure")));
+        processors.add(processor("set", "ctx.event?.outcome == null", Map.of("field", "event.outcome", "value", "success")));
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(Pipeline.PROCESSORS_KEY, processors);
+        pipeline = Pipeline.create("benchmark", config, factories, scriptService, ProjectId.DEFAULT);
+
+        Map<String, Object> source = new HashMap<>();
+        source.put("message", "Accepted publickey for root from 10.0.0.1 port 52301 ssh2");
+        source.put("host", new HashMap<>(Map.of("name", "web-1", "os", new HashMap<>(Map.of("type", "linux")))));
+        source.put("process", new HashMap<>(Map.of("name", "sshd", "pid", 1234)));
+        source.put("user", new HashMap<>(Map.of("name", "root")));
+        document = new IngestDocument("logs-system.auth-default", "1", 1, null, VersionType.INTERNAL, source);
+    }
+
+    private Map<String, Object> processor(String type, String condition, Map<String, Object> config) {
+        Map<String, Object> processorConfig = new HashMap<>(config);
+        // an always true operand keeps the condition equivalent but forces the script to be executed
+        processorConfig.put("if", conditions.equals("simple") ? condition : "(" + condition + ") && ctx != null");
+        return Map.of(type, processorConfig);
+    }
+
+    @Benchmark
+    public IngestDocument execute() {
+        IngestDocument[] result = new IngestDocument[1];
+        pipeline.execute(new IngestDocument(document), (doc, e) -> {
+            if (e != null) {
+                throw new AssertionError(e);
+            }
+            result[0] = doc;
+        });
+        return result[0];
+    }
+
+    private static final class SetProcessor extends AbstractProcessor {
+        private final String field;
+        private final String value;
+
+        SetProcessor(String tag, String description, String field, String value) {
+            super(tag, description);
+            this.field = field;
+            this.value = value;
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument document) {
+            document.setFieldValue(field, value);
+            return document;
+        }
+
+        @Override
+        public String getType() {
+            return "set";
+        }
+
+        static final class Factory implements Processor.Factory {
+            @Override
+            public Processor create(
+                Map<String, Processor.Factory> factories,
+                String tag,
+                String description,
+                Map<String, Object> config,
+                ProjectId projectId
+            ) {
+                String field = ConfigurationUtils.readStringProperty("set", tag, config, "field");
+                String value = ConfigurationUtils.readStringProperty("set", tag, config, "value");
+                return new SetProcessor(tag, description, field, value);
+            }
+        }
+    }
+
+    private static final class RenameProcessor extends AbstractProcessor {
+        private final String field;
+        private final String targetField;
+
+        RenameProcessor(String tag, String description, String field, String targetField) {
+            super(tag, description);
+            this.field = field;
+            this.targetField = targetField;
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument document) {
+            Object value = document.getFieldValue(field, Object.class);
+            document.removeField(field);
+            document.setFieldValue(targetField, value);
+            return document;
+        }
+
+        @Override
+        public String getType() {
+            return "rename";
+        }
+
+        static final class Factory implements Processor.Factory {
+            @Override
+            public Processor create(
+                Map<String, Processor.Factory> factories,
+                String tag,
+                String description,
+                Map<String, Object> config,
+                ProjectId projectId
+            ) {
+                String field = ConfigurationUtils.readStringProperty("rename", tag, config, "field");
+                String targetField = ConfigurationUtils.readStringProperty("rename", tag, config, "target_field");
+                return new RenameProcessor(tag, description, field, targetField);
+            }
+        }
+    }
+}
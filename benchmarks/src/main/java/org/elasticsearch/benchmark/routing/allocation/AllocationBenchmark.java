@@ -104,7 +104,11 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            "     1000|     50|        1|   100",
+            "    10000|      5|        1|   200",
+            "     5000|     10|        2|   300" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
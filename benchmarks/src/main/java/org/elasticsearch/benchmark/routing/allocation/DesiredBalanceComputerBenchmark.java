@@ -0,0 +1,198 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.benchmark.routing.allocation;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.cluster.ClusterInfo;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.AllocationService;
+import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalance;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceComputer;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceInput;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.time.TimeProvider;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures the desired balance computations that follow the creation and the deletion of a single index in an otherwise balanced
+ * cluster, with and without incremental computation. Only the creation can be computed incrementally, the deletion always
+ * rebalances the whole cluster.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class DesiredBalanceComputerBenchmark {
+
+    @Param(
+        {
+            // indices| shards| replicas| nodes
+            "      100|      3|        1|    10",
+            "     1000|      3|        1|    50",
+            "     5000|      1|        1|   100" }
+    )
+    public String indicesShardsReplicasNodes = "100|3|1|10";
+
+    @Param({ "false", "true" })
+    public boolean incremental;
+
+    private AllocationDeciders deciders;
+    private DesiredBalanceComputer desiredBalanceComputer;
+    private ClusterState balancedClusterState;
+    private ClusterState clusterStateWithNewIndex;
+    private DesiredBalance desiredBalance;
+    private long inputIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String[] params = indicesShardsReplicasNodes.split("\\|");
+
+        int numIndices = toInt(params[0]);
+        int numShards = toInt(params[1]);
+        int numReplicas = toInt(params[2]);
+        int numNodes = toInt(params[3]);
+
+        final Settings settings = Settings.builder()
+            .put(DesiredBalanceComputer.INCREMENTAL_COMPUTATION_ENABLED_SETTING.getKey(), incremental)
+            .build();
+        final ClusterSettings clusterSettings = new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        final AllocationService allocationService = Allocators.createAllocationService(settings, clusterSettings);
+        deciders = Allocators.defaultAllocationDeciders(settings, clusterSettings);
+        desiredBalanceComputer = new DesiredBalanceComputer(
+            settings,
+            clusterSettings,
+            new SystemTimeProvider(),
+            new BalancedShardsAllocator(settings)
+        );
+
+        Metadata.Builder mb = Metadata.builder();
+        RoutingTable.Builder rb = RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY);
+        for (int i = 1; i <= numIndices; i++) {
+            IndexMetadata indexMetadata = indexMetadata("test_" + i, numShards, numReplicas);
+            mb.put(indexMetadata, false);
+            rb.addAsNew(indexMetadata);
+        }
+        DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 1; i <= numNodes; i++) {
+            nb.add(Allocators.newNode("node" + i, Map.of()));
+        }
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(mb).routingTable(rb).nodes(nb).build();
+        clusterState = allocationService.reroute(clusterState, "reroute", ActionListener.noop());
+        while (clusterState.getRoutingNodes().hasUnassignedShards() || clusterState.getRoutingNodes().hasInactiveShards()) {
+            clusterState = allocationService.applyStartedShards(
+                clusterState,
+                clusterState.getRoutingNodes()
+                    .stream()
+                    .flatMap(shardRoutings -> StreamSupport.stream(shardRoutings.spliterator(), false))
+                    .filter(ShardRouting::initializing)
+                    .toList()
+            );
+            clusterState = allocationService.reroute(clusterState, "reroute", ActionListener.noop());
+        }
+        balancedClusterState = clusterState;
+
+        IndexMetadata newIndexMetadata = indexMetadata("new_index", numShards, numReplicas);
+        clusterStateWithNewIndex = ClusterState.builder(balancedClusterState)
+            .metadata(Metadata.builder(balancedClusterState.metadata()).put(newIndexMetadata, false))
+            .routingTable(
+                RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY, balancedClusterState.routingTable())
+                    .addAsNew(newIndexMetadata)
+            )
+            .build();
+
+        desiredBalance = compute(DesiredBalance.BECOME_MASTER_INITIAL, balancedClusterState);
+    }
+
+    private static IndexMetadata indexMetadata(String name, int numShards, int numReplicas) {
+        return IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current()))
+            .numberOfShards(numShards)
+            .numberOfReplicas(numReplicas)
+            .build();
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    private DesiredBalance compute(DesiredBalance previousDesiredBalance, ClusterState clusterState) {
+        return desiredBalanceComputer.compute(
+            previousDesiredBalance,
+            new DesiredBalanceInput(
+                inputIndex++,
+                new RoutingAllocation(deciders, clusterState, ClusterInfo.EMPTY, SnapshotShardSizeInfo.EMPTY, System.nanoTime()),
+                List.of()
+            ),
+            new LinkedList<>(),
+            input -> true
+        );
+    }
+
+    @Benchmark
+    public DesiredBalance measureIndexCreationAndDeletion() {
+        // each computation starts from the balance computed by the previous one, as it does on the elected master
+        desiredBalance = compute(desiredBalance, clusterStateWithNewIndex);
+        desiredBalance = compute(desiredBalance, balancedClusterState);
+        return desiredBalance;
+    }
+
+    private static class SystemTimeProvider implements TimeProvider {
+        @Override
+        public long relativeTimeInMillis() {
+            return TimeValue.nsecToMSec(System.nanoTime());
+        }
+
+        @Override
+        public long relativeTimeInNanos() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long rawRelativeTimeInMillis() {
+            return TimeValue.nsecToMSec(System.nanoTime());
+        }
+
+        @Override
+        public long absoluteTimeInMillis() {
+            return System.currentTimeMillis();
+        }
+    }
+}
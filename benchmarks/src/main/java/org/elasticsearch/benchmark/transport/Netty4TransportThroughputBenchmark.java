@@ -0,0 +1,143 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.benchmark.transport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.transport.netty4.Netty4Plugin;
+import org.elasticsearch.transport.netty4.NettyAllocator;
+import org.elasticsearch.transport.netty4.SharedGroupFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the NIO and the native epoll event loops of the netty transport, see
+ * {@link Netty4Plugin#NETTY_NATIVE_TRANSPORT}. Each operation sends a batch of messages over a loopback connection and
+ * waits until the server acknowledges that it received all of them.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class Netty4TransportThroughputBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean nativeTransport;
+
+    @Param({ "1024", "65536" })
+    private int messageSize;
+
+    @Param({ "64" })
+    private int messagesPerBatch;
+
+    private final Semaphore acks = new Semaphore(0);
+
+    private SharedGroupFactory.SharedGroup group;
+    private Channel serverChannel;
+    private Channel clientChannel;
+    private ByteBuf message;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        SharedGroupFactory groupFactory = new SharedGroupFactory(
+            Settings.builder()
+                .put(Netty4Plugin.NETTY_NATIVE_TRANSPORT.getKey(), nativeTransport)
+                .put(Netty4Plugin.WORKER_COUNT.getKey(), 2)
+                .build()
+        );
+        if (groupFactory.isNativeTransport() != nativeTransport) {
+            throw new IllegalStateException("the native transport is not available on this platform");
+        }
+        group = groupFactory.getTransportGroup();
+        final long batchBytes = (long) messageSize * messagesPerBatch;
+        serverChannel = new ServerBootstrap().group(group.getLowLevelGroup())
+            .channel(group.getServerChannelType())
+            .childOption(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator())
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        private long received;
+
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            ByteBuf buf = (ByteBuf) msg;
+                            received += buf.readableBytes();
+                            buf.release();
+                            while (received >= batchBytes) {
+                                received -= batchBytes;
+                                ctx.writeAndFlush(Unpooled.wrappedBuffer(new byte[1]));
+                            }
+                        }
+                    });
+                }
+            })
+            .bind(InetAddress.getLoopbackAddress(), 0)
+            .sync()
+            .channel();
+        clientChannel = new Bootstrap().group(group.getLowLevelGroup())
+            .channel(group.getChannelType())
+            .option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator())
+            .option(ChannelOption.TCP_NODELAY, true)
+            .handler(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    ByteBuf buf = (ByteBuf) msg;
+                    acks.release(buf.readableBytes());
+                    buf.release();
+                }
+            })
+            .connect(serverChannel.localAddress())
+            .sync()
+            .channel();
+        message = NettyAllocator.getAllocator().directBuffer(messageSize).writeZero(messageSize);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        clientChannel.close().sync();
+        serverChannel.close().sync();
+        message.release();
+        group.shutdown();
+    }
+
+    @Benchmark
+    public void sendBatch() throws InterruptedException {
+        for (int i = 0; i < messagesPerBatch; i++) {
+            clientChannel.write(message.retainedDuplicate());
+        }
+        clientChannel.flush();
+        acks.acquire();
+    }
+}
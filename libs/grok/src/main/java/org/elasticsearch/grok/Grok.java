@@ -11,7 +11,6 @@ package org.elasticsearch.grok;
 
 import org.jcodings.specific.UTF8Encoding;
 import org.joni.Matcher;
-import org.joni.NameEntry;
 import org.joni.Option;
 import org.joni.Regex;
 import org.joni.Region;
@@ -19,7 +18,7 @@ import org.joni.Syntax;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -57,6 +56,8 @@ public final class Grok {
     private final Regex compiledExpression;
     private final MatcherWatchdog matcherWatchdog;
     private final List<GrokCaptureConfig> captureConfig;
+    // the alternatives of the expression that can be ruled out before matching, null if there are none
+    private final GrokAlternatives alternatives;
 
     public Grok(PatternBank patternBank, String grokPattern, Consumer<String> logCallBack) {
         this(patternBank, grokPattern, true, MatcherWatchdog.noop(), logCallBack);
@@ -76,26 +77,47 @@ public final class Grok {
         boolean namedCaptures,
         MatcherWatchdog matcherWatchdog,
         Consumer<String> logCallBack
+    ) {
+        this(patternBank, List.of(grokPattern), namedCaptures, matcherWatchdog, logCallBack);
+    }
+
+    private Grok(
+        PatternBank patternBank,
+        List<String> grokPatterns,
+        boolean namedCaptures,
+        MatcherWatchdog matcherWatchdog,
+        Consumer<String> logCallBack
     ) {
         this.namedCaptures = namedCaptures;
         this.matcherWatchdog = matcherWatchdog;
 
-        String expression = toRegex(patternBank, grokPattern);
-        byte[] expressionBytes = expression.getBytes(StandardCharsets.UTF_8);
-        this.compiledExpression = new Regex(
-            expressionBytes,
-            0,
-            expressionBytes.length,
-            Option.DEFAULT,
-            UTF8Encoding.INSTANCE,
-            logCallBack::accept
-        );
+        List<String> regexes = new ArrayList<>(grokPatterns.size());
+        for (String grokPattern : grokPatterns) {
+            regexes.add(toRegex(patternBank, grokPattern));
+        }
+        GrokAlternatives.Compiled compiled = GrokAlternatives.Compiled.of(String.join("|", regexes), logCallBack);
+        this.compiledExpression = compiled.regex();
+        this.captureConfig = compiled.captureConfig();
+        this.alternatives = regexes.size() > 1 ? GrokAlternatives.of(regexes, logCallBack) : null;
+    }
 
-        List<GrokCaptureConfig> grokCaptureConfigs = new ArrayList<>();
-        for (Iterator<NameEntry> entry = compiledExpression.namedBackrefIterator(); entry.hasNext();) {
-            grokCaptureConfigs.add(new GrokCaptureConfig(entry.next()));
+    /**
+     * Builds a {@linkplain Grok} that matches any of the given grok patterns, preferring the first one that matches. This is
+     * equivalent to joining the patterns with {@code |}, but texts are only matched against the patterns that can possibly match
+     * them, which is much cheaper when there are many patterns.
+     *
+     * @param grokPatterns the alternative patterns, each of which must be a complete expression such as a (non-capturing) group
+     */
+    public static Grok ofAlternatives(
+        PatternBank patternBank,
+        List<String> grokPatterns,
+        MatcherWatchdog matcherWatchdog,
+        Consumer<String> logCallBack
+    ) {
+        if (grokPatterns.isEmpty()) {
+            throw new IllegalArgumentException("at least one grok pattern is required");
         }
-        this.captureConfig = List.copyOf(grokCaptureConfigs);
+        return new Grok(patternBank, grokPatterns, true, matcherWatchdog, logCallBack);
     }
 
     private static String groupMatch(String name, Region region, String pattern) {
@@ -209,11 +231,40 @@ public final class Grok {
         Function<GrokCaptureConfig, Function<Consumer<Object>, GrokCaptureExtracter>> getExtracter
     ) {
         byte[] utf8Bytes = text.getBytes(StandardCharsets.UTF_8);
-        GrokCaptureExtracter.MapExtracter extracter = new GrokCaptureExtracter.MapExtracter(captureConfig, getExtracter);
-        if (match(utf8Bytes, 0, utf8Bytes.length, extracter)) {
-            return extracter.result();
+        GrokAlternatives.Compiled subset = null;
+        if (alternatives != null) {
+            long candidates = alternatives.candidates(utf8Bytes, 0, utf8Bytes.length);
+            if (candidates == 0) {
+                return null;
+            }
+            if (alternatives.isAll(candidates) == false) {
+                subset = alternatives.compiledSubset(candidates);
+            }
+        }
+        if (subset == null) {
+            GrokCaptureExtracter.MapExtracter extracter = new GrokCaptureExtracter.MapExtracter(captureConfig, getExtracter);
+            if (search(compiledExpression, utf8Bytes, 0, utf8Bytes.length, extracter)) {
+                return extracter.result();
+            }
+            return null;
+        }
+        GrokCaptureExtracter.MapExtracter extracter = new GrokCaptureExtracter.MapExtracter(subset.captureConfig(), getExtracter);
+        if (search(subset.regex(), utf8Bytes, 0, utf8Bytes.length, extracter) == false) {
+            return null;
+        }
+        Map<String, Object> result = extracter.result();
+        if (result.size() <= 1) {
+            return result;
+        }
+        // keep the captures in the order that the full expression would have returned them
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        for (GrokCaptureConfig config : captureConfig) {
+            Object value = result.get(config.name());
+            if (value != null) {
+                ordered.put(config.name(), value);
+            }
         }
-        return null;
+        return ordered;
     }
 
     /**
@@ -226,7 +277,15 @@ public final class Grok {
      * @throws RuntimeException if there was a timeout
      */
     public boolean match(byte[] utf8Bytes, int offset, int length, GrokCaptureExtracter extracter) {
-        Matcher matcher = compiledExpression.matcher(utf8Bytes, offset, offset + length);
+        // the extracter may refer to captures by their number in the full expression, so texts can only be ruled out here
+        if (alternatives != null && alternatives.candidates(utf8Bytes, offset, length) == 0) {
+            return false;
+        }
+        return search(compiledExpression, utf8Bytes, offset, length, extracter);
+    }
+
+    private boolean search(Regex regex, byte[] utf8Bytes, int offset, int length, GrokCaptureExtracter extracter) {
+        Matcher matcher = regex.matcher(utf8Bytes, offset, offset + length);
         int result;
         try {
             matcherWatchdog.register(matcher);
@@ -0,0 +1,361 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.grok;
+
+import org.jcodings.specific.UTF8Encoding;
+import org.joni.NameEntry;
+import org.joni.Option;
+import org.joni.Regex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The alternatives of a {@link Grok} expression that matches any of several patterns, such as the patterns of a grok processor. Joni
+ * tries every alternative at every position of the text, so a text that matches none or only the last of many patterns is expensive.
+ * <p>
+ * Most patterns contain literal text outside of any group, such as the separators between the fields of a log line, that any text the
+ * pattern matches must contain. Finding these literals is much cheaper than running the regex, so they are used to rule out alternatives
+ * before matching: if none of the alternatives can match then matching fails straight away, and if only some can match then the text is
+ * matched against a regex of only these alternatives. An alternative that cannot match never contributes to the result of the full
+ * expression, so this gives the same result as matching the full expression.
+ */
+final class GrokAlternatives {
+
+    /**
+     * Regexes of subsets of the alternatives are compiled on demand, but only up to this many. Texts that need another subset are matched
+     * against the full expression instead.
+     */
+    static final int MAX_COMPILED_SUBSETS = 64;
+
+    private final List<String> regexes;
+    // the longest literal that each alternative requires, in UTF-8, or null if none is known
+    private final byte[][] requiredLiterals;
+    private final Consumer<String> logCallBack;
+    private final Map<Long, Compiled> compiledSubsets = new ConcurrentHashMap<>();
+
+    private GrokAlternatives(List<String> regexes, byte[][] requiredLiterals, Consumer<String> logCallBack) {
+        this.regexes = regexes;
+        this.requiredLiterals = requiredLiterals;
+        this.logCallBack = logCallBack;
+    }
+
+    /**
+     * @param regexes the regex of each alternative, in order
+     * @return the alternatives, or {@code null} if no alternative requires a literal so that none can ever be ruled out
+     */
+    static GrokAlternatives of(List<String> regexes, Consumer<String> logCallBack) {
+        if (regexes.size() > Long.SIZE) {
+            return null;
+        }
+        byte[][] requiredLiterals = new byte[regexes.size()][];
+        boolean anyLiteral = false;
+        for (int i = 0; i < regexes.size(); i++) {
+            String literal = requiredLiteral(regexes.get(i));
+            if (literal != null) {
+                requiredLiterals[i] = literal.getBytes(StandardCharsets.UTF_8);
+                anyLiteral = true;
+            }
+        }
+        return anyLiteral ? new GrokAlternatives(List.copyOf(regexes), requiredLiterals, logCallBack) : null;
+    }
+
+    /**
+     * @return a bit set of the alternatives that may match the given text, bit {@code i} being set if alternative {@code i} may match
+     */
+    long candidates(byte[] utf8Bytes, int offset, int length) {
+        long candidates = 0;
+        for (int i = 0; i < requiredLiterals.length; i++) {
+            if (requiredLiterals[i] == null || indexOf(utf8Bytes, offset, length, requiredLiterals[i]) >= 0) {
+                candidates |= 1L << i;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return whether the given candidates are all the alternatives
+     */
+    boolean isAll(long candidates) {
+        return Long.bitCount(candidates) == requiredLiterals.length;
+    }
+
+    /**
+     * @return the regex of the given subset of the alternatives, or {@code null} if the full expression should be used instead
+     */
+    Compiled compiledSubset(long candidates) {
+        Compiled compiled = compiledSubsets.get(candidates);
+        if (compiled == null && compiledSubsets.size() < MAX_COMPILED_SUBSETS) {
+            // racing threads may compile the same subset, which is harmless
+            compiled = compiledSubsets.computeIfAbsent(candidates, this::compile);
+        }
+        return compiled;
+    }
+
+    private Compiled compile(long candidates) {
+        StringBuilder expression = new StringBuilder();
+        for (int i = 0; i < regexes.size(); i++) {
+            if ((candidates & (1L << i)) != 0) {
+                if (expression.isEmpty() == false) {
+                    expression.append('|');
+                }
+                expression.append(regexes.get(i));
+            }
+        }
+        return Compiled.of(expression.toString(), logCallBack);
+    }
+
+    /**
+     * A compiled regex and the values that it captures.
+     */
+    record Compiled(Regex regex, List<GrokCaptureConfig> captureConfig) {
+        static Compiled of(String expression, Consumer<String> logCallBack) {
+            byte[] expressionBytes = expression.getBytes(StandardCharsets.UTF_8);
+            Regex regex = new Regex(
+                expressionBytes,
+                0,
+                expressionBytes.length,
+                Option.DEFAULT,
+                UTF8Encoding.INSTANCE,
+                logCallBack::accept
+            );
+            List<GrokCaptureConfig> captureConfig = new ArrayList<>();
+            for (Iterator<NameEntry> entry = regex.namedBackrefIterator(); entry.hasNext();) {
+                captureConfig.add(new GrokCaptureConfig(entry.next()));
+            }
+            return new Compiled(regex, List.copyOf(captureConfig));
+        }
+    }
+
+    /**
+     * Whether any inline flag group of the given regex, like {@code (?mi)} or {@code (?i-m:...)}, turns on case-insensitive or extended
+     * mode. Escaped parentheses and parentheses in character classes are not told apart, which only makes this more conservative.
+     */
+    static boolean turnsOnCaseInsensitiveOrExtendedMode(String regex) {
+        for (int start = regex.indexOf("(?"); start >= 0; start = regex.indexOf("(?", start + 2)) {
+            int end = start + 2;
+            while (end < regex.length() && (Character.isLetter(regex.charAt(end)) || regex.charAt(end) == '-')) {
+                end++;
+            }
+            if (end == start + 2 || end == regex.length() || (regex.charAt(end) != ')' && regex.charAt(end) != ':')) {
+                // not a flag group, e.g. a non-capturing, named or look-around group
+                continue;
+            }
+            for (int i = start + 2; i < end && regex.charAt(i) != '-'; i++) {
+                if (regex.charAt(i) == 'i' || regex.charAt(i) == 'x') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(byte[] bytes, int offset, int length, byte[] literal) {
+        final int last = offset + length - literal.length;
+        final byte first = literal[0];
+        outer: for (int i = offset; i <= last; i++) {
+            if (bytes[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < literal.length; j++) {
+                if (bytes[i + j] != literal[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the longest literal that any text matching the given regex must contain, only considering literals outside of groups. This
+     * is conservative: it returns {@code null} for anything it does not fully understand.
+     */
+    static String requiredLiteral(String regex) {
+        regex = unwrapGroup(regex);
+        if (turnsOnCaseInsensitiveOrExtendedMode(regex)) {
+            // literals in the regex do not have to appear as such in the text
+            return null;
+        }
+        String longest = null;
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 == regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (Character.isLetterOrDigit(escaped) == false) {
+                        run.append(escaped);
+                    } else if ("dDsSwWhHbB".indexOf(escaped) >= 0) {
+                        longest = longer(longest, run);
+                    } else {
+                        // back references, hex or unicode escapes, anchors, quoting...
+                        return null;
+                    }
+                    i += 2;
+                }
+                case '(' -> {
+                    longest = longer(longest, run);
+                    i = skipGroup(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                }
+                case '[' -> {
+                    longest = longer(longest, run);
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                }
+                case '|' -> {
+                    // the literals of one branch are not required by the other branches
+                    return null;
+                }
+                case '*', '+', '?', '{' -> {
+                    // the quantified atom may be repeated or missing, so it ends the run and is not part of it
+                    dropLastCodePoint(run);
+                    longest = longer(longest, run);
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        if (end < 0) {
+                            return null;
+                        }
+                        i = end;
+                    }
+                    i++;
+                }
+                case '.', '^', '$', ')' -> {
+                    longest = longer(longest, run);
+                    i++;
+                }
+                default -> {
+                    run.append(c);
+                    i++;
+                }
+            }
+        }
+        return longer(longest, run);
+    }
+
+    /**
+     * Unwraps a regex that consists of a single (named or non-capturing) group, such as the alternatives that grok processors build.
+     */
+    private static String unwrapGroup(String regex) {
+        while (regex.startsWith("(") && skipGroup(regex, 0) == regex.length()) {
+            int bodyStart;
+            if (regex.startsWith("(?:")) {
+                bodyStart = 3;
+            } else if (regex.startsWith("(?<") && regex.startsWith("(?<=") == false && regex.startsWith("(?<!") == false) {
+                bodyStart = regex.indexOf('>') + 1;
+            } else if (regex.startsWith("(?") == false) {
+                bodyStart = 1;
+            } else {
+                return regex;
+            }
+            regex = regex.substring(bodyStart, regex.length() - 1);
+        }
+        return regex;
+    }
+
+    /**
+     * @return the index right after the group that starts at {@code start}, or {@code -1} if the group does not end
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index right after the character class that starts at {@code start}, or {@code -1} if the class does not end
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // a closing bracket right after the opening one (or its negation) is a literal
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static void dropLastCodePoint(StringBuilder run) {
+        if (run.isEmpty() == false) {
+            run.setLength(run.length() - 1);
+            if (run.isEmpty() == false && Character.isHighSurrogate(run.charAt(run.length() - 1))) {
+                run.setLength(run.length() - 1);
+            }
+        }
+    }
+
+    private static String longer(String longest, StringBuilder run) {
+        String candidate = run.toString();
+        run.setLength(0);
+        if (candidate.isEmpty()) {
+            return longest;
+        }
+        if (longest == null || candidate.getBytes(StandardCharsets.UTF_8).length > longest.getBytes(StandardCharsets.UTF_8).length) {
+            return candidate;
+        }
+        return longest;
+    }
+}
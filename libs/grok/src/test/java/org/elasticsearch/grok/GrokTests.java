@@ -39,6 +39,7 @@ import static org.elasticsearch.grok.GrokCaptureType.STRING;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
 public class GrokTests extends ESTestCase {
@@ -779,6 +780,82 @@ public class GrokTests extends ESTestCase {
         assertThat(grok.captures("nomatch"), nullValue());
     }
 
+    public void testAlternatives() {
+        List<String> patterns = List.of(
+            "(?:%{IP:client} - - \\[%{HTTPDATE:timestamp}\\])",
+            "(?:user=%{USERNAME:user} action=%{WORD:action})",
+            "(?:%{WORD:level}: %{GREEDYDATA:message})",
+            "(?:%{NUMBER:code:int})"
+        );
+        PatternBank bank = GrokBuiltinPatterns.get(randomBoolean());
+        Grok alternatives = Grok.ofAlternatives(bank, patterns, MatcherWatchdog.noop(), logger::warn);
+        Grok combined = new Grok(bank, String.join("|", patterns), logger::warn);
+        assertThat(alternatives.captureConfig(), equalTo(combined.captureConfig()));
+
+        for (String text : List.of(
+            "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700]",
+            "user=alice action=login",
+            "WARN: disk is full",
+            "user=bob action=logout WARN: disk is full",
+            "no separators at all 42",
+            "nothing",
+            ""
+        )) {
+            assertThat(text, alternatives.captures(text), equalTo(combined.captures(text)));
+            assertThat(text, alternatives.captureRanges(text), equalTo(combined.captureRanges(text)));
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            assertThat(text, captureBytes(alternatives, utf8, 0, utf8.length), equalTo(captureBytes(combined, utf8, 0, utf8.length)));
+        }
+
+        Grok withoutFallback = Grok.ofAlternatives(bank, patterns.subList(0, 3), MatcherWatchdog.noop(), logger::warn);
+        assertThat(withoutFallback.captures("nothing to see here"), nullValue());
+        assertThat(withoutFallback.captures("ERROR: bad things"), equalTo(Map.of("level", "ERROR", "message", "bad things")));
+    }
+
+    public void testAlternativesWithInlineFlags() {
+        List<String> patterns = List.of("(?:(?mi)user=%{USERNAME:user} action=%{WORD:action})", "(?:%{WORD:level}: %{GREEDYDATA:message})");
+        PatternBank bank = GrokBuiltinPatterns.get(randomBoolean());
+        Grok alternatives = Grok.ofAlternatives(bank, patterns, MatcherWatchdog.noop(), logger::warn);
+        Grok combined = new Grok(bank, String.join("|", patterns), logger::warn);
+
+        for (String text : List.of("user=alice action=login", "USER=alice ACTION=login", "User=bob Action=logout", "WARN: disk is full")) {
+            assertThat(text, alternatives.captures(text), equalTo(combined.captures(text)));
+            assertThat(text, alternatives.captures(text), notNullValue());
+        }
+    }
+
+    public void testTurnsOnCaseInsensitiveOrExtendedMode() {
+        assertTrue(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?i)abc"));
+        assertTrue(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?mi)abc"));
+        assertTrue(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("abc(?x:d e f)"));
+        assertTrue(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?m)abc(?mi-x)def"));
+        assertFalse(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("abc"));
+        assertFalse(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?m)abc"));
+        assertFalse(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?-i)abc"));
+        assertFalse(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?m-ix:abc)"));
+        assertFalse(GrokAlternatives.turnsOnCaseInsensitiveOrExtendedMode("(?<ident>\\w+)(?:x)(?=i)"));
+    }
+
+    public void testRequiredLiteral() {
+        assertThat(GrokAlternatives.requiredLiteral("abc"), equalTo("abc"));
+        assertThat(GrokAlternatives.requiredLiteral("(?:user=(?<user>\\w+) action=)"), equalTo(" action="));
+        assertThat(GrokAlternatives.requiredLiteral("(?<_ingest._grok_match_index.0>a\\[b)"), equalTo("a[b"));
+        assertThat(GrokAlternatives.requiredLiteral("abcd?"), equalTo("abc"));
+        assertThat(GrokAlternatives.requiredLiteral("ab{2}cd"), equalTo("cd"));
+        assertThat(GrokAlternatives.requiredLiteral("a\\dcde[xyz]f"), equalTo("cde"));
+        assertThat(GrokAlternatives.requiredLiteral("[^]abc]x"), equalTo("x"));
+        assertThat(GrokAlternatives.requiredLiteral("(?:abc)|(?:def)"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?i)abc"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?mi)abc"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?mx)a b c"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?m)abc"), equalTo("abc"));
+        assertThat(GrokAlternatives.requiredLiteral("(?m-i)abc"), equalTo("abc"));
+        assertThat(GrokAlternatives.requiredLiteral("def(?mi:abc)"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?:user=(?<user>\\w+)(?m-ix) action=)"), equalTo(" action="));
+        assertThat(GrokAlternatives.requiredLiteral("(a)\\1"), nullValue());
+        assertThat(GrokAlternatives.requiredLiteral("(?:\\w+)"), nullValue());
+    }
+
     public void testMultipleNamedCapturesWithSameName() {
         Map<String, String> bank = new HashMap<>();
         bank.put("SINGLEDIGIT", "[0-9]");
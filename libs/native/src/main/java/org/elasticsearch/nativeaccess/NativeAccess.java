@@ -95,6 +95,15 @@ public interface NativeAccess {
      */
     CloseableByteBuffer newBuffer(int len);
 
+    /**
+     * Creates a new {@link CloseableByteBuffer} whose memory is released by the garbage collector once the buffer is no
+     * longer reachable. Closing the buffer has no effect. Unlike {@link #newBuffer}, the buffer may be used from any thread,
+     * which makes it suitable for buffers that are cached and reused for a long time.
+     * @param len the number of bytes the buffer should allocate
+     * @return the buffer
+     */
+    CloseableByteBuffer newAutoReleasedBuffer(int len);
+
     /**
      * Possible stats for execution filtering.
      */
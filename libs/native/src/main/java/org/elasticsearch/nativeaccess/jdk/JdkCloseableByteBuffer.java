@@ -21,11 +21,27 @@ class JdkCloseableByteBuffer implements CloseableByteBuffer {
     private final ByteBuffer bufferView;
 
     JdkCloseableByteBuffer(int len) {
-        this.arena = Arena.ofConfined();
+        this(Arena.ofConfined(), len);
+    }
+
+    private JdkCloseableByteBuffer(Arena arena, int len) {
+        this.arena = arena;
         this.segment = arena.allocate(len);
         this.bufferView = segment.asByteBuffer();
     }
 
+    /**
+     * Creates a buffer whose memory is released by the garbage collector, rather than when it is closed.
+     */
+    static JdkCloseableByteBuffer autoReleased(int len) {
+        return new JdkCloseableByteBuffer(Arena.ofAuto(), len) {
+            @Override
+            public void close() {
+                // automatic arenas can't be closed, the memory is released once the buffer is unreachable
+            }
+        };
+    }
+
     @Override
     public ByteBuffer buffer() {
         return bufferView;
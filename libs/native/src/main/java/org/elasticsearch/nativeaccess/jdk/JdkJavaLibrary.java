@@ -17,4 +17,9 @@ class JdkJavaLibrary implements JavaLibrary {
     public CloseableByteBuffer newBuffer(int len) {
         return new JdkCloseableByteBuffer(len);
     }
+
+    @Override
+    public CloseableByteBuffer newAutoReleasedBuffer(int len) {
+        return JdkCloseableByteBuffer.autoReleased(len);
+    }
 }
@@ -13,4 +13,6 @@ import org.elasticsearch.nativeaccess.CloseableByteBuffer;
 
 public non-sealed interface JavaLibrary extends NativeLibrary {
     CloseableByteBuffer newBuffer(int len);
+
+    CloseableByteBuffer newAutoReleasedBuffer(int len);
 }
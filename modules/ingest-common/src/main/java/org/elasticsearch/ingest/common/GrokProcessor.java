@@ -21,6 +21,7 @@ import org.elasticsearch.ingest.ConfigurationUtils;
 import org.elasticsearch.ingest.IngestDocument;
 import org.elasticsearch.ingest.Processor;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,7 +56,7 @@ public final class GrokProcessor extends AbstractProcessor {
         super(tag, description);
         this.matchField = matchField;
         this.matchPatterns = matchPatterns;
-        this.grok = new Grok(patternBank, combinePatterns(matchPatterns, traceMatch), matcherWatchdog, logger::debug);
+        this.grok = Grok.ofAlternatives(patternBank, wrapPatterns(matchPatterns, traceMatch), matcherWatchdog, logger::debug);
         this.traceMatch = traceMatch;
         this.ignoreMissing = ignoreMissing;
         // Joni warnings are only emitted on an attempt to match, and the warning emitted for every call to match which is too verbose
@@ -114,28 +115,27 @@ public final class GrokProcessor extends AbstractProcessor {
     }
 
     static String combinePatterns(List<String> patterns, boolean traceMatch) {
-        String combinedPattern;
-        if (patterns.size() > 1) {
-            combinedPattern = "";
-            for (int i = 0; i < patterns.size(); i++) {
-                String pattern = patterns.get(i);
-                String valueWrap;
-                if (traceMatch) {
-                    valueWrap = "(?<" + PATTERN_MATCH_KEY + "." + i + ">" + pattern + ")";
-                } else {
-                    valueWrap = "(?:" + patterns.get(i) + ")";
-                }
-                if (combinedPattern.equals("")) {
-                    combinedPattern = valueWrap;
-                } else {
-                    combinedPattern = combinedPattern + "|" + valueWrap;
-                }
+        return String.join("|", wrapPatterns(patterns, traceMatch));
+    }
+
+    /**
+     * Wraps each pattern in a group so that it can be an alternative of the combined pattern, named after the index of the pattern
+     * when tracing which pattern matched. A single pattern is returned as-is.
+     */
+    static List<String> wrapPatterns(List<String> patterns, boolean traceMatch) {
+        if (patterns.size() == 1) {
+            return patterns;
+        }
+        List<String> wrappedPatterns = new ArrayList<>(patterns.size());
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            if (traceMatch) {
+                wrappedPatterns.add("(?<" + PATTERN_MATCH_KEY + "." + i + ">" + pattern + ")");
+            } else {
+                wrappedPatterns.add("(?:" + pattern + ")");
             }
-        } else {
-            combinedPattern = patterns.get(0);
         }
-
-        return combinedPattern;
+        return wrappedPatterns;
     }
 
     public static final class Factory implements Processor.Factory {
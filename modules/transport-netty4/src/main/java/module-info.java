@@ -20,7 +20,9 @@ module org.elasticsearch.transport.netty4 {
     requires io.netty.common;
     requires io.netty.handler;
     requires io.netty.transport;
+    requires io.netty.transport.classes.epoll;
     requires io.netty.codec.http;
+    requires io.netty.codec.http2;
 
     exports org.elasticsearch.http.netty4;
     exports org.elasticsearch.transport.netty4;
@@ -0,0 +1,60 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+
+import org.elasticsearch.http.HttpStats;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Detects whether a cleartext connection starts with the HTTP/2 connection preface, which clients send when they know that the
+ * server speaks HTTP/2 (h2c with prior knowledge), and configures the rest of the pipeline for the detected protocol. The bytes read
+ * so far are passed on to the configured handlers once this handler removed itself from the pipeline.
+ */
+class Netty4Http2PriorKnowledgeDetector extends ByteToMessageDecoder {
+
+    private static final ByteBuf CONNECTION_PREFACE = Unpooled.unreleasableBuffer(Http2CodecUtil.connectionPrefaceBuf()).asReadOnly();
+
+    private final BiConsumer<Channel, String> pipelineConfigurer;
+
+    /**
+     * @param pipelineConfigurer configures the pipeline of the channel for the detected protocol, which is either
+     *                           {@link HttpStats#HTTP_1_1} or {@link HttpStats#HTTP_2}
+     */
+    Netty4Http2PriorKnowledgeDetector(BiConsumer<Channel, String> pipelineConfigurer) {
+        this.pipelineConfigurer = pipelineConfigurer;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        final int prefaceLength = CONNECTION_PREFACE.readableBytes();
+        final int bytesToCompare = Math.min(in.readableBytes(), prefaceLength);
+        if (ByteBufUtil.equals(CONNECTION_PREFACE, CONNECTION_PREFACE.readerIndex(), in, in.readerIndex(), bytesToCompare) == false) {
+            configure(ctx, HttpStats.HTTP_1_1);
+        } else if (bytesToCompare == prefaceLength) {
+            configure(ctx, HttpStats.HTTP_2);
+        }
+        // otherwise we need more bytes to tell the protocols apart
+    }
+
+    private void configure(ChannelHandlerContext ctx, String protocol) {
+        pipelineConfigurer.accept(ctx.channel(), protocol);
+        ctx.pipeline().remove(this);
+    }
+}
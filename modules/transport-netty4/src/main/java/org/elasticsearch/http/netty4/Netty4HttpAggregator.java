@@ -16,6 +16,7 @@ import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.http.HttpPreRequest;
 import org.elasticsearch.http.netty4.internal.HttpHeadersAuthenticatorUtils;
 
@@ -33,7 +34,7 @@ public class Netty4HttpAggregator extends HttpObjectAggregator {
     private final Netty4HttpContentSizeHandler streamContentSizeHandler;
     private boolean aggregating = true;
 
-    public Netty4HttpAggregator(int maxContentLength, Predicate<HttpPreRequest> decider, HttpRequestDecoder decoder) {
+    public Netty4HttpAggregator(int maxContentLength, Predicate<HttpPreRequest> decider, @Nullable HttpRequestDecoder decoder) {
         super(maxContentLength);
         this.decider = decider;
         this.streamContentSizeHandler = new Netty4HttpContentSizeHandler(decoder, maxContentLength);
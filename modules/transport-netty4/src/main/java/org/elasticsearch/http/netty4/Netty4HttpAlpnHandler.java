@@ -0,0 +1,99 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import io.netty.util.ReferenceCountUtil;
+
+import org.elasticsearch.http.HttpStats;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+/**
+ * Configures the pipeline of a TLS connection for the application protocol that was negotiated with ALPN during the TLS handshake.
+ * Connections of clients that don't use ALPN are configured for HTTP/1.1. Messages that are read before the handshake completed
+ * are buffered and passed on to the configured handlers.
+ */
+class Netty4HttpAlpnHandler extends ChannelInboundHandlerAdapter {
+
+    private final BiConsumer<Channel, String> pipelineConfigurer;
+    private final Queue<Object> bufferedMessages = new ArrayDeque<>();
+    private boolean configured;
+
+    /**
+     * @param pipelineConfigurer configures the pipeline of the channel for the negotiated protocol, which is either
+     *                           {@link HttpStats#HTTP_1_1} or {@link HttpStats#HTTP_2}
+     */
+    Netty4HttpAlpnHandler(BiConsumer<Channel, String> pipelineConfigurer) {
+        this.pipelineConfigurer = pipelineConfigurer;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        bufferedMessages.add(msg);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof SslHandshakeCompletionEvent handshakeCompletionEvent) {
+            final String protocol;
+            if (handshakeCompletionEvent.isSuccess()) {
+                final SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+                protocol = HttpStats.HTTP_2.equals(sslHandler.engine().getApplicationProtocol()) ? HttpStats.HTTP_2 : HttpStats.HTTP_1_1;
+            } else {
+                // the HTTP/1.1 handlers deal with the failure, like for connections that don't support HTTP/2
+                protocol = HttpStats.HTTP_1_1;
+            }
+            configure(ctx, protocol);
+        }
+        ctx.fireUserEventTriggered(evt);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        // the handshake failed, let the HTTP/1.1 handlers deal with the exception
+        configure(ctx, HttpStats.HTTP_1_1);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        Object msg;
+        while ((msg = bufferedMessages.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (bufferedMessages.isEmpty() == false) {
+            Object msg;
+            while ((msg = bufferedMessages.poll()) != null) {
+                ctx.fireChannelRead(msg);
+            }
+            ctx.fireChannelReadComplete();
+        }
+    }
+
+    private void configure(ChannelHandlerContext ctx, String protocol) {
+        if (configured == false) {
+            configured = true;
+            pipelineConfigurer.accept(ctx.channel(), protocol);
+            ctx.pipeline().remove(this);
+        }
+    }
+}
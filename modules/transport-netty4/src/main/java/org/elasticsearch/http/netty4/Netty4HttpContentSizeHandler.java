@@ -27,6 +27,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.SuppressForbidden;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
@@ -89,11 +90,12 @@ public class Netty4HttpContentSizeHandler extends ChannelInboundHandlerAdapter {
     );
 
     private final int maxContentLength;
-    private final HttpRequestDecoder decoder; // need to reset decoder after sending 413
+    @Nullable
+    private final HttpRequestDecoder decoder; // need to reset decoder after sending 413, absent for HTTP/2 streams
     private int currentContentLength; // chunked encoding does not provide content length, need to track actual length
     private boolean ignoreContent;
 
-    public Netty4HttpContentSizeHandler(HttpRequestDecoder decoder, int maxContentLength) {
+    public Netty4HttpContentSizeHandler(@Nullable HttpRequestDecoder decoder, int maxContentLength) {
         this.maxContentLength = maxContentLength;
         this.decoder = decoder;
     }
@@ -129,7 +131,7 @@ public class Netty4HttpContentSizeHandler extends ChannelInboundHandlerAdapter {
 
         boolean isOversized = HttpUtil.getContentLength(request, -1) > maxContentLength;
         if (isOversized) {
-            if (isContinueExpected) {
+            if (isContinueExpected && decoder != null) {
                 // Client is allowed to send content without waiting for Continue.
                 // See https://www.rfc-editor.org/rfc/rfc9110.html#section-10.1.1-11.3
                 // this content will result in HttpRequestDecoder failure and send downstream
@@ -25,6 +25,7 @@ import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.ssl.SslCloseCompletionEvent;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
@@ -120,6 +121,8 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         activityTracker.startActivity();
         try {
             if (msg instanceof HttpRequest request) {
+                // the requests of HTTP/2 connections are read from the child channels of their streams
+                final boolean http2 = ctx.channel() instanceof Http2StreamChannel;
                 final Netty4HttpRequest netty4HttpRequest;
                 if (request.decoderResult().isFailure()) {
                     final Throwable cause = request.decoderResult().cause();
@@ -130,11 +133,11 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
                     } else {
                         nonError = (Exception) cause;
                     }
-                    netty4HttpRequest = new Netty4HttpRequest(readSequence++, (FullHttpRequest) request, nonError);
+                    netty4HttpRequest = new Netty4HttpRequest(readSequence++, http2, (FullHttpRequest) request, nonError);
                 } else {
                     assert currentRequestStream == null : "current stream must be null for new request";
                     if (request instanceof FullHttpRequest fullHttpRequest) {
-                        netty4HttpRequest = new Netty4HttpRequest(readSequence++, fullHttpRequest);
+                        netty4HttpRequest = new Netty4HttpRequest(readSequence++, http2, fullHttpRequest);
                         currentRequestStream = null;
                     } else {
                         var contentStream = new Netty4HttpRequestBodyStream(
@@ -143,7 +146,7 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
                             activityTracker
                         );
                         currentRequestStream = contentStream;
-                        netty4HttpRequest = new Netty4HttpRequest(readSequence++, request, contentStream);
+                        netty4HttpRequest = new Netty4HttpRequest(readSequence++, http2, request, contentStream);
                     }
                 }
                 handlePipelinedRequest(ctx, netty4HttpRequest);
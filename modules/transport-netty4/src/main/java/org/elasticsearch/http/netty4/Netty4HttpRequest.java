@@ -48,11 +48,18 @@ public class Netty4HttpRequest implements HttpRequest {
     private final Exception inboundException;
     private final boolean pooled;
     private final int sequence;
+    private final boolean http2;
     private final QueryStringDecoder queryStringDecoder;
 
-    Netty4HttpRequest(int sequence, io.netty.handler.codec.http.HttpRequest request, Netty4HttpRequestBodyStream contentStream) {
+    Netty4HttpRequest(
+        int sequence,
+        boolean http2,
+        io.netty.handler.codec.http.HttpRequest request,
+        Netty4HttpRequestBodyStream contentStream
+    ) {
         this(
             sequence,
+            http2,
             new DefaultFullHttpRequest(
                 request.protocolVersion(),
                 request.method(),
@@ -68,20 +75,28 @@ public class Netty4HttpRequest implements HttpRequest {
         );
     }
 
-    Netty4HttpRequest(int sequence, FullHttpRequest request) {
-        this(sequence, request, new AtomicBoolean(false), true, Netty4Utils.fullHttpBodyFrom(request.content()));
+    Netty4HttpRequest(int sequence, boolean http2, FullHttpRequest request) {
+        this(sequence, http2, request, new AtomicBoolean(false), true, Netty4Utils.fullHttpBodyFrom(request.content()));
     }
 
-    Netty4HttpRequest(int sequence, FullHttpRequest request, Exception inboundException) {
-        this(sequence, request, new AtomicBoolean(false), true, Netty4Utils.fullHttpBodyFrom(request.content()), inboundException);
+    Netty4HttpRequest(int sequence, boolean http2, FullHttpRequest request, Exception inboundException) {
+        this(sequence, http2, request, new AtomicBoolean(false), true, Netty4Utils.fullHttpBodyFrom(request.content()), inboundException);
     }
 
-    private Netty4HttpRequest(int sequence, FullHttpRequest request, AtomicBoolean released, boolean pooled, HttpBody content) {
-        this(sequence, request, released, pooled, content, null);
+    private Netty4HttpRequest(
+        int sequence,
+        boolean http2,
+        FullHttpRequest request,
+        AtomicBoolean released,
+        boolean pooled,
+        HttpBody content
+    ) {
+        this(sequence, http2, request, released, pooled, content, null);
     }
 
     private Netty4HttpRequest(
         int sequence,
+        boolean http2,
         FullHttpRequest request,
         AtomicBoolean released,
         boolean pooled,
@@ -89,6 +104,7 @@ public class Netty4HttpRequest implements HttpRequest {
         Exception inboundException
     ) {
         this.sequence = sequence;
+        this.http2 = http2;
         this.request = request;
         this.headers = getHttpHeadersAsMap(request.headers());
         this.content = content;
@@ -146,7 +162,10 @@ public class Netty4HttpRequest implements HttpRequest {
 
     @Override
     public HttpVersion protocolVersion() {
-        if (request.protocolVersion().equals(io.netty.handler.codec.http.HttpVersion.HTTP_1_0)) {
+        if (http2) {
+            // requests decoded from the frames of an HTTP/2 stream are HTTP/1.1 requests, the protocol is the one of the channel
+            return HttpRequest.HttpVersion.HTTP_2;
+        } else if (request.protocolVersion().equals(io.netty.handler.codec.http.HttpVersion.HTTP_1_0)) {
             return HttpRequest.HttpVersion.HTTP_1_0;
         } else if (request.protocolVersion().equals(io.netty.handler.codec.http.HttpVersion.HTTP_1_1)) {
             return HttpRequest.HttpVersion.HTTP_1_1;
@@ -169,7 +188,7 @@ public class Netty4HttpRequest implements HttpRequest {
             copiedHeadersWithout,
             copiedTrailingHeadersWithout
         );
-        return new Netty4HttpRequest(sequence, requestWithoutHeader, released, pooled, content);
+        return new Netty4HttpRequest(sequence, http2, requestWithoutHeader, released, pooled, content);
     }
 
     @Override
@@ -17,22 +17,34 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.RecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioChannelOption;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ResourceLeakDetector;
 
 import org.apache.logging.log4j.LogManager;
@@ -54,14 +66,15 @@ import org.elasticsearch.http.HttpHandlingSettings;
 import org.elasticsearch.http.HttpReadTimeoutException;
 import org.elasticsearch.http.HttpServerChannel;
 import org.elasticsearch.http.HttpServerTransport;
+import org.elasticsearch.http.HttpStats;
 import org.elasticsearch.http.netty4.internal.HttpHeadersAuthenticatorUtils;
 import org.elasticsearch.http.netty4.internal.HttpValidator;
 import org.elasticsearch.rest.ChunkedZipResponse;
 import org.elasticsearch.telemetry.tracing.Tracer;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.netty4.AcceptChannelHandler;
-import org.elasticsearch.transport.netty4.NetUtils;
 import org.elasticsearch.transport.netty4.Netty4Plugin;
+import org.elasticsearch.transport.netty4.Netty4Transport;
 import org.elasticsearch.transport.netty4.Netty4Utils;
 import org.elasticsearch.transport.netty4.Netty4WriteThrottlingHandler;
 import org.elasticsearch.transport.netty4.NettyAllocator;
@@ -72,9 +85,13 @@ import org.elasticsearch.transport.netty4.TLSConfig;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_CHUNK_SIZE;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_HEADER_SIZE;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_INITIAL_LINE_LENGTH;
@@ -102,6 +119,8 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
     private final IncrementalBulkService.Enabled enabled;
     private final ThreadWatchdog threadWatchdog;
     private final int readTimeoutMillis;
+    private final boolean http2Enabled;
+    private final int http2MaxConcurrentStreams;
 
     private final int maxCompositeBufferComponents;
 
@@ -146,19 +165,23 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
 
         this.readTimeoutMillis = Math.toIntExact(SETTING_HTTP_READ_TIMEOUT.get(settings).getMillis());
 
+        this.http2Enabled = Netty4Plugin.SETTING_HTTP_HTTP2_ENABLED.get(settings);
+        this.http2MaxConcurrentStreams = Netty4Plugin.SETTING_HTTP_HTTP2_MAX_CONCURRENT_STREAMS.get(settings);
+
         ByteSizeValue receivePredictor = Netty4Plugin.SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE.get(settings);
         recvByteBufAllocator = new FixedRecvByteBufAllocator(receivePredictor.bytesAsInt());
 
         logger.debug(
             "using max_chunk_size[{}], max_header_size[{}], max_initial_line_length[{}], max_content_length[{}], "
-                + "receive_predictor[{}], max_composite_buffer_components[{}], pipelining_max_events[{}]",
+                + "receive_predictor[{}], max_composite_buffer_components[{}], pipelining_max_events[{}], http2_enabled[{}]",
             SETTING_HTTP_MAX_CHUNK_SIZE.get(settings),
             SETTING_HTTP_MAX_HEADER_SIZE.get(settings),
             SETTING_HTTP_MAX_INITIAL_LINE_LENGTH.get(settings),
             maxContentLength,
             receivePredictor,
             maxCompositeBufferComponents,
-            pipeliningMaxEvents
+            pipeliningMaxEvents,
+            http2Enabled
         );
     }
 
@@ -173,10 +196,10 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
             sharedGroup = sharedGroupFactory.getHttpGroup();
             serverBootstrap = new ServerBootstrap();
 
-            serverBootstrap.group(sharedGroup.getLowLevelGroup());
+            final EventLoopGroup group = sharedGroup.getLowLevelGroup();
+            serverBootstrap.group(group);
 
-            // NettyAllocator will return the channel type designed to work with the configuredAllocator
-            serverBootstrap.channel(NettyAllocator.getServerChannelType());
+            serverBootstrap.channel(sharedGroup.getServerChannelType());
 
             // Set the allocators for both the server channel and the child channels created
             serverBootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
@@ -192,22 +215,16 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                 // Netty logs a warning if it can't set the option, so try this only on supported platforms
                 if (IOUtils.LINUX || IOUtils.MAC_OS_X) {
                     if (SETTING_HTTP_TCP_KEEP_IDLE.get(settings) >= 0) {
-                        serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepIdleSocketOption()),
-                            SETTING_HTTP_TCP_KEEP_IDLE.get(settings)
-                        );
+                        serverBootstrap.childOption(Netty4Transport.tcpKeepIdleOption(group), SETTING_HTTP_TCP_KEEP_IDLE.get(settings));
                     }
                     if (SETTING_HTTP_TCP_KEEP_INTERVAL.get(settings) >= 0) {
                         serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption()),
+                            Netty4Transport.tcpKeepIntervalOption(group),
                             SETTING_HTTP_TCP_KEEP_INTERVAL.get(settings)
                         );
                     }
                     if (SETTING_HTTP_TCP_KEEP_COUNT.get(settings) >= 0) {
-                        serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption()),
-                            SETTING_HTTP_TCP_KEEP_COUNT.get(settings)
-                        );
+                        serverBootstrap.childOption(Netty4Transport.tcpKeepCountOption(group), SETTING_HTTP_TCP_KEEP_COUNT.get(settings));
                     }
                 }
             }
@@ -331,7 +348,13 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                     );
             }
             if (tlsConfig.isTLSEnabled()) {
-                ch.pipeline().addLast("ssl", new SslHandler(tlsConfig.createServerSSLEngine()));
+                final SSLEngine sslEngine = tlsConfig.createServerSSLEngine();
+                if (transport.http2Enabled) {
+                    final SSLParameters sslParameters = sslEngine.getSSLParameters();
+                    sslParameters.setApplicationProtocols(new String[] { HttpStats.HTTP_2, HttpStats.HTTP_1_1 });
+                    sslEngine.setSSLParameters(sslParameters);
+                }
+                ch.pipeline().addLast("ssl", new SslHandler(sslEngine));
             }
             final var threadWatchdogActivityTracker = transport.threadWatchdog.getActivityTrackerForCurrentThread();
             ch.pipeline()
@@ -343,6 +366,26 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
             if (transport.readTimeoutMillis > 0) {
                 ch.pipeline().addLast("read_timeout", new ReadTimeoutHandler(transport.readTimeoutMillis, TimeUnit.MILLISECONDS));
             }
+            if (transport.http2Enabled == false) {
+                configureHttp1Pipeline(ch);
+            } else if (tlsConfig.isTLSEnabled()) {
+                ch.pipeline().addLast("alpn", new Netty4HttpAlpnHandler(this::configurePipeline));
+            } else {
+                ch.pipeline().addLast("h2c_detector", new Netty4Http2PriorKnowledgeDetector(this::configurePipeline));
+            }
+            transport.serverAcceptedChannel(nettyHttpChannel);
+        }
+
+        private void configurePipeline(Channel ch, String protocol) {
+            if (HttpStats.HTTP_2.equals(protocol)) {
+                configureHttp2Pipeline(ch);
+                transport.serverNegotiatedHttp2(ch.attr(HTTP_CHANNEL_KEY).get());
+            } else {
+                configureHttp1Pipeline(ch);
+            }
+        }
+
+        private void configureHttp1Pipeline(Channel ch) {
             final HttpRequestDecoder decoder;
             if (httpValidator != null) {
                 decoder = new HttpRequestDecoder(
@@ -364,18 +407,56 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
             }
             decoder.setCumulator(ByteToMessageDecoder.COMPOSITE_CUMULATOR);
             ch.pipeline().addLast("decoder", decoder); // parses the HTTP bytes request into HTTP message pieces
-            if (httpValidator != null) {
-                // runs a validation function on the first HTTP message piece which contains all the headers
-                // if validation passes, the pieces of that particular request are forwarded, otherwise they are discarded
-                ch.pipeline()
-                    .addLast(
-                        "header_validator",
-                        HttpHeadersAuthenticatorUtils.getValidatorInboundHandler(
-                            httpValidator,
-                            transport.getThreadPool().getThreadContext()
-                        )
-                    );
-            }
+            addHeaderValidator(ch.pipeline());
+            ch.pipeline().addLast("decoder_compress", new HttpContentDecompressor()); // this handles request body decompression
+            ch.pipeline().addLast("encoder", new HttpResponseEncoder() {
+                @Override
+                protected boolean isContentAlwaysEmpty(HttpResponse msg) {
+                    // non-chunked responses (Netty4HttpResponse extends Netty's DefaultFullHttpResponse) with chunked transfer
+                    // encoding are only sent by us in response to HEAD requests and must always have an empty body
+                    if (msg instanceof Netty4FullHttpResponse netty4FullHttpResponse && HttpUtil.isTransferEncodingChunked(msg)) {
+                        assert netty4FullHttpResponse.content().isReadable() == false;
+                        return true;
+                    }
+                    return super.isContentAlwaysEmpty(msg);
+                }
+            });
+            configureRequestHandling(ch.pipeline(), decoder);
+        }
+
+        /**
+         * Each HTTP/2 stream is a child channel of the connection with its own pipeline, which decodes the stream's frames into the
+         * same HTTP message pieces as the ones of HTTP/1.1 requests and encodes responses into frames. The body of a request that is
+         * not aggregated is streamed with HTTP/2 flow control, since stream channels stop reading, and therefore stop acknowledging
+         * the received data, when auto-read is turned off.
+         */
+        private void configureHttp2Pipeline(Channel ch) {
+            final Netty4HttpChannel nettyHttpChannel = ch.attr(HTTP_CHANNEL_KEY).get();
+            final Http2Settings http2Settings = Http2Settings.defaultSettings()
+                .maxConcurrentStreams(transport.http2MaxConcurrentStreams)
+                .maxHeaderListSize(handlingSettings.maxHeaderSize());
+            ch.pipeline()
+                .addLast("http2_codec", Http2FrameCodecBuilder.forServer().initialSettings(http2Settings).build())
+                .addLast("http2_multiplexer", new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                    @Override
+                    protected void initChannel(Http2StreamChannel stream) {
+                        final Netty4HttpChannel nettyHttpStream = new Netty4HttpChannel(stream);
+                        stream.attr(HTTP_CHANNEL_KEY).set(nettyHttpStream);
+                        stream.pipeline().addLast("http2_stream_codec", new Http2StreamFrameToHttpObjectCodec(true));
+                        if (httpValidator != null) {
+                            // wraps the request headers like the HTTP/1.1 decoder does so that they can be validated
+                            stream.pipeline().addLast("authentication_context", new Http2AuthenticationContextDecoder());
+                        }
+                        addHeaderValidator(stream.pipeline());
+                        stream.pipeline().addLast("decoder_compress", new HttpContentDecompressor());
+                        configureRequestHandling(stream.pipeline(), null);
+                        transport.serverAcceptedStream(nettyHttpChannel, nettyHttpStream);
+                    }
+                }));
+        }
+
+        private void configureRequestHandling(ChannelPipeline pipeline, @Nullable HttpRequestDecoder decoder) {
+            final var threadWatchdogActivityTracker = transport.threadWatchdog.getActivityTrackerForCurrentThread();
             // combines the HTTP message pieces into a single full HTTP request (with headers and body)
             final HttpObjectAggregator aggregator = new Netty4HttpAggregator(
                 handlingSettings.maxContentLength(),
@@ -385,23 +466,9 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                 decoder
             );
             aggregator.setMaxCumulationBufferComponents(transport.maxCompositeBufferComponents);
-            ch.pipeline()
-                .addLast("decoder_compress", new HttpContentDecompressor()) // this handles request body decompression
-                .addLast("encoder", new HttpResponseEncoder() {
-                    @Override
-                    protected boolean isContentAlwaysEmpty(HttpResponse msg) {
-                        // non-chunked responses (Netty4HttpResponse extends Netty's DefaultFullHttpResponse) with chunked transfer
-                        // encoding are only sent by us in response to HEAD requests and must always have an empty body
-                        if (msg instanceof Netty4FullHttpResponse netty4FullHttpResponse && HttpUtil.isTransferEncodingChunked(msg)) {
-                            assert netty4FullHttpResponse.content().isReadable() == false;
-                            return true;
-                        }
-                        return super.isContentAlwaysEmpty(msg);
-                    }
-                })
-                .addLast("aggregator", aggregator);
+            pipeline.addLast("aggregator", aggregator);
             if (handlingSettings.compression()) {
-                ch.pipeline().addLast("encoder_compress", new HttpContentCompressor(handlingSettings.compressionLevel()) {
+                pipeline.addLast("encoder_compress", new HttpContentCompressor(handlingSettings.compressionLevel()) {
                     @Override
                     protected Result beginEncode(HttpResponse httpResponse, String acceptEncoding) throws Exception {
                         if (ChunkedZipResponse.ZIP_CONTENT_TYPE.equals(httpResponse.headers().get("content-type"))) {
@@ -413,14 +480,23 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                 });
             }
             if (ResourceLeakDetector.isEnabled()) {
-                ch.pipeline().addLast(new Netty4LeakDetectionHandler());
+                pipeline.addLast(new Netty4LeakDetectionHandler());
             }
-            ch.pipeline()
-                .addLast(
-                    "pipelining",
-                    new Netty4HttpPipeliningHandler(transport.pipeliningMaxEvents, transport, threadWatchdogActivityTracker)
+            pipeline.addLast(
+                "pipelining",
+                new Netty4HttpPipeliningHandler(transport.pipeliningMaxEvents, transport, threadWatchdogActivityTracker)
+            );
+        }
+
+        private void addHeaderValidator(ChannelPipeline pipeline) {
+            if (httpValidator != null) {
+                // runs a validation function on the first HTTP message piece which contains all the headers
+                // if validation passes, the pieces of that particular request are forwarded, otherwise they are discarded
+                pipeline.addLast(
+                    "header_validator",
+                    HttpHeadersAuthenticatorUtils.getValidatorInboundHandler(httpValidator, transport.getThreadPool().getThreadContext())
                 );
-            transport.serverAcceptedChannel(nettyHttpChannel);
+            }
         }
 
         @Override
@@ -430,6 +506,25 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
         }
     }
 
+    /**
+     * Wraps the requests decoded from the frames of an HTTP/2 stream with {@link HttpHeadersAuthenticatorUtils}, which only wraps
+     * request heads, so full requests are split into their head and their content.
+     */
+    private static class Http2AuthenticationContextDecoder extends MessageToMessageDecoder<HttpObject> {
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) {
+            if (msg instanceof FullHttpRequest fullHttpRequest) {
+                out.add(HttpHeadersAuthenticatorUtils.wrapAsMessageWithAuthenticationContext(fullHttpRequest));
+                out.add(new DefaultLastHttpContent(fullHttpRequest.content().retain(), fullHttpRequest.trailingHeaders()));
+            } else if (msg instanceof HttpRequest httpRequest) {
+                out.add(HttpHeadersAuthenticatorUtils.wrapAsMessageWithAuthenticationContext(httpRequest));
+            } else {
+                out.add(ReferenceCountUtil.retain(msg));
+            }
+        }
+    }
+
     @ChannelHandler.Sharable
     private static class ServerChannelExceptionHandler extends ChannelInboundHandlerAdapter {
 
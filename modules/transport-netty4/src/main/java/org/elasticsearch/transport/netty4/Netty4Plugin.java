@@ -55,6 +55,21 @@ public class Netty4Plugin extends Plugin implements NetworkPlugin {
         0,
         Setting.Property.NodeScope
     );
+    /*
+     * Whether the HTTP server also accepts HTTP/2 connections, either negotiated with ALPN if TLS is enabled or with prior knowledge
+     * (h2c) otherwise. HTTP/1.1 connections are accepted either way.
+     */
+    public static final Setting<Boolean> SETTING_HTTP_HTTP2_ENABLED = Setting.boolSetting(
+        "http.netty.http2.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Integer> SETTING_HTTP_HTTP2_MAX_CONCURRENT_STREAMS = Setting.intSetting(
+        "http.netty.http2.max_concurrent_streams",
+        100,
+        1,
+        Setting.Property.NodeScope
+    );
     public static final Setting<ByteSizeValue> SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE = byteSizeSetting(
         "http.netty.receive_predictor_size",
         ByteSizeValue.of(64, ByteSizeUnit.KB),
@@ -82,6 +97,15 @@ public class Netty4Plugin extends Plugin implements NetworkPlugin {
         Setting.Property.NodeScope
     );
     public static final Setting<Integer> NETTY_BOSS_COUNT = intSetting("transport.netty.boss_count", 1, 1, Setting.Property.NodeScope);
+    /*
+     * Whether the transport and HTTP event loops use Netty's native epoll transport rather than NIO. Nodes fall back to NIO if the
+     * native transport is not available on the platform, see SharedGroupFactory.
+     */
+    public static final Setting<Boolean> NETTY_NATIVE_TRANSPORT = Setting.boolSetting(
+        "transport.netty.native_transport",
+        false,
+        Setting.Property.NodeScope
+    );
     /*
      * Size in bytes of an individual message received by io.netty.handler.codec.MessageAggregator which accumulates the content for an
      * HTTP request. This number is used for estimating the maximum number of allowed buffers before the MessageAggregator's internal
@@ -129,12 +153,15 @@ public class Netty4Plugin extends Plugin implements NetworkPlugin {
         return Arrays.asList(
             SETTING_HTTP_NETTY_MAX_COMPOSITE_BUFFER_COMPONENTS,
             SETTING_HTTP_WORKER_COUNT,
+            SETTING_HTTP_HTTP2_ENABLED,
+            SETTING_HTTP_HTTP2_MAX_CONCURRENT_STREAMS,
             SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE,
             WORKER_COUNT,
             NETTY_RECEIVE_PREDICTOR_SIZE,
             NETTY_RECEIVE_PREDICTOR_MIN,
             NETTY_RECEIVE_PREDICTOR_MAX,
-            NETTY_BOSS_COUNT
+            NETTY_BOSS_COUNT,
+            NETTY_NATIVE_TRANSPORT
         );
     }
 
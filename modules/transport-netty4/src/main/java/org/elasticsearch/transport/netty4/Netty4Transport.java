@@ -18,8 +18,12 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.socket.nio.NioChannelOption;
 import io.netty.util.AttributeKey;
 
@@ -71,6 +75,28 @@ public class Netty4Transport extends TcpTransport {
     public static final ChannelOption<Integer> OPTION_TCP_KEEP_INTERVAL = NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption());
     public static final ChannelOption<Integer> OPTION_TCP_KEEP_COUNT = NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption());
 
+    /**
+     * Returns the option that sets TCP_KEEPIDLE on the channels of the given group. Channels of the native transport don't
+     * understand the NIO socket options, see {@link SharedGroupFactory}.
+     */
+    public static ChannelOption<Integer> tcpKeepIdleOption(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollChannelOption.TCP_KEEPIDLE : OPTION_TCP_KEEP_IDLE;
+    }
+
+    /**
+     * Returns the option that sets TCP_KEEPINTVL on the channels of the given group.
+     */
+    public static ChannelOption<Integer> tcpKeepIntervalOption(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollChannelOption.TCP_KEEPINTVL : OPTION_TCP_KEEP_INTERVAL;
+    }
+
+    /**
+     * Returns the option that sets TCP_KEEPCNT on the channels of the given group.
+     */
+    public static ChannelOption<Integer> tcpKeepCountOption(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollChannelOption.TCP_KEEPCNT : OPTION_TCP_KEEP_COUNT;
+    }
+
     private final SharedGroupFactory sharedGroupFactory;
     private final RecvByteBufAllocator recvByteBufAllocator;
     private final ByteSizeValue receivePredictorMin;
@@ -141,11 +167,12 @@ public class Netty4Transport extends TcpTransport {
 
     private Bootstrap createClientBootstrap(SharedGroupFactory.SharedGroup sharedGroupForBootstrap) {
         final Bootstrap bootstrap = new Bootstrap();
-        bootstrap.group(sharedGroupForBootstrap.getLowLevelGroup());
+        final EventLoopGroup group = sharedGroupForBootstrap.getLowLevelGroup();
+        bootstrap.group(group);
 
-        // NettyAllocator will return the channel type designed to work with the configured allocator
-        assert Netty4NioSocketChannel.class.isAssignableFrom(NettyAllocator.getChannelType());
-        bootstrap.channel(NettyAllocator.getChannelType());
+        assert sharedGroupForBootstrap.isNativeTransport()
+            || Netty4NioSocketChannel.class.isAssignableFrom(sharedGroupForBootstrap.getChannelType());
+        bootstrap.channel(sharedGroupForBootstrap.getChannelType());
         bootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
 
         // The TCP options are re-configured for client connections to RCS remote clusters
@@ -156,13 +183,13 @@ public class Netty4Transport extends TcpTransport {
         if (TransportSettings.TCP_KEEP_ALIVE.get(settings)) {
             // Note that Netty logs a warning if it can't set the option
             if (TransportSettings.TCP_KEEP_IDLE.get(settings) >= 0) {
-                bootstrap.option(OPTION_TCP_KEEP_IDLE, TransportSettings.TCP_KEEP_IDLE.get(settings));
+                bootstrap.option(tcpKeepIdleOption(group), TransportSettings.TCP_KEEP_IDLE.get(settings));
             }
             if (TransportSettings.TCP_KEEP_INTERVAL.get(settings) >= 0) {
-                bootstrap.option(OPTION_TCP_KEEP_INTERVAL, TransportSettings.TCP_KEEP_INTERVAL.get(settings));
+                bootstrap.option(tcpKeepIntervalOption(group), TransportSettings.TCP_KEEP_INTERVAL.get(settings));
             }
             if (TransportSettings.TCP_KEEP_COUNT.get(settings) >= 0) {
-                bootstrap.option(OPTION_TCP_KEEP_COUNT, TransportSettings.TCP_KEEP_COUNT.get(settings));
+                bootstrap.option(tcpKeepCountOption(group), TransportSettings.TCP_KEEP_COUNT.get(settings));
             }
         }
 
@@ -201,10 +228,10 @@ public class Netty4Transport extends TcpTransport {
 
         final ServerBootstrap serverBootstrap = new ServerBootstrap();
 
-        serverBootstrap.group(sharedGroupForServerBootstrap.getLowLevelGroup());
+        final EventLoopGroup group = sharedGroupForServerBootstrap.getLowLevelGroup();
+        serverBootstrap.group(group);
 
-        // NettyAllocator will return the channel type designed to work with the configuredAllocator
-        serverBootstrap.channel(NettyAllocator.getServerChannelType());
+        serverBootstrap.channel(sharedGroupForServerBootstrap.getServerChannelType());
 
         // Set the allocators for both the server channel and the child channels created
         serverBootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
@@ -218,16 +245,13 @@ public class Netty4Transport extends TcpTransport {
         if (profileSettings.tcpKeepAlive) {
             // Note that Netty logs a warning if it can't set the option
             if (profileSettings.tcpKeepIdle >= 0) {
-                serverBootstrap.childOption(NioChannelOption.of(NetUtils.getTcpKeepIdleSocketOption()), profileSettings.tcpKeepIdle);
+                serverBootstrap.childOption(tcpKeepIdleOption(group), profileSettings.tcpKeepIdle);
             }
             if (profileSettings.tcpKeepInterval >= 0) {
-                serverBootstrap.childOption(
-                    NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption()),
-                    profileSettings.tcpKeepInterval
-                );
+                serverBootstrap.childOption(tcpKeepIntervalOption(group), profileSettings.tcpKeepInterval);
             }
             if (profileSettings.tcpKeepCount >= 0) {
-                serverBootstrap.childOption(NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption()), profileSettings.tcpKeepCount);
+                serverBootstrap.childOption(tcpKeepCountOption(group), profileSettings.tcpKeepCount);
             }
         }
 
@@ -308,13 +332,21 @@ public class Netty4Transport extends TcpTransport {
         }, serverBootstraps::clear, () -> clientBootstrap = null);
     }
 
+    private static void ensureReasonableKeepAliveConfig(Channel ch) {
+        if (ch instanceof EpollSocketChannel epollSocketChannel) {
+            NetUtils.tryEnsureReasonableKeepAliveConfig(epollSocketChannel.config());
+        } else {
+            assert ch instanceof Netty4NioSocketChannel;
+            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+        }
+    }
+
     protected class ClientChannelInitializer extends ChannelInitializer<Channel> {
 
         @Override
         protected void initChannel(Channel ch) throws Exception {
             addClosedExceptionLogger(ch);
-            assert ch instanceof Netty4NioSocketChannel;
-            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+            ensureReasonableKeepAliveConfig(ch);
             setupPipeline(ch, false);
         }
 
@@ -338,8 +370,7 @@ public class Netty4Transport extends TcpTransport {
         @Override
         protected void initChannel(Channel ch) throws Exception {
             addClosedExceptionLogger(ch);
-            assert ch instanceof Netty4NioSocketChannel;
-            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+            ensureReasonableKeepAliveConfig(ch);
             Netty4TcpChannel nettyTcpChannel = new Netty4TcpChannel(ch, true, name, rstOnClose, ch.newSucceededFuture());
             ch.attr(CHANNEL_KEY).set(nettyTcpChannel);
             setupPipeline(ch, isRemoteClusterServerChannel);
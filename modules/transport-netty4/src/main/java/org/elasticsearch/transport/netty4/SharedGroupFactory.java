@@ -9,7 +9,13 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.Future;
 
@@ -21,16 +27,22 @@ import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.http.HttpServerTransport;
 import org.elasticsearch.transport.TcpTransport;
 
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.elasticsearch.common.util.concurrent.EsExecutors.daemonThreadFactory;
+import static org.elasticsearch.core.Strings.format;
 
 /**
  * Creates and returns {@link io.netty.channel.EventLoopGroup} instances. It will return a shared group for
  * both {@link #getHttpGroup()} and {@link #getTransportGroup()} if
  * {@link Netty4Plugin#SETTING_HTTP_WORKER_COUNT} is configured to be 0.
  * If that setting is not 0, then it will return a different group in the {@link #getHttpGroup()} call.
+ * <p>
+ * The groups use Netty's native epoll transport if {@link Netty4Plugin#NETTY_NATIVE_TRANSPORT} is enabled and the
+ * native transport can be used on this node, and NIO otherwise. Bootstraps must use the channel types of the
+ * {@link SharedGroup} they are registered with, see {@link SharedGroup#getChannelType()}.
  */
 public final class SharedGroupFactory {
 
@@ -39,6 +51,7 @@ public final class SharedGroupFactory {
     private final Settings settings;
     private final int workerCount;
     private final int httpWorkerCount;
+    private final boolean nativeTransport;
 
     private RefCountedGroup genericGroup;
     private SharedGroup dedicatedHttpGroup;
@@ -47,6 +60,32 @@ public final class SharedGroupFactory {
         this.settings = settings;
         this.workerCount = Netty4Plugin.WORKER_COUNT.get(settings);
         this.httpWorkerCount = Netty4Plugin.SETTING_HTTP_WORKER_COUNT.get(settings);
+        this.nativeTransport = useNativeTransport(settings);
+    }
+
+    private static boolean useNativeTransport(Settings settings) {
+        if (Netty4Plugin.NETTY_NATIVE_TRANSPORT.get(settings) == false) {
+            return false;
+        }
+        if (Epoll.isAvailable() == false) {
+            logger.warn(
+                () -> format(
+                    "[%s] is enabled but the native transport is not available, using NIO",
+                    Netty4Plugin.NETTY_NATIVE_TRANSPORT.getKey()
+                ),
+                Epoll.unavailabilityCause()
+            );
+            return false;
+        }
+        if (NettyAllocator.getAllocator() instanceof NettyAllocator.NoDirectBuffers) {
+            // the native transport reads into and writes from direct buffers only
+            logger.warn(
+                "[{}] is enabled but netty is configured to not use direct buffers, using NIO",
+                Netty4Plugin.NETTY_NATIVE_TRANSPORT.getKey()
+            );
+            return false;
+        }
+        return true;
     }
 
     public Settings getSettings() {
@@ -57,6 +96,13 @@ public final class SharedGroupFactory {
         return workerCount;
     }
 
+    /**
+     * @return whether the groups of this factory use Netty's native epoll transport
+     */
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
     public synchronized SharedGroup getTransportGroup() {
         return getGenericGroup();
     }
@@ -66,11 +112,11 @@ public final class SharedGroupFactory {
             return getGenericGroup();
         } else {
             if (dedicatedHttpGroup == null) {
-                NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(
+                EventLoopGroup eventLoopGroup = newEventLoopGroup(
                     httpWorkerCount,
                     daemonThreadFactory(settings, HttpServerTransport.HTTP_SERVER_WORKER_THREAD_NAME_PREFIX)
                 );
-                dedicatedHttpGroup = new SharedGroup(new RefCountedGroup(eventLoopGroup));
+                dedicatedHttpGroup = new SharedGroup(new RefCountedGroup(eventLoopGroup, nativeTransport));
             }
             return dedicatedHttpGroup;
         }
@@ -78,23 +124,34 @@ public final class SharedGroupFactory {
 
     private SharedGroup getGenericGroup() {
         if (genericGroup == null) {
-            EventLoopGroup eventLoopGroup = new NioEventLoopGroup(
+            EventLoopGroup eventLoopGroup = newEventLoopGroup(
                 workerCount,
                 EsExecutors.daemonThreadFactory(settings, TcpTransport.TRANSPORT_WORKER_THREAD_NAME_PREFIX)
             );
-            this.genericGroup = new RefCountedGroup(eventLoopGroup);
+            this.genericGroup = new RefCountedGroup(eventLoopGroup, nativeTransport);
         } else {
             genericGroup.incRef();
         }
         return new SharedGroup(genericGroup);
     }
 
+    private EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        if (nativeTransport) {
+            // epoll channels use edge-triggered mode and gathering writes by default
+            return new EpollEventLoopGroup(threads, threadFactory);
+        } else {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+    }
+
     private static class RefCountedGroup extends AbstractRefCounted {
 
         private final EventLoopGroup eventLoopGroup;
+        private final boolean nativeTransport;
 
-        private RefCountedGroup(EventLoopGroup eventLoopGroup) {
+        private RefCountedGroup(EventLoopGroup eventLoopGroup, boolean nativeTransport) {
             this.eventLoopGroup = eventLoopGroup;
+            this.nativeTransport = nativeTransport;
         }
 
         @Override
@@ -125,6 +182,25 @@ public final class SharedGroupFactory {
             return refCountedGroup.eventLoopGroup;
         }
 
+        public boolean isNativeTransport() {
+            return refCountedGroup.nativeTransport;
+        }
+
+        /**
+         * @return the type of the client channels to register with this group
+         */
+        public Class<? extends Channel> getChannelType() {
+            // NettyAllocator will return the channel type designed to work with the configured allocator
+            return refCountedGroup.nativeTransport ? EpollSocketChannel.class : NettyAllocator.getChannelType();
+        }
+
+        /**
+         * @return the type of the server channels to register with this group
+         */
+        public Class<? extends ServerChannel> getServerChannelType() {
+            return refCountedGroup.nativeTransport ? EpollServerSocketChannel.class : NettyAllocator.getServerChannelType();
+        }
+
         public void shutdown() {
             if (isOpen.compareAndSet(true, false)) {
                 refCountedGroup.decRef();
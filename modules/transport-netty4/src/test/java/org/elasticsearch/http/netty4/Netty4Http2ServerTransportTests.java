@@ -0,0 +1,303 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.ssl.SslHandler;
+
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.common.network.NetworkService;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.ssl.EmptyKeyConfig;
+import org.elasticsearch.common.ssl.PemKeyConfig;
+import org.elasticsearch.common.ssl.SslClientAuthenticationMode;
+import org.elasticsearch.common.ssl.SslConfiguration;
+import org.elasticsearch.common.ssl.SslKeyConfig;
+import org.elasticsearch.common.ssl.SslVerificationMode;
+import org.elasticsearch.common.ssl.TrustEverythingConfig;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.http.AbstractHttpServerTransportTestCase;
+import org.elasticsearch.http.HttpRequest;
+import org.elasticsearch.http.HttpServerTransport;
+import org.elasticsearch.http.HttpStats;
+import org.elasticsearch.http.HttpTransportSettings;
+import org.elasticsearch.rest.RestChannel;
+import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.rest.RestResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.telemetry.tracing.Tracer;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.netty4.Netty4Plugin;
+import org.elasticsearch.transport.netty4.NettyAllocator;
+import org.elasticsearch.transport.netty4.SharedGroupFactory;
+import org.elasticsearch.transport.netty4.TLSConfig;
+import org.junit.After;
+import org.junit.Before;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Tests that {@link Netty4HttpServerTransport} serves HTTP/2 connections, using prior knowledge without TLS (see
+ * {@link Netty4Http2PriorKnowledgeDetector}) and ALPN with TLS (see {@link Netty4HttpAlpnHandler}), and that it keeps serving
+ * HTTP/1.1 connections when HTTP/2 is enabled.
+ */
+public class Netty4Http2ServerTransportTests extends AbstractHttpServerTransportTestCase {
+
+    private NetworkService networkService;
+    private ThreadPool threadPool;
+    private ClusterSettings clusterSettings;
+
+    @Before
+    public void setup() throws Exception {
+        networkService = new NetworkService(Collections.emptyList());
+        threadPool = new TestThreadPool("test");
+        clusterSettings = randomClusterSettings();
+    }
+
+    @After
+    public void shutdown() throws Exception {
+        if (threadPool != null) {
+            threadPool.shutdownNow();
+        }
+        threadPool = null;
+        networkService = null;
+        clusterSettings = null;
+    }
+
+    public void testHttp2WithPriorKnowledge() throws Exception {
+        try (Netty4HttpServerTransport transport = startTransport(TLSConfig.noTLS())) {
+            final InetSocketAddress address = randomFrom(transport.boundAddress().boundAddresses()).address();
+            final int requests = between(1, 5);
+            for (int i = 0; i < requests; i++) {
+                assertProtocol(send(address, null, true), HttpRequest.HttpVersion.HTTP_2);
+            }
+            final HttpStats stats = transport.stats();
+            assertThat(stats.protocolStats().get(HttpStats.HTTP_2).totalOpened(), equalTo((long) requests));
+            assertThat(stats.protocolStats().get(HttpStats.HTTP_2).requestCount(), equalTo((long) requests));
+            assertThat(stats.protocolStats().get(HttpStats.HTTP_1_1).requestCount(), equalTo(0L));
+            // the requests of the streams count towards the client stats of their connections
+            assertBusy(() -> {
+                final List<HttpStats.ClientStats> clientStats = transport.stats().clientStats();
+                assertThat(clientStats, hasSize(requests));
+                for (HttpStats.ClientStats connectionStats : clientStats) {
+                    assertThat(connectionStats.requestCount(), equalTo(1L));
+                }
+            });
+        }
+    }
+
+    public void testHttp1WithHttp2Enabled() throws Exception {
+        try (Netty4HttpServerTransport transport = startTransport(TLSConfig.noTLS())) {
+            final InetSocketAddress address = randomFrom(transport.boundAddress().boundAddresses()).address();
+            assertProtocol(send(address, null, false), HttpRequest.HttpVersion.HTTP_1_1);
+            final HttpStats stats = transport.stats();
+            assertThat(stats.protocolStats().get(HttpStats.HTTP_2).totalOpened(), equalTo(0L));
+            assertThat(stats.protocolStats().get(HttpStats.HTTP_1_1).requestCount(), equalTo(1L));
+        }
+    }
+
+    public void testHttp2WithAlpn() throws Exception {
+        try (Netty4HttpServerTransport transport = startTransport(serverTLSConfig())) {
+            final InetSocketAddress address = randomFrom(transport.boundAddress().boundAddresses()).address();
+            assertProtocol(send(address, clientSslEngine(true), true), HttpRequest.HttpVersion.HTTP_2);
+            assertThat(transport.stats().protocolStats().get(HttpStats.HTTP_2).requestCount(), equalTo(1L));
+        }
+    }
+
+    public void testHttp1WithoutAlpn() throws Exception {
+        try (Netty4HttpServerTransport transport = startTransport(serverTLSConfig())) {
+            final InetSocketAddress address = randomFrom(transport.boundAddress().boundAddresses()).address();
+            assertProtocol(send(address, clientSslEngine(false), false), HttpRequest.HttpVersion.HTTP_1_1);
+            assertThat(transport.stats().protocolStats().get(HttpStats.HTTP_2).totalOpened(), equalTo(0L));
+        }
+    }
+
+    private Netty4HttpServerTransport startTransport(TLSConfig tlsConfig) {
+        final Settings settings = Settings.builder()
+            .put(HttpTransportSettings.SETTING_HTTP_PORT.getKey(), getPortRange())
+            .put(Netty4Plugin.SETTING_HTTP_HTTP2_ENABLED.getKey(), true)
+            .build();
+        final HttpServerTransport.Dispatcher dispatcher = new HttpServerTransport.Dispatcher() {
+            @Override
+            public void dispatchRequest(RestRequest request, RestChannel channel, ThreadContext threadContext) {
+                channel.sendResponse(new RestResponse(RestStatus.OK, request.getHttpRequest().protocolVersion().name()));
+            }
+
+            @Override
+            public void dispatchBadRequest(RestChannel channel, ThreadContext threadContext, Throwable cause) {
+                throw new AssertionError(cause);
+            }
+        };
+        final Netty4HttpServerTransport transport = new Netty4HttpServerTransport(
+            settings,
+            networkService,
+            threadPool,
+            xContentRegistry(),
+            dispatcher,
+            clusterSettings,
+            new SharedGroupFactory(settings),
+            Tracer.NOOP,
+            tlsConfig,
+            null,
+            null
+        );
+        transport.start();
+        return transport;
+    }
+
+    private TLSConfig serverTLSConfig() throws Exception {
+        final Path certificates = getDataPath("cert1.crt").getParent();
+        final SslKeyConfig keyConfig = new PemKeyConfig("cert1.crt", "cert1-pkcs8.key", new char[0], certificates);
+        final SslConfiguration sslConfiguration = sslConfiguration(keyConfig);
+        return new TLSConfig(sslConfiguration, (configuration, host, port) -> configuration.createSslContext().createSSLEngine());
+    }
+
+    private static SSLEngine clientSslEngine(boolean alpn) {
+        final SSLEngine sslEngine = sslConfiguration(EmptyKeyConfig.INSTANCE).createSslContext().createSSLEngine();
+        sslEngine.setUseClientMode(true);
+        if (alpn) {
+            final SSLParameters sslParameters = sslEngine.getSSLParameters();
+            sslParameters.setApplicationProtocols(new String[] { HttpStats.HTTP_2, HttpStats.HTTP_1_1 });
+            sslEngine.setSSLParameters(sslParameters);
+        }
+        return sslEngine;
+    }
+
+    private static SslConfiguration sslConfiguration(SslKeyConfig keyConfig) {
+        return new SslConfiguration(
+            "http.ssl.",
+            true,
+            TrustEverythingConfig.TRUST_EVERYTHING,
+            keyConfig,
+            SslVerificationMode.NONE,
+            SslClientAuthenticationMode.NONE,
+            List.of(),
+            List.of("TLSv1.3", "TLSv1.2")
+        );
+    }
+
+    private static void assertProtocol(FullHttpResponse response, HttpRequest.HttpVersion expectedVersion) {
+        try {
+            assertThat(response.status(), equalTo(HttpResponseStatus.OK));
+            assertThat(response.content().toString(StandardCharsets.UTF_8), equalTo(expectedVersion.name()));
+        } finally {
+            response.release();
+        }
+    }
+
+    /**
+     * Sends a GET request on a new connection, either as HTTP/1.1 request or on a stream of an HTTP/2 connection.
+     */
+    private static FullHttpResponse send(InetSocketAddress address, @Nullable SSLEngine sslEngine, boolean http2) throws Exception {
+        final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(HttpHeaderNames.HOST, "localhost");
+        if (http2 == false) {
+            // HTTP/2 stream requests carry this header once decoded, but any HTTP/1.1 client can send it too
+            request.headers().set(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), 3);
+        }
+        final PlainActionFuture<FullHttpResponse> future = new PlainActionFuture<>();
+        final NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            final Bootstrap bootstrap = new Bootstrap().group(group)
+                .channel(NettyAllocator.getChannelType())
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        if (sslEngine != null) {
+                            ch.pipeline().addLast(new SslHandler(sslEngine));
+                        }
+                        if (http2) {
+                            ch.pipeline()
+                                .addLast(Http2FrameCodecBuilder.forClient().build())
+                                .addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+                        } else {
+                            ch.pipeline().addLast(new HttpClientCodec());
+                            addResponseHandlers(ch.pipeline(), future);
+                        }
+                    }
+                });
+            final Channel channel = bootstrap.connect(address).sync().channel();
+            try {
+                if (http2) {
+                    final Http2StreamChannel stream = new Http2StreamChannelBootstrap(channel).handler(
+                        new ChannelInitializer<Http2StreamChannel>() {
+                            @Override
+                            protected void initChannel(Http2StreamChannel ch) {
+                                ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                                addResponseHandlers(ch.pipeline(), future);
+                            }
+                        }
+                    ).open().sync().getNow();
+                    stream.writeAndFlush(request).sync();
+                } else {
+                    channel.writeAndFlush(request).sync();
+                }
+                return future.get(10, TimeUnit.SECONDS);
+            } finally {
+                channel.close().sync();
+            }
+        } finally {
+            group.shutdownGracefully(0, 10, TimeUnit.SECONDS).sync();
+        }
+    }
+
+    private static void addResponseHandlers(ChannelPipeline pipeline, PlainActionFuture<FullHttpResponse> future) {
+        pipeline.addLast(new HttpObjectAggregator(ByteSizeUnit.MB.toIntBytes(1)))
+            .addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                    future.onResponse(msg.retain());
+                }
+
+                @Override
+                public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                    future.onFailure(new Exception(cause));
+                }
+            });
+    }
+}
@@ -9,9 +9,18 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+import org.apache.lucene.util.Constants;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.test.ESTestCase;
 
+import static org.hamcrest.Matchers.instanceOf;
+
 public final class SharedGroupFactoryTests extends ESTestCase {
 
     public void testSharedEventLoops() throws Exception {
@@ -58,4 +67,57 @@ public final class SharedGroupFactoryTests extends ESTestCase {
             assertTrue(transportGroup.getLowLevelGroup().terminationFuture().isDone());
         }
     }
+
+    public void testNioTransportByDefault() {
+        SharedGroupFactory sharedGroupFactory = new SharedGroupFactory(Settings.EMPTY);
+        assertFalse(sharedGroupFactory.isNativeTransport());
+        SharedGroupFactory.SharedGroup transportGroup = sharedGroupFactory.getTransportGroup();
+        try {
+            assertFalse(transportGroup.isNativeTransport());
+            assertThat(transportGroup.getLowLevelGroup(), instanceOf(NioEventLoopGroup.class));
+            assertSame(NettyAllocator.getChannelType(), transportGroup.getChannelType());
+            assertSame(NettyAllocator.getServerChannelType(), transportGroup.getServerChannelType());
+        } finally {
+            transportGroup.shutdown();
+        }
+    }
+
+    public void testNativeLibraryIsBundled() {
+        assumeTrue(
+            "the native epoll libraries are only bundled for linux x86_64 and aarch64",
+            Constants.LINUX && Constants.OS_ARCH.matches("amd64|aarch64")
+        );
+        // throws with the reason the native library could not be loaded
+        Epoll.ensureAvailability();
+    }
+
+    public void testNativeTransport() {
+        Settings settings = Settings.builder()
+            .put(Netty4Plugin.NETTY_NATIVE_TRANSPORT.getKey(), true)
+            .put(Netty4Plugin.SETTING_HTTP_WORKER_COUNT.getKey(), randomIntBetween(0, 2))
+            .build();
+        SharedGroupFactory sharedGroupFactory = new SharedGroupFactory(settings);
+        // falls back to NIO if the native transport can't be used on this platform
+        boolean expectNative = Epoll.isAvailable() && NettyAllocator.getAllocator() instanceof NettyAllocator.NoDirectBuffers == false;
+        assertEquals(expectNative, sharedGroupFactory.isNativeTransport());
+        SharedGroupFactory.SharedGroup httpGroup = sharedGroupFactory.getHttpGroup();
+        SharedGroupFactory.SharedGroup transportGroup = sharedGroupFactory.getTransportGroup();
+        try {
+            for (SharedGroupFactory.SharedGroup group : new SharedGroupFactory.SharedGroup[] { httpGroup, transportGroup }) {
+                assertEquals(expectNative, group.isNativeTransport());
+                if (expectNative) {
+                    assertThat(group.getLowLevelGroup(), instanceOf(EpollEventLoopGroup.class));
+                    assertSame(EpollSocketChannel.class, group.getChannelType());
+                    assertSame(EpollServerSocketChannel.class, group.getServerChannelType());
+                } else {
+                    assertThat(group.getLowLevelGroup(), instanceOf(NioEventLoopGroup.class));
+                    assertSame(NettyAllocator.getChannelType(), group.getChannelType());
+                    assertSame(NettyAllocator.getServerChannelType(), group.getServerChannelType());
+                }
+            }
+        } finally {
+            httpGroup.shutdown();
+            transportGroup.shutdown();
+        }
+    }
 }
@@ -20,6 +20,7 @@ import org.apache.lucene.tests.analysis.MockTokenizer;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.geo.GeoPoint;
@@ -27,6 +28,8 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.Settings.Builder;
 import org.elasticsearch.common.time.DateFormatter;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.analysis.AbstractIndexAnalyzerProvider;
 import org.elasticsearch.index.analysis.AnalyzerProvider;
 import org.elasticsearch.index.analysis.PreConfiguredTokenFilter;
@@ -47,6 +50,7 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder.BoundaryScannerType;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder.Field;
+import org.elasticsearch.search.profile.ProfileResult;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.elasticsearch.test.ESIntegTestCase;
@@ -290,6 +294,100 @@ public class HighlighterSearchIT extends ESIntegTestCase {
         );
     }
 
+    public void testFieldAliasIsHighlightedOncePerHit() throws IOException {
+        XContentBuilder mappings = jsonBuilder().startObject()
+            .startObject("_doc")
+            .startObject("properties")
+            .startObject("text")
+            .field("type", "text")
+            .endObject()
+            .startObject("alias")
+            .field("type", "alias")
+            .field("path", "text")
+            .endObject()
+            .endObject()
+            .endObject()
+            .endObject();
+        assertAcked(prepareCreate("test").setSettings(indexSettings(1, 0)).setMapping(mappings));
+
+        prepareIndex("test").setId("1").setSource("text", "foo").get();
+        refresh();
+
+        HighlightBuilder builder = new HighlightBuilder().field(new Field("*")).requireFieldMatch(false);
+        assertResponse(prepareSearch().setQuery(matchQuery("text", "foo")).highlighter(builder).setProfile(true), response -> {
+            assertHighlight(response, 0, "text", 0, equalTo("<em>foo</em>"));
+            assertHighlight(response, 0, "alias", 0, equalTo("<em>foo</em>"));
+            Map<String, Object> debug = highlightDebugInfo(response);
+            assertThat(debug.get("highlighted_fields"), equalTo(1));
+            assertThat(debug.get("deduplicated_fields"), equalTo(1));
+            assertThat(debug.get("skipped_hits"), equalTo(0));
+        });
+    }
+
+    public void testHighlightTimeBudget() throws IOException {
+        XContentBuilder mappings = jsonBuilder().startObject()
+            .startObject("_doc")
+            .startObject("properties")
+            .startObject("text")
+            .field("type", "text")
+            .endObject()
+            .startObject("rank")
+            .field("type", "integer")
+            .endObject()
+            .endObject()
+            .endObject()
+            .endObject();
+        assertAcked(
+            prepareCreate("test").setSettings(indexSettings(1, 0).put(IndexSettings.HIGHLIGHT_TIME_BUDGET_SETTING.getKey(), "1nanos"))
+                .setMapping(mappings)
+        );
+
+        int numDocs = between(2, 10);
+        for (int i = 0; i < numDocs; i++) {
+            prepareIndex("test").setId(Integer.toString(i)).setSource("text", "foo", "rank", i).get();
+        }
+        indicesAdmin().prepareForceMerge("test").setMaxNumSegments(1).get();
+        refresh();
+
+        // the best ranked hit is highlighted, the budget is used up for the others
+        SearchRequestBuilder search = prepareSearch().setQuery(matchQuery("text", "foo"))
+            .addSort("rank", SortOrder.ASC)
+            .setSize(numDocs)
+            .highlighter(new HighlightBuilder().field("text"))
+            .setProfile(true);
+        assertResponse(search, response -> {
+            assertHitCount(response, numDocs);
+            assertHighlight(response, 0, "text", 0, equalTo("<em>foo</em>"));
+            for (int i = 1; i < numDocs; i++) {
+                assertNotHighlighted(response, i, "text");
+            }
+            Map<String, Object> debug = highlightDebugInfo(response);
+            assertThat(debug.get("highlighted_fields"), equalTo(1));
+            assertThat(debug.get("skipped_hits"), equalTo(numDocs - 1));
+        });
+
+        updateIndexSettings(Settings.builder().put(IndexSettings.HIGHLIGHT_TIME_BUDGET_SETTING.getKey(), TimeValue.MINUS_ONE), "test");
+        assertResponse(search, response -> {
+            for (int i = 0; i < numDocs; i++) {
+                assertHighlight(response, i, "text", 0, equalTo("<em>foo</em>"));
+            }
+            Map<String, Object> debug = highlightDebugInfo(response);
+            assertThat(debug.get("highlighted_fields"), equalTo(numDocs));
+            assertThat(debug.get("skipped_hits"), equalTo(0));
+        });
+    }
+
+    private static Map<String, Object> highlightDebugInfo(SearchResponse response) {
+        assertThat(response.getProfileResults().size(), equalTo(1));
+        ProfileResult fetchProfile = response.getProfileResults().values().iterator().next().getFetchPhase();
+        return fetchProfile.getProfiledChildren()
+            .stream()
+            .filter(child -> child.getQueryName().equals(HighlightPhase.class.getSimpleName()))
+            .findFirst()
+            .orElseThrow()
+            .getDebugInfo();
+    }
+
     public void testHighlightingWhenFieldsAreNotStoredThereIsNoSource() throws IOException {
         XContentBuilder mappings = jsonBuilder();
         mappings.startObject();
@@ -80,6 +80,8 @@ public class AggregationProfilerIT extends ESIntegTestCase {
     private static final String HAS_FILTER = "has_filter";
     private static final String SEGMENTS_WITH_SINGLE = "segments_with_single_valued_ords";
     private static final String SEGMENTS_WITH_MULTI = "segments_with_multi_valued_ords";
+    private static final String SEGMENTS_FROM_POINTS = "segments_answered_from_points";
+    private static final String SEGMENTS_COLLECTED = "segments_collected";
 
     private static final String NUMBER_FIELD = "number";
     private static final String TAG_FIELD = "tag";
@@ -372,7 +374,12 @@ public class AggregationProfilerIT extends ESIntegTestCase {
                     assertThat(diversifyBreakdown.get(POST_COLLECTION), greaterThan(0L));
                     assertThat(maxBreakdown.get(BUILD_AGGREGATION), greaterThan(0L));
                     assertThat(maxBreakdown.get(REDUCE), equalTo(0L));
-                    assertMap(maxAggResult.getDebugInfo(), matchesMap().entry(BUILT_BUCKETS, greaterThan(0)));
+                    assertMap(
+                        maxAggResult.getDebugInfo(),
+                        matchesMap().entry(BUILT_BUCKETS, greaterThan(0))
+                            .entry(SEGMENTS_FROM_POINTS, 0)
+                            .entry(SEGMENTS_COLLECTED, greaterThan(0))
+                    );
                     assertThat(maxAggResult.getProfiledChildren().size(), equalTo(0));
                 }
             }
@@ -485,7 +492,12 @@ public class AggregationProfilerIT extends ESIntegTestCase {
                     assertThat(maxBreakdown.get(POST_COLLECTION), greaterThan(0L));
                     assertThat(maxBreakdown.get(BUILD_AGGREGATION), greaterThan(0L));
                     assertThat(maxBreakdown.get(REDUCE), equalTo(0L));
-                    assertMap(maxAggResult.getDebugInfo(), matchesMap().entry(BUILT_BUCKETS, greaterThan(0)));
+                    assertMap(
+                        maxAggResult.getDebugInfo(),
+                        matchesMap().entry(BUILT_BUCKETS, greaterThan(0))
+                            .entry(SEGMENTS_FROM_POINTS, 0)
+                            .entry(SEGMENTS_COLLECTED, greaterThan(0))
+                    );
                     assertThat(maxAggResult.getProfiledChildren().size(), equalTo(0));
 
                     ProfileResult stringsAggResult = histoAggResultSubAggregations.get("strings");
@@ -537,7 +549,12 @@ public class AggregationProfilerIT extends ESIntegTestCase {
                     assertThat(maxBreakdown.get(POST_COLLECTION), greaterThan(0L));
                     assertThat(maxBreakdown.get(BUILD_AGGREGATION), greaterThan(0L));
                     assertThat(maxBreakdown.get(REDUCE), equalTo(0L));
-                    assertMap(maxAggResult.getDebugInfo(), matchesMap().entry(BUILT_BUCKETS, greaterThan(0)));
+                    assertMap(
+                        maxAggResult.getDebugInfo(),
+                        matchesMap().entry(BUILT_BUCKETS, greaterThan(0))
+                            .entry(SEGMENTS_FROM_POINTS, 0)
+                            .entry(SEGMENTS_COLLECTED, greaterThan(0))
+                    );
                     assertThat(maxAggResult.getProfiledChildren().size(), equalTo(0));
 
                     tagsAggResult = stringsAggResultSubAggregations.get("tags");
@@ -590,7 +607,12 @@ public class AggregationProfilerIT extends ESIntegTestCase {
                     assertThat(maxBreakdown.get(POST_COLLECTION), greaterThan(0L));
                     assertThat(maxBreakdown.get(BUILD_AGGREGATION), greaterThan(0L));
                     assertThat(maxBreakdown.get(REDUCE), equalTo(0L));
-                    assertMap(maxAggResult.getDebugInfo(), matchesMap().entry(BUILT_BUCKETS, greaterThan(0)));
+                    assertMap(
+                        maxAggResult.getDebugInfo(),
+                        matchesMap().entry(BUILT_BUCKETS, greaterThan(0))
+                            .entry(SEGMENTS_FROM_POINTS, 0)
+                            .entry(SEGMENTS_COLLECTED, greaterThan(0))
+                    );
                     assertThat(maxAggResult.getProfiledChildren().size(), equalTo(0));
                 }
             }
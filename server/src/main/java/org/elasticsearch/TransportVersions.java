@@ -214,6 +214,16 @@ public class TransportVersions {
     public static final TransportVersion ESQL_REMOVE_AGGREGATE_TYPE = def(9_045_0_00);
     public static final TransportVersion ADD_PROJECT_ID_TO_DSL_ERROR_INFO = def(9_046_0_00);
     public static final TransportVersion SEMANTIC_TEXT_CHUNKING_CONFIG = def(9_047_00_0);
+    public static final TransportVersion SEARCH_MIN_COMPETITIVE_SCORE = def(9_048_0_00);
+    public static final TransportVersion TRANSPORT_ZSTD_COMPRESSION = def(9_049_0_00);
+    public static final TransportVersion TRANSPORT_ACTION_TIME_HISTOGRAMS = def(9_050_0_00);
+    public static final TransportVersion TRANSPORT_RESPONSE_FRAMES = def(9_051_0_00);
+    public static final TransportVersion HTTP_STATS_PER_PROTOCOL = def(9_052_0_00);
+    public static final TransportVersion PUBLISH_STATE_DIFF_CHAIN = def(9_053_0_00);
+    public static final TransportVersion INDEXING_STATS_INCLUDES_PARSE_TIME = def(9_054_0_00);
+    public static final TransportVersion INDEXING_STATS_INCLUDES_INDEX_BUFFER = def(9_055_0_00);
+    public static final TransportVersion MERGE_STATS_INCLUDES_QUEUED = def(9_056_0_00);
+    public static final TransportVersion QUERY_PROFILE_TIMESTAMP_SKIPPED_SEGMENTS = def(9_057_0_00);
 
     /*
      * STOP! READ THIS FIRST! No, really,
@@ -95,7 +95,7 @@ public final class AnalysisStats implements ToXContentFragment, Writeable {
                 Set<String> indexTokenizerTypes = new HashSet<>();
                 Set<String> indexTokenFilterTypes = new HashSet<>();
 
-                Settings indexSettings = indexMetadata.getSettings();
+                Settings indexSettings = indexMetadata.getSettingsWithoutMaterializing();
                 Map<String, Settings> analyzerSettings = indexSettings.getGroups("index.analysis.analyzer");
                 usedBuiltInAnalyzers.keySet().removeAll(analyzerSettings.keySet());
                 for (Settings analyzerSetting : analyzerSettings.values()) {
@@ -39,6 +39,7 @@ public class ClusterStatsIndices implements ToXContentFragment {
     private final AnalysisStats analysis;
     private final MappingStats mappings;
     private final VersionStats versions;
+    private final IndexSettingsStats indexSettings;
     private final DenseVectorStats denseVectorStats;
     private final SparseVectorStats sparseVectorStats;
 
@@ -46,7 +47,8 @@ public class ClusterStatsIndices implements ToXContentFragment {
         List<ClusterStatsNodeResponse> nodeResponses,
         MappingStats mappingStats,
         AnalysisStats analysisStats,
-        VersionStats versionStats
+        VersionStats versionStats,
+        IndexSettingsStats indexSettingsStats
     ) {
         Map<String, ShardStats> countsPerIndex = new HashMap<>();
 
@@ -98,6 +100,7 @@ public class ClusterStatsIndices implements ToXContentFragment {
         this.mappings = mappingStats;
         this.analysis = analysisStats;
         this.versions = versionStats;
+        this.indexSettings = indexSettingsStats;
     }
 
     public int getIndexCount() {
@@ -144,6 +147,10 @@ public class ClusterStatsIndices implements ToXContentFragment {
         return versions;
     }
 
+    public IndexSettingsStats getIndexSettings() {
+        return indexSettings;
+    }
+
     public SearchUsageStats getSearchUsageStats() {
         return searchUsageStats;
     }
@@ -179,6 +186,9 @@ public class ClusterStatsIndices implements ToXContentFragment {
         if (versions != null) {
             versions.toXContent(builder, params);
         }
+        if (indexSettings != null) {
+            indexSettings.toXContent(builder, params);
+        }
         searchUsageStats.toXContent(builder, params);
         denseVectorStats.toXContent(builder, params);
         sparseVectorStats.toXContent(builder, params);
@@ -53,6 +53,7 @@ public class ClusterStatsResponse extends BaseNodesResponse<ClusterStatsNodeResp
         MappingStats mappingStats,
         AnalysisStats analysisStats,
         VersionStats versionStats,
+        IndexSettingsStats indexSettingsStats,
         ClusterSnapshotStats clusterSnapshotStats,
         Map<String, RemoteClusterStats> remoteClustersStats
     ) {
@@ -60,7 +61,7 @@ public class ClusterStatsResponse extends BaseNodesResponse<ClusterStatsNodeResp
         this.clusterUUID = clusterUUID;
         this.timestamp = timestamp;
         nodesStats = new ClusterStatsNodes(nodes);
-        indicesStats = new ClusterStatsIndices(nodes, mappingStats, analysisStats, versionStats);
+        indicesStats = new ClusterStatsIndices(nodes, mappingStats, analysisStats, versionStats, indexSettingsStats);
         ccsMetrics = new CCSTelemetrySnapshot();
         esqlMetrics = new CCSTelemetrySnapshot().setUseMRT(false);
         ClusterHealthStatus status = null;
@@ -0,0 +1,63 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.admin.cluster.stats;
+
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.metadata.ProjectMetadata;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Statistics about how the coordinating node of a {@code "/_cluster/stats"} request holds the settings of the indices in its local
+ * cluster state on heap, see {@link IndexMetadata#withCompressedSettings()}. Exposed as part of {@link ClusterStatsIndices}.
+ *
+ * @param indexCount            the total number of indices in the cluster state
+ * @param compressedCount       the number of indices whose settings are held in compressed form
+ * @param materializedCount     the number of indices with compressed settings that were decompressed on access since
+ * @param compressedSizeInBytes the total size of the compressed settings
+ */
+public record IndexSettingsStats(int indexCount, int compressedCount, int materializedCount, long compressedSizeInBytes)
+    implements
+        ToXContentFragment {
+
+    public static IndexSettingsStats of(Metadata metadata) {
+        int indexCount = 0;
+        int compressedCount = 0;
+        int materializedCount = 0;
+        long compressedSizeInBytes = 0L;
+        for (ProjectMetadata project : metadata.projects().values()) {
+            for (IndexMetadata indexMetadata : project) {
+                indexCount++;
+                if (indexMetadata.hasCompressedSettings()) {
+                    compressedCount++;
+                    compressedSizeInBytes += indexMetadata.getCompressedSettingsSizeInBytes();
+                    if (indexMetadata.isSettingsMaterialized()) {
+                        materializedCount++;
+                    }
+                }
+            }
+        }
+        return new IndexSettingsStats(indexCount, compressedCount, materializedCount, compressedSizeInBytes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("index_settings");
+        builder.field("total_count", indexCount);
+        builder.field("compressed_count", compressedCount);
+        builder.field("materialized_count", materializedCount);
+        builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(compressedSizeInBytes));
+        return builder.endObject();
+    }
+}
@@ -79,7 +79,7 @@ public final class MappingStats implements ToXContentFragment, Writeable {
                 }
                 AnalysisStats.countMapping(mappingCounts, indexMetadata);
 
-                var sourceMode = IndexSettings.INDEX_MAPPER_SOURCE_MODE_SETTING.get(indexMetadata.getSettings());
+                var sourceMode = IndexSettings.INDEX_MAPPER_SOURCE_MODE_SETTING.get(indexMetadata.getSettingsWithoutMaterializing());
                 sourceModeUsageCount.merge(sourceMode.toString().toLowerCase(Locale.ENGLISH), 1, Integer::sum);
             }
             for (MappingMetadata mappingMetadata : project.getMappingsByHash().values()) {
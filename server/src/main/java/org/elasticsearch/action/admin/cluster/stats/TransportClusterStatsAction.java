@@ -196,6 +196,7 @@ public class TransportClusterStatsAction extends TransportNodesAction<
                     null,
                     null,
                     null,
+                    null,
                     Map.of()
                 )
                 : new ClusterStatsResponse(
@@ -207,6 +208,7 @@ public class TransportClusterStatsAction extends TransportNodesAction<
                     additionalStats.mappingStats(),
                     additionalStats.analysisStats(),
                     VersionStats.of(clusterService.state().metadata(), responses),
+                    IndexSettingsStats.of(clusterService.state().metadata()),
                     additionalStats.clusterSnapshotStats(),
                     additionalStats.getRemoteStats()
                 )
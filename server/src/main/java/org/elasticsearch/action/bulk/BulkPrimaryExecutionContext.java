@@ -16,6 +16,7 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.translog.Translog;
@@ -55,6 +56,8 @@ class BulkPrimaryExecutionContext {
 
     private final BulkShardRequest request;
     private final IndexShard primary;
+    @Nullable
+    private final BulkPrimaryParseAhead parseAhead;
     private Translog.Location locationToSync = null;
     private int currentIndex = -1;
 
@@ -65,8 +68,13 @@ class BulkPrimaryExecutionContext {
     private long noopMappingUpdateRetryForMappingVersion;
 
     BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary) {
+        this(request, primary, null);
+    }
+
+    BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary, @Nullable BulkPrimaryParseAhead parseAhead) {
         this.request = request;
         this.primary = primary;
+        this.parseAhead = parseAhead;
         advance();
     }
 
@@ -100,6 +108,14 @@ class BulkPrimaryExecutionContext {
         return getCurrentItem().request();
     }
 
+    /**
+     * takes the document of the current item if it was parsed ahead of its execution, see {@link BulkPrimaryParseAhead}
+     */
+    @Nullable
+    public IndexShard.PreParsedDocument takePreParsedDocument() {
+        return parseAhead == null ? null : parseAhead.take(currentIndex);
+    }
+
     public BulkShardRequest getBulkShardRequest() {
         return request;
     }
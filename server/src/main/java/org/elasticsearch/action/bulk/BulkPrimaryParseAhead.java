@@ -0,0 +1,200 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.bulk;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.util.concurrent.ThrottledTaskRunner;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.plugins.internal.DocumentParsingProvider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Parses the documents of the index requests of a {@link BulkShardRequest} on other threads, ahead of the sequential execution of the
+ * items on the primary. The items are still executed in order on a single thread, which takes the pre-parsed document of each item via
+ * {@link #take}. A pre-parsed document is only used if the mapping did not change since it was parsed (see
+ * {@link IndexShard.PreParsedDocument}) so dynamic mapping updates behave exactly as if the items were parsed in order. Documents that
+ * fail to parse ahead are just parsed again when their item executes, which reports the failure.
+ * <p>
+ * Only the items within {@link #lookAheadItems(int)} of the item that is executing are parsed ahead, so that the memory held by parsed
+ * documents is bounded and can be accounted for. The parsing tasks stop at the end of that window and are started again as the
+ * execution of the items moves it forward. They run through a {@link ThrottledTaskRunner} shared by all requests, which bounds how many
+ * threads of its executor parse ahead at any time.
+ */
+final class BulkPrimaryParseAhead implements Releasable {
+
+    private static final Logger logger = LogManager.getLogger(BulkPrimaryParseAhead.class);
+
+    // the number of items past the one that is executing that each parsing thread may parse ahead
+    static final int LOOK_AHEAD_ITEMS_PER_THREAD = 2;
+
+    private final BulkShardRequest request;
+    private final BulkItemRequest[] items;
+    private final IndexShard primary;
+    private final DocumentParsingProvider documentParsingProvider;
+    private final ThrottledTaskRunner taskRunner;
+    private final int threads;
+    private final int lookAheadItems;
+    private final AtomicReferenceArray<IndexShard.PreParsedDocument> parsedDocuments;
+    private final AtomicInteger nextItemToParse = new AtomicInteger();
+    // the number of parsing tasks that are queued or running
+    private final AtomicInteger parsingTasks = new AtomicInteger();
+    // only written by the thread executing the items, items before this one are not worth parsing anymore; the first item is executed
+    // straight away, so there is no point in parsing it ahead
+    private volatile int nextItemToExecute = 1;
+    private volatile boolean closed;
+
+    private BulkPrimaryParseAhead(
+        BulkShardRequest request,
+        IndexShard primary,
+        DocumentParsingProvider documentParsingProvider,
+        ThrottledTaskRunner taskRunner,
+        int threads
+    ) {
+        this.request = request;
+        this.items = request.items();
+        this.primary = primary;
+        this.documentParsingProvider = documentParsingProvider;
+        this.taskRunner = taskRunner;
+        this.threads = threads;
+        this.lookAheadItems = lookAheadItems(threads);
+        this.parsedDocuments = new AtomicReferenceArray<>(items.length);
+    }
+
+    /**
+     * @return the maximum number of items whose parsed documents are held at any time when parsing ahead on the given number of threads
+     */
+    static int lookAheadItems(int threads) {
+        return threads * LOOK_AHEAD_ITEMS_PER_THREAD;
+    }
+
+    /**
+     * Starts parsing the documents of the given request ahead of their execution with up to the given number of tasks of the given
+     * runner.
+     *
+     * @return the parse-ahead to take the pre-parsed documents from and to release once the request completed, or {@code null} if
+     *         {@code threads} is zero
+     */
+    @Nullable
+    static BulkPrimaryParseAhead start(
+        BulkShardRequest request,
+        IndexShard primary,
+        DocumentParsingProvider documentParsingProvider,
+        ThrottledTaskRunner taskRunner,
+        int threads
+    ) {
+        if (threads <= 0) {
+            return null;
+        }
+        final BulkPrimaryParseAhead parseAhead = new BulkPrimaryParseAhead(request, primary, documentParsingProvider, taskRunner, threads);
+        parseAhead.startParsingTasks();
+        return parseAhead;
+    }
+
+    private boolean hasItemsToParse() {
+        return closed == false && Math.max(nextItemToParse.get(), nextItemToExecute) < lookAheadLimit();
+    }
+
+    private int lookAheadLimit() {
+        // the item before nextItemToExecute is the one that is executing
+        return (int) Math.min(items.length, (long) nextItemToExecute + lookAheadItems);
+    }
+
+    private void startParsingTasks() {
+        while (hasItemsToParse()) {
+            final int tasks = parsingTasks.get();
+            if (tasks >= threads) {
+                return;
+            }
+            if (parsingTasks.compareAndSet(tasks, tasks + 1)) {
+                taskRunner.enqueueTask(new ActionListener<>() {
+                    @Override
+                    public void onResponse(Releasable releasable) {
+                        try (releasable) {
+                            parseItems();
+                        } finally {
+                            parsingTasks.decrementAndGet();
+                        }
+                        // the execution may have moved the window forward while this task was finishing
+                        startParsingTasks();
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        // the items that this task did not parse are parsed when they are executed, or by a task started later on
+                        parsingTasks.decrementAndGet();
+                        logger.debug(() -> "failed to parse bulk items for " + request.shardId() + " ahead of their execution", e);
+                    }
+                });
+            }
+        }
+    }
+
+    private void parseItems() {
+        while (closed == false) {
+            final int next = nextItemToParse.get();
+            // skip the items that were already executed
+            final int itemIndex = Math.max(next, nextItemToExecute);
+            if (itemIndex >= lookAheadLimit()) {
+                // the end of the window, parsing continues once the execution moved it forward
+                return;
+            }
+            if (nextItemToParse.compareAndSet(next, itemIndex + 1) == false) {
+                // taken by another task
+                continue;
+            }
+            if (items[itemIndex].request() instanceof IndexRequest == false) {
+                // an update or delete which needs no parsing or must be resolved against the current document
+                continue;
+            }
+            final IndexRequest request = (IndexRequest) items[itemIndex].request();
+            final IndexShard.PreParsedDocument parsedDocument;
+            try {
+                parsedDocument = primary.parseDocumentAhead(TransportShardBulkAction.newSourceToParse(request, documentParsingProvider));
+            } catch (Exception e) {
+                // the document is parsed again when the item is executed, which reports the failure
+                continue;
+            }
+            if (parsedDocument != null && itemIndex >= nextItemToExecute) {
+                parsedDocuments.set(itemIndex, parsedDocument);
+            }
+        }
+    }
+
+    /**
+     * Takes the pre-parsed document of the item with the given index, which is about to be executed. Items are executed in order so this
+     * also stops any further parsing of the items before it, and moves the window of items to parse ahead forward.
+     *
+     * @return the pre-parsed document, or {@code null} if the document was not parsed ahead (yet) or was already taken
+     */
+    @Nullable
+    IndexShard.PreParsedDocument take(int itemIndex) {
+        if (itemIndex >= nextItemToExecute) {
+            nextItemToExecute = itemIndex + 1;
+            startParsingTasks();
+        }
+        return parsedDocuments.getAndSet(itemIndex, null);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        nextItemToExecute = items.length;
+        for (int i = 0; i < items.length; i++) {
+            parsedDocuments.set(i, null);
+        }
+    }
+}
@@ -38,7 +38,10 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.common.util.concurrent.ThrottledTaskRunner;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Strings;
@@ -94,11 +97,41 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
     // 3. Parsed string fields create new copies of their data, further increasing memory consumption.
     private static final int MAX_EXPANDED_OPERATION_MEMORY_OVERHEAD_FACTOR = 4;
 
+    /**
+     * The maximum number of threads, besides the one executing the items, that parse the documents of a shard-level bulk request on the
+     * primary ahead of their execution. Defaults to {@code 0} which disables parsing documents ahead. Across all requests, at most half
+     * of the write threads parse documents ahead at any time.
+     */
+    public static final Setting<Integer> PARALLEL_PARSING_MAX_THREADS_SETTING = Setting.intSetting(
+        "indices.bulk.parallel_parsing.max_threads",
+        0,
+        0,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The minimum number of items of a shard-level bulk request per thread that parses documents ahead, so that small requests are not
+     * parsed ahead at all and the cost of handing work to other threads is spread over enough documents.
+     */
+    public static final Setting<Integer> PARALLEL_PARSING_MIN_OPERATIONS_PER_THREAD_SETTING = Setting.intSetting(
+        "indices.bulk.parallel_parsing.min_operations_per_thread",
+        100,
+        1,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     private final UpdateHelper updateHelper;
     private final MappingUpdatedAction mappingUpdatedAction;
     private final Consumer<Runnable> postWriteAction;
 
     private final DocumentParsingProvider documentParsingProvider;
+    // shared by all requests so that at most half of the write threads parse documents ahead, the others execute bulk items
+    private final ThrottledTaskRunner parseAheadRunner;
+
+    private volatile int parallelParsingMaxThreads;
+    private volatile int parallelParsingMinOperationsPerThread;
 
     @Inject
     public TransportShardBulkAction(
@@ -138,6 +171,18 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         this.mappingUpdatedAction = mappingUpdatedAction;
         this.postWriteAction = WriteAckDelay.create(settings, threadPool);
         this.documentParsingProvider = documentParsingProvider;
+        this.parseAheadRunner = new ThrottledTaskRunner(
+            "bulk-parse-ahead",
+            Math.max(1, EsExecutors.allocatedProcessors(settings) / 2),
+            threadPool.executor(ThreadPool.Names.WRITE)
+        );
+        clusterService.getClusterSettings()
+            .initializeAndWatch(PARALLEL_PARSING_MAX_THREADS_SETTING, value -> this.parallelParsingMaxThreads = value);
+        clusterService.getClusterSettings()
+            .initializeAndWatch(
+                PARALLEL_PARSING_MIN_OPERATIONS_PER_THREAD_SETTING,
+                value -> this.parallelParsingMinOperationsPerThread = value
+            );
     }
 
     private static final TransportRequestOptions TRANSPORT_REQUEST_OPTIONS = TransportRequestOptions.of(
@@ -170,10 +215,12 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         IndexShard primary,
         ActionListener<PrimaryResult<BulkShardRequest, BulkShardResponse>> outerListener
     ) {
+        final int parseAheadThreads = parallelParsingThreads(request);
         var listener = ActionListener.releaseBefore(
             indexingPressure.trackPrimaryOperationExpansion(
                 primaryOperationCount(request),
-                getMaxOperationMemoryOverhead(request),
+                // the documents parsed ahead are held in addition to the one of the item that executes
+                getMaxOperationMemoryOverhead(request) * (1 + BulkPrimaryParseAhead.lookAheadItems(parseAheadThreads)),
                 force(request)
             ),
             outerListener
@@ -202,7 +249,14 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             var index = primary.shardId().getIndex();
             var indexMetadata = clusterState.metadata().lookupProject(index).map(p -> p.index(index)).orElse(null);
             return indexMetadata == null || (indexMetadata.mapping() != null && indexMetadata.getMappingVersion() != initialMappingVersion);
-        }), listener, executor(primary), postWriteRefresh, postWriteAction, documentParsingProvider);
+        }), listener, executor(primary), postWriteRefresh, postWriteAction, documentParsingProvider, parseAheadRunner, parseAheadThreads);
+    }
+
+    /**
+     * @return the number of threads to parse the documents of the given request ahead of their execution with
+     */
+    private int parallelParsingThreads(BulkShardRequest request) {
+        return Math.min(parallelParsingMaxThreads, request.items().length / parallelParsingMinOperationsPerThread);
     }
 
     @Override
@@ -246,7 +300,9 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             executor,
             null,
             null,
-            DocumentParsingProvider.EMPTY_INSTANCE
+            DocumentParsingProvider.EMPTY_INSTANCE,
+            null,
+            0
         );
     }
 
@@ -261,11 +317,16 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         Executor executor,
         @Nullable PostWriteRefresh postWriteRefresh,
         @Nullable Consumer<Runnable> postWriteAction,
-        DocumentParsingProvider documentParsingProvider
+        DocumentParsingProvider documentParsingProvider,
+        @Nullable ThrottledTaskRunner parseAheadRunner,
+        int parallelParsingThreads
     ) {
-        new ActionRunnable<>(listener) {
+        final BulkPrimaryParseAhead parseAhead = parseAheadRunner == null
+            ? null
+            : BulkPrimaryParseAhead.start(request, primary, documentParsingProvider, parseAheadRunner, parallelParsingThreads);
+        new ActionRunnable<>(parseAhead == null ? listener : ActionListener.releaseBefore(parseAhead, listener)) {
 
-            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(request, primary);
+            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(request, primary, parseAhead);
 
             final long startBulkTime = System.nanoTime();
 
@@ -406,21 +467,11 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             );
         } else {
             final IndexRequest request = context.getRequestToExecute();
-
-            XContentMeteringParserDecorator meteringParserDecorator = documentParsingProvider.newMeteringParserDecorator(request);
-            final SourceToParse sourceToParse = new SourceToParse(
-                request.id(),
-                request.source(),
-                request.getContentType(),
-                request.routing(),
-                request.getDynamicTemplates(),
-                request.getIncludeSourceOnError(),
-                meteringParserDecorator
-            );
             result = primary.applyIndexOperationOnPrimary(
                 version,
                 request.versionType(),
-                sourceToParse,
+                newSourceToParse(request, documentParsingProvider),
+                context.takePreParsedDocument(),
                 request.ifSeqNo(),
                 request.ifPrimaryTerm(),
                 request.getAutoGeneratedTimestamp(),
@@ -443,6 +494,19 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         return true;
     }
 
+    static SourceToParse newSourceToParse(IndexRequest request, DocumentParsingProvider documentParsingProvider) {
+        XContentMeteringParserDecorator meteringParserDecorator = documentParsingProvider.newMeteringParserDecorator(request);
+        return new SourceToParse(
+            request.id(),
+            request.source(),
+            request.getContentType(),
+            request.routing(),
+            request.getDynamicTemplates(),
+            request.getIncludeSourceOnError(),
+            meteringParserDecorator
+        );
+    }
+
     private static String[] getStoredFieldsSpec(IndexShard indexShard) {
         if (InferenceMetadataFieldsMapper.isEnabled(indexShard.mapperService().mappingLookup())) {
             if (indexShard.mapperService().mappingLookup().inferenceFields().size() > 0) {
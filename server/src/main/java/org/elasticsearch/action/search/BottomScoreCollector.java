@@ -0,0 +1,71 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.TopDocs;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.query.GlobalMinCompetitiveScore;
+
+/**
+ * Utility class to keep track of the bottom doc's score in a distributed search that sorts by score.
+ * The best bottom score seen so far is the minimum score a hit needs to make it into the global top hits.
+ *
+ * See {@link BottomSortValuesCollector} for the equivalent when sorting by field.
+ */
+class BottomScoreCollector {
+    private final int topNSize;
+    private final GlobalMinCompetitiveScore bottomScore;
+
+    BottomScoreCollector(int topNSize, GlobalMinCompetitiveScore bottomScore) {
+        this.topNSize = topNSize;
+        this.bottomScore = bottomScore;
+    }
+
+    /**
+     * @return The best bottom score consumed so far.
+     */
+    float getBottomScore() {
+        return bottomScore.get();
+    }
+
+    /**
+     * @return <code>true</code> if the best bottom score was raised by these top docs.
+     */
+    boolean consumeTopDocs(TopDocs topDocs) {
+        if (topNSize == 0 || topDocs.scoreDocs.length < topNSize) {
+            return false;
+        }
+        final float score = topDocs.scoreDocs[topNSize - 1].score;
+        if (Float.isNaN(score)) {
+            return false;
+        }
+        return bottomScore.raise(score);
+    }
+
+    /**
+     * Can the query phase of this request skip hits based on the top hits of other shards? This is only the case if hits are
+     * sorted by score and no later step reorders the top hits of the shards.
+     */
+    static boolean canTrackBottomScore(SearchRequest request) {
+        if (request.scroll() != null) {
+            return false;
+        }
+        final SearchSourceBuilder source = request.source();
+        if (source == null) {
+            return true;
+        }
+        return (source.sorts() == null || source.sorts().isEmpty())
+            && source.searchAfter() == null
+            && source.collapse() == null
+            && (source.rescores() == null || source.rescores().isEmpty())
+            && source.rankBuilder() == null
+            && source.size() != 0;
+    }
+}
@@ -12,6 +12,7 @@ package org.elasticsearch.action.search;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.TransportVersions;
@@ -28,9 +29,12 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.ListenableFuture;
+import org.elasticsearch.core.CheckedRunnable;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.SimpleRefCounted;
 import org.elasticsearch.core.TimeValue;
@@ -44,6 +48,7 @@ import org.elasticsearch.search.internal.AliasFilter;
 import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.ShardSearchContextId;
 import org.elasticsearch.search.internal.ShardSearchRequest;
+import org.elasticsearch.search.query.GlobalMinCompetitiveScore;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.Task;
@@ -86,6 +91,9 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
     private final int topDocsSize;
     private final int trackTotalHitsUpTo;
     private volatile BottomSortValuesCollector bottomSortCollector;
+    // informations to track the best bottom score globally, null unless sorting by score.
+    private final BottomScoreCollector bottomScoreCollector;
+    private final Map<String, InFlightQueries> inFlightQueries = ConcurrentCollections.newConcurrentMap();
     private final Client client;
     private final boolean batchQueryPhase;
 
@@ -106,7 +114,8 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
         SearchTask task,
         SearchResponse.Clusters clusters,
         Client client,
-        boolean batchQueryPhase
+        boolean batchQueryPhase,
+        boolean propagateMinCompetitiveScore
     ) {
         super(
             "query",
@@ -132,6 +141,9 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
         this.progressListener = task.getProgressListener();
         this.client = client;
         this.batchQueryPhase = batchQueryPhase;
+        this.bottomScoreCollector = propagateMinCompetitiveScore && BottomScoreCollector.canTrackBottomScore(request)
+            ? new BottomScoreCollector(topDocsSize, new GlobalMinCompetitiveScore())
+            : null;
         // don't build the SearchShard list (can be expensive) if the SearchProgressListener won't use it
         if (progressListener != SearchProgressListener.NOOP) {
             notifyListShards(progressListener, clusters, request, shardsIts);
@@ -149,9 +161,60 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
             trackTotalHitsUpTo,
             super.buildShardSearchRequest(shardIt, listener.requestIndex)
         );
-        getSearchTransport().sendExecuteQuery(connection, request, getTask(), listener);
+        if (bottomScoreCollector == null) {
+            getSearchTransport().sendExecuteQuery(connection, request, getTask(), listener);
+        } else {
+            request.setMinCompetitiveScore(bottomScoreCollector.getBottomScore());
+            getSearchTransport().sendExecuteQuery(
+                connection,
+                request,
+                getTask(),
+                ActionListener.runBefore(listener, trackInFlightQuery(shardIt.getClusterAlias(), connection, shardIt.getOriginalIndices()))
+            );
+        }
     }
 
+    /**
+     * Tracks a query phase request sent to the given node, so that improvements of the bottom score are shared with the node while the
+     * request runs. The returned runnable must be called once the request completed.
+     */
+    private CheckedRunnable<RuntimeException> trackInFlightQuery(
+        @Nullable String clusterAlias,
+        Transport.Connection connection,
+        OriginalIndices originalIndices
+    ) {
+        // we don't share the bottom score with remote clusters
+        if (bottomScoreCollector == null
+            || clusterAlias != null
+            || connection.getTransportVersion().before(TransportVersions.SEARCH_MIN_COMPETITIVE_SCORE)) {
+            return () -> {};
+        }
+        final InFlightQueries queries = inFlightQueries.computeIfAbsent(
+            connection.getNode().getId(),
+            nodeId -> new InFlightQueries(connection, originalIndices, new AtomicInteger())
+        );
+        queries.count.incrementAndGet();
+        return queries.count::decrementAndGet;
+    }
+
+    private void consumeBottomScore(TopDocs topDocs) {
+        if (bottomScoreCollector.consumeTopDocs(topDocs) == false) {
+            return;
+        }
+        final float bottomScore = bottomScoreCollector.getBottomScore();
+        for (InFlightQueries queries : inFlightQueries.values()) {
+            if (queries.count.get() > 0) {
+                getSearchTransport().sendMinCompetitiveScore(
+                    queries.connection,
+                    new SearchTransportService.MinCompetitiveScoreRequest(bottomScore, queries.originalIndices),
+                    getTask()
+                );
+            }
+        }
+    }
+
+    private record InFlightQueries(Transport.Connection connection, OriginalIndices originalIndices, AtomicInteger count) {}
+
     @Override
     protected void onShardGroupFailure(int shardIndex, SearchShardTarget shardTarget, Exception exc) {
         progressListener.notifyQueryFailure(shardIndex, shardTarget, exc);
@@ -177,6 +240,13 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
             }
             bottomSortCollector.consumeTopDocs(topDocs, queryResult.sortValueFormats());
         }
+        if (bottomScoreCollector != null
+            && queryResult.isNull() == false
+            && queryResult.hasConsumedTopDocs() == false
+            && queryResult.topDocs() != null
+            && queryResult.topDocs().topDocs.getClass() == TopDocs.class) {
+            consumeBottomScore(queryResult.topDocs().topDocs);
+        }
         super.onShardResult(result);
     }
 
@@ -464,6 +534,11 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
                 executeWithoutBatching(routing, request);
                 return;
             }
+            final CheckedRunnable<RuntimeException> onNodeQueryDone = trackInFlightQuery(
+                routing.clusterAlias(),
+                connection,
+                getOriginalIndices(request.shards.getFirst().shardIndex)
+            );
             searchTransportService.transportService()
                 .sendChildRequest(connection, NODE_SEARCH_ACTION_NAME, request, task, new TransportResponseHandler<NodeQueryResponse>() {
                     @Override
@@ -478,6 +553,10 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
 
                     @Override
                     public void handleResponse(NodeQueryResponse response) {
+                        onNodeQueryDone.run();
+                        if (bottomScoreCollector != null && response.mergeResult.reducedTopDocs().getClass() == TopDocs.class) {
+                            consumeBottomScore(response.mergeResult.reducedTopDocs());
+                        }
                         if (results instanceof QueryPhaseResultConsumer queryPhaseResultConsumer) {
                             queryPhaseResultConsumer.addBatchedPartialResult(response.topDocsStats, response.mergeResult);
                         }
@@ -501,6 +580,7 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
 
                     @Override
                     public void handleException(TransportException e) {
+                        onNodeQueryDone.run();
                         Exception cause = (Exception) ExceptionsHelper.unwrapCause(e);
                         if (e instanceof SendRequestTransportException || cause instanceof TaskCancelledException) {
                             // two possible special cases here where we do not want to fail the phase:
@@ -739,6 +819,7 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
         private final CountDown countDown;
         private final TransportChannel channel;
         private volatile BottomSortValuesCollector bottomSortCollector;
+        private final BottomScoreCollector bottomScoreCollector;
 
         private QueryPerNodeState(
             QueryPhaseResultConsumer queryPhaseResultConsumer,
@@ -755,6 +836,12 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
             this.countDown = new CountDown(queryPhaseResultConsumer.getNumShards());
             this.channel = channel;
             this.dependencies = dependencies;
+            // shards on this node share the bottom score through the node level task
+            this.bottomScoreCollector = dependencies.searchService.propagateMinCompetitiveScore()
+                && BottomScoreCollector.canTrackBottomScore(searchRequest.searchRequest)
+                && task instanceof SearchShardTask searchShardTask
+                    ? new BottomScoreCollector(topDocsSize, searchShardTask.globalMinCompetitiveScore())
+                    : null;
         }
 
         void onShardDone() {
@@ -846,6 +933,13 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
                 }
                 bottomSortCollector.consumeTopDocs(topDocs, queryResult.sortValueFormats());
             }
+            if (bottomScoreCollector != null
+                && queryResult.isNull() == false
+                && queryResult.hasConsumedTopDocs() == false
+                && queryResult.topDocs() != null
+                && queryResult.topDocs().topDocs.getClass() == TopDocs.class) {
+                bottomScoreCollector.consumeTopDocs(queryResult.topDocs().topDocs);
+            }
             queryPhaseResultConsumer.consumeResult(queryResult, this::onShardDone);
         }
     }
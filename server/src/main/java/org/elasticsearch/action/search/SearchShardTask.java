@@ -11,6 +11,7 @@ package org.elasticsearch.action.search;
 
 import org.elasticsearch.search.fetch.ShardFetchSearchRequest;
 import org.elasticsearch.search.internal.ShardSearchRequest;
+import org.elasticsearch.search.query.GlobalMinCompetitiveScore;
 import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.TaskId;
 
@@ -22,6 +23,8 @@ import java.util.Map;
  */
 public class SearchShardTask extends CancellableTask {
 
+    private final GlobalMinCompetitiveScore globalMinCompetitiveScore = new GlobalMinCompetitiveScore();
+
     public SearchShardTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
         super(id, type, action, description, parentTaskId, headers);
     }
@@ -30,4 +33,12 @@ public class SearchShardTask extends CancellableTask {
     public boolean shouldCancelChildrenOnCancellation() {
         return false;
     }
+
+    /**
+     * The minimum score hits need to be competitive for the parent search, pushed by the
+     * coordinating node and by other shards of the same search that ran on this node.
+     */
+    public GlobalMinCompetitiveScore globalMinCompetitiveScore() {
+        return globalMinCompetitiveScore;
+    }
 }
@@ -13,10 +13,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionListenerResponseHandler;
+import org.elasticsearch.action.IndicesRequest;
 import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.action.admin.cluster.node.tasks.cancel.CancelTasksRequest;
 import org.elasticsearch.action.admin.cluster.node.tasks.get.TransportGetTaskAction;
 import org.elasticsearch.action.support.ChannelActionListener;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.client.internal.OriginSettingClient;
 import org.elasticsearch.client.internal.node.NodeClient;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -45,6 +47,7 @@ import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.search.query.ScrollQuerySearchResult;
 import org.elasticsearch.search.rank.feature.RankFeatureResult;
 import org.elasticsearch.search.rank.feature.RankFeatureShardRequest;
+import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.RemoteClusterService;
@@ -85,6 +88,11 @@ public class SearchTransportService {
      * Part of DFS_QUERY_THEN_FETCH, which fetches distributed term frequencies and executes KNN.
      */
     public static final String QUERY_ID_ACTION_NAME = "indices:data/read/search[phase/query/id]";
+    /**
+     * Part of the query phase of searches that sort by score. Sent by the coordinating node to the data nodes that are still running
+     * query phases to share the minimum score a hit needs to make it into the global top hits.
+     */
+    public static final String QUERY_MIN_COMPETITIVE_SCORE_ACTION_NAME = "indices:data/read/search[phase/query/min_score]";
     public static final String QUERY_SCROLL_ACTION_NAME = "indices:data/read/search[phase/query/scroll]";
     public static final String QUERY_FETCH_SCROLL_ACTION_NAME = "indices:data/read/search[phase/query+fetch/scroll]";
     public static final String FETCH_ID_SCROLL_ACTION_NAME = "indices:data/read/search[phase/fetch/id/scroll]";
@@ -247,6 +255,25 @@ public class SearchTransportService {
         );
     }
 
+    /**
+     * Shares the minimum competitive score with the query phases of the given search task that run on the target node. This is only
+     * a hint so failures are ignored.
+     */
+    public void sendMinCompetitiveScore(Transport.Connection connection, MinCompetitiveScoreRequest request, SearchTask task) {
+        transportService.sendChildRequest(
+            connection,
+            QUERY_MIN_COMPETITIVE_SCORE_ACTION_NAME,
+            request,
+            task,
+            TransportRequestOptions.EMPTY,
+            new ActionListenerResponseHandler<>(
+                ActionListener.noop(),
+                in -> TransportResponse.Empty.INSTANCE,
+                TransportResponseHandler.TRANSPORT_WORKER
+            )
+        );
+    }
+
     public void sendExecuteScrollFetch(
         Transport.Connection connection,
         final InternalScrollSearchRequest request,
@@ -346,6 +373,43 @@ public class SearchTransportService {
 
     }
 
+    static class MinCompetitiveScoreRequest extends TransportRequest implements IndicesRequest {
+        private final float minCompetitiveScore;
+        private final OriginalIndices originalIndices;
+
+        MinCompetitiveScoreRequest(float minCompetitiveScore, OriginalIndices originalIndices) {
+            this.minCompetitiveScore = minCompetitiveScore;
+            this.originalIndices = Objects.requireNonNull(originalIndices);
+        }
+
+        MinCompetitiveScoreRequest(StreamInput in) throws IOException {
+            super(in);
+            minCompetitiveScore = in.readFloat();
+            originalIndices = OriginalIndices.readOriginalIndices(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeFloat(minCompetitiveScore);
+            OriginalIndices.writeOriginalIndices(originalIndices, out);
+        }
+
+        public float minCompetitiveScore() {
+            return minCompetitiveScore;
+        }
+
+        @Override
+        public String[] indices() {
+            return originalIndices.indices();
+        }
+
+        @Override
+        public IndicesOptions indicesOptions() {
+            return originalIndices.indicesOptions();
+        }
+    }
+
     private static class ClearScrollContextsRequest extends TransportRequest {
         ClearScrollContextsRequest() {}
 
@@ -528,6 +592,27 @@ public class SearchTransportService {
             (request, channel, task) -> searchService.canMatch(request, new ChannelActionListener<>(channel))
         );
         TransportActionProxy.registerProxyAction(transportService, QUERY_CAN_MATCH_NODE_NAME, true, CanMatchNodeResponse::new);
+
+        transportService.registerRequestHandler(
+            QUERY_MIN_COMPETITIVE_SCORE_ACTION_NAME,
+            EsExecutors.DIRECT_EXECUTOR_SERVICE,
+            MinCompetitiveScoreRequest::new,
+            (request, channel, task) -> {
+                // the query phases of the search are siblings of this request
+                for (CancellableTask sibling : transportService.getTaskManager().getCancellableTasksByParent(request.getParentTask())) {
+                    if (sibling instanceof SearchShardTask searchShardTask) {
+                        searchShardTask.globalMinCompetitiveScore().raise(request.minCompetitiveScore());
+                    }
+                }
+                channel.sendResponse(TransportResponse.Empty.INSTANCE);
+            }
+        );
+        TransportActionProxy.registerProxyAction(
+            transportService,
+            QUERY_MIN_COMPETITIVE_SCORE_ACTION_NAME,
+            false,
+            in -> TransportResponse.Empty.INSTANCE
+        );
     }
 
     private static Executor buildFreeContextExecutor(TransportService transportService) {
@@ -1574,7 +1574,8 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
                         task,
                         clusters,
                         client,
-                        searchService.batchQueryPhase()
+                        searchService.batchQueryPhase(),
+                        searchService.propagateMinCompetitiveScore()
                     );
                 }
                 success = true;
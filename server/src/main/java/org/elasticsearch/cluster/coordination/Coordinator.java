@@ -288,7 +288,12 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
             ApplyCommitRequest::new,
             (request, channel, task) -> handleApplyCommit(request, new ChannelActionListener<>(channel).map(r -> Empty.INSTANCE))
         );
-        this.publicationHandler = new PublicationTransportHandler(transportService, namedWriteableRegistry, this::handlePublishRequest);
+        this.publicationHandler = new PublicationTransportHandler(
+            settings,
+            transportService,
+            namedWriteableRegistry,
+            this::handlePublishRequest
+        );
         this.leaderChecker = new LeaderChecker(settings, transportService, this::onLeaderFailure, nodeHealthService);
         this.followersChecker = new FollowersChecker(
             settings,
@@ -894,6 +899,7 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
 
             if (prevMode == Mode.LEADER) {
                 cleanMasterService();
+                publicationHandler.clearPublicationHistory();
             }
 
             if (applierState.nodes().getMasterNodeId() != null) {
@@ -20,10 +20,15 @@ import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.ClusterStatePublicationEvent;
 import org.elasticsearch.cluster.Diff;
 import org.elasticsearch.cluster.IncompatibleClusterStateVersionException;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.metadata.ProjectMetadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.common.CheckedSupplier;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.compress.Compressor;
 import org.elasticsearch.common.compress.CompressorFactory;
@@ -34,9 +39,12 @@ import org.elasticsearch.common.io.stream.PositionTrackingOutputStreamStreamOutp
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.LazyInitializable;
 import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -48,7 +56,13 @@ import org.elasticsearch.transport.TransportRequestOptions;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
@@ -68,6 +82,10 @@ import static org.elasticsearch.threadpool.ThreadPool.Names.GENERIC;
  * <p>
  * It also uses the {@link Diff} mechanism to reduce the data to be transferred wherever possible. This is only a best-effort mechanism so
  * we fall back to sending a full cluster state if the diff cannot be applied for some reason.
+ * <p>
+ * The master retains the serialized diffs of its last few publications and tracks the state that each node last accepted. A node that
+ * missed some publications is sent the chain of diffs from the state it accepted to the new state, which it applies one after the other,
+ * rather than the full cluster state.
  */
 public class PublicationTransportHandler {
 
@@ -75,13 +93,43 @@ public class PublicationTransportHandler {
 
     public static final String PUBLISH_STATE_ACTION_NAME = "internal:cluster/coordination/publish_state";
 
+    /**
+     * The number of serialized diffs of recent publications that the master retains to send diff chains to nodes that missed some of
+     * them. Setting it to {@code 0} disables diff chains.
+     */
+    public static final Setting<Integer> MAX_RETAINED_DIFFS_SETTING = Setting.intSetting(
+        "cluster.publish.max_retained_diffs",
+        10,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Whether a node that is not master-eligible keeps the settings of the indices in the cluster states it receives in compressed form
+     * and only decompresses them when they are first accessed, see {@link IndexMetadata#withCompressedSettings()}. Saves heap on
+     * coordinating and data nodes in clusters with many indices, at the cost of decompressing the settings of the indices that the node
+     * actually works with once per change of their metadata.
+     */
+    public static final Setting<Boolean> LAZY_INDEX_SETTINGS_SETTING = Setting.boolSetting(
+        "cluster.publish.lazy_index_settings",
+        false,
+        Setting.Property.NodeScope
+    );
+
     private final TransportService transportService;
     private final Executor clusterCoordinationExecutor;
     private final NamedWriteableRegistry namedWriteableRegistry;
     private final Function<PublishRequest, PublishWithJoinResponse> handlePublishRequest;
+    private final int maxRetainedDiffs;
+    private final boolean lazyIndexSettings;
 
     private final AtomicReference<ClusterState> lastSeenClusterState = new AtomicReference<>();
 
+    // the serialized diffs of the most recent publications, oldest first, guarded by itself
+    private final Deque<RetainedDiff> retainedDiffs = new ArrayDeque<>();
+    // the UUID of the last state that each node accepted from this node while it was publishing
+    private final Map<DiscoveryNode, String> lastAcceptedStateUUIDs = new ConcurrentHashMap<>();
+
     private final AtomicLong fullClusterStateReceivedCount = new AtomicLong();
     private final AtomicLong incompatibleClusterStateDiffReceivedCount = new AtomicLong();
     private final AtomicLong compatibleClusterStateDiffReceivedCount = new AtomicLong();
@@ -97,6 +145,7 @@ public class PublicationTransportHandler {
     private final SerializationStatsTracker serializationStatsTracker = new SerializationStatsTracker();
 
     public PublicationTransportHandler(
+        Settings settings,
         TransportService transportService,
         NamedWriteableRegistry namedWriteableRegistry,
         Function<PublishRequest, PublishWithJoinResponse> handlePublishRequest
@@ -105,6 +154,9 @@ public class PublicationTransportHandler {
         this.clusterCoordinationExecutor = transportService.getThreadPool().executor(ThreadPool.Names.CLUSTER_COORDINATION);
         this.namedWriteableRegistry = namedWriteableRegistry;
         this.handlePublishRequest = handlePublishRequest;
+        this.maxRetainedDiffs = MAX_RETAINED_DIFFS_SETTING.get(settings);
+        // the master computes and persists new states from the full settings, so master-eligible nodes always keep them decompressed
+        this.lazyIndexSettings = LAZY_INDEX_SETTINGS_SETTING.get(settings) && DiscoveryNode.isMasterNode(settings) == false;
 
         transportService.registerRequestHandler(
             PUBLISH_STATE_ACTION_NAME,
@@ -131,6 +183,11 @@ public class PublicationTransportHandler {
     ) throws IOException {
         assert ThreadPool.assertCurrentThreadPool(GENERIC);
         final Compressor compressor = CompressorFactory.compressor(request.bytes());
+        if (compressor == null && request.version().onOrAfter(TransportVersions.PUBLISH_STATE_DIFF_CHAIN)) {
+            // full states and single diffs are always compressed, only diff chains are not since each of their diffs is compressed
+            handleIncomingDiffChain(request, publishResponseListener);
+            return;
+        }
         StreamInput in = request.bytes().streamInput();
         try {
             if (compressor != null) {
@@ -143,7 +200,7 @@ public class PublicationTransportHandler {
                 final ClusterState incomingState;
                 // Close early to release resources used by the de-compression as early as possible
                 try (StreamInput input = in) {
-                    incomingState = ClusterState.readFrom(input, transportService.getLocalNode());
+                    incomingState = maybeCompressIndexSettings(ClusterState.readFrom(input, transportService.getLocalNode()));
                     assert input.read() == -1;
                 } catch (Exception e) {
                     logger.warn("unexpected error while deserializing an incoming cluster state", e);
@@ -163,7 +220,7 @@ public class PublicationTransportHandler {
                     incompatibleClusterStateDiffReceivedCount.incrementAndGet();
                     throw new IncompatibleClusterStateVersionException("have no local cluster state");
                 } else {
-                    final ClusterState incomingState = deserializeAndApplyDiff(request, in, lastSeen);
+                    final ClusterState incomingState = maybeCompressIndexSettings(deserializeAndApplyDiff(request.version(), in, lastSeen));
                     compatibleClusterStateDiffReceivedCount.incrementAndGet();
                     logger.debug(
                         "received diff cluster state version [{}] with uuid [{}], diff size [{}]",
@@ -182,12 +239,66 @@ public class PublicationTransportHandler {
         }
     }
 
-    private ClusterState deserializeAndApplyDiff(BytesTransportRequest request, StreamInput in, ClusterState currentState)
+    private void handleIncomingDiffChain(BytesTransportRequest request, ActionListener<PublishWithJoinResponse> publishResponseListener)
+        throws IOException {
+        final ClusterState lastSeen = lastSeenClusterState.get();
+        if (lastSeen == null) {
+            logger.debug("received diff chain but don't have any local cluster state - requesting full state");
+            incompatibleClusterStateDiffReceivedCount.incrementAndGet();
+            throw new IncompatibleClusterStateVersionException("have no local cluster state");
+        }
+        ClusterState incomingState = lastSeen;
+        final int diffCount;
+        try (StreamInput in = request.bytes().streamInput()) {
+            in.setTransportVersion(request.version());
+            diffCount = in.readVInt();
+            for (int i = 0; i < diffCount; i++) {
+                // each diff is decompressed and applied before reading the next one, so only one of them is held uncompressed at a time
+                incomingState = deserializeAndApplyDiff(request.version(), in.readSlicedBytesReference(), incomingState);
+            }
+            assert in.read() == -1;
+        }
+        compatibleClusterStateDiffReceivedCount.incrementAndGet();
+        logger.debug(
+            "received chain of [{}] diffs from cluster state version [{}] to version [{}] with uuid [{}], size [{}]",
+            diffCount,
+            lastSeen.version(),
+            incomingState.version(),
+            incomingState.stateUUID(),
+            request.bytes().length()
+        );
+        final ClusterState acceptedState = maybeCompressIndexSettings(incomingState);
+        acceptState(acceptedState, publishResponseListener.map(response -> {
+            lastSeenClusterState.compareAndSet(lastSeen, acceptedState);
+            return response;
+        }));
+    }
+
+    private ClusterState deserializeAndApplyDiff(TransportVersion version, BytesReference bytes, ClusterState currentState)
+        throws IOException {
+        final Compressor compressor = CompressorFactory.compressor(bytes);
+        StreamInput in = bytes.streamInput();
+        try {
+            if (compressor != null) {
+                in = compressor.threadLocalStreamInput(in);
+            }
+            in = new NamedWriteableAwareStreamInput(in, namedWriteableRegistry);
+            in.setTransportVersion(version);
+            if (in.readBoolean()) {
+                throw new IllegalStateException("expected a cluster state diff in the diff chain but got a full cluster state");
+            }
+            return deserializeAndApplyDiff(version, in, currentState);
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
+    private ClusterState deserializeAndApplyDiff(TransportVersion version, StreamInput in, ClusterState currentState)
         throws IOException {
         ClusterState incomingState;
         try {
             final Diff<ClusterState> diff;
-            final boolean includesLastCommittedData = request.version().onOrAfter(INCLUDES_LAST_COMMITTED_DATA_VERSION);
+            final boolean includesLastCommittedData = version.onOrAfter(INCLUDES_LAST_COMMITTED_DATA_VERSION);
             final boolean clusterUuidCommitted;
             final CoordinationMetadata.VotingConfiguration lastCommittedConfiguration;
 
@@ -222,6 +333,36 @@ public class PublicationTransportHandler {
         return incomingState;
     }
 
+    /**
+     * If {@link #LAZY_INDEX_SETTINGS_SETTING} applies to this node, replaces the index metadata in the given received state that holds
+     * decompressed settings with copies that hold them in compressed form. Index metadata that did not change since the previous state
+     * received by this node are the same instances as in that state, so only new and changed indices are compressed here.
+     */
+    private ClusterState maybeCompressIndexSettings(ClusterState state) {
+        if (lazyIndexSettings == false) {
+            return state;
+        }
+        Metadata.Builder metadataBuilder = null;
+        for (ProjectMetadata project : state.metadata().projects().values()) {
+            ProjectMetadata.Builder projectBuilder = null;
+            for (IndexMetadata indexMetadata : project) {
+                if (indexMetadata.hasCompressedSettings() == false) {
+                    if (projectBuilder == null) {
+                        projectBuilder = ProjectMetadata.builder(project);
+                    }
+                    projectBuilder.put(indexMetadata.withCompressedSettings(), false);
+                }
+            }
+            if (projectBuilder != null) {
+                if (metadataBuilder == null) {
+                    metadataBuilder = Metadata.builder(state.metadata());
+                }
+                metadataBuilder.put(projectBuilder.build());
+            }
+        }
+        return metadataBuilder == null ? state : ClusterState.builder(state).metadata(metadataBuilder).build();
+    }
+
     /**
      * Delegate to cluster-coordination thread to apply received state
      *
@@ -244,7 +385,20 @@ public class PublicationTransportHandler {
         }));
     }
 
+    /**
+     * Forgets the states that the other nodes accepted from this node and the diffs of its recent publications. Called when this node
+     * stops being the elected master, since the other nodes accept states from another master from then on.
+     */
+    public void clearPublicationHistory() {
+        lastAcceptedStateUUIDs.clear();
+        synchronized (retainedDiffs) {
+            retainedDiffs.clear();
+        }
+    }
+
     public PublicationContext newPublicationContext(ClusterStatePublicationEvent clusterStatePublicationEvent) {
+        final DiscoveryNodes nodes = clusterStatePublicationEvent.getNewState().nodes();
+        lastAcceptedStateUUIDs.keySet().removeIf(node -> nodes.nodeExists(node) == false);
         final PublicationContext publicationContext = new PublicationContext(clusterStatePublicationEvent);
         boolean success = false;
         try {
@@ -339,6 +493,61 @@ public class PublicationTransportHandler {
         }
     }
 
+    /**
+     * Returns the chain of retained serialized diffs that leads from the state with UUID {@code fromStateUUID} to the state with UUID
+     * {@code toStateUUID}, or {@code null} if some diff of the chain is not retained, or not retained for the given transport version.
+     */
+    @Nullable
+    private List<BytesReference> getDiffChain(String fromStateUUID, String toStateUUID, TransportVersion version) {
+        final List<BytesReference> diffChain = new ArrayList<>();
+        String currentStateUUID = toStateUUID;
+        synchronized (retainedDiffs) {
+            final Iterator<RetainedDiff> iterator = retainedDiffs.descendingIterator();
+            while (iterator.hasNext()) {
+                final RetainedDiff retainedDiff = iterator.next();
+                if (retainedDiff.toStateUUID().equals(currentStateUUID) == false) {
+                    // a diff of a publication that failed, it is not part of the chain
+                    continue;
+                }
+                final BytesReference serializedDiff = retainedDiff.serializedDiffs().get(version);
+                if (serializedDiff == null) {
+                    return null;
+                }
+                diffChain.add(serializedDiff);
+                if (retainedDiff.fromStateUUID().equals(fromStateUUID)) {
+                    Collections.reverse(diffChain);
+                    return diffChain;
+                }
+                currentStateUUID = retainedDiff.fromStateUUID();
+            }
+        }
+        return null;
+    }
+
+    private ReleasableBytesReference serializeDiffChain(List<BytesReference> diffChain, DiscoveryNode node, TransportVersion version) {
+        final RecyclerBytesStreamOutput bytesStream = transportService.newNetworkBytesStream();
+        boolean success = false;
+        try {
+            bytesStream.setTransportVersion(version);
+            bytesStream.writeCollection(diffChain, StreamOutput::writeBytesReference);
+            final ReleasableBytesReference result = new ReleasableBytesReference(bytesStream.bytes(), bytesStream);
+            success = true;
+            return result;
+        } catch (IOException e) {
+            throw new ElasticsearchException("failed to serialize cluster state diff chain for publishing to node {}", e, node);
+        } finally {
+            if (success == false) {
+                bytesStream.close();
+            }
+        }
+    }
+
+    /**
+     * The serialized diff of a publication, per transport version, retained to be sent as part of diff chains. The bytes are copied out
+     * of the recycled pages of the publication so that they don't hold on to them.
+     */
+    private record RetainedDiff(String fromStateUUID, String toStateUUID, Map<TransportVersion, BytesReference> serializedDiffs) {}
+
     /**
      * Publishing a cluster state typically involves sending the same cluster state (or diff) to every node, so the work of diffing,
      * serializing, and compressing the state can be done once and the results shared across publish requests. The
@@ -397,6 +606,28 @@ public class PublicationTransportHandler {
                     );
                 }
             }
+            retainSerializedDiffs();
+        }
+
+        private void retainSerializedDiffs() {
+            if (maxRetainedDiffs == 0) {
+                return;
+            }
+            final Map<TransportVersion, BytesReference> copies = new HashMap<>();
+            serializedDiffs.forEach((version, bytes) -> {
+                if (version.onOrAfter(TransportVersions.PUBLISH_STATE_DIFF_CHAIN)) {
+                    copies.put(version, new BytesArray(BytesReference.toBytes(bytes)));
+                }
+            });
+            if (copies.isEmpty()) {
+                return;
+            }
+            synchronized (retainedDiffs) {
+                retainedDiffs.addLast(new RetainedDiff(previousState.stateUUID(), newState.stateUUID(), Map.copyOf(copies)));
+                while (retainedDiffs.size() > maxRetainedDiffs) {
+                    retainedDiffs.removeFirst();
+                }
+            }
         }
 
         public void sendPublishRequest(
@@ -449,8 +680,20 @@ public class PublicationTransportHandler {
                 logger.trace("sending full cluster state version [{}] to [{}]", newStateVersion, destination);
                 sendFullClusterState(destination, listener);
             } else {
-                logger.trace("sending cluster state diff for version [{}] to [{}]", newStateVersion, destination);
-                sendClusterStateDiff(destination, listener);
+                final String lastAcceptedStateUUID = lastAcceptedStateUUIDs.get(destination);
+                if (lastAcceptedStateUUID != null && lastAcceptedStateUUID.equals(previousState.stateUUID()) == false) {
+                    // the node missed some publications so the diff from the previous state does not apply to the state it accepted
+                    logger.trace(
+                        "sending cluster state diff chain for version [{}] from state [{}] to [{}]",
+                        newStateVersion,
+                        lastAcceptedStateUUID,
+                        destination
+                    );
+                    sendClusterStateDiffChain(destination, lastAcceptedStateUUID, listener);
+                } else {
+                    logger.trace("sending cluster state diff for version [{}] to [{}]", newStateVersion, destination);
+                    sendClusterStateDiff(destination, listener);
+                }
             }
         }
 
@@ -474,7 +717,7 @@ public class PublicationTransportHandler {
                     return;
                 }
             }
-            sendClusterState(connection, bytes, listener);
+            sendClusterState(connection, bytes, recordingAcceptedState(destination, listener));
         }
 
         private void sendClusterStateDiff(DiscoveryNode destination, ActionListener<PublishWithJoinResponse> listener) {
@@ -492,14 +735,59 @@ public class PublicationTransportHandler {
                     + " of version ["
                     + connection.getTransportVersion().toReleaseVersion()
                     + "]";
+            sendClusterStateDiff(destination, connection, bytes, listener);
+        }
 
+        private void sendClusterStateDiffChain(
+            DiscoveryNode destination,
+            String fromStateUUID,
+            ActionListener<PublishWithJoinResponse> listener
+        ) {
+            final Transport.Connection connection = nodeConnections.get(destination);
+            if (connection == null) {
+                logger.debug("No connection to [{}] available, skipping send", destination);
+                listener.onFailure(new NodeNotConnectedException(destination, "No connection available"));
+                return;
+            }
+
+            final TransportVersion version = connection.getTransportVersion();
+            final List<BytesReference> diffChain = version.onOrAfter(TransportVersions.PUBLISH_STATE_DIFF_CHAIN)
+                ? getDiffChain(fromStateUUID, newState.stateUUID(), version)
+                : null;
+            if (diffChain == null) {
+                logger.trace("no diff chain from state [{}] available for [{}], sending cluster state diff", fromStateUUID, destination);
+                sendClusterStateDiff(destination, listener);
+                return;
+            }
+
+            final ReleasableBytesReference bytes;
+            try {
+                bytes = serializeDiffChain(diffChain, destination, version);
+            } catch (Exception e) {
+                logger.warn(() -> format("failed to serialize cluster state diff chain before publishing it to node %s", destination), e);
+                listener.onFailure(e);
+                return;
+            }
+            try {
+                sendClusterStateDiff(destination, connection, bytes, listener);
+            } finally {
+                bytes.decRef();
+            }
+        }
+
+        private void sendClusterStateDiff(
+            DiscoveryNode destination,
+            Transport.Connection connection,
+            ReleasableBytesReference bytes,
+            ActionListener<PublishWithJoinResponse> listener
+        ) {
             // acquire a ref to the context just in case we need to try again with the full cluster state
             if (tryIncRef() == false) {
                 assert false;
                 listener.onFailure(new IllegalStateException("publication context released before transmission"));
                 return;
             }
-            sendClusterState(connection, bytes, ActionListener.runAfter(listener.delegateResponse((delegate, e) -> {
+            final ActionListener<PublishWithJoinResponse> diffListener = listener.delegateResponse((delegate, e) -> {
                 if (e instanceof final TransportException transportException) {
                     if (transportException.unwrapCause() instanceof IncompatibleClusterStateVersionException) {
                         logger.debug(
@@ -516,7 +804,22 @@ public class PublicationTransportHandler {
 
                 logger.debug(() -> format("failed to send cluster state to %s", destination), e);
                 delegate.onFailure(e);
-            }), this::decRef));
+            });
+            sendClusterState(connection, bytes, ActionListener.runAfter(recordingAcceptedState(destination, diffListener), this::decRef));
+        }
+
+        /**
+         * Records the new state as the last state that the destination accepted once it acknowledged it, which is the state the diff
+         * chains of later publications to the destination start from.
+         */
+        private ActionListener<PublishWithJoinResponse> recordingAcceptedState(
+            DiscoveryNode destination,
+            ActionListener<PublishWithJoinResponse> listener
+        ) {
+            return listener.map(response -> {
+                lastAcceptedStateUUIDs.put(destination, newState.stateUUID());
+                return response;
+            });
         }
 
         private void sendClusterState(
@@ -28,8 +28,11 @@ import org.elasticsearch.cluster.routing.allocation.IndexMetadataUpdater;
 import org.elasticsearch.cluster.routing.allocation.decider.DiskThresholdDecider;
 import org.elasticsearch.cluster.routing.allocation.decider.ShardsLimitAllocationDecider;
 import org.elasticsearch.common.ReferenceDocs;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.compress.CompressedXContent;
+import org.elasticsearch.common.compress.CompressorFactory;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -62,6 +65,7 @@ import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xcontent.XContentParser;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -154,7 +158,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
 
     @Nullable
     public String getDownsamplingInterval() {
-        return settings.get(IndexMetadata.INDEX_DOWNSAMPLE_INTERVAL_KEY);
+        return getSettings().get(IndexMetadata.INDEX_DOWNSAMPLE_INTERVAL_KEY);
     }
 
     public enum State implements Writeable {
@@ -590,7 +594,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
 
     private final ImmutableOpenMap<String, AliasMetadata> aliases;
 
-    private final Settings settings;
+    // null until first accessed if this instance only holds its settings in compressed form, see #withCompressedSettings()
+    @Nullable
+    private volatile Settings settings;
+
+    @Nullable
+    private final CompressedSettings compressedSettings;
 
     @Nullable
     private final MappingMetadata mapping;
@@ -669,7 +678,8 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         final State state,
         final int numberOfShards,
         final int numberOfReplicas,
-        final Settings settings,
+        @Nullable final Settings settings,
+        @Nullable final CompressedSettings compressedSettings,
         final MappingMetadata mapping,
         final ImmutableOpenMap<String, InferenceFieldMetadata> inferenceFields,
         final ImmutableOpenMap<String, AliasMetadata> aliases,
@@ -724,7 +734,9 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         this.numberOfShards = numberOfShards;
         this.numberOfReplicas = numberOfReplicas;
         this.totalNumberOfShards = numberOfShards * (numberOfReplicas + 1);
+        assert settings != null || compressedSettings != null;
         this.settings = settings;
+        this.compressedSettings = compressedSettings;
         this.mapping = mapping;
         this.inferenceFields = inferenceFields;
         this.customData = customData;
@@ -742,7 +754,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         this.waitForActiveShards = waitForActiveShards;
         this.rolloverInfos = rolloverInfos;
         this.isSystem = isSystem;
-        assert isHidden == INDEX_HIDDEN_SETTING.get(settings);
+        assert settings == null || isHidden == INDEX_HIDDEN_SETTING.get(settings);
         this.isHidden = isHidden;
         this.timestampRange = timestampRange;
         this.eventIngestedRange = eventIngestedRange;
@@ -758,7 +770,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         this.isSearchableSnapshot = isSearchableSnapshot;
         this.isPartialSearchableSnapshot = isPartialSearchableSnapshot;
         this.indexCompatibilityVersion = indexCompatibilityVersion;
-        assert indexCompatibilityVersion.equals(SETTING_INDEX_VERSION_COMPATIBILITY.get(settings));
+        assert settings == null || indexCompatibilityVersion.equals(SETTING_INDEX_VERSION_COMPATIBILITY.get(settings));
         this.indexMode = indexMode;
         this.timeSeriesStart = timeSeriesStart;
         this.timeSeriesEnd = timeSeriesEnd;
@@ -784,6 +796,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.numberOfShards,
             this.numberOfReplicas,
             this.settings,
+            this.compressedSettings,
             mapping,
             this.inferenceFields,
             this.aliases,
@@ -846,6 +859,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.numberOfShards,
             this.numberOfReplicas,
             this.settings,
+            this.compressedSettings,
             this.mapping,
             this.inferenceFields,
             this.aliases,
@@ -916,6 +930,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.numberOfShards,
             this.numberOfReplicas,
             this.settings,
+            this.compressedSettings,
             this.mapping,
             this.inferenceFields,
             this.aliases,
@@ -977,6 +992,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.numberOfShards,
             this.numberOfReplicas,
             this.settings,
+            this.compressedSettings,
             this.mapping,
             this.inferenceFields,
             this.aliases,
@@ -1033,6 +1049,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.numberOfShards,
             this.numberOfReplicas,
             this.settings,
+            this.compressedSettings,
             this.mapping,
             this.inferenceFields,
             this.aliases,
@@ -1178,9 +1195,151 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     }
 
     public Settings getSettings() {
+        Settings settings = this.settings;
+        if (settings == null) {
+            // racing threads may decompress the settings concurrently, but they all produce equal instances
+            settings = decompressSettings(compressedSettings.bytes());
+            this.settings = settings;
+        }
         return settings;
     }
 
+    /**
+     * Returns the settings of this index without retaining them if they are only held in compressed form, for callers such as
+     * serialization that need the settings once and should not grow the heap usage of this instance.
+     */
+    public Settings getSettingsWithoutMaterializing() {
+        final Settings settings = this.settings;
+        return settings == null ? decompressSettings(compressedSettings.bytes()) : settings;
+    }
+
+    /**
+     * @return whether this instance holds its settings in compressed form, see {@link #withCompressedSettings()}
+     */
+    public boolean hasCompressedSettings() {
+        return compressedSettings != null;
+    }
+
+    /**
+     * @return whether the settings of this instance are held in decompressed form on heap, which is always the case unless this
+     * instance was created by {@link #withCompressedSettings()} and its settings were not accessed since
+     */
+    public boolean isSettingsMaterialized() {
+        return settings != null;
+    }
+
+    /**
+     * @return the size of the compressed settings of this instance, or {@code 0} if it does not hold compressed settings
+     */
+    public long getCompressedSettingsSizeInBytes() {
+        return compressedSettings == null ? 0L : compressedSettings.bytes().length();
+    }
+
+    /**
+     * Returns a copy of this instance that only holds its settings in compressed form and decompresses them on their first access
+     * through {@link #getSettings()}. All values derived from the settings are kept, so that nodes which rarely need the full settings
+     * of most indices, for instance coordinating nodes in clusters with many indices, save the heap taken by them.
+     */
+    public IndexMetadata withCompressedSettings() {
+        if (compressedSettings != null) {
+            return this;
+        }
+        final Settings settings = this.settings;
+        final CompressedSettings compressed;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            settings.writeTo(out);
+            compressed = new CompressedSettings(CompressorFactory.COMPRESSOR.compress(out.bytes()), settings.hashCode());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new IndexMetadata(
+            this.index,
+            this.version,
+            this.mappingVersion,
+            this.settingsVersion,
+            this.aliasesVersion,
+            this.primaryTerms,
+            this.state,
+            this.numberOfShards,
+            this.numberOfReplicas,
+            null,
+            compressed,
+            this.mapping,
+            this.inferenceFields,
+            this.aliases,
+            this.customData,
+            this.inSyncAllocationIds,
+            this.requireFilters,
+            this.initialRecoveryFilters,
+            this.includeFilters,
+            this.excludeFilters,
+            this.indexCreatedVersion,
+            this.mappingsUpdatedVersion,
+            this.routingNumShards,
+            this.routingPartitionSize,
+            this.routingPaths,
+            this.waitForActiveShards,
+            this.rolloverInfos,
+            this.isSystem,
+            this.isHidden,
+            this.timestampRange,
+            this.eventIngestedRange,
+            this.priority,
+            this.creationDate,
+            this.ignoreDiskWatermarks,
+            this.tierPreference,
+            this.shardsPerNodeLimit,
+            this.lifecyclePolicyName,
+            this.lifecycleExecutionState,
+            this.autoExpandReplicas,
+            this.isSearchableSnapshot,
+            this.isPartialSearchableSnapshot,
+            this.indexMode,
+            this.timeSeriesStart,
+            this.timeSeriesEnd,
+            this.indexCompatibilityVersion,
+            this.stats,
+            this.writeLoadForecast,
+            this.shardSizeInBytesForecast,
+            this.reshardingMetadata
+        );
+    }
+
+    /**
+     * The compressed settings of an instance created by {@link #withCompressedSettings()}, with the hash code of the settings so that
+     * {@link #hashCode()} and {@link #equals} don't need to decompress them.
+     */
+    private record CompressedSettings(BytesReference bytes, int settingsHashCode) {}
+
+    private int settingsHashCode() {
+        return compressedSettings != null ? compressedSettings.settingsHashCode() : settings.hashCode();
+    }
+
+    private boolean settingsEquals(IndexMetadata that) {
+        if (settingsHashCode() != that.settingsHashCode()) {
+            return false;
+        }
+        final Settings settings = this.settings;
+        final Settings otherSettings = that.settings;
+        if (settings != null && otherSettings != null) {
+            return settings.equals(otherSettings);
+        }
+        if (compressedSettings != null
+            && that.compressedSettings != null
+            && compressedSettings.bytes().equals(that.compressedSettings.bytes())) {
+            return true;
+        }
+        return getSettingsWithoutMaterializing().equals(that.getSettingsWithoutMaterializing());
+    }
+
+    private static Settings decompressSettings(BytesReference compressedSettings) {
+        try (StreamInput in = CompressorFactory.COMPRESSOR.threadLocalStreamInput(compressedSettings.streamInput())) {
+            return readSettingsFromStream(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public Map<String, AliasMetadata> getAliases() {
         return this.aliases;
     }
@@ -1191,7 +1350,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
 
     public List<String> getTierPreference() {
         if (tierPreference == null) {
-            final List<String> parsed = DataTier.parseTierList(DataTier.TIER_PREFERENCE_SETTING.get(settings));
+            final List<String> parsed = DataTier.parseTierList(DataTier.TIER_PREFERENCE_SETTING.get(getSettings()));
             assert false : "the setting parsing should always throw if we didn't store a tier preference when building this instance";
             return parsed;
         }
@@ -1294,6 +1453,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     public static final String INDEX_SHRINK_INITIAL_RECOVERY_KEY = INDEX_ROUTING_INITIAL_RECOVERY_GROUP_SETTING.getKey() + "_id";
 
     public Index getResizeSourceIndex() {
+        final Settings settings = getSettings();
         return INDEX_RESIZE_SOURCE_UUID.exists(settings)
             ? new Index(INDEX_RESIZE_SOURCE_NAME.get(settings), INDEX_RESIZE_SOURCE_UUID.get(settings))
             : null;
@@ -1463,7 +1623,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         if (Objects.equals(mapping, that.mapping) == false) {
             return false;
         }
-        if (settings.equals(that.settings) == false) {
+        if (settingsEquals(that) == false) {
             return false;
         }
         if (state != that.state) {
@@ -1505,7 +1665,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         result = 31 * result + Long.hashCode(version);
         result = 31 * result + state.hashCode();
         result = 31 * result + aliases.hashCode();
-        result = 31 * result + settings.hashCode();
+        result = 31 * result + settingsHashCode();
         result = 31 * result + Objects.hash(mapping);
         result = 31 * result + customData.hashCode();
         result = 31 * result + Long.hashCode(routingFactor);
@@ -1587,8 +1747,8 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             aliasesVersion = after.aliasesVersion;
             routingNumShards = after.routingNumShards;
             state = after.state;
-            settings = after.settings;
-            settingsDiff = after.settings.diff(before.settings);
+            settings = after.getSettingsWithoutMaterializing();
+            settingsDiff = settings.diff(before.getSettingsWithoutMaterializing());
             primaryTerms = after.primaryTerms;
             // TODO: find a nicer way to do BwC here and just work with Diff<MappingMetadata> here and in networking
             mappings = DiffableUtils.diff(
@@ -1750,7 +1910,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             if (settingsDiff == null) {
                 builder.settings(settings);
             } else {
-                builder.settings(settingsDiff.apply(part.settings));
+                builder.settings(settingsDiff.apply(part.getSettingsWithoutMaterializing()));
             }
             builder.primaryTerms(primaryTerms);
             builder.mapping = mappings.apply(
@@ -1857,7 +2017,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         out.writeVLong(aliasesVersion);
         out.writeInt(routingNumShards);
         out.writeByte(state.id());
-        settings.writeTo(out);
+        getSettingsWithoutMaterializing().writeTo(out);
         out.writeVLongArray(primaryTerms);
         // TODO: adjust serialization format to using an optional writable
         if (mapping == null) {
@@ -1966,7 +2126,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.mappingVersion = indexMetadata.mappingVersion;
             this.settingsVersion = indexMetadata.settingsVersion;
             this.aliasesVersion = indexMetadata.aliasesVersion;
-            this.settings = indexMetadata.getSettings();
+            this.settings = indexMetadata.getSettingsWithoutMaterializing();
             this.primaryTerms = indexMetadata.primaryTerms.clone();
             this.mapping = indexMetadata.mapping;
             this.inferenceFields = ImmutableOpenMap.builder(indexMetadata.inferenceFields);
@@ -2441,6 +2601,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                 numberOfShards,
                 numberOfReplicas,
                 settings,
+                null,
                 mapping,
                 inferenceFields.build(),
                 aliasesMap,
@@ -2502,9 +2663,9 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
 
             builder.startObject(KEY_SETTINGS);
             if (context != Metadata.XContentContext.API) {
-                indexMetadata.getSettings().toXContent(builder, Settings.FLAT_SETTINGS_TRUE);
+                indexMetadata.getSettingsWithoutMaterializing().toXContent(builder, Settings.FLAT_SETTINGS_TRUE);
             } else {
-                indexMetadata.getSettings().toXContent(builder, params);
+                indexMetadata.getSettingsWithoutMaterializing().toXContent(builder, params);
             }
             builder.endObject();
 
@@ -24,7 +24,6 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -46,7 +45,10 @@ public class RoutingNode implements Iterable<ShardRouting> {
 
     private final LinkedHashSet<ShardRouting> startedShards;
 
-    private final Map<Index, Set<ShardRouting>> shardsByIndex;
+    private final Map<Index, IndexShards> shardsByIndex;
+
+    // maintained incrementally so that the allocation deciders need not scan the shards of the node
+    private int primariesInInitialRecovery;
 
     /**
      * @param nodeId    node id of this routing node
@@ -72,7 +74,8 @@ public class RoutingNode implements Iterable<ShardRouting> {
         this.relocatingShards = new LinkedHashSet<>(original.relocatingShards);
         this.initializingShards = new LinkedHashSet<>(original.initializingShards);
         this.startedShards = new LinkedHashSet<>(original.startedShards);
-        this.shardsByIndex = Maps.copyOf(original.shardsByIndex, HashSet::new);
+        this.shardsByIndex = Maps.copyOf(original.shardsByIndex, IndexShards::copy);
+        this.primariesInInitialRecovery = original.primariesInInitialRecovery;
         assert invariant();
     }
 
@@ -156,7 +159,10 @@ public class RoutingNode implements Iterable<ShardRouting> {
         } else if (shard.started()) {
             startedShards.add(shard);
         }
-        shardsByIndex.computeIfAbsent(shard.index(), k -> new HashSet<>()).add(shard);
+        if (isInitialPrimaryRecovery(shard)) {
+            primariesInInitialRecovery++;
+        }
+        shardsByIndex.computeIfAbsent(shard.index(), k -> new IndexShards()).add(shard);
         assert validate == false || invariant();
     }
 
@@ -179,7 +185,10 @@ public class RoutingNode implements Iterable<ShardRouting> {
             boolean exist = startedShards.remove(oldShard);
             assert exist : "expected shard " + oldShard + " to exist in startedShards";
         }
-        final Set<ShardRouting> byIndex = shardsByIndex.get(oldShard.index());
+        if (isInitialPrimaryRecovery(oldShard)) {
+            primariesInInitialRecovery--;
+        }
+        final IndexShards byIndex = shardsByIndex.get(oldShard.index());
         byIndex.remove(oldShard);
         byIndex.add(newShard);
         if (newShard.initializing()) {
@@ -189,6 +198,9 @@ public class RoutingNode implements Iterable<ShardRouting> {
         } else if (newShard.started()) {
             startedShards.add(newShard);
         }
+        if (isInitialPrimaryRecovery(newShard)) {
+            primariesInInitialRecovery++;
+        }
         assert invariant();
     }
 
@@ -205,7 +217,10 @@ public class RoutingNode implements Iterable<ShardRouting> {
             boolean exist = startedShards.remove(shard);
             assert exist : "expected shard " + shard + " to exist in startedShards";
         }
-        final Set<ShardRouting> byIndex = shardsByIndex.get(shard.index());
+        if (isInitialPrimaryRecovery(shard)) {
+            primariesInInitialRecovery--;
+        }
+        final IndexShards byIndex = shardsByIndex.get(shard.index());
         byIndex.remove(shard);
         if (byIndex.isEmpty()) {
             shardsByIndex.remove(shard.index());
@@ -213,6 +228,13 @@ public class RoutingNode implements Iterable<ShardRouting> {
         assert invariant();
     }
 
+    /**
+     * A primary that is initializing without relocating from another node is recovering from its store, a snapshot or local shards.
+     */
+    private static boolean isInitialPrimaryRecovery(ShardRouting shard) {
+        return shard.initializing() && shard.primary() && shard.relocatingNodeId() == null;
+    }
+
     private static final ShardRouting[] EMPTY_SHARD_ROUTING_ARRAY = new ShardRouting[0];
 
     public ShardRouting[] initializing() {
@@ -276,14 +298,22 @@ public class RoutingNode implements Iterable<ShardRouting> {
     }
 
     public int numberOfOwningShardsForIndex(final Index index) {
-        final Set<ShardRouting> shardRoutings = shardsByIndex.get(index);
-        if (shardRoutings == null) {
+        final IndexShards indexShards = shardsByIndex.get(index);
+        if (indexShards == null) {
             return 0;
         } else {
-            return Math.toIntExact(shardRoutings.stream().filter(Predicate.not(ShardRouting::relocating)).count());
+            return indexShards.numberOfOwningShards();
         }
     }
 
+    /**
+     * The number of primaries on this node that are initializing but not relocating from another node, i.e. that are recovering from
+     * their store, a snapshot or local shards.
+     */
+    public int numberOfPrimariesInInitialRecovery() {
+        return primariesInInitialRecovery;
+    }
+
     public String prettyPrint() {
         StringBuilder sb = new StringBuilder();
         sb.append("-----node_id[").append(nodeId).append("][").append(node == null ? "X" : "V").append("]\n");
@@ -342,11 +372,58 @@ public class RoutingNode implements Iterable<ShardRouting> {
         assert initializingShards.size() == shardRoutingsInitializing.size() && initializingShards.containsAll(shardRoutingsInitializing);
         assert relocatingShards.size() == shardRoutingsRelocating.size() && relocatingShards.containsAll(shardRoutingsRelocating);
         assert startedShards.size() == shardRoutingsStarted.size() && startedShards.containsAll(shardRoutingsStarted);
-        assert shardRoutingsByIndex.equals(shardsByIndex);
+        assert shardRoutingsByIndex.keySet().equals(shardsByIndex.keySet());
+        for (var entry : shardsByIndex.entrySet()) {
+            final var indexShards = entry.getValue();
+            assert indexShards.shards.equals(shardRoutingsByIndex.get(entry.getKey()));
+            assert indexShards.relocating == indexShards.shards.stream().filter(ShardRouting::relocating).count();
+        }
+        assert primariesInInitialRecovery == initializingShards.stream().filter(RoutingNode::isInitialPrimaryRecovery).count();
 
         return true;
     }
 
+    /**
+     * The shards of a single index on this node, together with the number of them that are relocating away.
+     */
+    private static final class IndexShards {
+        private final Set<ShardRouting> shards;
+        private int relocating;
+
+        IndexShards() {
+            this(new HashSet<>(), 0);
+        }
+
+        private IndexShards(Set<ShardRouting> shards, int relocating) {
+            this.shards = shards;
+            this.relocating = relocating;
+        }
+
+        IndexShards copy() {
+            return new IndexShards(new HashSet<>(shards), relocating);
+        }
+
+        void add(ShardRouting shard) {
+            if (shards.add(shard) && shard.relocating()) {
+                relocating++;
+            }
+        }
+
+        void remove(ShardRouting shard) {
+            if (shards.remove(shard) && shard.relocating()) {
+                relocating--;
+            }
+        }
+
+        boolean isEmpty() {
+            return shards.isEmpty();
+        }
+
+        int numberOfOwningShards() {
+            return shards.size() - relocating;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
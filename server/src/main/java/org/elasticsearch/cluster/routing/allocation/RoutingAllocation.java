@@ -28,6 +28,7 @@ import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
 import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.snapshots.RestoreService.RestoreInProgressUpdater;
 import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
@@ -69,6 +70,8 @@ public class RoutingAllocation {
     private final long currentNanoTime;
     private final boolean isSimulating;
     private boolean isReconciling;
+    @Nullable
+    private Set<Index> simulatedRebalanceScope;
 
     private final IndexMetadataUpdater indexMetadataUpdater = new IndexMetadataUpdater();
     private final RoutingNodesChangedObserver nodesChangedObserver = new RoutingNodesChangedObserver();
@@ -438,6 +441,23 @@ public class RoutingAllocation {
         this.clusterInfo = clusterInfo;
     }
 
+    /**
+     * Restricts the rebalancing of a simulation to the given indices, or lifts the restriction if {@code null}. Allocating unassigned
+     * shards and moving shards that cannot remain on their current node is not affected.
+     */
+    public void setSimulatedRebalanceScope(@Nullable Set<Index> indices) {
+        assert isSimulating : "Should be called only while simulating";
+        this.simulatedRebalanceScope = indices;
+    }
+
+    /**
+     * @return the indices to which rebalancing is restricted, or {@code null} if all indices may be rebalanced
+     */
+    @Nullable
+    public Set<Index> simulatedRebalanceScope() {
+        return simulatedRebalanceScope;
+    }
+
     public RoutingAllocation immutableClone() {
         GlobalRoutingTable routingTable = clusterState.globalRoutingTable();
         return new RoutingAllocation(
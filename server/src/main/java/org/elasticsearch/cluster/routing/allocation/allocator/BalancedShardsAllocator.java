@@ -43,6 +43,7 @@ import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.gateway.PriorityComparator;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.injection.guice.Inject;
 
@@ -703,13 +704,24 @@ public class BalancedShardsAllocator implements ShardsAllocator {
          * has no shards yet and global balance for the node is way below
          * average. To re-balance we need to move shards back eventually likely
          * to the nodes we relocated them from.
+         *
+         * If the allocation restricts rebalancing to some indices (see {@link RoutingAllocation#simulatedRebalanceScope()}) then only
+         * those indices are returned.
          */
         private ProjectIndex[] buildWeightOrderedIndices() {
+            final Set<Index> rebalanceScope = allocation.simulatedRebalanceScope();
             final ProjectIndex[] indices = allocation.globalRoutingTable()
                 .routingTables()
                 .entrySet()
                 .stream()
-                .flatMap(entry -> entry.getValue().indicesRouting().keySet().stream().map(index -> new ProjectIndex(entry.getKey(), index)))
+                .flatMap(
+                    entry -> entry.getValue()
+                        .indicesRouting()
+                        .values()
+                        .stream()
+                        .filter(indexRoutingTable -> rebalanceScope == null || rebalanceScope.contains(indexRoutingTable.getIndex()))
+                        .map(indexRoutingTable -> new ProjectIndex(entry.getKey(), indexRoutingTable.getIndex().getName()))
+                )
                 .toArray(ProjectIndex[]::new);
             final float[] deltas = new float[indices.length];
             for (int i = 0; i < deltas.length; i++) {
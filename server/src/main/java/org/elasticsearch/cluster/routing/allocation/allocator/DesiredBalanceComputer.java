@@ -12,20 +12,28 @@ package org.elasticsearch.cluster.routing.allocation.allocator;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.cluster.ClusterInfo;
 import org.elasticsearch.cluster.ClusterInfoSimulator;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
 import org.elasticsearch.cluster.routing.RoutingNodes;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.UnassignedInfo;
+import org.elasticsearch.cluster.routing.allocation.DiskThresholdSettings;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
 import org.elasticsearch.cluster.routing.allocation.command.MoveAllocationCommand;
 import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.common.metrics.MeanMetric;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.time.TimeProvider;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 
 import java.util.ArrayList;
@@ -70,15 +78,61 @@ public class DesiredBalanceComputer {
         Setting.Property.NodeScope
     );
 
+    /**
+     * If enabled, a computation that starts from the desired balance computed by the previous computation only rebalances the indices
+     * affected by the changes since then: new or resized shards, shards that were assigned to departed nodes, and shards on nodes whose
+     * disk usage crossed the high watermark. Unassigned shards and shards that cannot remain where they are are always handled. Joining
+     * nodes and removed indices make the computation rebalance the whole cluster.
+     */
+    public static final Setting<Boolean> INCREMENTAL_COMPUTATION_ENABLED_SETTING = Setting.boolSetting(
+        "cluster.routing.allocation.desired_balance.incremental_computation.enabled",
+        false,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The maximum time between computations that rebalance the whole cluster, to correct any imbalance that incremental computations
+     * cannot see.
+     */
+    public static final Setting<TimeValue> FULL_COMPUTATION_INTERVAL_SETTING = Setting.timeSetting(
+        "cluster.routing.allocation.desired_balance.incremental_computation.full_computation_interval",
+        TimeValue.timeValueMinutes(10),
+        TimeValue.ZERO,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     private TimeValue progressLogInterval;
     private long maxBalanceComputationTimeDuringIndexCreationMillis;
+    private boolean incrementalComputationEnabled;
+    private long fullComputationIntervalMillis;
     private long numComputeCallsSinceLastConverged;
     private long numIterationsSinceLastConverged;
     private long lastConvergedTimeMillis;
     private long lastNotConvergedLogMessageTimeMillis;
     private Level convergenceLogMsgLevel;
 
+    // state of the previous computation, used to decide whether the next computation can be incremental
+    private final DiskThresholdSettings diskThresholdSettings;
+    @Nullable
+    private DesiredBalance lastComputedDesiredBalance;
+    @Nullable
+    private Set<Index> lastRebalanceScope;
+    private Set<String> lastComputedNodeIds = Set.of();
+    private Set<String> lastNodesExceedingHighWatermark = Set.of();
+    private long lastFullComputationTimeMillis;
+
     public DesiredBalanceComputer(ClusterSettings clusterSettings, TimeProvider timeProvider, ShardsAllocator delegateAllocator) {
+        this(Settings.EMPTY, clusterSettings, timeProvider, delegateAllocator);
+    }
+
+    public DesiredBalanceComputer(
+        Settings settings,
+        ClusterSettings clusterSettings,
+        TimeProvider timeProvider,
+        ShardsAllocator delegateAllocator
+    ) {
         this.delegateAllocator = delegateAllocator;
         this.timeProvider = timeProvider;
         this.numComputeCallsSinceLastConverged = 0;
@@ -91,6 +145,9 @@ public class DesiredBalanceComputer {
             MAX_BALANCE_COMPUTATION_TIME_DURING_INDEX_CREATION_SETTING,
             value -> this.maxBalanceComputationTimeDuringIndexCreationMillis = value.millis()
         );
+        clusterSettings.initializeAndWatch(INCREMENTAL_COMPUTATION_ENABLED_SETTING, value -> this.incrementalComputationEnabled = value);
+        clusterSettings.initializeAndWatch(FULL_COMPUTATION_INTERVAL_SETTING, value -> this.fullComputationIntervalMillis = value.millis());
+        this.diskThresholdSettings = new DiskThresholdSettings(settings, clusterSettings);
     }
 
     public DesiredBalance compute(
@@ -122,9 +179,19 @@ public class DesiredBalanceComputer {
         DesiredBalance.ComputationFinishReason finishReason = DesiredBalance.ComputationFinishReason.CONVERGED;
 
         if (routingNodes.size() == 0) {
+            lastComputedDesiredBalance = null;
             return new DesiredBalance(desiredBalanceInput.index(), Map.of(), Map.of(), finishReason);
         }
 
+        final var nodesExceedingHighWatermark = getNodesExceedingHighWatermark(desiredBalanceInput.routingAllocation().clusterInfo());
+        final var rebalanceScope = computeRebalanceScope(
+            previousDesiredBalance,
+            desiredBalanceInput.routingAllocation(),
+            knownNodeIds,
+            nodesExceedingHighWatermark
+        );
+        routingAllocation.setSimulatedRebalanceScope(rebalanceScope);
+
         // we assume that all ongoing recoveries will complete
         for (final var routingNode : routingNodes) {
             for (final var shardRouting : routingNode) {
@@ -463,7 +530,121 @@ public class DesiredBalanceComputer {
         }
 
         long lastConvergedIndex = hasChanges ? previousDesiredBalance.lastConvergedIndex() : desiredBalanceInput.index();
-        return new DesiredBalance(lastConvergedIndex, assignments, routingNodes.getBalanceWeightStatsPerNode(), finishReason);
+        final var desiredBalance = new DesiredBalance(
+            lastConvergedIndex,
+            assignments,
+            routingNodes.getBalanceWeightStatsPerNode(),
+            finishReason
+        );
+        lastComputedDesiredBalance = desiredBalance;
+        lastRebalanceScope = rebalanceScope;
+        lastComputedNodeIds = Set.copyOf(knownNodeIds);
+        lastNodesExceedingHighWatermark = nodesExceedingHighWatermark;
+        return desiredBalance;
+    }
+
+    /**
+     * Decides whether this computation can be incremental, and if so computes the indices it should rebalance.
+     *
+     * @return the indices to rebalance, or {@code null} if this computation must rebalance the whole cluster
+     */
+    @Nullable
+    private Set<Index> computeRebalanceScope(
+        DesiredBalance previousDesiredBalance,
+        RoutingAllocation routingAllocation,
+        Set<String> knownNodeIds,
+        Set<String> nodesExceedingHighWatermark
+    ) {
+        final long currentTimeMillis = timeProvider.relativeTimeInMillis();
+        if (incrementalComputationEnabled == false
+            // the previous balance was reset, or was not computed by this node
+            || previousDesiredBalance != lastComputedDesiredBalance
+            // the whole cluster must be rebalanced from time to time
+            || currentTimeMillis - lastFullComputationTimeMillis >= fullComputationIntervalMillis
+            // new nodes may take shards of every index
+            || lastComputedNodeIds.containsAll(knownNodeIds) == false
+            // the shards of removed indices leave room on their nodes that shards of every index may take
+            || hasRemovedIndices(previousDesiredBalance, routingAllocation)
+            // an interrupted full computation must be resumed as such
+            || (lastRebalanceScope == null && previousDesiredBalance.finishReason() != DesiredBalance.ComputationFinishReason.CONVERGED)) {
+            lastFullComputationTimeMillis = currentTimeMillis;
+            return null;
+        }
+
+        // an interrupted incremental computation must still rebalance the indices it was working on
+        final var rebalanceScope = previousDesiredBalance.finishReason() == DesiredBalance.ComputationFinishReason.CONVERGED
+            ? new HashSet<Index>()
+            : new HashSet<>(lastRebalanceScope);
+        final var nodesCrossingHighWatermark = Sets.union(
+            Sets.difference(nodesExceedingHighWatermark, lastNodesExceedingHighWatermark),
+            Sets.difference(lastNodesExceedingHighWatermark, nodesExceedingHighWatermark)
+        );
+        for (final var indexRoutingTable : routingAllocation.globalRoutingTable().indexRouting()) {
+            if (rebalanceScope.contains(indexRoutingTable.getIndex()) == false
+                && isAffected(indexRoutingTable, previousDesiredBalance, knownNodeIds, nodesCrossingHighWatermark)) {
+                rebalanceScope.add(indexRoutingTable.getIndex());
+            }
+        }
+        logger.debug("Computing desired balance incrementally, rebalancing {} affected indices", rebalanceScope.size());
+        return rebalanceScope;
+    }
+
+    /**
+     * @return whether any index that has shards in the previous desired balance was removed since
+     */
+    private static boolean hasRemovedIndices(DesiredBalance previousDesiredBalance, RoutingAllocation routingAllocation) {
+        final var indices = new HashSet<Index>();
+        for (final var indexRoutingTable : routingAllocation.globalRoutingTable().indexRouting()) {
+            indices.add(indexRoutingTable.getIndex());
+        }
+        for (final var shardId : previousDesiredBalance.assignments().keySet()) {
+            if (indices.contains(shardId.getIndex()) == false) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAffected(
+        IndexRoutingTable indexRoutingTable,
+        DesiredBalance previousDesiredBalance,
+        Set<String> knownNodeIds,
+        Set<String> nodesCrossingHighWatermark
+    ) {
+        for (int shardId = 0; shardId < indexRoutingTable.size(); shardId++) {
+            final var indexShardRoutingTable = indexRoutingTable.shard(shardId);
+            final var assignment = previousDesiredBalance.getAssignment(indexShardRoutingTable.shardId());
+            if (assignment == null || assignment.total() != indexShardRoutingTable.size()) {
+                // new shard, or the number of replicas changed
+                return true;
+            }
+            for (final var nodeId : assignment.nodeIds()) {
+                if (knownNodeIds.contains(nodeId) == false || nodesCrossingHighWatermark.contains(nodeId)) {
+                    return true;
+                }
+            }
+            for (int copy = 0; copy < indexShardRoutingTable.size(); copy++) {
+                final var currentNodeId = indexShardRoutingTable.shard(copy).currentNodeId();
+                if (currentNodeId != null && nodesCrossingHighWatermark.contains(currentNodeId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<String> getNodesExceedingHighWatermark(ClusterInfo clusterInfo) {
+        if (diskThresholdSettings.isEnabled() == false) {
+            return Set.of();
+        }
+        final var nodeIds = new HashSet<String>();
+        for (final var diskUsage : clusterInfo.getNodeLeastAvailableDiskUsages().values()) {
+            final var threshold = diskThresholdSettings.getFreeBytesThresholdHighStage(ByteSizeValue.ofBytes(diskUsage.totalBytes()));
+            if (diskUsage.freeBytes() < threshold.getBytes()) {
+                nodeIds.add(diskUsage.nodeId());
+            }
+        }
+        return Set.copyOf(nodeIds);
     }
 
     // visible for testing
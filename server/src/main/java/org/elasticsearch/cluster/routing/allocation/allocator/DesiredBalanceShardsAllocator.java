@@ -122,7 +122,7 @@ public class DesiredBalanceShardsAllocator implements ShardsAllocator {
             delegateAllocator,
             threadPool,
             clusterService,
-            new DesiredBalanceComputer(clusterSettings, threadPool, delegateAllocator),
+            new DesiredBalanceComputer(clusterService.getSettings(), clusterSettings, threadPool, delegateAllocator),
             reconciler,
             telemetryProvider,
             nodeAllocationStatsAndWeightsCalculator
@@ -122,14 +122,9 @@ public class ThrottlingAllocationDecider extends AllocationDecider {
             // primary is unassigned, means we are going to do recovery from store, snapshot or local shards
             // count *just the primaries* currently doing recovery on the node and check against primariesInitialRecoveries
 
-            int primariesInRecovery = 0;
-            for (ShardRouting shard : node.initializing()) {
-                // when a primary shard is INITIALIZING, it can be because of *initial recovery* or *relocation from another node*
-                // we only count initial recoveries here, so we need to make sure that relocating node is null
-                if (shard.primary() && shard.relocatingNodeId() == null) {
-                    primariesInRecovery++;
-                }
-            }
+            // when a primary shard is INITIALIZING, it can be because of *initial recovery* or *relocation from another node*
+            // we only count initial recoveries here
+            final int primariesInRecovery = node.numberOfPrimariesInInitialRecovery();
             if (allocation.isSimulating()) {
                 return allocation.decision(Decision.YES, NAME, "primary allocation is not throttled when simulating");
             } else if (primariesInRecovery >= primariesInitialRecoveries) {
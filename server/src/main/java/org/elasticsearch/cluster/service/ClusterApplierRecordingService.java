@@ -128,6 +128,14 @@ public final class ClusterApplierRecordingService {
         List<Tuple<String, Long>> getRecordings() {
             return recordings;
         }
+
+        /**
+         * Adds the recordings of a recorder that was used on another thread, e.g. by an applier that ran concurrently with this one.
+         */
+        void addRecordings(Recorder other) {
+            assert other.recording == false : "still recording [" + other.currentAction + "]";
+            recordings.addAll(other.recordings);
+        }
     }
 
     public static class Stats implements Writeable, ToXContentFragment {
@@ -11,6 +11,7 @@ package org.elasticsearch.cluster.service;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterState;
@@ -28,6 +29,7 @@ import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.PrioritizedEsThreadPoolExecutor;
@@ -42,12 +44,16 @@ import org.elasticsearch.indices.store.IndicesStore;
 import org.elasticsearch.threadpool.Scheduler;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -75,8 +81,21 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         Setting.Property.NodeScope
     );
 
+    /**
+     * The maximum number of independent appliers, see {@link #addIndependentApplier}, that run at the same time. With {@code 1} they
+     * all run on the cluster applier thread.
+     */
+    public static final Setting<Integer> CLUSTER_SERVICE_MAX_CONCURRENT_APPLIERS_SETTING = Setting.intSetting(
+        "cluster.service.max_concurrent_appliers",
+        4,
+        1,
+        Setting.Property.NodeScope
+    );
+
     public static final String CLUSTER_UPDATE_THREAD_NAME = "clusterApplierService#updateTask";
 
+    public static final String INDEPENDENT_APPLIER_THREAD_NAME = "clusterApplierService#independentApplier";
+
     private final ClusterSettings clusterSettings;
     private final ThreadPool threadPool;
 
@@ -84,13 +103,17 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
     private volatile TimeValue slowTaskThreadDumpTimeout;
 
     private volatile PrioritizedEsThreadPoolExecutor threadPoolExecutor;
+    private final int maxConcurrentAppliers;
+    @Nullable // if independent appliers run on the cluster applier thread
+    private volatile ExecutorService independentAppliersExecutor;
 
     /**
-     * Those 3 state listeners are changing infrequently - CopyOnWriteArrayList is just fine
+     * Those 4 state listeners are changing infrequently - CopyOnWriteArrayList is just fine
      */
     private final Collection<ClusterStateApplier> highPriorityStateAppliers = new CopyOnWriteArrayList<>();
     private final Collection<ClusterStateApplier> normalPriorityStateAppliers = new CopyOnWriteArrayList<>();
     private final Collection<ClusterStateApplier> lowPriorityStateAppliers = new CopyOnWriteArrayList<>();
+    private final Collection<ClusterStateApplier> independentStateAppliers = new CopyOnWriteArrayList<>();
 
     private final Collection<ClusterStateListener> clusterStateListeners = new CopyOnWriteArrayList<>();
     private final Map<TimeoutClusterStateListener, NotifyTimeout> timeoutClusterStateListeners = new ConcurrentHashMap<>();
@@ -109,6 +132,7 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         this.state = new AtomicReference<>();
         this.nodeName = nodeName;
         this.recordingService = new ClusterApplierRecordingService();
+        this.maxConcurrentAppliers = CLUSTER_SERVICE_MAX_CONCURRENT_APPLIERS_SETTING.get(settings);
 
         clusterSettings.initializeAndWatch(CLUSTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING, t -> slowTaskLoggingThreshold = t);
         clusterSettings.initializeAndWatch(CLUSTER_SERVICE_SLOW_TASK_THREAD_DUMP_TIMEOUT_SETTING, t -> slowTaskThreadDumpTimeout = t);
@@ -133,6 +157,7 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         Objects.requireNonNull(nodeConnectionsService, "please set the node connection service before starting");
         Objects.requireNonNull(state.get(), "please set initial state before starting");
         threadPoolExecutor = createThreadPoolExecutor();
+        independentAppliersExecutor = createIndependentAppliersExecutor();
     }
 
     protected PrioritizedEsThreadPoolExecutor createThreadPoolExecutor() {
@@ -144,6 +169,27 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         );
     }
 
+    /**
+     * Creates the executor that runs the independent appliers concurrently with the other appliers, or returns {@code null} to run them
+     * on the cluster applier thread.
+     */
+    @Nullable
+    protected ExecutorService createIndependentAppliersExecutor() {
+        if (maxConcurrentAppliers == 1) {
+            return null;
+        }
+        return EsExecutors.newScaling(
+            nodeName + "/" + INDEPENDENT_APPLIER_THREAD_NAME,
+            0,
+            maxConcurrentAppliers,
+            60,
+            TimeUnit.SECONDS,
+            true,
+            daemonThreadFactory(nodeName, INDEPENDENT_APPLIER_THREAD_NAME),
+            threadPool.getThreadContext()
+        );
+    }
+
     class UpdateTask extends SourcePrioritizedRunnable {
         private final ActionListener<Void> listener;
         private final Function<ClusterState, ClusterState> updateFunction;
@@ -196,6 +242,9 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
             }
         }
         ThreadPool.terminate(threadPoolExecutor, 10, TimeUnit.SECONDS);
+        if (independentAppliersExecutor != null) {
+            ThreadPool.terminate(independentAppliersExecutor, 10, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -233,6 +282,15 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         normalPriorityStateAppliers.add(applier);
     }
 
+    /**
+     * Adds an applier of updated cluster states which neither depends on nor is depended on by the other appliers that are not high or
+     * low priority, and may therefore run concurrently with them. Independent appliers are called after all high priority appliers, and
+     * have all completed before the low priority appliers are called.
+     */
+    public void addIndependentApplier(ClusterStateApplier applier) {
+        independentStateAppliers.add(applier);
+    }
+
     /**
      * Removes an applier of updated cluster states.
      */
@@ -240,6 +298,7 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         normalPriorityStateAppliers.remove(applier);
         highPriorityStateAppliers.remove(applier);
         lowPriorityStateAppliers.remove(applier);
+        independentStateAppliers.remove(applier);
     }
 
     /**
@@ -379,9 +438,9 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         }
     }
 
-    /** asserts that the current thread is <b>NOT</b> the cluster state update thread */
+    /** asserts that the current thread is <b>NOT</b> the cluster state update thread, nor one that runs independent appliers */
     public static boolean assertNotClusterStateUpdateThread(String reason) {
-        assert Thread.currentThread().getName().contains(CLUSTER_UPDATE_THREAD_NAME) == false
+        assert isClusterStateApplierThread(Thread.currentThread().getName()) == false
             : "Expected current thread ["
                 + Thread.currentThread()
                 + "] to not be the cluster state update thread. Reason: ["
@@ -392,7 +451,7 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
 
     /** asserts that the current stack trace does <b>NOT</b> involve a cluster state applier */
     private static boolean assertNotCalledFromClusterStateApplier() {
-        if (Thread.currentThread().getName().contains(CLUSTER_UPDATE_THREAD_NAME)) {
+        if (isClusterStateApplierThread(Thread.currentThread().getName())) {
             for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
                 final String className = element.getClassName();
                 final String methodName = element.getMethodName();
@@ -410,6 +469,10 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
         return true;
     }
 
+    private static boolean isClusterStateApplierThread(String threadName) {
+        return threadName.contains(CLUSTER_UPDATE_THREAD_NAME) || threadName.contains(INDEPENDENT_APPLIER_THREAD_NAME);
+    }
+
     private void runTask(String source, Function<ClusterState, ClusterState> updateFunction, ActionListener<Void> clusterApplyListener) {
         if (lifecycle.started() == false) {
             logger.debug("processing [{}]: ignoring, cluster applier service not started", source);
@@ -556,10 +619,98 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
 
     private void callClusterStateAppliers(ClusterChangedEvent clusterChangedEvent, Recorder stopWatch) {
         callClusterStateAppliers(clusterChangedEvent, stopWatch, highPriorityStateAppliers);
-        callClusterStateAppliers(clusterChangedEvent, stopWatch, normalPriorityStateAppliers);
+        final ExecutorService executor = independentAppliersExecutor;
+        if (executor == null || independentStateAppliers.isEmpty()) {
+            callClusterStateAppliers(clusterChangedEvent, stopWatch, normalPriorityStateAppliers);
+            callClusterStateAppliers(clusterChangedEvent, stopWatch, independentStateAppliers);
+        } else {
+            final IndependentAppliers independentAppliers = new IndependentAppliers(
+                clusterChangedEvent,
+                List.copyOf(independentStateAppliers)
+            );
+            independentAppliers.start(executor);
+            try {
+                callClusterStateAppliers(clusterChangedEvent, stopWatch, normalPriorityStateAppliers);
+            } finally {
+                // never let the independent appliers run concurrently with the low priority appliers or with the next cluster state
+                independentAppliers.await(stopWatch);
+            }
+            independentAppliers.rethrowFailure();
+        }
         callClusterStateAppliers(clusterChangedEvent, stopWatch, lowPriorityStateAppliers);
     }
 
+    /**
+     * Runs each independent applier on the independent appliers executor with its own {@link Recorder}, whose recordings are added to
+     * the recordings of the cluster state application once all of them completed.
+     */
+    private class IndependentAppliers {
+        private final ClusterChangedEvent clusterChangedEvent;
+        private final List<ClusterStateApplier> appliers;
+        private final List<Recorder> recorders;
+        private final Semaphore completedAppliers = new Semaphore(0);
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        IndependentAppliers(ClusterChangedEvent clusterChangedEvent, List<ClusterStateApplier> appliers) {
+            this.clusterChangedEvent = clusterChangedEvent;
+            this.appliers = appliers;
+            this.recorders = new ArrayList<>(appliers.size());
+        }
+
+        void start(ExecutorService executor) {
+            for (ClusterStateApplier applier : appliers) {
+                final Recorder recorder = new Recorder(threadPool, slowTaskThreadDumpTimeout);
+                recorders.add(recorder);
+                executor.execute(new AbstractRunnable() {
+                    @Override
+                    protected void doRun() {
+                        setIsApplyingClusterState();
+                        try {
+                            callClusterStateAppliers(clusterChangedEvent, recorder, List.of(applier));
+                        } finally {
+                            clearIsApplyingClusterState();
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        failure.accumulateAndGet(e, ExceptionsHelper::useOrSuppress);
+                    }
+
+                    @Override
+                    public void onAfter() {
+                        completedAppliers.release();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "calling [" + applier + "] with change to version [" + clusterChangedEvent.state().version() + "]";
+                    }
+                });
+            }
+        }
+
+        void await(Recorder stopWatch) {
+            // Unlike connectToNodesAndWait this must not give up if interrupted, since the independent appliers would then still be
+            // running when the low priority appliers or the next cluster state are applied. The interrupt status is restored on return.
+            try (Releasable ignored = stopWatch.record("waiting for independent appliers")) {
+                completedAppliers.acquireUninterruptibly(appliers.size());
+            }
+            for (Recorder recorder : recorders) {
+                stopWatch.addRecordings(recorder);
+            }
+        }
+
+        void rethrowFailure() {
+            final Exception e = failure.get();
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (e != null) {
+                throw new IllegalStateException("failed to apply cluster state", e);
+            }
+        }
+    }
+
     private static void callClusterStateAppliers(
         ClusterChangedEvent clusterChangedEvent,
         Recorder stopWatch,
@@ -717,14 +868,14 @@ public class ClusterApplierService extends AbstractLifecycleComponent implements
     }
 
     public static void setIsApplyingClusterState() {
-        assert ThreadPool.assertCurrentThreadPool(CLUSTER_UPDATE_THREAD_NAME);
+        assert ThreadPool.assertCurrentThreadPool(CLUSTER_UPDATE_THREAD_NAME, INDEPENDENT_APPLIER_THREAD_NAME);
         if (isApplyingClusterState != null) {
             isApplyingClusterState.set(Boolean.TRUE);
         }
     }
 
     public static void clearIsApplyingClusterState() {
-        assert ThreadPool.assertCurrentThreadPool(CLUSTER_UPDATE_THREAD_NAME);
+        assert ThreadPool.assertCurrentThreadPool(CLUSTER_UPDATE_THREAD_NAME, INDEPENDENT_APPLIER_THREAD_NAME);
         if (isApplyingClusterState != null) {
             isApplyingClusterState.remove();
         }
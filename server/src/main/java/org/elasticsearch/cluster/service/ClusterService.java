@@ -150,6 +150,14 @@ public class ClusterService extends AbstractLifecycleComponent {
         clusterApplierService.addStateApplier(applier);
     }
 
+    /**
+     * Adds an applier of updated cluster states that may run concurrently with the other appliers that are not high or low priority, see
+     * {@link ClusterApplierService#addIndependentApplier}.
+     */
+    public void addIndependentApplier(ClusterStateApplier applier) {
+        clusterApplierService.addIndependentApplier(applier);
+    }
+
     /**
      * Removes an applier of updated cluster states.
      */
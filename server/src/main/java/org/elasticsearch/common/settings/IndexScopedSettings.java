@@ -114,6 +114,7 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
                 MergePolicyConfig.INDEX_MERGE_POLICY_MAX_MERGED_SEGMENT_SETTING,
                 MergePolicyConfig.INDEX_MERGE_POLICY_SEGMENTS_PER_TIER_SETTING,
                 MergePolicyConfig.INDEX_MERGE_POLICY_MERGE_FACTOR_SETTING,
+                MergePolicyConfig.INDEX_MERGE_POLICY_TIME_PARTITION_INTERVAL_SETTING,
                 IndexSortConfig.INDEX_SORT_FIELD_SETTING,
                 IndexSortConfig.INDEX_SORT_ORDER_SETTING,
                 IndexSortConfig.INDEX_SORT_MISSING_SETTING,
@@ -132,6 +133,7 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
                 IndexSettings.MAX_RESCORE_WINDOW_SETTING,
                 IndexSettings.MAX_ANALYZED_OFFSET_SETTING,
                 IndexSettings.WEIGHT_MATCHES_MODE_ENABLED_SETTING,
+                IndexSettings.HIGHLIGHT_TIME_BUDGET_SETTING,
                 IndexSettings.MAX_TERMS_COUNT_SETTING,
                 IndexSettings.INDEX_TRANSLOG_SYNC_INTERVAL_SETTING,
                 IndexSettings.DEFAULT_FIELD_SETTING,
@@ -190,6 +192,8 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
                 IndexSettings.LIFECYCLE_ORIGINATION_DATE_SETTING,
                 IndexSettings.LIFECYCLE_PARSE_ORIGINATION_DATE_SETTING,
                 IndexSettings.TIME_SERIES_ES87TSDB_CODEC_ENABLED_SETTING,
+                IndexSettings.TEXT_FIELDS_USE_LUCENE_POSTINGS_FORMAT_SETTING,
+                IndexSettings.SEGMENT_SUMMARIES_ENABLED_SETTING,
                 IndexSettings.LOGSDB_ROUTE_ON_SORT_FIELDS,
                 IndexSettings.LOGSDB_SORT_ON_HOST_NAME,
                 IndexSettings.LOGSDB_ADD_HOST_NAME_FIELD,
@@ -60,6 +60,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 
@@ -92,6 +93,11 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
     private volatile BoundTransportAddress boundAddress;
     private final AtomicLong totalChannelsAccepted = new AtomicLong();
     private final Map<HttpChannel, RequestTrackingHttpChannel> httpChannels = new ConcurrentHashMap<>();
+    private final Map<HttpChannel, RequestTrackingHttpChannel> httpStreams = new ConcurrentHashMap<>();
+    private final AtomicLong totalHttp2ChannelsAccepted = new AtomicLong();
+    private final AtomicLong currentHttp2Channels = new AtomicLong();
+    private final LongAdder http1RequestCount = new LongAdder();
+    private final LongAdder http2RequestCount = new LongAdder();
     private final PlainActionFuture<Void> allClientsClosedListener = new PlainActionFuture<>();
     private final RefCounted refCounted = AbstractRefCounted.of(() -> allClientsClosedListener.onResponse(null));
     private final Set<HttpServerChannel> httpServerChannels = ConcurrentCollections.newConcurrentSet();
@@ -171,11 +177,25 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
 
     @Override
     public HttpStats stats() {
+        final long currentOpen = httpChannels.size();
+        final long totalOpened = totalChannelsAccepted.get();
+        final long currentHttp2Open = currentHttp2Channels.get();
+        final long totalHttp2Opened = totalHttp2ChannelsAccepted.get();
         return new HttpStats(
-            httpChannels.size(),
-            totalChannelsAccepted.get(),
+            currentOpen,
+            totalOpened,
             httpClientStatsTracker.getClientStats(),
-            dispatcher.getStats()
+            dispatcher.getStats(),
+            Map.of(
+                HttpStats.HTTP_1_1,
+                new HttpStats.ProtocolStats(
+                    Math.max(0L, currentOpen - currentHttp2Open),
+                    Math.max(0L, totalOpened - totalHttp2Opened),
+                    http1RequestCount.sum()
+                ),
+                HttpStats.HTTP_2,
+                new HttpStats.ProtocolStats(currentHttp2Open, totalHttp2Opened, http2RequestCount.sum())
+            )
         );
     }
 
@@ -432,6 +452,41 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
         logger.trace(() -> format("Http channel accepted: %s", httpChannel));
     }
 
+    /**
+     * Called once a channel that was accepted with {@link #serverAcceptedChannel} negotiated HTTP/2, so that it is counted as an
+     * HTTP/2 connection in the {@link HttpStats}.
+     */
+    protected void serverNegotiatedHttp2(HttpChannel httpChannel) {
+        totalHttp2ChannelsAccepted.incrementAndGet();
+        currentHttp2Channels.incrementAndGet();
+        httpChannel.addCloseListener(ActionListener.running(currentHttp2Channels::decrementAndGet));
+        logger.trace(() -> format("Http channel negotiated HTTP/2: %s", httpChannel));
+    }
+
+    /**
+     * Registers a stream of a multiplexed HTTP/2 connection that was accepted with {@link #serverAcceptedChannel}. The requests
+     * received on the stream are tracked together with the requests of its connection, so that on shutdown the connection is only
+     * closed once the requests of all its streams completed, and they count towards the client stats of the connection.
+     *
+     * @param httpChannel the connection the stream belongs to
+     * @param stream      the stream, on which the request is received and its response is sent
+     */
+    protected void serverAcceptedStream(HttpChannel httpChannel, HttpChannel stream) {
+        final RequestTrackingHttpChannel connection = httpChannels.get(httpChannel);
+        if (connection == null) {
+            // the connection is closed already
+            CloseableChannel.closeChannel(stream);
+            return;
+        }
+        RequestTrackingHttpChannel trackingStream = httpStreams.putIfAbsent(
+            stream,
+            new RequestTrackingHttpChannel(stream, connection.refCounted)
+        );
+        assert trackingStream == null : "Stream should only be added to http stream set once";
+        stream.addCloseListener(ActionListener.running(() -> httpStreams.remove(stream)));
+        httpClientStatsTracker.addStreamClientStats(httpChannel, stream);
+    }
+
     /**
      * This method handles an incoming http request.
      *
@@ -440,7 +495,7 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
      */
     public void incomingRequest(final HttpRequest httpRequest, final HttpChannel httpChannel) {
         httpClientStatsTracker.updateClientStats(httpRequest, httpChannel);
-        final RequestTrackingHttpChannel trackingChannel = httpChannels.get(httpChannel);
+        final RequestTrackingHttpChannel trackingChannel = getTrackingChannel(httpChannel);
         final long startTime = threadPool.rawRelativeTimeInMillis();
         try {
             // The channel may not be present if the close listener (set in serverAcceptedChannel) runs before this method because the
@@ -457,6 +512,7 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
                 return;
             }
             trackingChannel.incomingRequest();
+            countRequest(httpRequest);
             handleIncomingRequest(httpRequest, trackingChannel, httpRequest.getInboundException());
         } finally {
             final long took = threadPool.rawRelativeTimeInMillis() - startTime;
@@ -501,6 +557,26 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
 
     protected void populatePerRequestThreadContext(RestRequest restRequest, ThreadContext threadContext) {}
 
+    private RequestTrackingHttpChannel getTrackingChannel(HttpChannel httpChannel) {
+        final RequestTrackingHttpChannel trackingChannel = httpChannels.get(httpChannel);
+        return trackingChannel != null ? trackingChannel : httpStreams.get(httpChannel);
+    }
+
+    private void countRequest(HttpRequest httpRequest) {
+        final HttpRequest.HttpVersion protocolVersion;
+        try {
+            protocolVersion = httpRequest.protocolVersion();
+        } catch (Exception e) {
+            // the request is rejected later on
+            return;
+        }
+        if (protocolVersion == HttpRequest.HttpVersion.HTTP_2) {
+            http2RequestCount.increment();
+        } else {
+            http1RequestCount.increment();
+        }
+    }
+
     private void handleIncomingRequest(final HttpRequest httpRequest, final HttpChannel httpChannel, final Exception exception) {
         if (exception == null) {
             HttpResponse earlyResponse = corsHandler.handleInbound(httpRequest);
@@ -621,11 +697,20 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
         /**
          * Only counts down to zero via {@link #setCloseWhenIdle()}.
          */
-        final RefCounted refCounted = AbstractRefCounted.of(this::closeInner);
+        final RefCounted refCounted;
         final HttpChannel inner;
 
         RequestTrackingHttpChannel(HttpChannel inner) {
             this.inner = inner;
+            this.refCounted = AbstractRefCounted.of(this::closeInner);
+        }
+
+        /**
+         * Tracks the requests of a stream with the {@link RefCounted} of the connection it belongs to.
+         */
+        RequestTrackingHttpChannel(HttpChannel stream, RefCounted connectionRefCounted) {
+            this.inner = stream;
+            this.refCounted = connectionRefCounted;
         }
 
         public void incomingRequest() throws IllegalStateException {
@@ -40,6 +40,7 @@ public class HttpClientStatsTracker {
     private final ThreadPool threadPool;
 
     private final Map<HttpChannel, ClientStatsBuilder> httpChannelStats = new ConcurrentHashMap<>();
+    private final Map<HttpChannel, ClientStatsBuilder> httpStreamStats = new ConcurrentHashMap<>();
     private final Semaphore closedChannelPermits;
     private final ConcurrentLinkedQueue<HttpStats.ClientStats> closedChannelStats = new ConcurrentLinkedQueue<>();
     private final long maxClosedChannelAgeMillis;
@@ -63,6 +64,7 @@ public class HttpClientStatsTracker {
         if (enabled == false) {
             // stop tracking stats for open channels
             httpChannelStats.clear();
+            httpStreamStats.clear();
 
             // remove all stats for closed channels (NB best effort attempt, we might be concurrently adding some too, but they'll be pruned
             // the next time the stats are retrieved)
@@ -103,6 +105,29 @@ public class HttpClientStatsTracker {
         }));
     }
 
+    /**
+     * Register a stream of a multiplexed HTTP/2 connection that was registered with {@link #addClientStats}, so that the requests
+     * received on the stream count towards the stats of the connection.
+     */
+    void addStreamClientStats(final HttpChannel httpChannel, final HttpChannel stream) {
+        if (clientStatsEnabled == false) {
+            return;
+        }
+
+        if (httpChannel == null || stream == null) {
+            return;
+        }
+
+        final ClientStatsBuilder connectionStats = httpChannelStats.get(httpChannel);
+        if (connectionStats == null) {
+            // the connection is closed already
+            return;
+        }
+        if (httpStreamStats.putIfAbsent(stream, connectionStats) == null) {
+            stream.addCloseListener(ActionListener.running(() -> httpStreamStats.remove(stream)));
+        }
+    }
+
     private void addClosedChannelStats(HttpStats.ClientStats clientStats) {
         if (clientStatsEnabled == false) {
             return;
@@ -130,7 +155,10 @@ public class HttpClientStatsTracker {
      */
     void updateClientStats(final HttpRequest httpRequest, final HttpChannel httpChannel) {
         if (clientStatsEnabled && httpChannel != null) {
-            final ClientStatsBuilder clientStats = httpChannelStats.get(httpChannel);
+            ClientStatsBuilder clientStats = httpChannelStats.get(httpChannel);
+            if (clientStats == null) {
+                clientStats = httpStreamStats.get(httpChannel);
+            }
             if (clientStats != null) {
                 clientStats.update(httpRequest, httpChannel, threadPool.absoluteTimeInMillis());
             }
@@ -152,6 +180,7 @@ public class HttpClientStatsTracker {
         } else {
             // prune even if disabled since we don't prevent concurrently adding entries while being disabled
             httpChannelStats.clear();
+            httpStreamStats.clear();
             pruneStaleClosedChannelStats(l -> false);
             return Collections.emptyList();
         }
@@ -25,7 +25,8 @@ public interface HttpRequest extends HttpPreRequest {
 
     enum HttpVersion {
         HTTP_1_0,
-        HTTP_1_1
+        HTTP_1_1,
+        HTTP_2
     }
 
     HttpBody body();
@@ -9,6 +9,7 @@
 
 package org.elasticsearch.http;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -27,10 +28,20 @@ import java.util.stream.Stream;
 
 import static org.elasticsearch.TransportVersions.V_8_12_0;
 
-public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clientStats, Map<String, HttpRouteStats> httpRouteStats)
-    implements
-        Writeable,
-        ChunkedToXContent {
+/**
+ * @param protocolStats the connection and request counts of each HTTP protocol, keyed by the protocol's ALPN identifier, see
+ *                      {@link #HTTP_1_1} and {@link #HTTP_2}
+ */
+public record HttpStats(
+    long serverOpen,
+    long totalOpen,
+    List<ClientStats> clientStats,
+    Map<String, HttpRouteStats> httpRouteStats,
+    Map<String, ProtocolStats> protocolStats
+) implements Writeable, ChunkedToXContent {
+
+    public static final String HTTP_1_1 = "http/1.1";
+    public static final String HTTP_2 = "h2";
 
     public static final HttpStats IDENTITY = new HttpStats(0, 0, List.of(), Map.of());
 
@@ -38,12 +49,17 @@ public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clien
         this(serverOpen, totalOpened, List.of(), Map.of());
     }
 
+    public HttpStats(long serverOpen, long totalOpen, List<ClientStats> clientStats, Map<String, HttpRouteStats> httpRouteStats) {
+        this(serverOpen, totalOpen, clientStats, httpRouteStats, Map.of());
+    }
+
     public HttpStats(StreamInput in) throws IOException {
         this(
             in.readVLong(),
             in.readVLong(),
             in.readCollectionAsList(ClientStats::new),
-            in.getTransportVersion().onOrAfter(V_8_12_0) ? in.readMap(HttpRouteStats::new) : Map.of()
+            in.getTransportVersion().onOrAfter(V_8_12_0) ? in.readMap(HttpRouteStats::new) : Map.of(),
+            in.getTransportVersion().onOrAfter(TransportVersions.HTTP_STATS_PER_PROTOCOL) ? in.readMap(ProtocolStats::new) : Map.of()
         );
     }
 
@@ -55,6 +71,9 @@ public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clien
         if (out.getTransportVersion().onOrAfter(V_8_12_0)) {
             out.writeMap(httpRouteStats, StreamOutput::writeWriteable);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.HTTP_STATS_PER_PROTOCOL)) {
+            out.writeMap(protocolStats, StreamOutput::writeWriteable);
+        }
     }
 
     public long getServerOpen() {
@@ -75,7 +94,9 @@ public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clien
             first.totalOpen + second.totalOpen,
             Stream.concat(first.clientStats.stream(), second.clientStats.stream()).toList(),
             Stream.concat(first.httpRouteStats.entrySet().stream(), second.httpRouteStats.entrySet().stream())
-                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue, HttpRouteStats::merge))
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue, HttpRouteStats::merge)),
+            Stream.concat(first.protocolStats.entrySet().stream(), second.protocolStats.entrySet().stream())
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue, ProtocolStats::merge))
         );
     }
 
@@ -97,6 +118,8 @@ public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clien
         static final String CLIENT_FORWARDED_FOR = "x_forwarded_for";
         static final String CLIENT_OPAQUE_ID = "x_opaque_id";
         static final String ROUTES = "routes";
+        static final String PROTOCOLS = "protocols";
+        static final String REQUEST_COUNT = "request_count";
     }
 
     @Override
@@ -119,10 +142,59 @@ public record HttpStats(long serverOpen, long totalOpen, List<ClientStats> clien
                 entry.getValue().toXContent(builder, params);
                 return builder;
             }),
-            Iterators.single((builder, params) -> builder.endObject().endObject())
+            Iterators.single((builder, params) -> {
+                builder.endObject();
+                if (protocolStats.isEmpty() == false) {
+                    builder.startObject(Fields.PROTOCOLS);
+                    for (var entry : protocolStats.entrySet()) {
+                        builder.field(entry.getKey());
+                        entry.getValue().toXContent(builder, params);
+                    }
+                    builder.endObject();
+                }
+                return builder.endObject();
+            })
         );
     }
 
+    /**
+     * Connection and request counts of a single HTTP protocol.
+     *
+     * @param currentOpen  the number of currently open connections that use this protocol
+     * @param totalOpened  the total number of connections that used this protocol
+     * @param requestCount the total number of requests received with this protocol, which for HTTP/2 is the number of streams
+     */
+    public record ProtocolStats(long currentOpen, long totalOpened, long requestCount) implements Writeable, ToXContentFragment {
+
+        ProtocolStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        public static ProtocolStats merge(ProtocolStats first, ProtocolStats second) {
+            return new ProtocolStats(
+                first.currentOpen + second.currentOpen,
+                first.totalOpened + second.totalOpened,
+                first.requestCount + second.requestCount
+            );
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field(Fields.CURRENT_OPEN, currentOpen);
+            builder.field(Fields.TOTAL_OPENED, totalOpened);
+            builder.field(Fields.REQUEST_COUNT, requestCount);
+            return builder.endObject();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(currentOpen);
+            out.writeVLong(totalOpened);
+            out.writeVLong(requestCount);
+        }
+    }
+
     public record ClientStats(
         int id,
         String agent,
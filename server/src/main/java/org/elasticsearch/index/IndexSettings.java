@@ -207,6 +207,19 @@ public final class IndexSettings {
         Property.IndexScope
     );
 
+    /**
+     * Index setting describing the maximum time a single search request may spend highlighting the hits of a shard.
+     * Hits that don't fit in the budget, which is kept for the best ranked hits first, are returned without highlights.
+     * Defaults to no limit.
+     */
+    public static final Setting<TimeValue> HIGHLIGHT_TIME_BUDGET_SETTING = Setting.timeSetting(
+        "index.highlight.time_budget",
+        TimeValue.MINUS_ONE,
+        TimeValue.MINUS_ONE,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
     /**
      * Index setting describing the maximum number of terms that can be used in Terms Query.
      * The default maximum of 65536 terms is defensive, as extra processing and memory is involved
@@ -566,6 +579,31 @@ public final class IndexSettings {
         Setting.Property.IndexScope,
         Property.DeprecatedWarning
     );
+
+    /**
+     * When enabled, {@code text} fields are indexed with Lucene's default postings format instead of
+     * {@link org.elasticsearch.index.codec.postings.ES812PostingsFormat}. Its multi-level impacts and
+     * bit set encoded dense blocks let block-max WAND skip more of the postings of top-k text queries.
+     */
+    public static final Setting<Boolean> TEXT_FIELDS_USE_LUCENE_POSTINGS_FORMAT_SETTING = Setting.boolSetting(
+        "index.text_fields.use_lucene_postings_format",
+        false,
+        Property.IndexScope,
+        Property.Final
+    );
+
+    /**
+     * When enabled, flushes and merges record a summary of the values of numeric and low cardinality {@code keyword}
+     * fields in each segment, see {@link org.elasticsearch.index.codec.SegmentFieldSummaries}. Top level aggregations
+     * use them instead of the doc values on segments that the query fully matches.
+     */
+    public static final Setting<Boolean> SEGMENT_SUMMARIES_ENABLED_SETTING = Setting.boolSetting(
+        "index.segment_summaries.enabled",
+        false,
+        Property.IndexScope,
+        Property.Final
+    );
+
     public static final String LIFECYCLE_ORIGINATION_DATE = "index.lifecycle.origination_date";
     public static final Setting<Long> LIFECYCLE_ORIGINATION_DATE_SETTING = Setting.longSetting(
         LIFECYCLE_ORIGINATION_DATE,
@@ -651,6 +689,20 @@ public final class IndexSettings {
         return es87TSDBCodecEnabled;
     }
 
+    /**
+     * Returns <code>true</code> if text fields use Lucene's default postings format. The default is <code>false</code>
+     */
+    public boolean useLucenePostingsFormatForTextFields() {
+        return useLucenePostingsFormatForTextFields;
+    }
+
+    /**
+     * Returns <code>true</code> if segments record summaries of their fields' values. The default is <code>false</code>
+     */
+    public boolean isSegmentSummariesEnabled() {
+        return segmentSummariesEnabled;
+    }
+
     public static final Setting<Boolean> LOGSDB_ROUTE_ON_SORT_FIELDS = Setting.boolSetting(
         "index.logsdb.route_on_sort_fields",
         false,
@@ -868,6 +920,8 @@ public final class IndexSettings {
     private final boolean softDeleteEnabled;
     private volatile long softDeleteRetentionOperations;
     private final boolean es87TSDBCodecEnabled;
+    private final boolean useLucenePostingsFormatForTextFields;
+    private final boolean segmentSummariesEnabled;
     private final boolean logsdbRouteOnSortFields;
     private final boolean logsdbSortOnHostName;
     private final boolean logsdbAddHostNameField;
@@ -899,6 +953,7 @@ public final class IndexSettings {
     private volatile TimeValue searchIdleAfter;
     private volatile int maxAnalyzedOffset;
     private volatile boolean weightMatchesEnabled;
+    private volatile TimeValue highlightTimeBudget;
     private volatile int maxTermsCount;
     private volatile String defaultPipeline;
     private volatile String requiredPipeline;
@@ -1070,6 +1125,7 @@ public final class IndexSettings {
         maxSlicesPerScroll = scopedSettings.get(MAX_SLICES_PER_SCROLL);
         maxAnalyzedOffset = scopedSettings.get(MAX_ANALYZED_OFFSET_SETTING);
         weightMatchesEnabled = scopedSettings.get(WEIGHT_MATCHES_MODE_ENABLED_SETTING);
+        highlightTimeBudget = scopedSettings.get(HIGHLIGHT_TIME_BUDGET_SETTING);
         maxTermsCount = scopedSettings.get(MAX_TERMS_COUNT_SETTING);
         maxRegexLength = scopedSettings.get(MAX_REGEX_LENGTH_SETTING);
         this.mergePolicyConfig = new MergePolicyConfig(logger, this);
@@ -1086,6 +1142,8 @@ public final class IndexSettings {
         indexRouting = IndexRouting.fromIndexMetadata(indexMetadata);
         sourceKeepMode = scopedSettings.get(Mapper.SYNTHETIC_SOURCE_KEEP_INDEX_SETTING);
         es87TSDBCodecEnabled = scopedSettings.get(TIME_SERIES_ES87TSDB_CODEC_ENABLED_SETTING);
+        useLucenePostingsFormatForTextFields = scopedSettings.get(TEXT_FIELDS_USE_LUCENE_POSTINGS_FORMAT_SETTING);
+        segmentSummariesEnabled = scopedSettings.get(SEGMENT_SUMMARIES_ENABLED_SETTING);
         logsdbRouteOnSortFields = scopedSettings.get(LOGSDB_ROUTE_ON_SORT_FIELDS);
         logsdbSortOnHostName = scopedSettings.get(LOGSDB_SORT_ON_HOST_NAME);
         logsdbAddHostNameField = scopedSettings.get(LOGSDB_ADD_HOST_NAME_FIELD);
@@ -1152,6 +1210,10 @@ public final class IndexSettings {
             MergePolicyConfig.INDEX_MERGE_POLICY_MERGE_FACTOR_SETTING,
             mergePolicyConfig::setMergeFactor
         );
+        scopedSettings.addSettingsUpdateConsumer(
+            MergePolicyConfig.INDEX_MERGE_POLICY_TIME_PARTITION_INTERVAL_SETTING,
+            mergePolicyConfig::setTimePartitionInterval
+        );
 
         scopedSettings.addSettingsUpdateConsumer(
             MergeSchedulerConfig.MAX_THREAD_COUNT_SETTING,
@@ -1179,6 +1241,7 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(MAX_REFRESH_LISTENERS_PER_SHARD, this::setMaxRefreshListeners);
         scopedSettings.addSettingsUpdateConsumer(MAX_ANALYZED_OFFSET_SETTING, this::setHighlightMaxAnalyzedOffset);
         scopedSettings.addSettingsUpdateConsumer(WEIGHT_MATCHES_MODE_ENABLED_SETTING, this::setWeightMatchesEnabled);
+        scopedSettings.addSettingsUpdateConsumer(HIGHLIGHT_TIME_BUDGET_SETTING, this::setHighlightTimeBudget);
         scopedSettings.addSettingsUpdateConsumer(MAX_TERMS_COUNT_SETTING, this::setMaxTermsCount);
         scopedSettings.addSettingsUpdateConsumer(MAX_SLICES_PER_SCROLL, this::setMaxSlicesPerScroll);
         scopedSettings.addSettingsUpdateConsumer(DEFAULT_FIELD_SETTING, this::setDefaultFields);
@@ -1579,6 +1642,17 @@ public final class IndexSettings {
         this.weightMatchesEnabled = value;
     }
 
+    /**
+     * Returns the maximum time a search request may spend highlighting the hits of a shard, {@code -1} if unlimited
+     */
+    public TimeValue getHighlightTimeBudget() {
+        return this.highlightTimeBudget;
+    }
+
+    private void setHighlightTimeBudget(TimeValue highlightTimeBudget) {
+        this.highlightTimeBudget = highlightTimeBudget;
+    }
+
     /**
      *  Returns the maximum number of terms that can be used in a Terms Query request
      */
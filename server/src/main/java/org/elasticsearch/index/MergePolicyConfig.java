@@ -19,6 +19,7 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.core.TimeValue;
 
 /**
  * A shard in elasticsearch is a Lucene index, and a Lucene index is broken
@@ -109,6 +110,14 @@ public final class MergePolicyConfig {
      * turn, this creates segments that have non-overlapping @timestamp ranges if data gets ingested in order.
      */
     private final LogByteSizeMergePolicy timeBasedMergePolicy = new LogByteSizeMergePolicy();
+    /**
+     * Like the time-based merge policy, but only merges segments whose @timestamp values fall into the same time partition, so that
+     * segments don't mix old and new data even if some data gets ingested out of order.
+     */
+    private final TimePartitionedMergePolicy timePartitionedMergePolicy = new TimePartitionedMergePolicy(
+        timeBasedMergePolicy,
+        DEFAULT_TIME_PARTITION_INTERVAL
+    );
     private final Logger logger;
     private final boolean mergesEnabled;
     private volatile Type mergePolicyType;
@@ -149,6 +158,7 @@ public final class MergePolicyConfig {
      */
     public static final int DEFAULT_MERGE_FACTOR = 32;
     public static final double DEFAULT_DELETES_PCT_ALLOWED = 20.0d;
+    public static final TimeValue DEFAULT_TIME_PARTITION_INTERVAL = TimeValue.timeValueDays(1);
     private static final String INDEX_COMPOUND_FORMAT_SETTING_KEY = "index.compound_format";
     public static final Setting<CompoundFileThreshold> INDEX_COMPOUND_FORMAT_SETTING = new Setting<>(
         INDEX_COMPOUND_FORMAT_SETTING_KEY,
@@ -196,6 +206,15 @@ public final class MergePolicyConfig {
             MergePolicy getMergePolicy(MergePolicyConfig config, boolean isTimeBasedIndex) {
                 return config.timeBasedMergePolicy;
             }
+        },
+        TIME_PARTITIONED {
+            @Override
+            MergePolicy getMergePolicy(MergePolicyConfig config, boolean isTimeBasedIndex) {
+                // Only merges adjacent segments of the same time partition. This keeps recent and old data in separate segments, so
+                // range filters on the timestamp can skip more segments and deleting old data by time needs to rewrite less recent
+                // data. Indices without a timestamp field have no partitions and are merged like with TIME_BASED.
+                return config.timePartitionedMergePolicy;
+            }
         };
 
         abstract MergePolicy getMergePolicy(MergePolicyConfig config, boolean isTimeSeries);
@@ -270,6 +289,13 @@ public final class MergePolicyConfig {
         Property.IndexScope,
         Property.ServerlessPublic
     );
+    public static final Setting<TimeValue> INDEX_MERGE_POLICY_TIME_PARTITION_INTERVAL_SETTING = Setting.timeSetting(
+        "index.merge.policy.time_partition_interval",
+        DEFAULT_TIME_PARTITION_INTERVAL,
+        TimeValue.timeValueMillis(1),
+        Property.Dynamic,
+        Property.IndexScope
+    );
     // don't convert to Setting<> and register... we only set this in tests and register via a plugin
     public static final String INDEX_MERGE_ENABLED = "index.merge.enabled";
 
@@ -285,6 +311,7 @@ public final class MergePolicyConfig {
         double segmentsPerTier = indexSettings.getValue(INDEX_MERGE_POLICY_SEGMENTS_PER_TIER_SETTING);
         int mergeFactor = indexSettings.getValue(INDEX_MERGE_POLICY_MERGE_FACTOR_SETTING);
         double deletesPctAllowed = indexSettings.getValue(INDEX_MERGE_POLICY_DELETES_PCT_ALLOWED_SETTING);
+        TimeValue timePartitionInterval = indexSettings.getValue(INDEX_MERGE_POLICY_TIME_PARTITION_INTERVAL_SETTING);
         this.mergesEnabled = indexSettings.getSettings().getAsBoolean(INDEX_MERGE_ENABLED, true);
         if (mergesEnabled == false) {
             logger.warn(
@@ -302,6 +329,7 @@ public final class MergePolicyConfig {
         setSegmentsPerTier(segmentsPerTier);
         setMergeFactor(mergeFactor);
         setDeletesPctAllowed(deletesPctAllowed);
+        setTimePartitionInterval(timePartitionInterval);
         logger.trace(
             "using merge policy with expunge_deletes_allowed[{}], floor_segment[{}],"
                 + " max_merge_at_once[{}], max_merged_segment[{}], segments_per_tier[{}],"
@@ -365,6 +393,10 @@ public final class MergePolicyConfig {
         // LogByteSizeMergePolicy doesn't have a similar configuration option
     }
 
+    void setTimePartitionInterval(TimeValue timePartitionInterval) {
+        timePartitionedMergePolicy.setPartitionInterval(timePartitionInterval);
+    }
+
     private int adjustMaxMergeAtOnceIfNeeded(int maxMergeAtOnce, double segmentsPerTier) {
         // fixing maxMergeAtOnce, see TieredMergePolicy#setMaxMergeAtOnce
         if (segmentsPerTier < maxMergeAtOnce) {
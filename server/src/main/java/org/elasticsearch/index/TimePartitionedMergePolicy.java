@@ -0,0 +1,126 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.index.FilterMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.MergeTrigger;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.codec.TimestampRangeDocValuesFormat;
+import org.elasticsearch.index.codec.TimestampRangeDocValuesFormat.TimestampRange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A merge policy for time-based data that only merges segments whose {@code @timestamp} ranges fall into the same time
+ * partition, so that old and new data don't end up in the same segments. Segments are split into runs of consecutive
+ * segments of the same partition, and the wrapped merge policy selects merges within each of these runs. The wrapped
+ * policy should only merge adjacent segments of a run, like {@link org.apache.lucene.index.LogByteSizeMergePolicy}, so that
+ * segments remain in the order in which their data was indexed.
+ *
+ * <p>The timestamp ranges of segments are recorded by {@link TimestampRangeDocValuesFormat}. Segments without a recorded range,
+ * like segments that only contain tombstones, join the run that they are in. Segments whose timestamps span several partitions,
+ * for instance because they contain late data, don't break runs. They form a run of their own instead, so the wrapped policy
+ * merges them with each other and their number doesn't grow without bound when late data keeps arriving.
+ */
+public final class TimePartitionedMergePolicy extends FilterMergePolicy {
+
+    private volatile long partitionIntervalMillis;
+
+    public TimePartitionedMergePolicy(MergePolicy in, TimeValue partitionInterval) {
+        super(in);
+        setPartitionInterval(partitionInterval);
+    }
+
+    public void setPartitionInterval(TimeValue partitionInterval) {
+        if (partitionInterval.millis() <= 0) {
+            throw new IllegalArgumentException("partition interval must be positive but was [" + partitionInterval + "]");
+        }
+        this.partitionIntervalMillis = partitionInterval.millis();
+    }
+
+    public TimeValue getPartitionInterval() {
+        return TimeValue.timeValueMillis(partitionIntervalMillis);
+    }
+
+    @Override
+    public MergeSpecification findMerges(MergeTrigger mergeTrigger, SegmentInfos infos, MergeContext mergeContext) throws IOException {
+        MergeSpecification merges = null;
+        for (SegmentInfos partition : partitions(infos, partitionIntervalMillis)) {
+            merges = addMerges(merges, in.findMerges(mergeTrigger, partition, mergeContext));
+        }
+        return merges;
+    }
+
+    @Override
+    public MergeSpecification findForcedDeletesMerges(SegmentInfos infos, MergeContext mergeContext) throws IOException {
+        MergeSpecification merges = null;
+        for (SegmentInfos partition : partitions(infos, partitionIntervalMillis)) {
+            merges = addMerges(merges, in.findForcedDeletesMerges(partition, mergeContext));
+        }
+        return merges;
+    }
+
+    // forced merges to a maximum number of segments are left to the wrapped policy, as they are explicitly requested
+
+    private static MergeSpecification addMerges(MergeSpecification merges, MergeSpecification partitionMerges) {
+        if (partitionMerges == null) {
+            return merges;
+        }
+        if (merges == null) {
+            return partitionMerges;
+        }
+        for (OneMerge merge : partitionMerges.merges) {
+            merges.add(merge);
+        }
+        return merges;
+    }
+
+    /**
+     * Splits the given segments into runs of consecutive segments whose timestamps are in the same partition, followed by
+     * the run of all segments whose timestamps span several partitions, if any.
+     */
+    static List<SegmentInfos> partitions(SegmentInfos infos, long partitionIntervalMillis) {
+        final List<SegmentInfos> partitions = new ArrayList<>();
+        SegmentInfos partition = null;
+        Long partitionId = null;
+        SegmentInfos spanningPartitions = null;
+        for (SegmentCommitInfo info : infos) {
+            final TimestampRange range = TimestampRangeDocValuesFormat.timestampRange(info.info);
+            if (range != null) {
+                final long id = Math.floorDiv(range.min(), partitionIntervalMillis);
+                if (id != Math.floorDiv(range.max(), partitionIntervalMillis)) {
+                    if (spanningPartitions == null) {
+                        spanningPartitions = new SegmentInfos(infos.getIndexCreatedVersionMajor());
+                    }
+                    spanningPartitions.add(info);
+                    continue;
+                }
+                if (partitionId != null && partitionId != id) {
+                    partition = null;
+                }
+                partitionId = id;
+            }
+            if (partition == null) {
+                partition = new SegmentInfos(infos.getIndexCreatedVersionMajor());
+                partitions.add(partition);
+            }
+            partition.add(info);
+        }
+        if (spanningPartitions != null) {
+            partitions.add(spanningPartitions);
+        }
+        return partitions;
+    }
+}
@@ -74,6 +74,10 @@ public final class DeduplicatingFieldInfosFormat extends FieldInfosFormat {
         if (m.size() > 10) {
             return m;
         }
+        if (m.containsKey(SegmentFieldSummaries.NUMERIC_SUMMARY_KEY) || m.containsKey(SegmentFieldSummaries.TERMS_SUMMARY_KEY)) {
+            // segment summaries are specific to each segment so these maps can't be shared
+            return m;
+        }
         var res = attributeDeduplicator.get(m);
         if (res == null) {
             if (attributeDeduplicator.size() > 100) {
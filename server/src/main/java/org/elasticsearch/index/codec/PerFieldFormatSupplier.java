@@ -12,20 +12,31 @@ package org.elasticsearch.index.codec;
 import org.apache.lucene.codecs.DocValuesFormat;
 import org.apache.lucene.codecs.KnnVectorsFormat;
 import org.apache.lucene.codecs.PostingsFormat;
+import org.apache.lucene.codecs.lucene101.Lucene101PostingsFormat;
 import org.apache.lucene.codecs.lucene90.Lucene90DocValuesFormat;
 import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
+import org.apache.lucene.sandbox.document.HalfFloatPoint;
+import org.apache.lucene.util.NumericUtils;
+import org.elasticsearch.cluster.metadata.DataStream;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.index.IndexMode;
 import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.MergePolicyConfig;
 import org.elasticsearch.index.codec.bloomfilter.ES87BloomFilterPostingsFormat;
 import org.elasticsearch.index.codec.postings.ES812PostingsFormat;
 import org.elasticsearch.index.codec.tsdb.es819.ES819TSDBDocValuesFormat;
 import org.elasticsearch.index.mapper.CompletionFieldMapper;
+import org.elasticsearch.index.mapper.DateFieldMapper;
 import org.elasticsearch.index.mapper.IdFieldMapper;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
 import org.elasticsearch.index.mapper.Mapper;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.NumberFieldMapper;
+import org.elasticsearch.index.mapper.TextFieldMapper;
 import org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper;
 
+import java.util.function.LongToDoubleFunction;
+
 /**
  * Class that encapsulates the logic of figuring out the most appropriate file format for a given field, across postings, doc values and
  * vectors.
@@ -35,15 +46,46 @@ public class PerFieldFormatSupplier {
     private static final DocValuesFormat docValuesFormat = new Lucene90DocValuesFormat();
     private static final KnnVectorsFormat knnVectorsFormat = new Lucene99HnswVectorsFormat();
     private static final ES819TSDBDocValuesFormat tsdbDocValuesFormat = new ES819TSDBDocValuesFormat();
+    private static final DocValuesFormat timestampDocValuesFormat = new TimestampRangeDocValuesFormat(
+        docValuesFormat,
+        DateFieldMapper.Resolution.MILLISECONDS
+    );
+    private static final DocValuesFormat timestampNanosDocValuesFormat = new TimestampRangeDocValuesFormat(
+        docValuesFormat,
+        DateFieldMapper.Resolution.NANOSECONDS
+    );
+    private static final DocValuesFormat timestampTsdbDocValuesFormat = new TimestampRangeDocValuesFormat(
+        tsdbDocValuesFormat,
+        DateFieldMapper.Resolution.MILLISECONDS
+    );
+    private static final DocValuesFormat timestampNanosTsdbDocValuesFormat = new TimestampRangeDocValuesFormat(
+        tsdbDocValuesFormat,
+        DateFieldMapper.Resolution.NANOSECONDS
+    );
     private static final ES812PostingsFormat es812PostingsFormat = new ES812PostingsFormat();
+    private static final Lucene101PostingsFormat lucene101PostingsFormat = new Lucene101PostingsFormat();
     private static final PostingsFormat completionPostingsFormat = PostingsFormat.forName("Completion101");
 
     private final ES87BloomFilterPostingsFormat bloomFilterPostingsFormat;
     private final MapperService mapperService;
+    // wrap the doc values formats when segments record summaries of their fields' values, null otherwise
+    private final DocValuesFormat summaryDocValuesFormat;
+    private final DocValuesFormat summaryTsdbDocValuesFormat;
 
     public PerFieldFormatSupplier(MapperService mapperService, BigArrays bigArrays) {
         this.mapperService = mapperService;
         this.bloomFilterPostingsFormat = new ES87BloomFilterPostingsFormat(bigArrays, this::internalGetPostingsFormatForField);
+        if (mapperService != null && mapperService.getIndexSettings().isSegmentSummariesEnabled()) {
+            this.summaryDocValuesFormat = new SegmentSummaryDocValuesFormat(docValuesFormat, this::numericDecoder, this::isKeywordField);
+            this.summaryTsdbDocValuesFormat = new SegmentSummaryDocValuesFormat(
+                tsdbDocValuesFormat,
+                this::numericDecoder,
+                this::isKeywordField
+            );
+        } else {
+            this.summaryDocValuesFormat = null;
+            this.summaryTsdbDocValuesFormat = null;
+        }
     }
 
     public PostingsFormat getPostingsFormatForField(String field) {
@@ -59,6 +101,10 @@ public class PerFieldFormatSupplier {
             if (mapper instanceof CompletionFieldMapper) {
                 return completionPostingsFormat;
             }
+            if (mapper instanceof TextFieldMapper && mapperService.getIndexSettings().useLucenePostingsFormatForTextFields()) {
+                // multi-level impacts and bit set encoded dense blocks help top-k text queries skip more postings
+                return lucene101PostingsFormat;
+            }
         }
         // return our own posting format using PFOR
         return es812PostingsFormat;
@@ -93,10 +139,55 @@ public class PerFieldFormatSupplier {
     }
 
     public DocValuesFormat getDocValuesFormatForField(String field) {
+        final DateFieldMapper.Resolution timestampResolution = timestampRangeResolution(field);
+        if (timestampResolution != null) {
+            final boolean nanos = timestampResolution == DateFieldMapper.Resolution.NANOSECONDS;
+            if (useTSDBDocValuesFormat(field)) {
+                return nanos ? timestampNanosTsdbDocValuesFormat : timestampTsdbDocValuesFormat;
+            }
+            return nanos ? timestampNanosDocValuesFormat : timestampDocValuesFormat;
+        }
         if (useTSDBDocValuesFormat(field)) {
-            return tsdbDocValuesFormat;
+            return summaryTsdbDocValuesFormat != null ? summaryTsdbDocValuesFormat : tsdbDocValuesFormat;
+        }
+        return summaryDocValuesFormat != null ? summaryDocValuesFormat : docValuesFormat;
+    }
+
+    /**
+     * Returns how to convert the doc values of a numeric field to the doubles that aggregations see, or {@code null} if the field
+     * isn't a numeric field.
+     */
+    private LongToDoubleFunction numericDecoder(String field) {
+        if (mapperService.mappingLookup().getMapper(field) instanceof NumberFieldMapper numberFieldMapper) {
+            return switch (numberFieldMapper.type()) {
+                case HALF_FLOAT -> value -> HalfFloatPoint.sortableShortToHalfFloat((short) value);
+                case FLOAT -> value -> NumericUtils.sortableIntToFloat((int) value);
+                case DOUBLE -> NumericUtils::sortableLongToDouble;
+                case BYTE, SHORT, INTEGER, LONG -> value -> value;
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Returns the resolution of the timestamps if segments should record the range of their timestamps, which the
+     * {@link org.elasticsearch.index.MergePolicyConfig.Type#TIME_PARTITIONED time partitioned} merge policy needs,
+     * {@code null} otherwise.
+     */
+    private DateFieldMapper.Resolution timestampRangeResolution(String field) {
+        if (mapperService == null || field.equals(DataStream.TIMESTAMP_FIELD_NAME) == false) {
+            return null;
         }
-        return docValuesFormat;
+        IndexSettings indexSettings = mapperService.getIndexSettings();
+        MergePolicyConfig.Type mergePolicyType = indexSettings.getValue(MergePolicyConfig.INDEX_MERGE_POLICY_TYPE_SETTING);
+        if (mergePolicyType != MergePolicyConfig.Type.TIME_PARTITIONED || mapperService.mappingLookup().hasTimestampField() == false) {
+            return null;
+        }
+        return mapperService.fieldType(field) instanceof DateFieldMapper.DateFieldType dateFieldType ? dateFieldType.resolution() : null;
+    }
+
+    private boolean isKeywordField(String field) {
+        return mapperService.mappingLookup().getMapper(field) instanceof KeywordFieldMapper;
     }
 
     boolean useTSDBDocValuesFormat(final String field) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.codec;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Summaries of the values of a field in a segment, which {@link SegmentSummaryDocValuesFormat} records in the field's
+ * {@link FieldInfo} attributes when the segment is flushed or merged. They describe all documents of the segment,
+ * including deleted ones, so they only describe the live documents of segments without deletions.
+ */
+public final class SegmentFieldSummaries {
+
+    static final String NUMERIC_SUMMARY_KEY = "es.segment_summary.numeric";
+    static final String TERMS_SUMMARY_KEY = "es.segment_summary.terms";
+
+    private SegmentFieldSummaries() {}
+
+    /**
+     * The number of values of a numeric field and their minimum, maximum and sum, as doubles.
+     */
+    public record NumericSummary(long valueCount, double min, double max, double sum) {}
+
+    /**
+     * A term of a {@code keyword} field and the number of documents that have it.
+     */
+    public record TermCount(BytesRef term, long docCount) {}
+
+    /**
+     * Returns the summary of the values of the given numeric field in the segment, or {@code null} if none was recorded.
+     */
+    @Nullable
+    public static NumericSummary numeric(LeafReader reader, String field) {
+        final String summary = attribute(reader, field, NUMERIC_SUMMARY_KEY);
+        if (summary == null) {
+            return null;
+        }
+        final String[] parts = summary.split(",");
+        assert parts.length == 4 : summary;
+        return new NumericSummary(
+            Long.parseLong(parts[0]),
+            Double.parseDouble(parts[1]),
+            Double.parseDouble(parts[2]),
+            Double.parseDouble(parts[3])
+        );
+    }
+
+    /**
+     * Returns all terms of the given {@code keyword} field in the segment in sorted order, together with their document counts,
+     * or {@code null} if they were not recorded because the field has too many terms in this segment.
+     */
+    @Nullable
+    public static List<TermCount> terms(LeafReader reader, String field) {
+        final String summary = attribute(reader, field, TERMS_SUMMARY_KEY);
+        if (summary == null) {
+            return null;
+        }
+        final Base64.Decoder decoder = Base64.getUrlDecoder();
+        final List<TermCount> terms = new ArrayList<>();
+        for (String termCount : summary.split(",")) {
+            final int separator = termCount.indexOf(':');
+            terms.add(
+                new TermCount(
+                    new BytesRef(decoder.decode(termCount.substring(0, separator))),
+                    Long.parseLong(termCount.substring(separator + 1))
+                )
+            );
+        }
+        return terms;
+    }
+
+    static String encodeNumeric(long valueCount, double min, double max, double sum) {
+        return valueCount + "," + min + "," + max + "," + sum;
+    }
+
+    static String encodeTerms(List<TermCount> terms) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final StringBuilder summary = new StringBuilder();
+        for (TermCount termCount : terms) {
+            if (summary.isEmpty() == false) {
+                summary.append(',');
+            }
+            final BytesRef term = termCount.term();
+            final byte[] bytes = Arrays.copyOfRange(term.bytes, term.offset, term.offset + term.length);
+            summary.append(encoder.encodeToString(bytes)).append(':').append(termCount.docCount());
+        }
+        return summary.toString();
+    }
+
+    private static String attribute(LeafReader reader, String field, String key) {
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(field);
+        if (fieldInfo == null) {
+            return null;
+        }
+        final String summary = fieldInfo.getAttribute(key);
+        // merges carry over the attributes of the merged segments, so summaries that can't be recorded are cleared with an empty value
+        return summary == null || summary.isEmpty() ? null : summary;
+    }
+}
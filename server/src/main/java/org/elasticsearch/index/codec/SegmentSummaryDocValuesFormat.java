@@ -0,0 +1,181 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.codec;
+
+import org.apache.lucene.codecs.DocValuesConsumer;
+import org.apache.lucene.codecs.DocValuesFormat;
+import org.apache.lucene.codecs.DocValuesProducer;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.index.codec.SegmentFieldSummaries.TermCount;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.Predicate;
+
+/**
+ * A {@link DocValuesFormat} that writes fields with a delegate format, and records {@link SegmentFieldSummaries} of numeric and
+ * {@code keyword} fields in their {@link FieldInfo} attributes. Flushes and merges both write doc values through
+ * {@link DocValuesConsumer#addSortedNumericField} and {@link DocValuesConsumer#addSortedSetField}, so summaries are computed from the
+ * values that are being written. The format has the name of its delegate and only writes the delegate's files, so segments are read
+ * back with the delegate format.
+ */
+final class SegmentSummaryDocValuesFormat extends DocValuesFormat {
+
+    /**
+     * Terms are only recorded for fields with at most this many terms in a segment.
+     */
+    static final int MAX_SUMMARY_TERMS = 128;
+    /**
+     * Terms are only recorded if they take at most this many bytes in total, to keep the field infos small.
+     */
+    static final int MAX_SUMMARY_TERMS_BYTES = 4096;
+
+    private final DocValuesFormat delegate;
+    private final Function<String, LongToDoubleFunction> numericFieldDecoders;
+    private final Predicate<String> keywordFields;
+
+    /**
+     * @param numericFieldDecoders returns how to convert the doc values of a numeric field to doubles, or {@code null} for other fields
+     * @param keywordFields        whether a field is a {@code keyword} field
+     */
+    SegmentSummaryDocValuesFormat(
+        DocValuesFormat delegate,
+        Function<String, LongToDoubleFunction> numericFieldDecoders,
+        Predicate<String> keywordFields
+    ) {
+        super(delegate.getName());
+        this.delegate = delegate;
+        this.numericFieldDecoders = numericFieldDecoders;
+        this.keywordFields = keywordFields;
+    }
+
+    @Override
+    public DocValuesConsumer fieldsConsumer(SegmentWriteState state) throws IOException {
+        return new SummaryDocValuesConsumer(delegate.fieldsConsumer(state));
+    }
+
+    @Override
+    public DocValuesProducer fieldsProducer(SegmentReadState state) throws IOException {
+        return delegate.fieldsProducer(state);
+    }
+
+    private class SummaryDocValuesConsumer extends DocValuesConsumer {
+
+        private final DocValuesConsumer in;
+
+        SummaryDocValuesConsumer(DocValuesConsumer in) {
+            this.in = in;
+        }
+
+        @Override
+        public void addNumericField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addNumericField(field, valuesProducer);
+        }
+
+        @Override
+        public void addBinaryField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addBinaryField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addSortedField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedNumericField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            final LongToDoubleFunction decoder = numericFieldDecoders.apply(field.name);
+            if (decoder != null) {
+                final String summary = summarizeNumeric(valuesProducer.getSortedNumeric(field), decoder);
+                field.putAttribute(SegmentFieldSummaries.NUMERIC_SUMMARY_KEY, summary);
+            }
+            in.addSortedNumericField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedSetField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            if (keywordFields.test(field.name)) {
+                field.putAttribute(SegmentFieldSummaries.TERMS_SUMMARY_KEY, summarizeTerms(valuesProducer.getSortedSet(field)));
+            }
+            in.addSortedSetField(field, valuesProducer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static String summarizeNumeric(SortedNumericDocValues values, LongToDoubleFunction decoder) throws IOException {
+        long valueCount = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        // Kahan summation, like the sum aggregation
+        double sum = 0;
+        double compensation = 0;
+        for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+            final int docValueCount = values.docValueCount();
+            valueCount += docValueCount;
+            for (int i = 0; i < docValueCount; i++) {
+                final double value = decoder.applyAsDouble(values.nextValue());
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                if (Double.isFinite(value) == false) {
+                    sum += value;
+                } else if (Double.isFinite(sum)) {
+                    final double corrected = value + compensation;
+                    final double updated = sum + corrected;
+                    compensation = corrected - (updated - sum);
+                    sum = updated;
+                }
+            }
+        }
+        return SegmentFieldSummaries.encodeNumeric(valueCount, min, max, sum);
+    }
+
+    /**
+     * Returns the encoded terms and document counts of a field, or an empty string if the field has too many terms.
+     */
+    static String summarizeTerms(SortedSetDocValues values) throws IOException {
+        final long termCount = values.getValueCount();
+        if (termCount > MAX_SUMMARY_TERMS) {
+            return "";
+        }
+        final long[] docCounts = new long[(int) termCount];
+        for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+            for (int i = 0; i < values.docValueCount(); i++) {
+                docCounts[(int) values.nextOrd()]++;
+            }
+        }
+        final List<TermCount> terms = new ArrayList<>(docCounts.length);
+        int termsBytes = 0;
+        for (int ord = 0; ord < docCounts.length; ord++) {
+            if (docCounts[ord] == 0) {
+                continue;
+            }
+            final BytesRef term = values.lookupOrd(ord);
+            termsBytes += term.length;
+            if (termsBytes > MAX_SUMMARY_TERMS_BYTES) {
+                return "";
+            }
+            terms.add(new TermCount(BytesRef.deepCopyOf(term), docCounts[ord]));
+        }
+        return SegmentFieldSummaries.encodeTerms(terms);
+    }
+}
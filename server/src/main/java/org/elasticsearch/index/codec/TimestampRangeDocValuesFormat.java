@@ -0,0 +1,140 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.codec;
+
+import org.apache.lucene.codecs.DocValuesConsumer;
+import org.apache.lucene.codecs.DocValuesFormat;
+import org.apache.lucene.codecs.DocValuesProducer;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.elasticsearch.cluster.metadata.DataStream;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.DateFieldMapper;
+
+import java.io.IOException;
+
+/**
+ * A {@link DocValuesFormat} for the {@code @timestamp} field that writes doc values with a delegate format and records the
+ * range of timestamps of each flushed or merged segment in its {@link SegmentInfo} attributes, so that merge policies know
+ * which time range a segment covers without opening it. The range is recorded in milliseconds since the epoch whatever
+ * the resolution of the field, so {@code date_nanos} timestamps are rounded down to milliseconds. The format has the name of
+ * its delegate and only writes the delegate's files, so segments are read back with the delegate format.
+ */
+public final class TimestampRangeDocValuesFormat extends DocValuesFormat {
+
+    static final String MIN_TIMESTAMP_KEY = "es.timestamp.min";
+    static final String MAX_TIMESTAMP_KEY = "es.timestamp.max";
+
+    /**
+     * The smallest and largest {@code @timestamp} of a segment, in milliseconds since the epoch.
+     */
+    public record TimestampRange(long min, long max) {}
+
+    private final DocValuesFormat delegate;
+    private final DateFieldMapper.Resolution resolution;
+
+    /**
+     * @param resolution the resolution of the doc values of the {@code @timestamp} field
+     */
+    public TimestampRangeDocValuesFormat(DocValuesFormat delegate, DateFieldMapper.Resolution resolution) {
+        super(delegate.getName());
+        this.delegate = delegate;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Returns the range of timestamps of the given segment, or {@code null} if it wasn't recorded, for instance because none of
+     * the documents of the segment has a timestamp.
+     */
+    @Nullable
+    public static TimestampRange timestampRange(SegmentInfo info) {
+        final String min = info.getAttribute(MIN_TIMESTAMP_KEY);
+        final String max = info.getAttribute(MAX_TIMESTAMP_KEY);
+        return min == null || max == null ? null : new TimestampRange(Long.parseLong(min), Long.parseLong(max));
+    }
+
+    @Override
+    public DocValuesConsumer fieldsConsumer(SegmentWriteState state) throws IOException {
+        return new TimestampRangeDocValuesConsumer(delegate.fieldsConsumer(state), state.segmentInfo, resolution);
+    }
+
+    @Override
+    public DocValuesProducer fieldsProducer(SegmentReadState state) throws IOException {
+        return delegate.fieldsProducer(state);
+    }
+
+    private static class TimestampRangeDocValuesConsumer extends DocValuesConsumer {
+
+        private final DocValuesConsumer in;
+        private final SegmentInfo segmentInfo;
+        private final DateFieldMapper.Resolution resolution;
+
+        TimestampRangeDocValuesConsumer(DocValuesConsumer in, SegmentInfo segmentInfo, DateFieldMapper.Resolution resolution) {
+            this.in = in;
+            this.segmentInfo = segmentInfo;
+            this.resolution = resolution;
+        }
+
+        @Override
+        public void addNumericField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addNumericField(field, valuesProducer);
+        }
+
+        @Override
+        public void addBinaryField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addBinaryField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addSortedField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedNumericField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            if (field.name.equals(DataStream.TIMESTAMP_FIELD_NAME)) {
+                final SortedNumericDocValues values = valuesProducer.getSortedNumeric(field);
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                boolean hasValues = false;
+                for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
+                    // values are sorted within a document
+                    final long first = values.nextValue();
+                    long last = first;
+                    for (int i = 1; i < values.docValueCount(); i++) {
+                        last = values.nextValue();
+                    }
+                    min = Math.min(min, first);
+                    max = Math.max(max, last);
+                    hasValues = true;
+                }
+                if (hasValues) {
+                    segmentInfo.putAttribute(MIN_TIMESTAMP_KEY, Long.toString(resolution.roundDownToMillis(min)));
+                    segmentInfo.putAttribute(MAX_TIMESTAMP_KEY, Long.toString(resolution.roundDownToMillis(max)));
+                }
+            }
+            in.addSortedNumericField(field, valuesProducer);
+        }
+
+        @Override
+        public void addSortedSetField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
+            in.addSortedSetField(field, valuesProducer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
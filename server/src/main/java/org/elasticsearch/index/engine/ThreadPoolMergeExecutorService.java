@@ -9,14 +9,18 @@
 
 package org.elasticsearch.index.engine;
 
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergePriority;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergeTask;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.PriorityBlockingQueue;
@@ -30,6 +34,16 @@ import static org.elasticsearch.index.engine.ThreadPoolMergeScheduler.Schedule.B
 import static org.elasticsearch.index.engine.ThreadPoolMergeScheduler.Schedule.RUN;
 
 public class ThreadPoolMergeExecutorService {
+    /**
+     * Merges that are estimated to be at most this large are {@link MergePriority#SMALL}, unless they are forced merges.
+     */
+    public static final Setting<ByteSizeValue> SMALL_MERGE_SIZE_SETTING = Setting.byteSizeSetting(
+        "indices.merge.scheduler.small_merge_size",
+        ByteSizeValue.ofMb(64L),
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ofBytes(Long.MAX_VALUE),
+        Setting.Property.NodeScope
+    );
     /**
      * Floor for IO write rate limit of individual merge tasks (we will never go any lower than this)
      */
@@ -50,11 +64,19 @@ public class ThreadPoolMergeExecutorService {
     /**
      * The merge tasks that are waiting execution. This does NOT include backlogged or currently executing merge tasks.
      * For instance, this can be empty while there are backlogged merge tasks awaiting re-enqueuing.
+     * Merge tasks are run by priority class first, and then smallest first.
      */
     private final PriorityBlockingQueue<MergeTask> queuedMergeTasks = new PriorityBlockingQueue<>(
         64,
-        Comparator.comparingLong(MergeTask::estimatedMergeSize)
+        Comparator.comparing(MergeTask::priority).thenComparingLong(MergeTask::estimatedMergeSize)
     );
+    /**
+     * The {@link MergePriority#FORCED} merge tasks that were taken from the queue while the maximum number of forced merges was already
+     * running. These are enqueued again, one at a time and with a runnable to execute them, whenever a forced merge completes.
+     */
+    private final Deque<MergeTask> deferredForcedMergeTasks = new ArrayDeque<>();
+    // guarded by deferredForcedMergeTasks
+    private int runningForcedMergeTasksCount;
     /**
      * The set of all merge tasks currently being executed by merge threads from the pool.
      * These are tracked notably in order to be able to update their disk IO throttle rate, after they have started, while executing.
@@ -70,6 +92,12 @@ public class ThreadPoolMergeExecutorService {
      * The maximum number of concurrently running merges, given the number of threads in the pool.
      */
     private final int maxConcurrentMerges;
+    /**
+     * The maximum number of concurrently running forced merges, which leaves one merge thread for other merges (if there is more than one
+     * merge thread) so that a large forced merge does not hold up the merges of indices that are being written to.
+     */
+    private final int maxConcurrentForcedMerges;
+    private final long smallMergeSizeBytes;
     private final int concurrentMergesFloorLimitForThrottling;
     private final int concurrentMergesCeilLimitForThrottling;
 
@@ -78,15 +106,17 @@ public class ThreadPoolMergeExecutorService {
         Settings settings
     ) {
         if (ThreadPoolMergeScheduler.USE_THREAD_POOL_MERGE_SCHEDULER_SETTING.get(settings)) {
-            return new ThreadPoolMergeExecutorService(threadPool);
+            return new ThreadPoolMergeExecutorService(threadPool, settings);
         } else {
             return null;
         }
     }
 
-    private ThreadPoolMergeExecutorService(ThreadPool threadPool) {
+    private ThreadPoolMergeExecutorService(ThreadPool threadPool, Settings settings) {
         this.executorService = threadPool.executor(ThreadPool.Names.MERGE);
         this.maxConcurrentMerges = threadPool.info(ThreadPool.Names.MERGE).getMax();
+        this.maxConcurrentForcedMerges = Math.max(1, maxConcurrentMerges - 1);
+        this.smallMergeSizeBytes = SMALL_MERGE_SIZE_SETTING.get(settings).getBytes();
         // the intent here is to throttle down whenever we submit a task and no other task is running
         this.concurrentMergesFloorLimitForThrottling = 2;
         this.concurrentMergesCeilLimitForThrottling = maxConcurrentMerges * 2;
@@ -119,7 +149,7 @@ public class ThreadPoolMergeExecutorService {
                         if (prevTargetIORateBytesPerSec != newTargetIORateBytesPerSec) {
                             runningMergeTasks.forEach(runningMergeTask -> {
                                 if (runningMergeTask.supportsIOThrottling()) {
-                                    runningMergeTask.setIORateLimit(newTargetIORateBytesPerSec);
+                                    runningMergeTask.setIORateLimit(ioRateLimit(runningMergeTask, newTargetIORateBytesPerSec));
                                 }
                             });
                         }
@@ -137,7 +167,11 @@ public class ThreadPoolMergeExecutorService {
     }
 
     public boolean allDone() {
-        return queuedMergeTasks.isEmpty() && runningMergeTasks.isEmpty() && ioThrottledMergeTasksCount.get() == 0L;
+        final boolean noDeferredMergeTasks;
+        synchronized (deferredForcedMergeTasks) {
+            noDeferredMergeTasks = deferredForcedMergeTasks.isEmpty();
+        }
+        return queuedMergeTasks.isEmpty() && noDeferredMergeTasks && runningMergeTasks.isEmpty() && ioThrottledMergeTasksCount.get() == 0L;
     }
 
     /**
@@ -163,12 +197,28 @@ public class ThreadPoolMergeExecutorService {
                         // is also drained, so any queued merge tasks are also forgotten.
                         break;
                     }
+                    final boolean forced = smallestMergeTask.priority() == MergePriority.FORCED;
+                    if (forced && tryStartForcedMergeTask(smallestMergeTask) == false) {
+                        // too many forced merges are running, the merge task is enqueued again together with a runnable to execute it
+                        // when one of them completes; all the other queued merge tasks are forced too, so don't wait for them here
+                        break;
+                    }
                     // let the task's scheduler decide if it can actually run the merge task now
                     ThreadPoolMergeScheduler.Schedule schedule = smallestMergeTask.schedule();
                     if (schedule == RUN) {
-                        runMergeTask(smallestMergeTask);
+                        try {
+                            runMergeTask(smallestMergeTask);
+                        } finally {
+                            if (forced) {
+                                forcedMergeTaskDone();
+                            }
+                        }
                         break;
-                    } else if (schedule == ABORT) {
+                    }
+                    if (forced) {
+                        forcedMergeTaskDone();
+                    }
+                    if (schedule == ABORT) {
                         abortMergeTask(smallestMergeTask);
                         break;
                     } else {
@@ -186,13 +236,53 @@ public class ThreadPoolMergeExecutorService {
         }
     }
 
+    private boolean tryStartForcedMergeTask(MergeTask mergeTask) {
+        synchronized (deferredForcedMergeTasks) {
+            if (runningForcedMergeTasksCount >= maxConcurrentForcedMerges) {
+                deferredForcedMergeTasks.add(mergeTask);
+                return false;
+            }
+            runningForcedMergeTasksCount++;
+            return true;
+        }
+    }
+
+    private void forcedMergeTaskDone() {
+        final MergeTask deferredMergeTask;
+        synchronized (deferredForcedMergeTasks) {
+            runningForcedMergeTasksCount--;
+            assert runningForcedMergeTasksCount >= 0;
+            deferredMergeTask = deferredForcedMergeTasks.poll();
+        }
+        if (deferredMergeTask != null) {
+            // the runnable that took the deferred merge task is gone, so it needs a new one
+            if (enqueueMergeTaskExecution()) {
+                queuedMergeTasks.add(deferredMergeTask);
+            } else {
+                // the thread pool cannot run the merge anymore, just abort it
+                abortMergeTask(deferredMergeTask);
+            }
+        }
+    }
+
+    /**
+     * The IO write rate limit of the given merge task: {@link MergePriority#SMALL} merges are allowed to write twice as fast as other
+     * merges, so that they complete promptly while larger merges are throttled.
+     */
+    private static long ioRateLimit(MergeTask mergeTask, long targetIORateBytesPerSec) {
+        if (mergeTask.priority() == MergePriority.SMALL) {
+            return Math.min(MAX_IO_RATE.getBytes(), targetIORateBytesPerSec * 2);
+        }
+        return targetIORateBytesPerSec;
+    }
+
     private void runMergeTask(MergeTask mergeTask) {
         assert mergeTask.isRunning() == false;
         boolean added = runningMergeTasks.add(mergeTask);
         assert added : "starting merge task [" + mergeTask + "] registered as already running";
         try {
             if (mergeTask.supportsIOThrottling()) {
-                mergeTask.setIORateLimit(targetIORateBytesPerSec.get());
+                mergeTask.setIORateLimit(ioRateLimit(mergeTask, targetIORateBytesPerSec.get()));
             }
             mergeTask.run();
         } finally {
@@ -297,4 +387,13 @@ public class ThreadPoolMergeExecutorService {
     int getMaxConcurrentMerges() {
         return maxConcurrentMerges;
     }
+
+    // exposed for tests
+    int getMaxConcurrentForcedMerges() {
+        return maxConcurrentForcedMerges;
+    }
+
+    long getSmallMergeSizeBytes() {
+        return smallMergeSizeBytes;
+    }
 }
@@ -55,7 +55,7 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
     private final ThreadPoolMergeExecutorService threadPoolMergeExecutorService;
     private final PriorityQueue<MergeTask> backloggedMergeTasks = new PriorityQueue<>(
         16,
-        Comparator.comparingLong(MergeTask::estimatedMergeSize)
+        Comparator.comparing(MergeTask::priority).thenComparingLong(MergeTask::estimatedMergeSize)
     );
     private final Map<MergePolicy.OneMerge, MergeTask> runningMergeTasks = new HashMap<>();
     // set when incoming merges should be throttled (i.e. restrict the indexing rate)
@@ -63,6 +63,9 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
     // how many {@link MergeTask}s have kicked off (this is used to name them).
     private final AtomicLong submittedMergeTaskCount = new AtomicLong();
     private final AtomicLong doneMergeTaskCount = new AtomicLong();
+    // the number and the estimated size of the merge tasks that were submitted but did not start running (nor were aborted) yet
+    private final AtomicLong queuedMergeTaskCount = new AtomicLong();
+    private final AtomicLong queuedMergeTasksSizeInBytes = new AtomicLong();
     private final CountDownLatch closedWithNoRunningMerges = new CountDownLatch(1);
     private volatile boolean closed = false;
 
@@ -90,7 +93,9 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
 
     @Override
     public MergeStats stats() {
-        return mergeTracking.stats();
+        MergeStats mergeStats = mergeTracking.stats();
+        mergeStats.addQueued(queuedMergeTaskCount.get(), queuedMergeTasksSizeInBytes.get());
+        return mergeStats;
     }
 
     @Override
@@ -175,11 +180,20 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
     MergeTask newMergeTask(MergeSource mergeSource, MergePolicy.OneMerge merge, MergeTrigger mergeTrigger) {
         // forced merges, as well as merges triggered when closing a shard, always run un-IO-throttled
         boolean isAutoThrottle = mergeTrigger != MergeTrigger.CLOSING && merge.getStoreMergeInfo().mergeMaxNumSegments() == -1;
+        final MergePriority priority;
+        if (merge.getStoreMergeInfo().mergeMaxNumSegments() != -1) {
+            priority = MergePriority.FORCED;
+        } else if (merge.getStoreMergeInfo().estimatedMergeBytes() <= threadPoolMergeExecutorService.getSmallMergeSizeBytes()) {
+            priority = MergePriority.SMALL;
+        } else {
+            priority = MergePriority.REGULAR;
+        }
         // IO throttling cannot be toggled for existing merge tasks, only new merge tasks pick up the updated IO throttling setting
         return new MergeTask(
             mergeSource,
             merge,
             isAutoThrottle && config.isAutoThrottle(),
+            priority,
             "Lucene Merge Task #" + submittedMergeTaskCount.incrementAndGet() + " for shard " + shardId
         );
     }
@@ -312,14 +326,33 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
         private final OnGoingMerge onGoingMerge;
         private final MergeRateLimiter rateLimiter;
         private final boolean supportsIOThrottling;
-
-        MergeTask(MergeSource mergeSource, MergePolicy.OneMerge merge, boolean supportsIOThrottling, String name) {
+        private final MergePriority priority;
+
+        MergeTask(
+            MergeSource mergeSource,
+            MergePolicy.OneMerge merge,
+            boolean supportsIOThrottling,
+            MergePriority priority,
+            String name
+        ) {
             this.name = name;
             this.mergeStartTimeNS = new AtomicLong();
             this.mergeSource = mergeSource;
             this.onGoingMerge = new OnGoingMerge(merge);
             this.rateLimiter = new MergeRateLimiter(merge.getMergeProgress());
             this.supportsIOThrottling = supportsIOThrottling;
+            this.priority = priority;
+            queuedMergeTaskCount.incrementAndGet();
+            queuedMergeTasksSizeInBytes.addAndGet(estimatedMergeSize());
+        }
+
+        public MergePriority priority() {
+            return priority;
+        }
+
+        private void dequeued() {
+            queuedMergeTaskCount.decrementAndGet();
+            queuedMergeTasksSizeInBytes.addAndGet(-estimatedMergeSize());
         }
 
         Schedule schedule() {
@@ -358,6 +391,7 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
                     if (mergeStartTimeNS.compareAndSet(0L, System.nanoTime()) == false) {
                         throw new IllegalStateException("The merge task is already started or aborted");
                     }
+                    dequeued();
                     mergeTracking.mergeStarted(onGoingMerge);
                     if (verbose()) {
                         message(String.format(Locale.ROOT, "merge task %s start", this));
@@ -431,6 +465,7 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
                 if (mergeStartTimeNS.compareAndSet(0L, System.nanoTime()) == false) {
                     throw new IllegalStateException("The merge task is already started or aborted");
                 }
+                dequeued();
                 // This ensures {@code OneMerge#close} gets invoked.
                 // {@code IndexWriter} considers a merge as "running" once it has been pulled from the {@code MergeSource#getNextMerge},
                 // so in theory it's not enough to just call {@code MergeSource#onMergeFinished} on it (as for "pending" ones).
@@ -529,4 +564,24 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
         RUN,
         BACKLOG
     }
+
+    /**
+     * The priority classes of merge tasks, in the order in which they are run. Merge tasks of the same class run smallest first.
+     */
+    enum MergePriority {
+        /**
+         * Merges that are small enough to complete promptly, which keep the segment counts of the indices that are being written to low.
+         * These can write faster than other merges, see {@link ThreadPoolMergeExecutorService#SMALL_MERGE_SIZE_SETTING}.
+         */
+        SMALL,
+        /**
+         * Other merges that the merge policy finds while indexing.
+         */
+        REGULAR,
+        /**
+         * Merges that are explicitly requested, such as the merges of a force-merge or a downsampling operation, which do not occupy all
+         * merge threads so that they cannot hold up the merges of other indices.
+         */
+        FORCED
+    }
 }
@@ -104,6 +104,7 @@ public final class DocumentParser {
             throw new DocumentParsingException(XContentLocation.UNKNOWN, "Error parsing document", e);
         }
         assert context.path.pathAsText("").isEmpty() : "found leftover path elements: " + context.path.pathAsText("");
+        mappingLookup.getDocumentParsingPlan().onRootDocumentParsed(context.rootDoc().getFields().size());
 
         Mapping dynamicUpdate = createDynamicUpdate(context);
 
@@ -1069,6 +1070,7 @@ public final class DocumentParser {
      */
     private static class RootDocumentParserContext extends DocumentParserContext {
         private final ContentPath path = new ContentPath();
+        private final DocumentParsingPlan plan;
         private final XContentParser parser;
         private final LuceneDocument document;
         private final List<LuceneDocument> documents = new ArrayList<>();
@@ -1094,7 +1096,8 @@ public final class DocumentParser {
             } else {
                 this.parser = parser;
             }
-            this.document = new LuceneDocument();
+            this.plan = mappingLookup.getDocumentParsingPlan();
+            this.document = new LuceneDocument("", null, plan.expectedRootFields());
             this.documents.add(document);
             this.maxAllowedNumNestedDocs = indexSettings().getMappingNestedDocsLimit();
             this.numNestedDocs = 0L;
@@ -1102,11 +1105,8 @@ public final class DocumentParser {
 
         @Override
         public Mapper getMapper(String name) {
-            Mapper mapper = getMetadataMapper(name);
-            if (mapper != null) {
-                return mapper;
-            }
-            return super.getMapper(name);
+            // metadata fields and fields of the root object in a single lookup
+            return plan.getRootMapper(name);
         }
 
         @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.elasticsearch.core.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds what {@link DocumentParser} derives from a {@link Mapping} to parse documents, so that it is resolved once per mapping
+ * version instead of once per document or per field. Documents with fields that are not part of the plan are still parsed
+ * correctly since the plan only short-cuts lookups that would otherwise go through the generic mapper tree.
+ */
+final class DocumentParsingPlan {
+
+    // upper bound for pre-sizing the fields of root documents, so that a single huge document does not inflate all others
+    static final int MAX_EXPECTED_ROOT_FIELDS = 1024;
+    // each smaller root document moves the expected number of fields 1/16th of the way towards its own number of fields
+    static final int EXPECTED_ROOT_FIELDS_DECAY_SHIFT = 4;
+
+    private final Map<String, Mapper> rootMappers;
+    @Nullable
+    private final FieldNamesFieldMapper fieldNamesFieldMapper;
+    // updated without synchronization, a lost update only means that a few more documents grow their list of fields
+    private volatile int expectedRootFields;
+
+    DocumentParsingPlan(Mapping mapping) {
+        final RootObjectMapper root = mapping.getRoot();
+        final Map<String, Mapper> rootMappers = new HashMap<>(root.mappers);
+        // metadata fields take precedence over fields of the root object with the same name, see RootDocumentParserContext#getMapper
+        for (MetadataFieldMapper metadataMapper : mapping.getSortedMetadataMappers()) {
+            rootMappers.put(metadataMapper.fullPath(), metadataMapper);
+        }
+        this.rootMappers = Map.copyOf(rootMappers);
+        this.fieldNamesFieldMapper = (FieldNamesFieldMapper) mapping.getMetadataMapperByName(FieldNamesFieldMapper.NAME);
+    }
+
+    /**
+     * Returns the mapper of the metadata field or field of the root object with the given name, or {@code null} if there is none.
+     */
+    @Nullable
+    Mapper getRootMapper(String name) {
+        return rootMappers.get(name);
+    }
+
+    @Nullable
+    FieldNamesFieldMapper fieldNamesFieldMapper() {
+        return fieldNamesFieldMapper;
+    }
+
+    /**
+     * The number of fields that the root document of a document parsed with this plan is expected to hold. It follows larger root
+     * documents immediately and decays towards the size of smaller ones, so that a burst of large documents only inflates the
+     * documents that follow it for a while.
+     */
+    int expectedRootFields() {
+        return expectedRootFields;
+    }
+
+    void onRootDocumentParsed(int fieldCount) {
+        final int fields = Math.min(fieldCount, MAX_EXPECTED_ROOT_FIELDS);
+        final int expected = expectedRootFields;
+        if (fields > expected) {
+            expectedRootFields = fields;
+        } else if (fields < expected) {
+            expectedRootFields = expected - Math.max(1, (expected - fields) >> EXPECTED_ROOT_FIELDS_DECAY_SHIFT);
+        }
+    }
+}
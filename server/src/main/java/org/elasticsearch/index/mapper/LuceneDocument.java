@@ -30,7 +30,14 @@ public class LuceneDocument implements Iterable<IndexableField> {
     private Map<Object, IndexableField> keyedFields;
 
     LuceneDocument(String path, LuceneDocument parent) {
-        fields = new ArrayList<>();
+        this(path, parent, 0);
+    }
+
+    /**
+     * @param expectedFields the number of fields that this document is expected to hold, or {@code 0} if unknown
+     */
+    LuceneDocument(String path, LuceneDocument parent, int expectedFields) {
+        fields = expectedFields > 0 ? new ArrayList<>(expectedFields) : new ArrayList<>();
         this.path = path;
         this.prefix = path.isEmpty() ? "" : path + ".";
         this.parent = parent;
@@ -58,6 +58,7 @@ public final class MappingLookup {
     private final Map<String, NamedAnalyzer> indexAnalyzersMap;
     private final List<FieldMapper> indexTimeScriptMappers;
     private final Mapping mapping;
+    private final DocumentParsingPlan documentParsingPlan;
     private final int totalFieldsCount;
 
     /**
@@ -145,6 +146,7 @@ public final class MappingLookup {
     ) {
         this.totalFieldsCount = mapping.getRoot().getTotalFieldsCount();
         this.mapping = mapping;
+        this.documentParsingPlan = new DocumentParsingPlan(mapping);
         Map<String, Mapper> fieldMappers = new HashMap<>();
         Map<String, ObjectMapper> objects = new HashMap<>();
 
@@ -529,6 +531,13 @@ public final class MappingLookup {
         return mapping;
     }
 
+    /**
+     * Returns what {@link DocumentParser} resolves once for all documents parsed with this lookup
+     */
+    DocumentParsingPlan getDocumentParsingPlan() {
+        return documentParsingPlan;
+    }
+
     /**
      * Check if the provided {@link MappedFieldType} shadows a dimension
      * or metric field.
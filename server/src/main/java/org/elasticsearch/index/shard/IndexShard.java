@@ -934,6 +934,33 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         long ifPrimaryTerm,
         long autoGeneratedTimestamp,
         boolean isRetry
+    ) throws IOException {
+        return applyIndexOperationOnPrimary(
+            version,
+            versionType,
+            sourceToParse,
+            null,
+            ifSeqNo,
+            ifPrimaryTerm,
+            autoGeneratedTimestamp,
+            isRetry
+        );
+    }
+
+    /**
+     * Same as {@link #applyIndexOperationOnPrimary(long, VersionType, SourceToParse, long, long, long, boolean)} but uses the given
+     * document, which was parsed ahead of this operation by {@link #parseDocumentAhead}, if it was parsed with the current mapping.
+     * Otherwise the source is parsed again as usual.
+     */
+    public Engine.IndexResult applyIndexOperationOnPrimary(
+        long version,
+        VersionType versionType,
+        SourceToParse sourceToParse,
+        @Nullable PreParsedDocument preParsedDocument,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        long autoGeneratedTimestamp,
+        boolean isRetry
     ) throws IOException {
         assert versionType.validateVersionForWrites(version);
         return applyIndexOperation(
@@ -947,10 +974,39 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             autoGeneratedTimestamp,
             isRetry,
             Engine.Operation.Origin.PRIMARY,
-            sourceToParse
+            sourceToParse,
+            preParsedDocument
         );
     }
 
+    /**
+     * A document that was parsed ahead of its index operation, possibly on another thread than the one executing the operation.
+     *
+     * @param documentMapper   the mapper that parsed the document, the document is only used if this is still the current mapper
+     *                         when the operation is executed
+     * @param parsedDocument   the parsed document
+     * @param parseTimeInNanos the time it took to parse the document
+     */
+    public record PreParsedDocument(DocumentMapper documentMapper, ParsedDocument parsedDocument, long parseTimeInNanos) {}
+
+    /**
+     * Parses the given source with the current mapping so that a later index operation on this primary does not need to parse it
+     * again, see {@link #applyIndexOperationOnPrimary(long, VersionType, SourceToParse, PreParsedDocument, long, long, long, boolean)}.
+     * May be called concurrently with other operations on this shard.
+     *
+     * @return the parsed document, or {@code null} if there is no mapping to parse the document with yet
+     */
+    @Nullable
+    public PreParsedDocument parseDocumentAhead(SourceToParse sourceToParse) {
+        final DocumentMapper documentMapper = mapperService.documentMapper();
+        if (documentMapper == null) {
+            return null;
+        }
+        final long startTimeInNanos = getRelativeTimeInNanos();
+        final ParsedDocument parsedDocument = documentMapper.parse(sourceToParse);
+        return new PreParsedDocument(documentMapper, parsedDocument, getRelativeTimeInNanos() - startTimeInNanos);
+    }
+
     public Engine.IndexResult applyIndexOperationOnReplica(
         long seqNo,
         long opPrimaryTerm,
@@ -970,7 +1026,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             autoGeneratedTimeStamp,
             isRetry,
             Engine.Operation.Origin.REPLICA,
-            sourceToParse
+            sourceToParse,
+            null
         );
     }
 
@@ -985,16 +1042,19 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         long autoGeneratedTimeStamp,
         boolean isRetry,
         Engine.Operation.Origin origin,
-        SourceToParse sourceToParse
+        SourceToParse sourceToParse,
+        @Nullable PreParsedDocument preParsedDocument
     ) throws IOException {
         assert opPrimaryTerm <= getOperationPrimaryTerm()
             : "op term [ " + opPrimaryTerm + " ] > shard term [" + getOperationPrimaryTerm() + "]";
         ensureWriteAllowed(origin);
         Engine.Index operation;
         try {
+            final long startTimeInNanos = getRelativeTimeInNanos();
             operation = prepareIndex(
                 mapperService,
                 sourceToParse,
+                preParsedDocument,
                 seqNo,
                 opPrimaryTerm,
                 version,
@@ -1004,8 +1064,15 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                 isRetry,
                 ifSeqNo,
                 ifPrimaryTerm,
-                getRelativeTimeInNanos()
+                startTimeInNanos
             );
+            if (origin.isRecovery() == false) {
+                if (preParsedDocument != null && operation.parsedDoc() == preParsedDocument.parsedDocument()) {
+                    internalIndexingStats.documentParsed(preParsedDocument.parseTimeInNanos(), true);
+                } else {
+                    internalIndexingStats.documentParsed(getRelativeTimeInNanos() - startTimeInNanos, false);
+                }
+            }
             Mapping update = operation.parsedDoc().dynamicMappingsUpdate();
             if (update != null) {
                 return new Engine.IndexResult(update, operation.parsedDoc().id());
@@ -1056,6 +1123,38 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         long ifSeqNo,
         long ifPrimaryTerm,
         long startTimeInNanos
+    ) {
+        return prepareIndex(
+            mapperService,
+            source,
+            null,
+            seqNo,
+            primaryTerm,
+            version,
+            versionType,
+            origin,
+            autoGeneratedIdTimestamp,
+            isRetry,
+            ifSeqNo,
+            ifPrimaryTerm,
+            startTimeInNanos
+        );
+    }
+
+    private static Engine.Index prepareIndex(
+        MapperService mapperService,
+        SourceToParse source,
+        @Nullable PreParsedDocument preParsedDocument,
+        long seqNo,
+        long primaryTerm,
+        long version,
+        VersionType versionType,
+        Engine.Operation.Origin origin,
+        long autoGeneratedIdTimestamp,
+        boolean isRetry,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        long startTimeInNanos
     ) {
         assert source.dynamicTemplates().isEmpty() || origin == Engine.Operation.Origin.PRIMARY
             : "dynamic_templates parameter can only be associated with primary operations";
@@ -1065,7 +1164,13 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             documentMapper = DocumentMapper.createEmpty(mapperService);
             mapping = documentMapper.mapping();
         }
-        ParsedDocument doc = documentMapper.parse(source);
+        final ParsedDocument doc;
+        if (preParsedDocument != null && preParsedDocument.documentMapper() == documentMapper) {
+            // parsed with the current mapping, so parsing again would yield the same document and mapping updates
+            doc = preParsedDocument.parsedDocument();
+        } else {
+            doc = documentMapper.parse(source);
+        }
         if (mapping != null) {
             // If we are indexing but there is no mapping we create one. This is to ensure that whenever at least a document is indexed
             // some mappings do exist. It covers for the case of indexing an empty doc (`{}`).
@@ -2065,7 +2170,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                     index.getAutoGeneratedIdTimestamp(),
                     true,
                     origin,
-                    new SourceToParse(index.id(), index.source(), XContentHelper.xContentType(index.source()), index.routing())
+                    new SourceToParse(index.id(), index.source(), XContentHelper.xContentType(index.source()), index.routing()),
+                    null
                 );
             }
             case DELETE -> {
@@ -2746,6 +2852,23 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         }
     }
 
+    /**
+     * Sets the share of the node's indexing buffer that the {@link IndexingMemoryController} allocates to this shard, which is
+     * reported in the indexing stats.
+     */
+    public void setIndexBufferBudget(long budgetInBytes) {
+        internalIndexingStats.indexBufferBudget(budgetInBytes);
+    }
+
+    /**
+     * Records that the {@link IndexingMemoryController} asked this shard to write its indexing buffer.
+     *
+     * @param idle whether it does so because the shard stopped receiving writes, rather than because the node's buffer is full
+     */
+    public void onIndexBufferWriteRequested(boolean idle) {
+        internalIndexingStats.indexBufferWrite(idle);
+    }
+
     /**
      * Called when our shard is using too much heap and should move buffered indexed/deleted documents to disk.
      */
@@ -14,6 +14,7 @@ import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.xcontent.ToXContent;
@@ -48,6 +49,11 @@ public class IndexingStats implements Writeable, ToXContentFragment {
         private long totalActiveTimeInNanos;
         private double recentIndexingLoad;
         private double peakIndexingLoad;
+        private long parseTimeInMillis;
+        private long parsedAheadCount;
+        private long indexBufferBudgetInBytes;
+        private long indexBufferOverBudgetWriteCount;
+        private long indexBufferIdleWriteCount;
 
         Stats() {}
 
@@ -87,6 +93,15 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                     ? (double) totalIndexingTimeSinceShardStartedInNanos / totalActiveTimeInNanos
                     : 0;
             }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.INDEXING_STATS_INCLUDES_PARSE_TIME)) {
+                parseTimeInMillis = in.readVLong();
+                parsedAheadCount = in.readVLong();
+            }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.INDEXING_STATS_INCLUDES_INDEX_BUFFER)) {
+                indexBufferBudgetInBytes = in.readVLong();
+                indexBufferOverBudgetWriteCount = in.readVLong();
+                indexBufferIdleWriteCount = in.readVLong();
+            }
         }
 
         public Stats(
@@ -104,7 +119,12 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             long totalIndexingTimeSinceShardStartedInNanos,
             long totalActiveTimeInNanos,
             double recentIndexingLoad,
-            double peakIndexingLoad
+            double peakIndexingLoad,
+            long parseTimeInMillis,
+            long parsedAheadCount,
+            long indexBufferBudgetInBytes,
+            long indexBufferOverBudgetWriteCount,
+            long indexBufferIdleWriteCount
         ) {
             this.indexCount = indexCount;
             this.indexTimeInMillis = indexTimeInMillis;
@@ -123,6 +143,11 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             // We store the weighted write load as a double because the calculation is inherently floating point
             this.recentIndexingLoad = recentIndexingLoad;
             this.peakIndexingLoad = peakIndexingLoad;
+            this.parseTimeInMillis = parseTimeInMillis;
+            this.parsedAheadCount = parsedAheadCount;
+            this.indexBufferBudgetInBytes = indexBufferBudgetInBytes;
+            this.indexBufferOverBudgetWriteCount = indexBufferOverBudgetWriteCount;
+            this.indexBufferIdleWriteCount = indexBufferIdleWriteCount;
         }
 
         public void add(Stats stats) {
@@ -138,6 +163,11 @@ public class IndexingStats implements Writeable, ToXContentFragment {
 
             noopUpdateCount += stats.noopUpdateCount;
             throttleTimeInMillis += stats.throttleTimeInMillis;
+            parseTimeInMillis += stats.parseTimeInMillis;
+            parsedAheadCount += stats.parsedAheadCount;
+            indexBufferBudgetInBytes += stats.indexBufferBudgetInBytes;
+            indexBufferOverBudgetWriteCount += stats.indexBufferOverBudgetWriteCount;
+            indexBufferIdleWriteCount += stats.indexBufferIdleWriteCount;
             if (isThrottled != stats.isThrottled) {
                 isThrottled = true; // When combining if one is throttled set result to throttled.
             }
@@ -227,6 +257,44 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             return noopUpdateCount;
         }
 
+        /**
+         * The total amount of time spent on parsing the documents of index operations, which is part of {@link #getIndexTime()} unless
+         * the documents were parsed ahead of their operations, see {@link #getParsedAheadCount()}.
+         */
+        public TimeValue getParseTime() {
+            return new TimeValue(parseTimeInMillis);
+        }
+
+        /**
+         * The number of documents of index operations on primaries that were parsed ahead of their operations by other threads,
+         * concurrently with the execution of the earlier operations of the same bulk request.
+         */
+        public long getParsedAheadCount() {
+            return parsedAheadCount;
+        }
+
+        /**
+         * The share of the node's indexing buffer that is allocated to the shard according to its recent write rate, or the sum of these
+         * shares for multiple shards. Zero unless {@code indices.memory.allocate_by_write_rate} is enabled.
+         */
+        public ByteSizeValue getIndexBufferBudget() {
+            return ByteSizeValue.ofBytes(indexBufferBudgetInBytes);
+        }
+
+        /**
+         * The number of times that the indexing buffer of the shard was written to disk because the node's indexing buffer was full.
+         */
+        public long getIndexBufferOverBudgetWriteCount() {
+            return indexBufferOverBudgetWriteCount;
+        }
+
+        /**
+         * The number of times that the indexing buffer of the shard was written to disk because the shard stopped receiving writes.
+         */
+        public long getIndexBufferIdleWriteCount() {
+            return indexBufferIdleWriteCount;
+        }
+
         /**
          * Returns a measurement of the write load.
          *
@@ -296,6 +364,15 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             if (out.getTransportVersion().onOrAfter(INDEX_STATS_AND_METADATA_INCLUDE_PEAK_WRITE_LOAD)) {
                 out.writeDouble(peakIndexingLoad);
             }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.INDEXING_STATS_INCLUDES_PARSE_TIME)) {
+                out.writeVLong(parseTimeInMillis);
+                out.writeVLong(parsedAheadCount);
+            }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.INDEXING_STATS_INCLUDES_INDEX_BUFFER)) {
+                out.writeVLong(indexBufferBudgetInBytes);
+                out.writeVLong(indexBufferOverBudgetWriteCount);
+                out.writeVLong(indexBufferIdleWriteCount);
+            }
         }
 
         @Override
@@ -312,6 +389,13 @@ public class IndexingStats implements Writeable, ToXContentFragment {
 
             builder.field(Fields.NOOP_UPDATE_TOTAL, noopUpdateCount);
 
+            builder.humanReadableField(Fields.PARSE_TIME_IN_MILLIS, Fields.PARSE_TIME, getParseTime());
+            builder.field(Fields.PARSED_AHEAD_TOTAL, parsedAheadCount);
+
+            builder.humanReadableField(Fields.INDEX_BUFFER_BUDGET_IN_BYTES, Fields.INDEX_BUFFER_BUDGET, getIndexBufferBudget());
+            builder.field(Fields.INDEX_BUFFER_OVER_BUDGET_WRITES_TOTAL, indexBufferOverBudgetWriteCount);
+            builder.field(Fields.INDEX_BUFFER_IDLE_WRITES_TOTAL, indexBufferIdleWriteCount);
+
             builder.field(Fields.IS_THROTTLED, isThrottled);
             builder.humanReadableField(Fields.THROTTLED_TIME_IN_MILLIS, Fields.THROTTLED_TIME, getThrottleTime());
 
@@ -340,7 +424,12 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                 && totalIndexingTimeSinceShardStartedInNanos == that.totalIndexingTimeSinceShardStartedInNanos
                 && totalActiveTimeInNanos == that.totalActiveTimeInNanos
                 && recentIndexingLoad == that.recentIndexingLoad
-                && peakIndexingLoad == that.peakIndexingLoad;
+                && peakIndexingLoad == that.peakIndexingLoad
+                && parseTimeInMillis == that.parseTimeInMillis
+                && parsedAheadCount == that.parsedAheadCount
+                && indexBufferBudgetInBytes == that.indexBufferBudgetInBytes
+                && indexBufferOverBudgetWriteCount == that.indexBufferOverBudgetWriteCount
+                && indexBufferIdleWriteCount == that.indexBufferIdleWriteCount;
         }
 
         @Override
@@ -358,7 +447,12 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                 isThrottled,
                 throttleTimeInMillis,
                 totalIndexingTimeSinceShardStartedInNanos,
-                totalActiveTimeInNanos
+                totalActiveTimeInNanos,
+                parseTimeInMillis,
+                parsedAheadCount,
+                indexBufferBudgetInBytes,
+                indexBufferOverBudgetWriteCount,
+                indexBufferIdleWriteCount
             );
         }
     }
@@ -436,6 +530,13 @@ public class IndexingStats implements Writeable, ToXContentFragment {
         static final String DELETE_TIME_IN_MILLIS = "delete_time_in_millis";
         static final String DELETE_CURRENT = "delete_current";
         static final String NOOP_UPDATE_TOTAL = "noop_update_total";
+        static final String PARSE_TIME = "parse_time";
+        static final String PARSE_TIME_IN_MILLIS = "parse_time_in_millis";
+        static final String PARSED_AHEAD_TOTAL = "parsed_ahead_total";
+        static final String INDEX_BUFFER_BUDGET = "index_buffer_budget";
+        static final String INDEX_BUFFER_BUDGET_IN_BYTES = "index_buffer_budget_in_bytes";
+        static final String INDEX_BUFFER_OVER_BUDGET_WRITES_TOTAL = "index_buffer_over_budget_writes_total";
+        static final String INDEX_BUFFER_IDLE_WRITES_TOTAL = "index_buffer_idle_writes_total";
         static final String IS_THROTTLED = "is_throttled";
         static final String THROTTLED_TIME_IN_MILLIS = "throttle_time_in_millis";
         static final String THROTTLED_TIME = "throttle_time";
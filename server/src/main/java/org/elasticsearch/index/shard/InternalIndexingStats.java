@@ -153,6 +153,38 @@ final class InternalIndexingStats implements IndexingOperationListener {
         totalStats.noopUpdates.inc();
     }
 
+    /**
+     * Records the time it took to parse the document of an index operation.
+     *
+     * @param parsedAhead whether the document was parsed ahead of its operation rather than as part of it
+     */
+    void documentParsed(long tookInNanos, boolean parsedAhead) {
+        totalStats.parseTimeInNanos.inc(tookInNanos);
+        if (parsedAhead) {
+            totalStats.parsedAhead.inc();
+        }
+    }
+
+    /**
+     * Records the share of the node's indexing buffer that is currently allocated to this shard.
+     */
+    void indexBufferBudget(long budgetInBytes) {
+        totalStats.indexBufferBudgetInBytes = budgetInBytes;
+    }
+
+    /**
+     * Records that the indexing buffer of this shard is about to be written to disk.
+     *
+     * @param idle whether it is written because the shard stopped receiving writes, rather than because the node's buffer is full
+     */
+    void indexBufferWrite(boolean idle) {
+        if (idle) {
+            totalStats.indexBufferIdleWrites.inc();
+        } else {
+            totalStats.indexBufferOverBudgetWrites.inc();
+        }
+    }
+
     static class StatsHolder {
         private final MeanMetric indexMetric = new MeanMetric(); // Used for the count and total 'took' time (in ns) of index operations
         private final ExponentiallyWeightedMovingRate recentIndexMetric; // An EWMR of the total 'took' time of index operations (in ns)
@@ -163,6 +195,11 @@ final class InternalIndexingStats implements IndexingOperationListener {
         private final CounterMetric indexFailedDueToVersionConflicts = new CounterMetric();
         private final CounterMetric deleteCurrent = new CounterMetric();
         private final CounterMetric noopUpdates = new CounterMetric();
+        private final CounterMetric parseTimeInNanos = new CounterMetric();
+        private final CounterMetric parsedAhead = new CounterMetric();
+        private final CounterMetric indexBufferOverBudgetWrites = new CounterMetric();
+        private final CounterMetric indexBufferIdleWrites = new CounterMetric();
+        private volatile long indexBufferBudgetInBytes;
 
         StatsHolder(long startTimeInNanos, TimeValue recentWriteLoadHalfLife) {
             double lambdaInInverseNanos = Math.log(2.0) / recentWriteLoadHalfLife.nanos();
@@ -220,7 +257,12 @@ final class InternalIndexingStats implements IndexingOperationListener {
                 totalIndexingTimeSinceShardStartedInNanos,
                 timeSinceShardStartedInNanos,
                 recentIndexingLoadSinceShardStarted,
-                peakIndexingLoad
+                peakIndexingLoad,
+                TimeUnit.NANOSECONDS.toMillis(parseTimeInNanos.count()),
+                parsedAhead.count(),
+                indexBufferBudgetInBytes,
+                indexBufferOverBudgetWrites.count(),
+                indexBufferIdleWrites.count()
             );
         }
     }
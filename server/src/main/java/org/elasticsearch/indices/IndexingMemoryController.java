@@ -12,6 +12,7 @@ package org.elasticsearch.indices;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.store.AlreadyClosedException;
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
@@ -34,11 +35,14 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class IndexingMemoryController implements IndexingOperationListener, Closeable {
@@ -87,6 +91,19 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         Property.NodeScope
     );
 
+    /**
+     * Whether to allocate the indexing buffer to shards in proportion to their recent write rates, preferring to write the buffers of the
+     * shards that use more than their share, and to write the buffers of shards that stopped receiving writes (default: false).
+     */
+    public static final Setting<Boolean> ALLOCATE_BY_WRITE_RATE_SETTING = Setting.boolSetting(
+        "indices.memory.allocate_by_write_rate",
+        false,
+        Property.NodeScope
+    );
+
+    /** The weight of the bytes written since the last check in the moving average of the write rate of each shard. */
+    static final double WRITE_RATE_EWMA_ALPHA = 0.3;
+
     private final ThreadPool threadPool;
 
     private final Iterable<IndexShard> indexShards;
@@ -96,6 +113,11 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
     private final TimeValue inactiveTime;
     private final TimeValue interval;
 
+    private final boolean allocateByWriteRate;
+
+    /** The recent write rates of shards, only tracked if {@link #ALLOCATE_BY_WRITE_RATE_SETTING} is enabled */
+    private final Map<ShardId, ShardWriteRate> writeRates = ConcurrentCollections.newConcurrentMap();
+
     /** Contains shards currently being throttled because we can't write segments quickly enough */
     private final Set<IndexShard> throttled = new HashSet<>();
 
@@ -135,16 +157,19 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         this.inactiveTime = SHARD_INACTIVE_TIME_SETTING.get(settings);
         // we need to have this relatively small to free up heap quickly enough
         this.interval = SHARD_MEMORY_INTERVAL_TIME_SETTING.get(settings);
+        this.allocateByWriteRate = ALLOCATE_BY_WRITE_RATE_SETTING.get(settings);
 
         this.statusChecker = new ShardsIndicesStatusChecker();
 
         logger.debug(
-            "using indexing buffer size [{}] with {} [{}], {} [{}]",
+            "using indexing buffer size [{}] with {} [{}], {} [{}], {} [{}]",
             this.indexingBuffer,
             SHARD_INACTIVE_TIME_SETTING.getKey(),
             this.inactiveTime,
             SHARD_MEMORY_INTERVAL_TIME_SETTING.getKey(),
-            this.interval
+            this.interval,
+            ALLOCATE_BY_WRITE_RATE_SETTING.getKey(),
+            this.allocateByWriteRate
         );
         this.scheduler = scheduleTask(threadPool);
 
@@ -190,6 +215,21 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         return shard.getWritingBytes();
     }
 
+    /** Records the share of the indexing buffer that is allocated to this shard */
+    protected void setIndexBufferBudget(IndexShard shard, long budgetInBytes) {
+        shard.setIndexBufferBudget(budgetInBytes);
+    }
+
+    /** Records why the given shard is asked to write its indexing buffer */
+    protected void recordWriteIndexingBuffer(IndexShard shard, boolean idle) {
+        shard.onIndexBufferWriteRequested(idle);
+    }
+
+    /** returns the current relative time, which is used to detect shards that stopped receiving writes */
+    protected long relativeTimeInNanos() {
+        return System.nanoTime();
+    }
+
     /** Record that the given shard needs to write its indexing buffer. */
     protected void enqueueWriteIndexingBuffer(IndexShard shard) {
         if (pendingWriteIndexingBufferSet.add(shard)) {
@@ -199,6 +239,13 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         // need the first one to start running to know about the number of bytes still not being written.
     }
 
+    private void requestWriteIndexingBuffer(IndexShard shard, boolean idle) {
+        if (pendingWriteIndexingBufferSet.contains(shard) == false) {
+            recordWriteIndexingBuffer(shard, idle);
+        }
+        enqueueWriteIndexingBuffer(shard);
+    }
+
     /**
      * Write pending indexing buffers. This should run on indexing threads in order to naturally apply back pressure on indexing. Lucene has
      * similar logic in DocumentsWriter#postUpdate.
@@ -253,7 +300,7 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
     }
 
     private void postOperation(ShardId shardId, Engine.Operation operation, Engine.Result result) {
-        recordOperationBytes(operation, result);
+        recordOperationBytes(shardId, operation, result);
         // Piggy back on indexing threads to write segments. We're not submitting a task to the index threadpool because we want memory to
         // be reclaimed rapidly. This has the downside of increasing the latency of _bulk requests though. Lucene does the same thing in
         // DocumentsWriter#postUpdate, flushing a segment because the size limit on the RAM buffer was reached happens on the call to
@@ -267,19 +314,50 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
     }
 
     /** called by IndexShard to record estimated bytes written to translog for the operation */
-    private void recordOperationBytes(Engine.Operation operation, Engine.Result result) {
+    private void recordOperationBytes(ShardId shardId, Engine.Operation operation, Engine.Result result) {
         if (result.getResultType() == Engine.Result.Type.SUCCESS) {
+            recordShardBytes(shardId, operation.estimatedSizeInBytes());
             statusChecker.bytesWritten(operation.estimatedSizeInBytes());
         }
     }
 
+    /** records the bytes written to the given shard for its write rate */
+    void recordShardBytes(ShardId shardId, long bytes) {
+        if (allocateByWriteRate) {
+            ShardWriteRate writeRate = writeRates.get(shardId);
+            if (writeRate == null) {
+                writeRate = writeRates.computeIfAbsent(shardId, k -> new ShardWriteRate(relativeTimeInNanos()));
+            }
+            writeRate.bytesSinceCheck.add(bytes);
+        }
+    }
+
+    /**
+     * The recent write rate of a shard, as a moving average of the bytes that it received between consecutive checks. Checks happen at
+     * the same time for all shards, so the averages of different shards are comparable even though checks do not happen at fixed
+     * intervals.
+     */
+    private static final class ShardWriteRate {
+        final LongAdder bytesSinceCheck = new LongAdder();
+        final ExponentiallyWeightedMovingAverage bytesPerCheck = new ExponentiallyWeightedMovingAverage(WRITE_RATE_EWMA_ALPHA, 0);
+        // the time of the last check that saw writes to the shard, only accessed under the run lock
+        long lastWriteCheckNanos;
+
+        ShardWriteRate(long nowInNanos) {
+            this.lastWriteCheckNanos = nowInNanos;
+        }
+    }
+
     private static final class ShardAndBytesUsed {
         final long bytesUsed;
         final IndexShard shard;
+        // how many bytes the shard uses beyond its share of the indexing buffer, only set when allocating by write rate
+        final long bytesOverBudget;
 
-        ShardAndBytesUsed(long bytesUsed, IndexShard shard) {
+        ShardAndBytesUsed(long bytesUsed, IndexShard shard, long bytesOverBudget) {
             this.bytesUsed = bytesUsed;
             this.shard = shard;
+            this.bytesOverBudget = bytesOverBudget;
         }
 
     }
@@ -355,6 +433,8 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
             // NOTE: even if we hit an errant exc here, our ThreadPool.scheduledWithFixedDelay will log the exception and re-invoke us
             // again, on schedule
 
+            final Map<ShardId, Long> budgets = allocateByWriteRate ? updateBudgets() : Map.of();
+
             // First pass to sum up how much heap all shards' indexing buffers are using now, and how many bytes they are currently moving
             // to disk:
             long totalBytesUsed = 0;
@@ -379,6 +459,18 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
                     continue;
                 }
 
+                if (shardBytesUsed > 0 && allocateByWriteRate && isIdle(shard)) {
+                    // The shard stopped receiving writes so its buffer will not grow into a larger segment, write it now to make room for
+                    // the shards that are still receiving writes:
+                    logger.debug(
+                        "write indexing buffer to disk for idle shard [{}] to free up its [{}] indexing buffer",
+                        shard.shardId(),
+                        ByteSizeValue.ofBytes(shardBytesUsed)
+                    );
+                    requestWriteIndexingBuffer(shard, true);
+                    continue;
+                }
+
                 totalBytesUsed += shardBytesUsed;
             }
 
@@ -429,7 +521,8 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
                                 logger.trace("shard [{}] is using [{}] heap, not writing any bytes", shard.shardId(), shardBytesUsed);
                             }
                         }
-                        queue.add(new ShardAndBytesUsed(shardBytesUsed, shard));
+                        Long budget = budgets.get(shard.shardId());
+                        queue.add(new ShardAndBytesUsed(shardBytesUsed, shard, budget == null ? 0 : shardBytesUsed - budget));
                     }
                 }
 
@@ -455,10 +548,16 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
                 // highest ingestion rate, and thus it is also the shard that is the most likely to re-create a new pending segment in the
                 // very near future after one segment has been flushed.
 
-                // We want to go over shards in a round-robin fashion across calls to #runUnlocked. First sort shards by something stable
-                // like the shard ID.
-                queue.sort(Comparator.comparing(shardAndBytes -> shardAndBytes.shard.shardId()));
-                if (lastShardId != null) {
+                if (allocateByWriteRate) {
+                    // Shards that use more than their share of the buffer compared to their write rates come first, since their buffers
+                    // are the least likely to be re-created soon.
+                    queue.sort(Comparator.comparingLong((ShardAndBytesUsed shardAndBytes) -> shardAndBytes.bytesOverBudget).reversed());
+                } else {
+                    // We want to go over shards in a round-robin fashion across calls to #runUnlocked. First sort shards by something
+                    // stable like the shard ID.
+                    queue.sort(Comparator.comparing(shardAndBytes -> shardAndBytes.shard.shardId()));
+                }
+                if (allocateByWriteRate == false && lastShardId != null) {
                     // Then rotate the list so that the first shard that is greater than the ID of the last shard whose indexing buffer was
                     // written comes first.
                     int nextShardIdIndex = 0;
@@ -477,7 +576,7 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
                         shardAndBytesUsed.shard.shardId(),
                         ByteSizeValue.ofBytes(shardAndBytesUsed.bytesUsed)
                     );
-                    enqueueWriteIndexingBuffer(shardAndBytesUsed.shard);
+                    requestWriteIndexingBuffer(shardAndBytesUsed.shard, false);
                     totalBytesUsed -= shardAndBytesUsed.bytesUsed;
                     lastShardId = shardAndBytesUsed.shard.shardId();
                     if (doThrottle && throttled.contains(shardAndBytesUsed.shard) == false) {
@@ -505,6 +604,50 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         }
     }
 
+    /**
+     * Updates the write rates of the available shards and allocates the indexing buffer to them in proportion to these rates, or evenly if
+     * none of them received writes recently.
+     *
+     * @return the share of the indexing buffer of each shard
+     */
+    private Map<ShardId, Long> updateBudgets() {
+        final long nowInNanos = relativeTimeInNanos();
+        final List<IndexShard> shards = availableShards();
+        final Map<ShardId, Double> rates = new HashMap<>();
+        double totalRate = 0;
+        for (IndexShard shard : shards) {
+            ShardWriteRate writeRate = writeRates.computeIfAbsent(shard.shardId(), k -> new ShardWriteRate(nowInNanos));
+            long bytes = writeRate.bytesSinceCheck.sumThenReset();
+            if (bytes > 0) {
+                writeRate.lastWriteCheckNanos = nowInNanos;
+            }
+            writeRate.bytesPerCheck.addValue(bytes);
+            double rate = writeRate.bytesPerCheck.getAverage();
+            rates.put(shard.shardId(), rate);
+            totalRate += rate;
+        }
+        // forget about the shards that were closed or relocated away
+        writeRates.keySet().retainAll(rates.keySet());
+
+        final Map<ShardId, Long> budgets = new HashMap<>();
+        for (IndexShard shard : shards) {
+            long budget = totalRate > 0
+                ? (long) (indexingBuffer * (rates.get(shard.shardId()) / totalRate))
+                : indexingBuffer / shards.size();
+            budgets.put(shard.shardId(), budget);
+            setIndexBufferBudget(shard, budget);
+        }
+        return budgets;
+    }
+
+    /**
+     * @return whether the given shard did not receive any writes for at least one {@link #SHARD_MEMORY_INTERVAL_TIME_SETTING interval}
+     */
+    private boolean isIdle(IndexShard shard) {
+        ShardWriteRate writeRate = writeRates.get(shard.shardId());
+        return writeRate != null && relativeTimeInNanos() - writeRate.lastWriteCheckNanos >= interval.nanos();
+    }
+
     /**
      * ask this shard to check now whether it is inactive, and reduces its indexing buffer if so.
      */
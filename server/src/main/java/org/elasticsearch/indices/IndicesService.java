@@ -285,8 +285,8 @@ public class IndicesService extends AbstractLifecycleComponent
         // Start thread that will manage cleaning the field data cache periodically
         threadPool.schedule(this.cacheCleaner, this.cleanInterval, EsExecutors.DIRECT_EXECUTOR_SERVICE);
 
-        // Start watching for timestamp fields
-        clusterService.addStateApplier(timestampFieldMapperService);
+        // Start watching for timestamp fields, which only depends on the cluster state so can happen concurrently with other appliers
+        clusterService.addIndependentApplier(timestampFieldMapperService);
     }
 
     @SuppressWarnings("this-escape")
@@ -156,6 +156,9 @@ public class CompoundProcessor implements Processor {
         Tuple<Processor, IngestMetric> processorWithMetric;
         Processor processor;
         IngestMetric metric;
+        // sync processors run back to back, so the time at which one processor completes is the time at which the next one starts,
+        // which saves reading the clock twice per processor
+        long startTimeInNanos = relativeTimeProvider.getAsLong();
         // iteratively execute any sync processors
         while (currentProcessor < processorsWithMetrics.size()
             && processorsWithMetrics.get(currentProcessor).v1().isAsync() == false
@@ -166,11 +169,11 @@ public class CompoundProcessor implements Processor {
             metric = processorWithMetric.v2();
             metric.preIngest();
 
-            final long startTimeInNanos = relativeTimeProvider.getAsLong();
             try {
                 ingestDocument = processor.execute(ingestDocument);
-                long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
-                metric.postIngest(ingestTimeInNanos);
+                final long endTimeInNanos = relativeTimeProvider.getAsLong();
+                metric.postIngest(endTimeInNanos - startTimeInNanos);
+                startTimeInNanos = endTimeInNanos;
                 if (ingestDocument == null) {
                     handler.accept(null, null);
                     return;
@@ -194,14 +197,14 @@ public class CompoundProcessor implements Processor {
         // n.b. read 'final' on these variable names as hungarian notation -- we need final variables because of the lambda
         final int finalCurrentProcessor = currentProcessor;
         final int nextProcessor = currentProcessor + 1;
-        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        final long finalStartTimeInNanos = startTimeInNanos;
         final IngestMetric finalMetric = processorsWithMetrics.get(currentProcessor).v2();
         final Processor finalProcessor = processorsWithMetrics.get(currentProcessor).v1();
         final IngestDocument finalIngestDocument = ingestDocument;
         finalMetric.preIngest();
         try {
             finalProcessor.execute(ingestDocument, (result, e) -> {
-                long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+                long ingestTimeInNanos = relativeTimeProvider.getAsLong() - finalStartTimeInNanos;
                 finalMetric.postIngest(ingestTimeInNanos);
                 if (e != null) {
                     executeOnFailureOuter(finalCurrentProcessor, finalIngestDocument, handler, finalProcessor, finalMetric, e);
@@ -214,7 +217,7 @@ public class CompoundProcessor implements Processor {
                 }
             });
         } catch (Exception e) {
-            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - finalStartTimeInNanos;
             finalMetric.postIngest(ingestTimeInNanos);
             executeOnFailureOuter(finalCurrentProcessor, finalIngestDocument, handler, finalProcessor, finalMetric, e);
         }
@@ -11,6 +11,7 @@ package org.elasticsearch.ingest;
 
 import org.elasticsearch.common.logging.DeprecationCategory;
 import org.elasticsearch.common.logging.DeprecationLogger;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.script.DynamicMap;
 import org.elasticsearch.script.IngestConditionalScript;
 import org.elasticsearch.script.Script;
@@ -57,6 +58,8 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
     private final IngestMetric metric;
     private final LongSupplier relativeTimeProvider;
     private final IngestConditionalScript precompiledConditionScript;
+    @Nullable
+    private final SimpleCondition simpleCondition;
 
     ConditionalProcessor(String tag, String description, Script script, ScriptService scriptService, Processor processor) {
         this(tag, description, script, scriptService, processor, System::nanoTime);
@@ -88,6 +91,8 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
         } catch (ScriptException e) {
             throw newConfigurationException(TYPE, tag, null, e);
         }
+        // the script is still compiled above so that invalid conditions are rejected as before
+        this.simpleCondition = SimpleCondition.parse(script);
     }
 
     @Override
@@ -141,6 +146,12 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
     }
 
     boolean evaluate(IngestDocument ingestDocument) {
+        if (simpleCondition != null) {
+            final Boolean matches = simpleCondition.evaluate(ingestDocument.getSourceAndMetadata());
+            if (matches != null) {
+                return matches;
+            }
+        }
         IngestConditionalScript script = precompiledConditionScript;
         if (script == null) {
             IngestConditionalScript.Factory factory = scriptService.compile(condition, IngestConditionalScript.CONTEXT);
@@ -0,0 +1,117 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.ingest;
+
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A painless condition of an ingest processor that only compares a field of the document to {@code null} or to a string literal, such as
+ * {@code ctx.event?.original != null} or {@code ctx.data_stream?.dataset == 'system.auth'}. These are by far the most common conditions
+ * in ingest pipelines, and evaluating them directly against the document is much cheaper than executing the compiled script, which
+ * needs to wrap the document to make it read-only first.
+ * <p>
+ * The evaluation must give the same result as the script would, so it gives up (see {@link #evaluate}) whenever the script would fail,
+ * for instance when a field that is not accessed null-safely is missing, or when a field is accessed on a value that is not an object.
+ * The script is then executed as usual and reports the failure.
+ */
+final class SimpleCondition {
+
+    private static final String IDENTIFIER = "[A-Za-z_][A-Za-z0-9_]*";
+    private static final Pattern CONDITION = Pattern.compile(
+        "\\s*ctx((?:\\??\\." + IDENTIFIER + ")+)\\s*(==|!=)\\s*(null|'[^'\\\\]*'|\"[^\"\\\\]*\")\\s*;?\\s*"
+    );
+    private static final Pattern ACCESS = Pattern.compile("(\\??)\\.(" + IDENTIFIER + ")");
+
+    private final String[] path;
+    private final boolean[] nullSafe;
+    private final boolean equals;
+    @Nullable
+    private final String expected;
+
+    private SimpleCondition(String[] path, boolean[] nullSafe, boolean equals, @Nullable String expected) {
+        this.path = path;
+        this.nullSafe = nullSafe;
+        this.equals = equals;
+        this.expected = expected;
+    }
+
+    /**
+     * @return the simple condition that is equivalent to the given script, or {@code null} if the script is not such a simple condition
+     */
+    @Nullable
+    static SimpleCondition parse(Script script) {
+        if (script.getType() != ScriptType.INLINE || Script.DEFAULT_SCRIPT_LANG.equals(script.getLang()) == false) {
+            return null;
+        }
+        final Matcher condition = CONDITION.matcher(script.getIdOrCode());
+        if (condition.matches() == false) {
+            return null;
+        }
+        final List<String> path = new ArrayList<>();
+        final List<Boolean> nullSafe = new ArrayList<>();
+        final Matcher access = ACCESS.matcher(condition.group(1));
+        while (access.find()) {
+            nullSafe.add(access.group(1).isEmpty() == false);
+            path.add(access.group(2));
+        }
+        if (path.get(0).equals("_type")) {
+            // looking up _type is deprecated and must go through the script to emit the deprecation warning
+            return null;
+        }
+        final boolean[] nullSafeArray = new boolean[nullSafe.size()];
+        for (int i = 0; i < nullSafeArray.length; i++) {
+            nullSafeArray[i] = nullSafe.get(i);
+        }
+        final String literal = condition.group(3);
+        return new SimpleCondition(
+            path.toArray(String[]::new),
+            nullSafeArray,
+            condition.group(2).equals("=="),
+            literal.equals("null") ? null : literal.substring(1, literal.length() - 1)
+        );
+    }
+
+    /**
+     * Evaluates this condition against the given document's source and metadata.
+     *
+     * @return the result of the condition, or {@code null} if it must be evaluated by executing the script
+     */
+    @Nullable
+    Boolean evaluate(Map<String, Object> sourceAndMetadata) {
+        // ctx itself is never null so the first access never needs to be null-safe
+        Object value = sourceAndMetadata.get(path[0]);
+        for (int i = 1; i < path.length; i++) {
+            if (value == null) {
+                // the remaining accesses must all be null-safe, or the script fails with a null pointer exception
+                for (int j = i; j < path.length; j++) {
+                    if (nullSafe[j] == false) {
+                        return null;
+                    }
+                }
+                break;
+            }
+            if (value instanceof Map<?, ?> map) {
+                value = map.get(path[i]);
+            } else {
+                return null;
+            }
+        }
+        return Objects.equals(value, expected) == equals;
+    }
+}
@@ -102,8 +102,9 @@ public final class TopFieldGroups extends TopFieldDocs {
         final ScoreDoc[][] shardHits;
         final FieldComparator<?>[] comparators;
         final int[] reverseMul;
+        final boolean tieBreakOnDoc;
 
-        MergeSortQueue(Sort sort, TopFieldGroups[] shardHits) {
+        MergeSortQueue(Sort sort, TopFieldGroups[] shardHits, boolean tieBreakOnDoc) {
             super(shardHits.length);
             this.shardHits = new ScoreDoc[shardHits.length][];
             for (int shardIDX = 0; shardIDX < shardHits.length; shardIDX++) {
@@ -127,6 +128,7 @@ public final class TopFieldGroups extends TopFieldDocs {
                 comparators[compIDX] = sortField.getComparator(1, Pruning.NONE);
                 reverseMul[compIDX] = sortField.getReverse() ? -1 : 1;
             }
+            this.tieBreakOnDoc = tieBreakOnDoc;
         }
 
         // Returns true if first is < second
@@ -146,6 +148,10 @@ public final class TopFieldGroups extends TopFieldDocs {
                     return cmp < 0;
                 }
             }
+            if (tieBreakOnDoc) {
+                // slices of the same shard hold distinct docs, lower doc wins like it does within a slice
+                return firstFD.doc < secondFD.doc;
+            }
             return tieBreakLessThan(first, firstFD, second, secondFD);
         }
     }
@@ -155,13 +161,33 @@ public final class TopFieldGroups extends TopFieldDocs {
      * sorting by the specified {@link Sort}.
      */
     public static TopFieldGroups merge(Sort sort, int start, int size, TopFieldGroups[] shardHits, boolean setShardIndex) {
+        return merge(sort, start, size, shardHits, setShardIndex, false);
+    }
+
+    /**
+     * Returns a new {@link TopFieldGroups}, containing the topN results across the {@link TopFieldGroups} collected by the slices
+     * of a single shard. Groups that were collected by more than one slice keep their best head only and hits that compare equal
+     * are sorted by doc id, which is what {@link SinglePassGroupingCollector} would have returned if it had collected the whole shard.
+     */
+    public static TopFieldGroups mergeSlices(Sort sort, int size, TopFieldGroups[] sliceHits) {
+        return merge(sort, 0, size, sliceHits, false, true);
+    }
+
+    private static TopFieldGroups merge(
+        Sort sort,
+        int start,
+        int size,
+        TopFieldGroups[] shardHits,
+        boolean setShardIndex,
+        boolean tieBreakOnDoc
+    ) {
         String groupField = shardHits[0].field;
         for (int i = 1; i < shardHits.length; i++) {
             if (groupField.equals(shardHits[i].field) == false) {
                 throw new IllegalArgumentException("group field differ across shards [" + groupField + "] != [" + shardHits[i].field + "]");
             }
         }
-        final PriorityQueue<ShardRef> queue = new MergeSortQueue(sort, shardHits);
+        final PriorityQueue<ShardRef> queue = new MergeSortQueue(sort, shardHits, tieBreakOnDoc);
 
         long totalHitCount = 0;
         int availHitCount = 0;
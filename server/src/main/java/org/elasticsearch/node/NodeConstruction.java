@@ -218,6 +218,7 @@ import org.elasticsearch.threadpool.ExecutorBuilder;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.threadpool.internal.BuiltInExecutorBuilders;
 import org.elasticsearch.transport.Transport;
+import org.elasticsearch.transport.TransportActionMetrics;
 import org.elasticsearch.transport.TransportService;
 import org.elasticsearch.upgrades.SystemIndexMigrationExecutor;
 import org.elasticsearch.usage.UsageService;
@@ -690,7 +691,8 @@ class NodeConstruction {
         ).create();
         modules.bindToInstance(ProjectResolver.class, projectResolver);
         ClusterService clusterService = createClusterService(settingsModule, threadPool, taskManager);
-        clusterService.addStateApplier(scriptService);
+        // high priority so that the stored scripts are updated before the ingest pipelines that use them are created concurrently
+        clusterService.addHighPriorityApplier(scriptService);
 
         modules.bindToInstance(DocumentParsingProvider.class, documentParsingProvider);
 
@@ -1071,6 +1073,7 @@ class NodeConstruction {
             clusterService.addListener(new TemplateUpgradeService(client, clusterService, threadPool, indexTemplateMetadataUpgraders));
         }
         final Transport transport = networkModule.getTransportSupplier().get();
+        transport.setActionMetrics(new TransportActionMetrics(telemetryProvider.getMeterRegistry()));
         final TransportService transportService = serviceProvider.newTransportService(
             pluginsService,
             settings,
@@ -107,7 +107,8 @@ public class NodeService implements Closeable {
         this.repositoriesService = repositoriesService;
         this.componentVersions = findComponentVersions(pluginService);
         this.compatibilityVersions = compatibilityVersions;
-        clusterService.addStateApplier(ingestService);
+        // (re)creating the pipelines can be slow, and no other applier depends on them
+        clusterService.addIndependentApplier(ingestService);
     }
 
     public NodeInfo info(
@@ -567,6 +567,7 @@ public class RestController implements HttpServerTransport.Dispatcher {
         switch (req.getHttpRequest().protocolVersion()) {
             case HTTP_1_0 -> attributes.put("http.flavour", "1.0");
             case HTTP_1_1 -> attributes.put("http.flavour", "1.1");
+            case HTTP_2 -> attributes.put("http.flavour", "2.0");
         }
 
         tracer.startTrace(threadContext, channel.request(), name, attributes);
@@ -212,6 +212,12 @@ final class DefaultSearchContext extends SearchContext {
                     minimumDocsPerSlice
                 );
             }
+            // terms aggregations with min_doc_count 0 and global aggregations need to see segments without matching documents
+            searcher.setTimestampSegmentPruning(
+                request.source() == null
+                    || request.source().aggregations() == null
+                    || request.source().aggregations().mustVisitAllDocs() == false
+            );
             releasables.addAll(List.of(engineSearcher, searcher));
             this.relativeTimeSupplier = relativeTimeSupplier;
             this.timeout = timeout;
@@ -283,6 +283,17 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         Property.NodeScope
     );
 
+    /**
+     * Whether the coordinating node shares the minimum competitive score of score-sorted searches with the shards that are still
+     * running their query phase, so that they can skip hits that can't make it into the global top hits.
+     */
+    public static final Setting<Boolean> QUERY_PHASE_PROPAGATE_MIN_COMPETITIVE_SCORE = Setting.boolSetting(
+        "search.query_phase.propagate_min_competitive_score",
+        true,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     private static final boolean BATCHED_QUERY_PHASE_FEATURE_FLAG = new FeatureFlag("batched_query_phase").isEnabled();
 
     /**
@@ -328,6 +339,8 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
 
     private volatile boolean batchQueryPhase;
 
+    private volatile boolean propagateMinCompetitiveScore;
+
     private final int minimumDocsPerSlice;
 
     private volatile boolean defaultAllowPartialSearchResults;
@@ -424,6 +437,9 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
             .addSettingsUpdateConsumer(QUERY_PHASE_PARALLEL_COLLECTION_ENABLED, this::setEnableQueryPhaseParallelCollection);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(BATCHED_QUERY_PHASE, bulkExecuteQueryPhase -> this.batchQueryPhase = bulkExecuteQueryPhase);
+        propagateMinCompetitiveScore = QUERY_PHASE_PROPAGATE_MIN_COMPETITIVE_SCORE.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(QUERY_PHASE_PROPAGATE_MIN_COMPETITIVE_SCORE, value -> this.propagateMinCompetitiveScore = value);
         memoryAccountingBufferSize = MEMORY_ACCOUNTING_BUFFER_SIZE.get(settings).getBytes();
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(MEMORY_ACCOUNTING_BUFFER_SIZE, newValue -> this.memoryAccountingBufferSize = newValue.getBytes());
@@ -497,6 +513,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         return batchQueryPhase;
     }
 
+    public boolean propagateMinCompetitiveScore() {
+        return propagateMinCompetitiveScore;
+    }
+
     @Override
     public void afterIndexRemoved(Index index, IndexSettings indexSettings, IndexRemovalReason reason) {
         // once an index is removed due to deletion or closing, we can just clean up all the pending search context information
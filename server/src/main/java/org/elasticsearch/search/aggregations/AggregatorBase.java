@@ -18,11 +18,15 @@ import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper;
 import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregator;
 import org.elasticsearch.search.aggregations.bucket.sampler.random.RandomSamplerAggregator;
 import org.elasticsearch.search.aggregations.metrics.MinAggregator;
 import org.elasticsearch.search.aggregations.metrics.SumAggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.aggregations.support.SegmentQueryCoverage;
 import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 
 import java.io.IOException;
@@ -52,6 +56,7 @@ public abstract class AggregatorBase extends Aggregator {
     private long requestBytesUsed;
     private final CircuitBreaker breaker;
     private int callCount;
+    private SegmentQueryCoverage topLevelQueryCoverage;
 
     /**
      * Constructs a new Aggregator.
@@ -135,6 +140,58 @@ public abstract class AggregatorBase extends Aggregator {
         return config.getPointReaderOrNull();
     }
 
+    /**
+     * Returns a converter for point values if it's safe to use the indexed data instead of
+     * doc values on segments where {@link #topLevelQueryMatchesAllLiveDocs} is {@code true}.
+     * Unlike {@link #pointReaderIfAvailable} this allows any top level query, but unless that
+     * query matches all documents the aggregation must not have a parent.
+     *
+     * @param config The config for the values source metric.
+     */
+    public final Function<byte[], Number> segmentPointReaderIfAvailable(ValuesSourceConfig config) {
+        if (topLevelQuery() == null || topLevelQuery().getClass() == MatchAllDocsQuery.class) {
+            return pointReaderIfAvailable(config);
+        }
+        if (parent != null) {
+            return null;
+        }
+        return config.getPointReaderOrNull();
+    }
+
+    /**
+     * Returns the field whose {@link org.elasticsearch.index.codec.SegmentFieldSummaries} may be used instead of its doc
+     * values on segments without deletions where {@link #topLevelQueryMatchesAllLiveDocs} is {@code true}, or {@code null}
+     * if the aggregation has a parent or its values don't come straight from a numeric or {@code keyword} field.
+     *
+     * @param config The config for the values source.
+     */
+    public final String segmentSummaryFieldIfAvailable(ValuesSourceConfig config) {
+        if (parent != null || config.script() != null || config.missing() != null) {
+            return null;
+        }
+        MappedFieldType fieldType = config.fieldType();
+        if (fieldType instanceof NumberFieldMapper.NumberFieldType || fieldType instanceof KeywordFieldMapper.KeywordFieldType) {
+            return fieldType.hasDocValues() ? fieldType.name() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Does the top level query match every live document in the segment? If so, aggregators
+     * without a parent may compute the segment's result from index statistics instead of
+     * collecting its documents.
+     */
+    protected final boolean topLevelQueryMatchesAllLiveDocs(LeafReaderContext ctx) throws IOException {
+        Query query = topLevelQuery();
+        if (query == null || query.getClass() == MatchAllDocsQuery.class) {
+            return true;
+        }
+        if (topLevelQueryCoverage == null) {
+            topLevelQueryCoverage = new SegmentQueryCoverage(query, searcher().getIndexReader());
+        }
+        return topLevelQueryCoverage.matchesAllLiveDocs(ctx);
+    }
+
     /**
      * Increment or decrement the number of bytes that have been allocated to service
      * this request and potentially trigger a {@link CircuitBreakingException}. The
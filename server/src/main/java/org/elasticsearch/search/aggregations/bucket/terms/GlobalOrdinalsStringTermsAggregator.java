@@ -27,6 +27,7 @@ import org.elasticsearch.common.util.ObjectArray;
 import org.elasticsearch.common.util.ObjectArrayPriorityQueue;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.codec.SegmentFieldSummaries;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationExecutionContext;
 import org.elasticsearch.search.aggregations.AggregationExecutionException;
@@ -43,10 +44,12 @@ import org.elasticsearch.search.aggregations.bucket.terms.SignificanceLookup.Bac
 import org.elasticsearch.search.aggregations.bucket.terms.heuristic.SignificanceHeuristic;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
+import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -277,12 +280,15 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
 
         private LongUnaryOperator mapping;
         private LongArray segmentDocCounts;
+        private final String summaryField;
         protected int segmentsWithoutValues = 0;
+        protected int segmentsAnsweredFromSummaries = 0;
 
         LowCardinality(
             String name,
             AggregatorFactories factories,
             Function<GlobalOrdinalsStringTermsAggregator, ResultStrategy<?, ?, ?>> resultStrategy,
+            ValuesSourceConfig valuesSourceConfig,
             ValuesSource.Bytes.WithOrdinals valuesSource,
             CheckedSupplier<SortedSetDocValues, IOException> valuesSupplier,
             BucketOrder order,
@@ -316,6 +322,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             );
             assert factories == null || factories.countAggregators() == 0;
             this.segmentDocCounts = context.bigArrays().newLongArray(1, true);
+            this.summaryField = segmentSummaryFieldIfAvailable(valuesSourceConfig);
         }
 
         @Override
@@ -331,6 +338,10 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             }
             segmentDocCounts = bigArrays().grow(segmentDocCounts, 1 + segmentOrds.getValueCount());
             assert sub.isNoop();
+            if (summaryField != null && docCountProvider.alwaysOne() && addSegmentSummary(aggCtx.getLeafReaderContext(), segmentOrds)) {
+                segmentsAnsweredFromSummaries++;
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
             final SortedDocValues singleValues = DocValues.unwrapSingleton(segmentOrds);
             // Dense mode doesn't support include/exclude so we don't have to check it here.
             if (singleValues != null) {
@@ -365,6 +376,32 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             });
         }
 
+        /**
+         * Counts the documents of each term from the segment's {@link SegmentFieldSummaries}, if the summary describes
+         * exactly the documents that the top level query matches in the segment.
+         */
+        private boolean addSegmentSummary(LeafReaderContext ctx, SortedSetDocValues segmentOrds) throws IOException {
+            if (ctx.reader().getLiveDocs() != null) {
+                return false;
+            }
+            final List<SegmentFieldSummaries.TermCount> terms = SegmentFieldSummaries.terms(ctx.reader(), summaryField);
+            if (terms == null || topLevelQueryMatchesAllLiveDocs(ctx) == false) {
+                return false;
+            }
+            final long[] segmentOrdsOfTerms = new long[terms.size()];
+            for (int i = 0; i < segmentOrdsOfTerms.length; i++) {
+                segmentOrdsOfTerms[i] = segmentOrds.lookupTerm(terms.get(i).term());
+                if (segmentOrdsOfTerms[i] < 0) {
+                    assert false : "summarized term [" + terms.get(i).term() + "] is missing from the doc values";
+                    return false;
+                }
+            }
+            for (int i = 0; i < segmentOrdsOfTerms.length; i++) {
+                segmentDocCounts.increment(segmentOrdsOfTerms[i] + 1, terms.get(i).docCount());
+            }
+            return true;
+        }
+
         @Override
         protected void doPostCollection() throws IOException {
             if (mapping != null) {
@@ -377,6 +414,9 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         public void collectDebugInfo(BiConsumer<String, Object> add) {
             super.collectDebugInfo(add);
             add.accept("segments_without_values", segmentsWithoutValues);
+            if (summaryField != null) {
+                add.accept("segments_answered_from_summaries", segmentsAnsweredFromSummaries);
+            }
         }
 
         @Override
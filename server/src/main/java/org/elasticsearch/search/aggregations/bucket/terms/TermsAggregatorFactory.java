@@ -508,6 +508,7 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                         name,
                         factories,
                         a -> a.new StandardTermsResults(),
+                        valuesSourceConfig,
                         ordinalsValuesSource,
                         () -> globalOrdsValues(context, ordinalsValuesSource),
                         order,
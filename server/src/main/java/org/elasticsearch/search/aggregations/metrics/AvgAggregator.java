@@ -11,6 +11,7 @@ package org.elasticsearch.search.aggregations.metrics;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.codec.SegmentFieldSummaries;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.aggregations.Aggregator;
@@ -65,6 +66,15 @@ class AvgAggregator extends SumAggregator {
         };
     }
 
+    @Override
+    protected boolean addSegmentSummary(SegmentFieldSummaries.NumericSummary summary) {
+        if (super.addSegmentSummary(summary) == false) {
+            return false;
+        }
+        counts.increment(0, summary.valueCount());
+        return true;
+    }
+
     @Override
     protected void doGrow(long bucket, BigArrays bigArrays) {
         super.doGrow(bucket, bigArrays);
@@ -30,6 +30,7 @@ import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 class MaxAggregator extends NumericMetricsAggregator.SingleValue {
@@ -42,6 +43,9 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
 
     DoubleArray maxes;
 
+    private int segmentsAnsweredFromPoints;
+    private int segmentsCollected;
+
     MaxAggregator(String name, ValuesSourceConfig config, AggregationContext context, Aggregator parent, Map<String, Object> metadata)
         throws IOException {
         super(name, context, parent, metadata);
@@ -50,7 +54,7 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
         maxes = context.bigArrays().newDoubleArray(1, false);
         maxes.fill(0, maxes.size(), Double.NEGATIVE_INFINITY);
         this.formatter = config.format();
-        this.pointConverter = pointReaderIfAvailable(config);
+        this.pointConverter = segmentPointReaderIfAvailable(config);
         if (pointConverter != null) {
             pointField = config.fieldContext().field();
         } else {
@@ -65,7 +69,7 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
 
     @Override
     public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, final LeafBucketCollector sub) throws IOException {
-        if (pointConverter != null) {
+        if (pointConverter != null && topLevelQueryMatchesAllLiveDocs(aggCtx.getLeafReaderContext())) {
             Number segMax = findLeafMaxValue(aggCtx.getLeafReaderContext().reader(), pointField, pointConverter);
             if (segMax != null) {
                 /*
@@ -77,9 +81,11 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
                 max = Math.max(max, segMax.doubleValue());
                 maxes.set(0, max);
                 // the maximum value has been extracted, we don't need to collect hits on this segment.
+                segmentsAnsweredFromPoints++;
                 return LeafBucketCollector.NO_OP_COLLECTOR;
             }
         }
+        segmentsCollected++;
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
         final NumericDoubleValues values = MultiValueMode.MAX.select(allValues);
         return new LeafBucketCollectorBase(sub, allValues) {
@@ -120,6 +126,13 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
         return Max.createEmptyMax(name, formatter, metadata());
     }
 
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("segments_answered_from_points", segmentsAnsweredFromPoints);
+        add.accept("segments_collected", segmentsCollected);
+    }
+
     @Override
     public void doClose() {
         Releasables.close(maxes);
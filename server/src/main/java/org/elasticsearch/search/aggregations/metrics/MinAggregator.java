@@ -30,6 +30,7 @@ import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public class MinAggregator extends NumericMetricsAggregator.SingleValue {
@@ -43,6 +44,9 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
 
     DoubleArray mins;
 
+    private int segmentsAnsweredFromPoints;
+    private int segmentsCollected;
+
     MinAggregator(String name, ValuesSourceConfig config, AggregationContext context, Aggregator parent, Map<String, Object> metadata)
         throws IOException {
         super(name, context, parent, metadata);
@@ -51,7 +55,7 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
         mins = context.bigArrays().newDoubleArray(1, false);
         mins.fill(0, mins.size(), Double.POSITIVE_INFINITY);
         this.format = config.format();
-        this.pointConverter = pointReaderIfAvailable(config);
+        this.pointConverter = segmentPointReaderIfAvailable(config);
         if (pointConverter != null) {
             pointField = config.fieldContext().field();
         } else {
@@ -66,7 +70,7 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
 
     @Override
     public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, final LeafBucketCollector sub) throws IOException {
-        if (pointConverter != null) {
+        if (pointConverter != null && topLevelQueryMatchesAllLiveDocs(aggCtx.getLeafReaderContext())) {
             Number segMin = findLeafMinValue(aggCtx.getLeafReaderContext().reader(), pointField, pointConverter);
             if (segMin != null) {
                 /*
@@ -77,9 +81,11 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
                 min = Math.min(min, segMin.doubleValue());
                 mins.set(0, min);
                 // the minimum value has been extracted, we don't need to collect hits on this segment.
+                segmentsAnsweredFromPoints++;
                 return LeafBucketCollector.NO_OP_COLLECTOR;
             }
         }
+        segmentsCollected++;
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
         final NumericDoubleValues values = MultiValueMode.MIN.select(allValues);
         return new LeafBucketCollectorBase(sub, allValues) {
@@ -119,6 +125,13 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
         return Min.createEmptyMin(name, format, metadata());
     }
 
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("segments_answered_from_points", segmentsAnsweredFromPoints);
+        add.accept("segments_collected", segmentsCollected);
+    }
+
     @Override
     public void doClose() {
         Releasables.close(mins);
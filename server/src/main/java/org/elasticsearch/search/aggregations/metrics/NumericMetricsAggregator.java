@@ -8,8 +8,11 @@
  */
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.ScoreMode;
 import org.elasticsearch.common.util.Comparators;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.codec.SegmentFieldSummaries;
 import org.elasticsearch.index.fielddata.FieldData;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
@@ -24,18 +27,85 @@ import org.elasticsearch.search.sort.SortOrder;
 import java.io.IOException;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public abstract class NumericMetricsAggregator extends MetricsAggregator {
 
-    private NumericMetricsAggregator(String name, AggregationContext context, Aggregator parent, Map<String, Object> metadata)
-        throws IOException {
+    @Nullable
+    private final String summaryField;
+    private int segmentsAnsweredFromSummaries;
+
+    private NumericMetricsAggregator(
+        String name,
+        @Nullable ValuesSourceConfig summaryConfig,
+        AggregationContext context,
+        Aggregator parent,
+        Map<String, Object> metadata
+    ) throws IOException {
         super(name, context, parent, metadata);
+        this.summaryField = summaryConfig != null && usesSegmentSummaries() ? segmentSummaryFieldIfAvailable(summaryConfig) : null;
+    }
+
+    /**
+     * Can the aggregation be computed from the {@link SegmentFieldSummaries} of segments, see {@link #addSegmentSummary}?
+     */
+    protected boolean usesSegmentSummaries() {
+        return false;
+    }
+
+    /**
+     * Adds the summary of the values of a segment, instead of collecting its documents, to the bucket with ordinal 0.
+     *
+     * @return whether the summary was added, if not the documents of the segment are collected
+     */
+    protected boolean addSegmentSummary(SegmentFieldSummaries.NumericSummary summary) {
+        return false;
+    }
+
+    /**
+     * Adds the summary of the field's values in the segment if it describes exactly the documents that the top level
+     * query matches in the segment.
+     *
+     * @return whether the summary was added, in which case the documents of the segment don't need to be collected
+     */
+    final boolean addSegmentSummaryIfAvailable(LeafReaderContext ctx) throws IOException {
+        if (summaryField == null || ctx.reader().getLiveDocs() != null) {
+            return false;
+        }
+        SegmentFieldSummaries.NumericSummary summary = SegmentFieldSummaries.numeric(ctx.reader(), summaryField);
+        if (summary == null || topLevelQueryMatchesAllLiveDocs(ctx) == false) {
+            return false;
+        }
+        // there is no parent aggregator so the ordinal for the bucket is always 0
+        if (addSegmentSummary(summary) == false) {
+            return false;
+        }
+        segmentsAnsweredFromSummaries++;
+        return true;
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        if (summaryField != null) {
+            add.accept("segments_answered_from_summaries", segmentsAnsweredFromSummaries);
+        }
     }
 
     public abstract static class SingleValue extends NumericMetricsAggregator {
 
         protected SingleValue(String name, AggregationContext context, Aggregator parent, Map<String, Object> metadata) throws IOException {
-            super(name, context, parent, metadata);
+            this(name, null, context, parent, metadata);
+        }
+
+        private SingleValue(
+            String name,
+            @Nullable ValuesSourceConfig summaryConfig,
+            AggregationContext context,
+            Aggregator parent,
+            Map<String, Object> metadata
+        ) throws IOException {
+            super(name, summaryConfig, context, parent, metadata);
         }
 
         public abstract double metric(long owningBucketOrd);
@@ -62,7 +132,7 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
             Aggregator parent,
             Map<String, Object> metadata
         ) throws IOException {
-            super(name, context, parent, metadata);
+            super(name, valuesSourceConfig, context, parent, metadata);
             this.valuesSource = (ValuesSource.Numeric) valuesSourceConfig.getValuesSource();
         }
 
@@ -74,6 +144,9 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
         @Override
         public final LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, final LeafBucketCollector sub)
             throws IOException {
+            if (addSegmentSummaryIfAvailable(aggCtx.getLeafReaderContext())) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
             final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
             final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
             return singleton != null ? getLeafCollector(singleton, sub) : getLeafCollector(values, sub);
@@ -87,7 +160,17 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
     public abstract static class MultiValue extends NumericMetricsAggregator {
 
         protected MultiValue(String name, AggregationContext context, Aggregator parent, Map<String, Object> metadata) throws IOException {
-            super(name, context, parent, metadata);
+            this(name, null, context, parent, metadata);
+        }
+
+        private MultiValue(
+            String name,
+            @Nullable ValuesSourceConfig summaryConfig,
+            AggregationContext context,
+            Aggregator parent,
+            Map<String, Object> metadata
+        ) throws IOException {
+            super(name, summaryConfig, context, parent, metadata);
         }
 
         public abstract boolean hasMetric(String name);
@@ -118,7 +201,7 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
             Aggregator parent,
             Map<String, Object> metadata
         ) throws IOException {
-            super(name, context, parent, metadata);
+            super(name, valuesSourceConfig, context, parent, metadata);
             this.valuesSource = (ValuesSource.Numeric) valuesSourceConfig.getValuesSource();
         }
 
@@ -130,6 +213,9 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
         @Override
         public final LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, final LeafBucketCollector sub)
             throws IOException {
+            if (addSegmentSummaryIfAvailable(aggCtx.getLeafReaderContext())) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
             final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
             final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
             return singleton != null ? getLeafCollector(singleton, sub) : getLeafCollector(values, sub);
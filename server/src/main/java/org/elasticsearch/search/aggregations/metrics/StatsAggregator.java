@@ -12,6 +12,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.codec.SegmentFieldSummaries;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
@@ -108,6 +109,22 @@ class StatsAggregator extends NumericMetricsAggregator.MultiDoubleValue {
         }
     }
 
+    @Override
+    protected boolean usesSegmentSummaries() {
+        return true;
+    }
+
+    @Override
+    protected boolean addSegmentSummary(SegmentFieldSummaries.NumericSummary summary) {
+        counts.increment(0, summary.valueCount());
+        SumAggregator.computeSum(0, summary.sum(), sums, compensations);
+        if (summary.valueCount() > 0) {
+            updateMinsAndMaxes(0, summary.min(), mins, maxes);
+            updateMinsAndMaxes(0, summary.max(), mins, maxes);
+        }
+        return true;
+    }
+
     private void maybeGrow(long bucket) {
         if (bucket >= counts.size()) {
             final long from = counts.size();
@@ -11,6 +11,7 @@ package org.elasticsearch.search.aggregations.metrics;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.codec.SegmentFieldSummaries;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
@@ -119,6 +120,17 @@ public class SumAggregator extends NumericMetricsAggregator.SingleDoubleValue {
         sums.set(bucket, value);
     }
 
+    @Override
+    protected boolean usesSegmentSummaries() {
+        return true;
+    }
+
+    @Override
+    protected boolean addSegmentSummary(SegmentFieldSummaries.NumericSummary summary) {
+        computeSum(0, summary.sum(), sums, compensations);
+        return true;
+    }
+
     protected final void maybeGrow(long bucket) {
         if (bucket >= sums.size()) {
             doGrow(bucket, bigArrays());
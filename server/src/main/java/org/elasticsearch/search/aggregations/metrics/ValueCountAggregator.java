@@ -8,6 +8,8 @@
  */
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.search.ScoreMode;
 import org.elasticsearch.common.util.LongArray;
@@ -25,6 +27,7 @@ import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * A field data based aggregator that counts the number of values a specific field has within the aggregation context.
@@ -36,9 +39,18 @@ public final class ValueCountAggregator extends NumericMetricsAggregator.SingleV
 
     final ValuesSource valuesSource;
 
+    /**
+     * The points field to count values from on segments fully matched by the
+     * top level query or {@code null} if we always have to collect.
+     */
+    private final String pointField;
+
     // a count per bucket
     LongArray counts;
 
+    private int segmentsCountedFromPoints;
+    private int segmentsCollected;
+
     public ValueCountAggregator(
         String name,
         ValuesSourceConfig valuesSourceConfig,
@@ -49,11 +61,34 @@ public final class ValueCountAggregator extends NumericMetricsAggregator.SingleV
         super(name, aggregationContext, parent, metadata);
         assert valuesSourceConfig.hasValues();
         this.valuesSource = valuesSourceConfig.getValuesSource();
+        if (parent == null && valuesSource instanceof ValuesSource.Numeric && segmentPointReaderIfAvailable(valuesSourceConfig) != null) {
+            this.pointField = valuesSourceConfig.fieldContext().field();
+        } else {
+            this.pointField = null;
+        }
         counts = bigArrays().newLongArray(1, true);
     }
 
     @Override
     public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, final LeafBucketCollector sub) throws IOException {
+        if (pointField != null) {
+            final LeafReaderContext ctx = aggCtx.getLeafReaderContext();
+            // deleted documents are still counted by the points so we can only use them on segments without deletes
+            if (ctx.reader().getLiveDocs() == null && topLevelQueryMatchesAllLiveDocs(ctx)) {
+                final PointValues pointValues = ctx.reader().getPointValues(pointField);
+                if (pointValues != null) {
+                    /*
+                     * There is no parent aggregator so the ordinal for the bucket is always 0.
+                     * Every value is indexed as its own point so the number of points is the
+                     * number of values.
+                     */
+                    counts.increment(0, pointValues.size());
+                    segmentsCountedFromPoints++;
+                    return LeafBucketCollector.NO_OP_COLLECTOR;
+                }
+            }
+        }
+        segmentsCollected++;
         if (valuesSource instanceof ValuesSource.Numeric) {
             final SortedNumericDocValues values = ((ValuesSource.Numeric) valuesSource).longValues(aggCtx.getLeafReaderContext());
             return new LeafBucketCollectorBase(sub, values) {
@@ -118,6 +153,13 @@ public final class ValueCountAggregator extends NumericMetricsAggregator.SingleV
         return InternalValueCount.empty(name, metadata());
     }
 
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("segments_counted_from_points", segmentsCountedFromPoints);
+        add.accept("segments_collected", segmentsCollected);
+    }
+
     @Override
     public void doClose() {
         Releasables.close(counts);
@@ -0,0 +1,128 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations.support;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides, segment by segment, whether a query matches <strong>every</strong> live
+ * document of the segment. When it does, aggregations may be answered from index
+ * statistics like {@link org.apache.lucene.index.PointValues} or the terms dictionary
+ * instead of collecting each matching document.
+ * <p>
+ * Conjunctions are decomposed into their required clauses and each clause is checked
+ * with {@link Weight#count}, which is answered in sub-linear time by range and term
+ * queries whose bounds contain the whole segment. If any clause can't cheaply prove
+ * that it matches all live documents we report that the segment isn't covered and
+ * the caller falls back to collecting.
+ */
+public final class SegmentQueryCoverage {
+    private final Query query;
+    private final IndexSearcher searcher;
+    private List<Weight> weights;
+
+    public SegmentQueryCoverage(Query query, IndexReader reader) {
+        this.query = query;
+        // the weights only count matches, so build them with a plain searcher that neither profiles nor caches them
+        this.searcher = new IndexSearcher(reader);
+        this.searcher.setQueryCache(null);
+    }
+
+    /**
+     * Does the query match all live documents in this segment?
+     */
+    public boolean matchesAllLiveDocs(LeafReaderContext ctx) throws IOException {
+        if (weights == null) {
+            weights = buildWeights();
+        }
+        final int numDocs = ctx.reader().numDocs();
+        for (Weight weight : weights) {
+            if (weight.count(ctx) != numDocs) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Weight> buildWeights() throws IOException {
+        List<Query> clauses = new ArrayList<>();
+        collectRequiredClauses(searcher.rewrite(query), clauses);
+        List<Weight> result = new ArrayList<>(clauses.size());
+        for (Query clause : clauses) {
+            result.add(searcher.createWeight(clause, ScoreMode.COMPLETE_NO_SCORES, 1f));
+        }
+        return result;
+    }
+
+    /**
+     * Flatten the query into the list of clauses that all have to match a document
+     * for the query to match it. Anything that isn't a plain conjunction is added as
+     * a single clause.
+     */
+    static void collectRequiredClauses(Query query, List<Query> clauses) {
+        if (query instanceof MatchAllDocsQuery) {
+            return;
+        }
+        if (query instanceof ConstantScoreQuery csq) {
+            collectRequiredClauses(csq.getQuery(), clauses);
+            return;
+        }
+        if (query instanceof BoostQuery bq) {
+            collectRequiredClauses(bq.getQuery(), clauses);
+            return;
+        }
+        if (query instanceof BooleanQuery bq && isConjunction(bq)) {
+            for (BooleanClause clause : bq.clauses()) {
+                if (clause.isRequired()) {
+                    collectRequiredClauses(clause.query(), clauses);
+                }
+            }
+            return;
+        }
+        clauses.add(query);
+    }
+
+    /**
+     * Is this query a pure conjunction? {@code should} clauses are allowed only when
+     * there are required clauses and none of the {@code should} clauses have to match
+     * because then they only contribute to the score.
+     */
+    private static boolean isConjunction(BooleanQuery bq) {
+        boolean hasRequired = false;
+        boolean hasShould = false;
+        for (BooleanClause clause : bq.clauses()) {
+            switch (clause.occur()) {
+                case MUST, FILTER -> hasRequired = true;
+                case SHOULD -> hasShould = true;
+                case MUST_NOT -> {
+                    return false;
+                }
+            }
+        }
+        if (hasRequired == false) {
+            return false;
+        }
+        return hasShould == false || bq.getMinimumNumberShouldMatch() == 0;
+    }
+}
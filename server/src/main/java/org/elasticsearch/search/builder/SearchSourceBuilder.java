@@ -2190,7 +2190,7 @@ public final class SearchSourceBuilder implements Writeable, ToXContentObject, R
             }
         }
 
-        return collapse == null && (aggregations == null || aggregations.supportsParallelCollection(fieldCardinality));
+        return aggregations == null || aggregations.supportsParallelCollection(fieldCardinality);
     }
 
     private void validate() throws ValidationException {
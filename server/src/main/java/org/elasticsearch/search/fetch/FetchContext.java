@@ -10,6 +10,7 @@
 package org.elasticsearch.search.fetch;
 
 import org.apache.lucene.search.Query;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
 import org.elasticsearch.index.mapper.SourceLoader;
 import org.elasticsearch.index.query.ParsedQuery;
@@ -41,12 +42,21 @@ public class FetchContext {
     private final SourceLoader sourceLoader;
     private final FetchSourceContext fetchSourceContext;
     private final StoredFieldsContext storedFieldsContext;
+    private final int[] docIdsToLoad;
 
     /**
      * Create a FetchContext based on a SearchContext
      */
     public FetchContext(SearchContext searchContext) {
+        this(searchContext, null);
+    }
+
+    /**
+     * Create a FetchContext based on a SearchContext that fetches the given documents, ordered by their rank
+     */
+    public FetchContext(SearchContext searchContext, @Nullable int[] docIdsToLoad) {
         this.searchContext = searchContext;
+        this.docIdsToLoad = docIdsToLoad;
         this.sourceLoader = searchContext.newSourceLoader();
         this.storedFieldsContext = buildStoredFieldsContext(searchContext);
         this.fetchSourceContext = buildFetchSourceContext(searchContext);
@@ -94,6 +104,15 @@ public class FetchContext {
         return searchContext.indexShard().shardId().getIndexName();
     }
 
+    /**
+     * The top level ids of the documents being fetched in the order of their rank, or {@code null} if unknown.
+     * Note that the documents are fetched in the order of their ids.
+     */
+    @Nullable
+    public int[] docIdsToLoad() {
+        return docIdsToLoad;
+    }
+
     /**
      * The point-in-time searcher the original query was executed against
      */
@@ -106,7 +106,7 @@ public final class FetchPhase {
 
     private SearchHits buildSearchHits(SearchContext context, int[] docIdsToLoad, Profiler profiler, RankDocShardInfo rankDocs) {
 
-        FetchContext fetchContext = new FetchContext(context);
+        FetchContext fetchContext = new FetchContext(context, docIdsToLoad);
         SourceLoader sourceLoader = context.newSourceLoader();
 
         PreloadedSourceProvider sourceProvider = new PreloadedSourceProvider();
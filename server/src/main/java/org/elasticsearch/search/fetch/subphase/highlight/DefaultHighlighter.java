@@ -84,7 +84,11 @@ public class DefaultHighlighter implements Highlighter {
             }
             return mergeFieldValues(fieldValues, MULTIVAL_SEP_CHAR);
         };
-        Snippet[] fieldSnippets = highlighter.highlightField(hitContext.reader(), hitContext.docId(), loadFieldValues);
+        Snippet[] fieldSnippets = highlighter.highlightField(
+            HighlightUtils.offsetsReader(fieldContext),
+            hitContext.docId(),
+            loadFieldValues
+        );
 
         if (fieldSnippets == null || fieldSnippets.length == 0) {
             return null;
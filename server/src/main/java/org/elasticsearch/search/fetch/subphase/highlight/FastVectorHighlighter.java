@@ -8,6 +8,7 @@
  */
 package org.elasticsearch.search.fetch.subphase.highlight;
 
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.search.highlight.Encoder;
 import org.apache.lucene.search.vectorhighlight.BaseFragmentsBuilder;
 import org.apache.lucene.search.vectorhighlight.BoundaryScanner;
@@ -155,11 +156,12 @@ public class FastVectorHighlighter implements Highlighter {
             : field.fieldOptions().numberOfFragments();
         int fragmentCharSize = field.fieldOptions().numberOfFragments() == 0 ? Integer.MAX_VALUE : field.fieldOptions().fragmentCharSize();
         // we highlight against the low level reader and docId, because if we load source, we want to reuse it if possible
+        LeafReader offsetsReader = HighlightUtils.offsetsReader(fieldContext);
         // Only send matched fields if they were requested to save time.
         if (field.fieldOptions().matchedFields() != null && field.fieldOptions().matchedFields().isEmpty() == false) {
             fragments = cache.fvh.getBestFragments(
                 fieldQuery,
-                hitContext.reader(),
+                offsetsReader,
                 hitContext.docId(),
                 fieldType.name(),
                 field.fieldOptions().matchedFields(),
@@ -174,7 +176,7 @@ public class FastVectorHighlighter implements Highlighter {
         } else {
             fragments = cache.fvh.getBestFragments(
                 fieldQuery,
-                hitContext.reader(),
+                offsetsReader,
                 hitContext.docId(),
                 fieldType.name(),
                 fragmentCharSize,
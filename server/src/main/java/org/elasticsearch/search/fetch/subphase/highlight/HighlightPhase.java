@@ -11,6 +11,7 @@ package org.elasticsearch.search.fetch.subphase.highlight;
 
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.Query;
+import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.index.mapper.KeywordFieldMapper;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.TextFieldMapper;
@@ -20,6 +21,7 @@ import org.elasticsearch.search.fetch.FetchSubPhaseProcessor;
 import org.elasticsearch.search.fetch.StoredFieldsSpec;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,8 +50,18 @@ public class HighlightPhase implements FetchSubPhase {
     public FetchSubPhaseProcessor getProcessor(FetchContext context, SearchHighlightContext highlightContext, Query query) {
         Map<String, Object> sharedCache = new HashMap<>();
         FieldContext fieldContext = contextBuilders(context, highlightContext, query, sharedCache);
+        long timeBudgetNanos = context.getSearchExecutionContext().getIndexSettings().getHighlightTimeBudget().nanos();
+        Map<Integer, Integer> rankByDocId = timeBudgetNanos >= 0 ? rankByDocId(context.docIdsToLoad()) : Map.of();
 
         return new FetchSubPhaseProcessor() {
+            private final Map<String, Long> timeInNanosByField = new HashMap<>();
+            private final BitSet fetchedRanks = new BitSet();
+            private long spentNanos;
+            private int highlightedHits;
+            private int highlightedFields;
+            private int deduplicatedFields;
+            private int skippedHits;
+
             @Override
             public void setNextReader(LeafReaderContext readerContext) {
 
@@ -62,12 +74,31 @@ public class HighlightPhase implements FetchSubPhase {
 
             @Override
             public void process(HitContext hitContext) throws IOException {
+                if (timeBudgetNanos >= 0 && isOverBudget(hitContext)) {
+                    // we ran out of time, return the hit without highlights
+                    skippedHits++;
+                    return;
+                }
+                long hitStart = System.nanoTime();
                 Map<String, HighlightField> highlightFields = new HashMap<>();
+                // fields can be requested more than once, e.g. through aliases or overlapping patterns, only highlight them once
+                Map<HighlightedField, HighlightField> highlightedFieldsCache = new HashMap<>();
                 Map<String, Function<HitContext, FieldHighlightContext>> contextBuilders = fieldContext.builders;
                 for (String field : contextBuilders.keySet()) {
                     FieldHighlightContext fieldContext = contextBuilders.get(field).apply(hitContext);
-                    Highlighter highlighter = getHighlighter(fieldContext.field, fieldContext.fieldType);
-                    HighlightField highlightField = highlighter.highlight(fieldContext);
+                    HighlightedField key = new HighlightedField(fieldContext.fieldName, fieldContext.field);
+                    HighlightField highlightField;
+                    if (highlightedFieldsCache.containsKey(key)) {
+                        highlightField = highlightedFieldsCache.get(key);
+                        deduplicatedFields++;
+                    } else {
+                        long start = System.nanoTime();
+                        Highlighter highlighter = getHighlighter(fieldContext.field, fieldContext.fieldType);
+                        highlightField = highlighter.highlight(fieldContext);
+                        timeInNanosByField.merge(field, System.nanoTime() - start, Long::sum);
+                        highlightedFields++;
+                        highlightedFieldsCache.put(key, highlightField);
+                    }
                     if (highlightField != null) {
                         // Note that we make sure to use the original field name in the response. This is because the
                         // original field could be an alias, and highlighter implementations may instead reference the
@@ -76,10 +107,64 @@ public class HighlightPhase implements FetchSubPhase {
                     }
                 }
                 hitContext.hit().highlightFields(highlightFields);
+                spentNanos += System.nanoTime() - hitStart;
+                highlightedHits++;
+            }
+
+            /**
+             * Hits are fetched in the order of their doc ids rather than their rank, so besides stopping once the budget is used
+             * up, a hit is skipped if highlighting it would likely leave too little of the budget for the better ranked hits that
+             * are still to be fetched.
+             */
+            private boolean isOverBudget(HitContext hitContext) {
+                if (spentNanos >= timeBudgetNanos) {
+                    return true;
+                }
+                Integer rank = rankByDocId.get(hitContext.hit().docId());
+                if (rank == null) {
+                    return false;
+                }
+                fetchedRanks.set(rank);
+                if (highlightedHits == 0) {
+                    return false;
+                }
+                int pendingBetterRankedHits = rank - fetchedRanks.get(0, rank).cardinality();
+                long nanosPerHit = spentNanos / highlightedHits;
+                return spentNanos + nanosPerHit * (pendingBetterRankedHits + 1) > timeBudgetNanos;
+            }
+
+            @Override
+            public Map<String, Object> getDebugInfo() {
+                return Map.of(
+                    "highlighted_fields",
+                    highlightedFields,
+                    "deduplicated_fields",
+                    deduplicatedFields,
+                    "skipped_hits",
+                    skippedHits,
+                    "time_in_nanos_by_field",
+                    Map.copyOf(timeInNanosByField)
+                );
             }
         };
     }
 
+    private static Map<Integer, Integer> rankByDocId(int[] docIdsToLoad) {
+        if (docIdsToLoad == null) {
+            return Map.of();
+        }
+        Map<Integer, Integer> rankByDocId = Maps.newMapWithExpectedSize(docIdsToLoad.length);
+        for (int rank = 0; rank < docIdsToLoad.length; rank++) {
+            rankByDocId.putIfAbsent(docIdsToLoad[rank], rank);
+        }
+        return rankByDocId;
+    }
+
+    /**
+     * A concrete field highlighted with the options of one of the requested fields.
+     */
+    private record HighlightedField(String fieldName, SearchHighlightContext.Field field) {}
+
     private Highlighter getHighlighter(SearchHighlightContext.Field field, MappedFieldType fieldType) {
         String highlighterType = field.fieldOptions().highlighterType();
         if (highlighterType == null) {
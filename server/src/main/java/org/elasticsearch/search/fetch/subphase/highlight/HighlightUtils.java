@@ -8,6 +8,7 @@
  */
 package org.elasticsearch.search.fetch.subphase.highlight;
 
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.search.highlight.DefaultEncoder;
 import org.apache.lucene.search.highlight.Encoder;
 import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
@@ -26,6 +27,8 @@ public final class HighlightUtils {
     public static final char PARAGRAPH_SEPARATOR = 8233;
     public static final char NULL_SEPARATOR = '\u0000';
 
+    private static final String OFFSETS_READER_CACHE_KEY = "highlight-offsets-reader";
+
     private HighlightUtils() {
 
     }
@@ -47,6 +50,22 @@ public final class HighlightUtils {
         return fetcher.fetchValues(hitContext.source(), hitContext.docId(), new ArrayList<>());
     }
 
+    /**
+     * Returns the reader highlighters should read the offsets of the hit from. It shares
+     * term vectors across all hits of the segment that are highlighted by the request.
+     */
+    public static LeafReader offsetsReader(FieldHighlightContext fieldContext) {
+        LeafReader reader = fieldContext.hitContext.reader();
+        if (fieldContext.cache.get(OFFSETS_READER_CACHE_KEY) instanceof TermVectorsReusingLeafReader cached
+            && cached.getDelegate() == reader) {
+            return cached;
+        }
+        // hits are processed segment by segment, so we only need to keep the reader of the current segment
+        TermVectorsReusingLeafReader offsetsReader = new TermVectorsReusingLeafReader(reader);
+        fieldContext.cache.put(OFFSETS_READER_CACHE_KEY, offsetsReader);
+        return offsetsReader;
+    }
+
     public static class Encoders {
         public static final Encoder DEFAULT = new DefaultEncoder();
         public static final Encoder HTML = new SimpleHTMLEncoder();
@@ -0,0 +1,49 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.fetch.subphase.highlight;
+
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.TermVectors;
+
+import java.io.IOException;
+
+/**
+ * A {@link FilterLeafReader} that returns the same {@link TermVectors} for all the hits
+ * of a segment. Highlighters ask for new term vectors for every hit and every field
+ * which means that each of them starts from a fresh reader. Hits are highlighted in
+ * doc id order, so sharing the reader lets consecutive hits reuse the block of term
+ * vectors that was decompressed last.
+ */
+final class TermVectorsReusingLeafReader extends FilterLeafReader {
+    private TermVectors termVectors;
+
+    TermVectorsReusingLeafReader(LeafReader in) {
+        super(in);
+    }
+
+    @Override
+    public TermVectors termVectors() throws IOException {
+        if (termVectors == null) {
+            termVectors = in.termVectors();
+        }
+        return termVectors;
+    }
+
+    @Override
+    public CacheHelper getCoreCacheHelper() {
+        return in.getCoreCacheHelper();
+    }
+
+    @Override
+    public CacheHelper getReaderCacheHelper() {
+        return in.getReaderCacheHelper();
+    }
+}
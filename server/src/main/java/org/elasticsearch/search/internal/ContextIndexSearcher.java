@@ -81,6 +81,7 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
     private final int minimumDocsPerSlice;
 
     private volatile boolean timeExceeded = false;
+    private boolean timestampSegmentPruning = false;
 
     /** constructor for non-concurrent search */
     @SuppressWarnings("this-escape")
@@ -191,6 +192,15 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         return this.cancellable.isEnabled();
     }
 
+    /**
+     * Whether to skip segments whose {@code @timestamp} values are outside the range that the query requires, see
+     * {@link TimestampQueryBounds}. Collectors never see these segments, so this must only be enabled if no collector needs
+     * to visit segments without matching documents.
+     */
+    public void setTimestampSegmentPruning(boolean timestampSegmentPruning) {
+        this.timestampSegmentPruning = timestampSegmentPruning;
+    }
+
     public void setAggregatedDfs(AggregatedDfs aggregatedDfs) {
         this.aggregatedDfs = aggregatedDfs;
     }
@@ -379,12 +389,13 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
      * so it can be parallelized. Also, it needs to happen in the same thread where doc_values are read, as it consumes them and Lucene
      * does not allow consuming them from a different thread.
      * 2) handles the ES TimeExceededException
+     * 3) skips segments that can't match the {@code @timestamp} range of the query, see {@link #setTimestampSegmentPruning}
      */
     @Override
     public void search(LeafReaderContextPartition[] leaves, Weight weight, Collector collector) throws IOException {
         boolean success = false;
         try {
-            super.search(leaves, weight, collector);
+            super.search(timestampSegmentPruning ? pruneByTimestamp(leaves, weight) : leaves, weight, collector);
             success = true;
         } catch (@SuppressWarnings("unused") TimeExceededException e) {
             timeExceeded = true;
@@ -407,6 +418,27 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         }
     }
 
+    private LeafReaderContextPartition[] pruneByTimestamp(LeafReaderContextPartition[] leaves, Weight weight) throws IOException {
+        final TimestampQueryBounds bounds = TimestampQueryBounds.fromQuery(weight.getQuery());
+        if (bounds == null) {
+            return leaves;
+        }
+        final List<LeafReaderContextPartition> remaining = new ArrayList<>(leaves.length);
+        int skippedSegments = 0;
+        for (LeafReaderContextPartition leaf : leaves) {
+            if (bounds.canMatch(leaf.ctx.reader())) {
+                remaining.add(leaf);
+            } else if (leaf.minDocId == 0) {
+                // segments may be split into several partitions, only count them once
+                skippedSegments++;
+            }
+        }
+        if (profiler != null) {
+            profiler.addTimestampSkippedSegments(skippedSegments);
+        }
+        return remaining.size() == leaves.length ? leaves : remaining.toArray(new LeafReaderContextPartition[0]);
+    }
+
     private void doAggregationPostCollection(Collector collector) throws IOException {
         if (collector instanceof TwoPhaseCollector twoPhaseCollector) {
             twoPhaseCollector.doPostCollection();
@@ -85,6 +85,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
 
     private boolean canReturnNullResponseIfMatchNoDocs;
     private SearchSortValuesAndFormats bottomSortValues;
+    private float minCompetitiveScore = Float.NEGATIVE_INFINITY;
 
     // these are the only mutable fields, as they are subject to rewriting
     private AliasFilter aliasFilter;
@@ -267,6 +268,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.canReturnNullResponseIfMatchNoDocs = clone.canReturnNullResponseIfMatchNoDocs;
         this.bottomSortValues = clone.bottomSortValues;
+        this.minCompetitiveScore = clone.minCompetitiveScore;
         this.originalIndices = clone.originalIndices;
         this.readerId = clone.readerId;
         this.keepAlive = clone.keepAlive;
@@ -340,6 +342,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
              */
             forceSyntheticSource = false;
         }
+        if (in.getTransportVersion().onOrAfter(TransportVersions.SEARCH_MIN_COMPETITIVE_SCORE)) {
+            minCompetitiveScore = in.readFloat();
+        }
         originalIndices = OriginalIndices.readOriginalIndices(in);
     }
 
@@ -400,6 +405,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
                 throw new IllegalArgumentException("force_synthetic_source is not supported before 8.4.0");
             }
         }
+        if (asKey == false && out.getTransportVersion().onOrAfter(TransportVersions.SEARCH_MIN_COMPETITIVE_SCORE)) {
+            out.writeFloat(minCompetitiveScore);
+        }
     }
 
     @Override
@@ -499,6 +507,20 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         return bottomSortValues;
     }
 
+    /**
+     * Sets the minimum score a hit needs to be competitive for the top hits of the whole search
+     * request. Like the {@link #setBottomSortValues bottom sort values} it is computed by the
+     * coordinating node from the results of the shards that already returned and passed as a
+     * hint on subsequent shard requests that sort by score.
+     */
+    public void setMinCompetitiveScore(float minCompetitiveScore) {
+        this.minCompetitiveScore = minCompetitiveScore;
+    }
+
+    public float getMinCompetitiveScore() {
+        return minCompetitiveScore;
+    }
+
     /**
      * Returns true if the caller can handle null response {@link QuerySearchResult#nullInstance()}.
      * Defaults to false since the coordinator node needs at least one shard response to build the global
@@ -0,0 +1,99 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.internal;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.elasticsearch.cluster.metadata.DataStream;
+import org.elasticsearch.core.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The range of {@code @timestamp} values that all documents matching a query must have, taken from the point range queries on
+ * the field that the query requires. Segments don't need to be searched if the bounds of their {@code @timestamp} points, which
+ * are recorded when segments are flushed or merged, don't intersect this range.
+ */
+final class TimestampQueryBounds {
+
+    private final byte[] lower;
+    private final byte[] upper;
+
+    private TimestampQueryBounds(byte[] lower, byte[] upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Returns the range of {@code @timestamp} values that the given query requires, or {@code null} if it doesn't require a
+     * point range on the field.
+     */
+    @Nullable
+    static TimestampQueryBounds fromQuery(Query query) {
+        final byte[][] bounds = new byte[2][];
+        query.visit(new QueryVisitor() {
+            @Override
+            public QueryVisitor getSubVisitor(BooleanClause.Occur occur, Query parent) {
+                // only queries that must match restrict the range of matching documents
+                return switch (occur) {
+                    case MUST, FILTER -> this;
+                    default -> QueryVisitor.EMPTY_VISITOR;
+                };
+            }
+
+            @Override
+            public boolean acceptField(String field) {
+                return field.equals(DataStream.TIMESTAMP_FIELD_NAME);
+            }
+
+            @Override
+            public void visitLeaf(Query query) {
+                if (query instanceof PointRangeQuery prq
+                    && prq.getNumDims() == 1
+                    && prq.getField().equals(DataStream.TIMESTAMP_FIELD_NAME)
+                    && (bounds[0] == null || bounds[0].length == prq.getLowerPoint().length)) {
+                    if (bounds[0] == null || Arrays.compareUnsigned(prq.getLowerPoint(), bounds[0]) > 0) {
+                        bounds[0] = prq.getLowerPoint();
+                    }
+                    if (bounds[1] == null || Arrays.compareUnsigned(prq.getUpperPoint(), bounds[1]) < 0) {
+                        bounds[1] = prq.getUpperPoint();
+                    }
+                }
+            }
+        });
+        return bounds[0] == null ? null : new TimestampQueryBounds(bounds[0], bounds[1]);
+    }
+
+    /**
+     * Could documents of the given segment match the query?
+     */
+    boolean canMatch(LeafReader reader) throws IOException {
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(DataStream.TIMESTAMP_FIELD_NAME);
+        if (fieldInfo == null) {
+            // none of the documents has a timestamp, for instance because the segment only contains tombstones
+            return false;
+        }
+        if (fieldInfo.getPointDimensionCount() != 1 || fieldInfo.getPointNumBytes() != lower.length) {
+            return true;
+        }
+        final PointValues values = reader.getPointValues(DataStream.TIMESTAMP_FIELD_NAME);
+        if (values == null) {
+            return false;
+        }
+        return Arrays.compareUnsigned(values.getMaxPackedValue(), lower) >= 0
+            && Arrays.compareUnsigned(values.getMinPackedValue(), upper) <= 0;
+    }
+}
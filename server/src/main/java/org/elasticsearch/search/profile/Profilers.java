@@ -67,7 +67,8 @@ public final class Profilers {
             queryProfiler.getTree(),
             queryProfiler.getRewriteTime(),
             queryProfiler.getCollectorResult(),
-            null
+            null,
+            queryProfiler.getTimestampSkippedSegments()
         );
         AggregationProfileShardResult aggResults = new AggregationProfileShardResult(aggProfiler.getTree());
         return new SearchProfileQueryPhaseResult(Collections.singletonList(result), aggResults);
@@ -36,6 +36,7 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
     public static final String QUERY_ARRAY = "query";
 
     public static final String VECTOR_OPERATIONS_COUNT = "vector_operations_count";
+    public static final String TIMESTAMP_SKIPPED_SEGMENTS = "timestamp_skipped_segments";
 
     private final List<ProfileResult> queryProfileResults;
 
@@ -45,17 +46,21 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
 
     private final Long vectorOperationsCount;
 
+    private final Long timestampSkippedSegments;
+
     public QueryProfileShardResult(
         List<ProfileResult> queryProfileResults,
         long rewriteTime,
         CollectorResult profileCollector,
-        @Nullable Long vectorOperationsCount
+        @Nullable Long vectorOperationsCount,
+        @Nullable Long timestampSkippedSegments
     ) {
         assert (profileCollector != null);
         this.queryProfileResults = queryProfileResults;
         this.profileCollector = profileCollector;
         this.rewriteTime = rewriteTime;
         this.vectorOperationsCount = vectorOperationsCount;
+        this.timestampSkippedSegments = timestampSkippedSegments;
     }
 
     /**
@@ -71,6 +76,9 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         profileCollector = new CollectorResult(in);
         rewriteTime = in.readLong();
         vectorOperationsCount = (in.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) ? in.readOptionalLong() : null;
+        timestampSkippedSegments = in.getTransportVersion().onOrAfter(TransportVersions.QUERY_PROFILE_TIMESTAMP_SKIPPED_SEGMENTS)
+            ? in.readOptionalLong()
+            : null;
     }
 
     @Override
@@ -84,6 +92,9 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) {
             out.writeOptionalLong(vectorOperationsCount);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.QUERY_PROFILE_TIMESTAMP_SKIPPED_SEGMENTS)) {
+            out.writeOptionalLong(timestampSkippedSegments);
+        }
     }
 
     public List<ProfileResult> getQueryResults() {
@@ -98,12 +109,24 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         return profileCollector;
     }
 
+    /**
+     * The number of segments that were skipped because their {@code @timestamp} values are outside the range of the query,
+     * or {@code null} if the query doesn't have a range on {@code @timestamp}.
+     */
+    @Nullable
+    public Long getTimestampSkippedSegments() {
+        return timestampSkippedSegments;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
         if (vectorOperationsCount != null) {
             builder.field(VECTOR_OPERATIONS_COUNT, vectorOperationsCount);
         }
+        if (timestampSkippedSegments != null) {
+            builder.field(TIMESTAMP_SKIPPED_SEGMENTS, timestampSkippedSegments);
+        }
         builder.startArray(QUERY_ARRAY);
         for (ProfileResult p : queryProfileResults) {
             p.toXContent(builder, params);
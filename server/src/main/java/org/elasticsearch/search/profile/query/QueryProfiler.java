@@ -13,6 +13,8 @@ import org.apache.lucene.search.Query;
 import org.elasticsearch.search.profile.AbstractProfiler;
 import org.elasticsearch.search.profile.Timer;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -35,6 +37,9 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
 
     private long vectorOpsCount;
 
+    // -1 until a search of the query could skip segments by their timestamps
+    private final AtomicLong timestampSkippedSegments = new AtomicLong(-1);
+
     public QueryProfiler() {
         super(new InternalQueryProfileTree());
     }
@@ -55,6 +60,23 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
         return this.vectorOpsCount;
     }
 
+    /**
+     * Adds a number of segments that were skipped because their {@code @timestamp} values are outside the range of the query.
+     * Slices of the same search may call this concurrently.
+     */
+    public void addTimestampSkippedSegments(int skippedSegments) {
+        timestampSkippedSegments.getAndUpdate(count -> Math.max(count, 0) + skippedSegments);
+    }
+
+    /**
+     * Retrieves the number of segments that were skipped because their {@code @timestamp} values are outside the range of the
+     * query, or {@code null} if the query doesn't have a range on {@code @timestamp}
+     */
+    public Long getTimestampSkippedSegments() {
+        final long count = timestampSkippedSegments.get();
+        return count < 0 ? null : count;
+    }
+
     /** Set the collector result that is associated with this profiler. */
     public void setCollectorResult(CollectorResult collectorResult) {
         if (this.collectorResult != null) {
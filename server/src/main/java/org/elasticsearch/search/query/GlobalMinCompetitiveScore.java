@@ -0,0 +1,47 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.search.Scorable;
+
+/**
+ * The minimum score a hit needs to make it into the top hits of the whole search request,
+ * as far as we know while shards are still running. It starts at {@link Float#NEGATIVE_INFINITY}
+ * and only goes up as other shards of the same search report their top hits. Query phases
+ * that sort by score use it via {@link Scorable#setMinCompetitiveScore} to skip hits that
+ * can't be competitive globally even though they would be competitive on their own shard.
+ */
+public final class GlobalMinCompetitiveScore {
+    private volatile float minCompetitiveScore = Float.NEGATIVE_INFINITY;
+
+    /**
+     * The current global minimum competitive score.
+     */
+    public float get() {
+        return minCompetitiveScore;
+    }
+
+    /**
+     * Raise the minimum competitive score. Lower values are ignored.
+     * @return {@code true} if the value was raised
+     */
+    public synchronized boolean raise(float score) {
+        if (score > minCompetitiveScore) {
+            minCompetitiveScore = score;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Float.toString(minCompetitiveScore);
+    }
+}
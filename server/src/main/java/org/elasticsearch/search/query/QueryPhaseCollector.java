@@ -23,6 +23,7 @@ import org.apache.lucene.search.ScorerSupplier;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.search.internal.TwoPhaseCollector;
 
 import java.io.IOException;
@@ -39,6 +40,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * When top docs as well as aggs are collected (because both collectors were provided), skipping low scoring hits via
  * {@link Scorable#setMinCompetitiveScore(float)} is not supported for either of the collectors.
+ * When only top docs are collected and an optional {@link GlobalMinCompetitiveScore} is provided, hits that score below
+ * the global minimum competitive score are skipped as soon as the top docs collector starts skipping hits itself.
  */
 public final class QueryPhaseCollector implements TwoPhaseCollector {
     private final Collector aggsCollector;
@@ -46,6 +49,7 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
     private final TerminateAfterChecker terminateAfterChecker;
     private final Weight postFilterWeight;
     private final Float minScore;
+    private final GlobalMinCompetitiveScore globalMinCompetitiveScore;
     private final boolean cacheScores;
     private boolean terminatedAfter = false;
 
@@ -55,12 +59,24 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         TerminateAfterChecker terminateAfterChecker,
         Collector aggsCollector,
         Float minScore
+    ) {
+        this(topDocsCollector, postFilterWeight, terminateAfterChecker, aggsCollector, minScore, null);
+    }
+
+    QueryPhaseCollector(
+        Collector topDocsCollector,
+        Weight postFilterWeight,
+        TerminateAfterChecker terminateAfterChecker,
+        Collector aggsCollector,
+        Float minScore,
+        @Nullable GlobalMinCompetitiveScore globalMinCompetitiveScore
     ) {
         this.topDocsCollector = Objects.requireNonNull(topDocsCollector);
         this.postFilterWeight = postFilterWeight;
         this.terminateAfterChecker = terminateAfterChecker;
         this.aggsCollector = aggsCollector;
         this.minScore = minScore;
+        this.globalMinCompetitiveScore = globalMinCompetitiveScore;
         this.cacheScores = aggsCollector != null && topDocsCollector.scoreMode().needsScores() && aggsCollector.scoreMode().needsScores();
     }
 
@@ -144,7 +160,10 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         Bits postFilterBits = getPostFilterBits(context);
 
         if (aggsCollector == null) {
-            final LeafCollector topDocsLeafCollector = topDocsCollector.getLeafCollector(context);
+            LeafCollector topDocsLeafCollector = topDocsCollector.getLeafCollector(context);
+            if (globalMinCompetitiveScore != null && topDocsCollector.scoreMode() == ScoreMode.TOP_SCORES) {
+                topDocsLeafCollector = new GlobalMinCompetitiveScoreLeafCollector(topDocsLeafCollector, globalMinCompetitiveScore);
+            }
             if (postFilterBits == null && terminateAfterChecker == NO_OP_TERMINATE_AFTER_CHECKER && minScore == null) {
                 // no need to wrap if we just need to collect unfiltered docs through leaf collector.
                 // aggs collector was not originally provided so the overall score mode is that of the top docs collector
@@ -216,6 +235,73 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         };
     }
 
+    /**
+     * Applies the {@link GlobalMinCompetitiveScore} on top of the minimum competitive score that the top docs collector sets.
+     * We only start skipping hits once the top docs collector itself started doing so, which guarantees that it is already
+     * reporting its hit count as a lower bound.
+     */
+    private static final class GlobalMinCompetitiveScoreLeafCollector extends FilterLeafCollector {
+        private final GlobalMinCompetitiveScore globalMinCompetitiveScore;
+        private GlobalMinCompetitiveScoreScorable scorer;
+
+        GlobalMinCompetitiveScoreLeafCollector(LeafCollector in, GlobalMinCompetitiveScore globalMinCompetitiveScore) {
+            super(in);
+            this.globalMinCompetitiveScore = globalMinCompetitiveScore;
+        }
+
+        @Override
+        public void setScorer(Scorable scorer) throws IOException {
+            this.scorer = new GlobalMinCompetitiveScoreScorable(scorer, globalMinCompetitiveScore);
+            super.setScorer(this.scorer);
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            // pick up updates pushed by other shards while we were collecting
+            scorer.maybeApplyGlobalMinCompetitiveScore();
+            super.collect(doc);
+        }
+
+        @Override
+        public DocIdSetIterator competitiveIterator() throws IOException {
+            return in.competitiveIterator();
+        }
+    }
+
+    private static final class GlobalMinCompetitiveScoreScorable extends FilterScorable {
+        private final GlobalMinCompetitiveScore globalMinCompetitiveScore;
+        private boolean localMinScoreSet = false;
+        private float localMinScore = Float.NEGATIVE_INFINITY;
+        private float appliedMinScore = Float.NEGATIVE_INFINITY;
+
+        GlobalMinCompetitiveScoreScorable(Scorable in, GlobalMinCompetitiveScore globalMinCompetitiveScore) {
+            super(in);
+            this.globalMinCompetitiveScore = globalMinCompetitiveScore;
+        }
+
+        @Override
+        public void setMinCompetitiveScore(float minScore) throws IOException {
+            localMinScoreSet = true;
+            localMinScore = minScore;
+            apply();
+        }
+
+        void maybeApplyGlobalMinCompetitiveScore() throws IOException {
+            if (localMinScoreSet) {
+                apply();
+            }
+        }
+
+        private void apply() throws IOException {
+            // the minimum competitive score must never go down
+            float minScore = Math.max(localMinScore, globalMinCompetitiveScore.get());
+            if (minScore > appliedMinScore) {
+                appliedMinScore = minScore;
+                in.setMinCompetitiveScore(minScore);
+            }
+        }
+    }
+
     private class TopDocsLeafCollector implements LeafCollector {
         private final Bits postFilterBits;
         private final LeafCollector topDocsLeafCollector;
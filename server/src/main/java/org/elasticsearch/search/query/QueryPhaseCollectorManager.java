@@ -42,6 +42,7 @@ import org.apache.lucene.search.TopScoreDocCollectorManager;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.Weight;
 import org.elasticsearch.action.search.MaxScoreCollector;
+import org.elasticsearch.action.search.SearchShardTask;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
 import org.elasticsearch.common.lucene.search.function.FunctionScoreQuery;
@@ -118,7 +119,14 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             );
             if (aggsCollectorManager == null) {
                 return new InternalProfileCollector(
-                    new QueryPhaseCollector(topDocsProfileCollector, postFilterWeight, terminateAfterChecker, null, minScore),
+                    new QueryPhaseCollector(
+                        topDocsProfileCollector,
+                        postFilterWeight,
+                        terminateAfterChecker,
+                        null,
+                        minScore,
+                        globalMinCompetitiveScore()
+                    ),
                     REASON_SEARCH_QUERY_PHASE,
                     topDocsProfileCollector
                 );
@@ -139,12 +147,22 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             postFilterWeight,
             terminateAfterChecker,
             aggsCollectorManager == null ? null : aggsCollectorManager.newCollector(),
-            minScore
+            minScore,
+            globalMinCompetitiveScore()
         );
     }
 
     protected abstract Collector newTopDocsCollector() throws IOException;
 
+    /**
+     * Returns the minimum competitive score shared with the other shards of the same search request, if top docs collection can
+     * make use of it.
+     */
+    @Nullable
+    GlobalMinCompetitiveScore globalMinCompetitiveScore() {
+        return null;
+    }
+
     @Override
     public final QueryPhaseResult reduce(Collection<Collector> collectors) throws IOException {
         boolean terminatedAfter = false;
@@ -245,6 +263,17 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
                 }
             }
             if (searchContext.collapse() == null) {
+                // the top hits of other shards only tell us which hits can't be competitive when sorting by score
+                GlobalMinCompetitiveScore globalMinCompetitiveScore = null;
+                if (searchContext.sort() == null
+                    && searchContext.searchAfter() == null
+                    && rescore == false
+                    && searchContext.getTask() instanceof SearchShardTask searchShardTask) {
+                    globalMinCompetitiveScore = searchShardTask.globalMinCompetitiveScore();
+                    if (searchContext.request() != null) {
+                        globalMinCompetitiveScore.raise(searchContext.request().getMinCompetitiveScore());
+                    }
+                }
                 return new WithHits(
                     postFilterWeight,
                     terminateAfterChecker,
@@ -258,7 +287,8 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
                     numDocs,
                     searchContext.trackScores(),
                     searchContext.trackTotalHitsUpTo(),
-                    hasFilterCollector
+                    hasFilterCollector,
+                    globalMinCompetitiveScore
                 );
             } else {
                 boolean trackScores = searchContext.sort() == null || searchContext.trackScores();
@@ -373,6 +403,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         private final boolean trackMaxScore;
         private final TotalHits shortcutTotalHits;
         private final CollectorManager<? extends TopDocsCollector<?>, ? extends TopDocs> topDocsManager;
+        private final GlobalMinCompetitiveScore globalMinCompetitiveScore;
 
         WithHits(
             Weight postFilterWeight,
@@ -387,11 +418,13 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             int numHits,
             boolean trackMaxScore,
             int trackTotalHitsUpTo,
-            boolean hasFilterCollector
+            boolean hasFilterCollector,
+            @Nullable GlobalMinCompetitiveScore globalMinCompetitiveScore
         ) throws IOException {
             super(postFilterWeight, terminateAfterChecker, aggsCollectorManager, minScore, profile);
             this.sortAndFormats = sortAndFormats;
             this.trackMaxScore = trackMaxScore;
+            this.globalMinCompetitiveScore = globalMinCompetitiveScore;
 
             final int hitCountThreshold;
             if ((sortAndFormats == null || SortField.FIELD_SCORE.equals(sortAndFormats.sort.getSort()[0])) && hasInfMaxScore(query)) {
@@ -468,6 +501,11 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         protected final DocValueFormat[] getSortValueFormats() {
             return sortAndFormats == null ? null : sortAndFormats.formats;
         }
+
+        @Override
+        GlobalMinCompetitiveScore globalMinCompetitiveScore() {
+            return globalMinCompetitiveScore;
+        }
     }
 
     /**
@@ -503,7 +541,8 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             numHits,
             trackMaxScore,
             trackTotalHitsUpTo,
-            hasFilterCollector
+            hasFilterCollector,
+            null
         ) {
             @Override
             public TopDocsAndMaxScore reduceTopDocsCollectors(Collection<Collector> collectors) throws IOException {
@@ -532,7 +571,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
 
     /**
      * Builds a {@link CollectorManager} to be used when collapse is used in a search request.
-     * Note: does not support concurrency, and enforces that it is used only with single sliced searches.
+     * Each slice collects its own group heads, which are merged on reduce.
      */
     private static QueryPhaseCollectorManager forCollapsing(
         Weight postFilterWeight,
@@ -549,23 +588,36 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         assert numHits > 0;
         assert collapseContext != null;
         Sort sort = sortAndFormats == null ? Sort.RELEVANCE : sortAndFormats.sort;
-        final SinglePassGroupingCollector<?> topDocsCollector = collapseContext.createTopDocs(sort, numHits, after);
-        MaxScoreCollector maxScoreCollector = trackMaxScore ? new MaxScoreCollector() : null;
+        final List<SinglePassGroupingCollector<?>> topDocsCollectors = new ArrayList<>();
+        final List<MaxScoreCollector> maxScoreCollectors = new ArrayList<>();
         return new QueryPhaseCollectorManager(postFilterWeight, terminateAfterChecker, aggsCollectorManager, minScore, profile) {
-            boolean newCollectorCalled = false;
-
             @Override
             protected Collector newTopDocsCollector() {
-                assert newCollectorCalled == false : "Field collapsing does not support concurrent execution";
-                newCollectorCalled = true;
+                SinglePassGroupingCollector<?> topDocsCollector = collapseContext.createTopDocs(sort, numHits, after);
+                MaxScoreCollector maxScoreCollector = trackMaxScore ? new MaxScoreCollector() : null;
+                synchronized (topDocsCollectors) {
+                    topDocsCollectors.add(topDocsCollector);
+                    if (maxScoreCollector != null) {
+                        maxScoreCollectors.add(maxScoreCollector);
+                    }
+                }
                 return MultiCollector.wrap(topDocsCollector, maxScoreCollector);
             }
 
             @Override
             protected TopDocsAndMaxScore reduceTopDocsCollectors(Collection<Collector> collectors) throws IOException {
-                assert collectors.size() == 1 : "Field collapsing does not support concurrent execution";
-                TopFieldGroups topDocs = topDocsCollector.getTopGroups(0);
-                float maxScore = getMaxScore(topDocs, sortAndFormats, trackMaxScore, Collections.singletonList(maxScoreCollector));
+                assert collectors.size() == topDocsCollectors.size();
+                final TopFieldGroups topDocs;
+                if (topDocsCollectors.size() == 1) {
+                    topDocs = topDocsCollectors.get(0).getTopGroups(0);
+                } else {
+                    TopFieldGroups[] sliceTopDocs = new TopFieldGroups[topDocsCollectors.size()];
+                    for (int i = 0; i < sliceTopDocs.length; i++) {
+                        sliceTopDocs[i] = topDocsCollectors.get(i).getTopGroups(0);
+                    }
+                    topDocs = TopFieldGroups.mergeSlices(sort, numHits, sliceTopDocs);
+                }
+                float maxScore = getMaxScore(topDocs, sortAndFormats, trackMaxScore, maxScoreCollectors);
                 return new TopDocsAndMaxScore(topDocs, maxScore);
             }
 
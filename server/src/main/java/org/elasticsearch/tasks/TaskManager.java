@@ -490,6 +490,13 @@ public class TaskManager implements ClusterStateApplier {
         }
     }
 
+    /**
+     * Returns the cancellable tasks currently running on this node that are children of the given parent task.
+     */
+    public List<CancellableTask> getCancellableTasksByParent(TaskId parentTaskId) {
+        return cancellableTasks.getByParent(parentTaskId).map(CancellableTaskHolder::getTask).toList();
+    }
+
     /**
      * Bans all tasks with the specified parent task from execution, cancels all tasks that are currently executing.
      * <p>
@@ -15,8 +15,11 @@ import net.jpountz.lz4.LZ4FastDecompressor;
 
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.core.Booleans;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.lz4.ESLZ4Compressor;
 import org.elasticsearch.lz4.ESLZ4Decompressor;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.elasticsearch.nativeaccess.Zstd;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -25,13 +28,17 @@ public class Compression {
 
     public enum Scheme {
         LZ4,
-        DEFLATE;
+        DEFLATE,
+        ZSTD;
 
         static final int HEADER_LENGTH = 4;
         private static final byte[] DEFLATE_HEADER = new byte[] { 'D', 'F', 'L', '\0' };
         private static final byte[] LZ4_HEADER = new byte[] { 'L', 'Z', '4', '\0' };
+        private static final byte[] ZSTD_HEADER = new byte[] { 'Z', 'S', 'T', '\0' };
         private static final int LZ4_BLOCK_SIZE;
         private static final boolean USE_FORKED_LZ4;
+        static final int ZSTD_BLOCK_SIZE;
+        private static final int ZSTD_LEVEL;
 
         static {
             String blockSizeString = System.getProperty("es.transport.compression.lz4_block_size");
@@ -46,6 +53,28 @@ public class Compression {
             }
 
             USE_FORKED_LZ4 = Booleans.parseBoolean(System.getProperty("es.compression.use_forked_lz4", "true"));
+
+            String zstdBlockSizeString = System.getProperty("es.transport.compression.zstd_block_size");
+            if (zstdBlockSizeString != null) {
+                int zstdBlockSize = Integer.parseInt(zstdBlockSizeString);
+                if (zstdBlockSize < 1024 || zstdBlockSize > (1024 * 1024)) {
+                    throw new IllegalArgumentException("zstd_block_size must be >= 1KB and <= 1MB");
+                }
+                ZSTD_BLOCK_SIZE = zstdBlockSize;
+            } else {
+                ZSTD_BLOCK_SIZE = 128 * 1024;
+            }
+
+            String zstdLevelString = System.getProperty("es.transport.compression.zstd_level");
+            if (zstdLevelString != null) {
+                int zstdLevel = Integer.parseInt(zstdLevelString);
+                if (zstdLevel < 1 || zstdLevel > 19) {
+                    throw new IllegalArgumentException("zstd_level must be >= 1 and <= 19");
+                }
+                ZSTD_LEVEL = zstdLevel;
+            } else {
+                ZSTD_LEVEL = 3;
+            }
         }
 
         public static boolean isDeflate(BytesReference bytes) {
@@ -66,6 +95,15 @@ public class Compression {
             }
         }
 
+        public static boolean isZstd(BytesReference bytes) {
+            byte firstByte = bytes.get(0);
+            if (firstByte != Scheme.ZSTD_HEADER[0]) {
+                return false;
+            } else {
+                return validateHeader(bytes, ZSTD_HEADER);
+            }
+        }
+
         private static boolean validateHeader(BytesReference bytes, byte[] header) {
             for (int i = 1; i < Compression.Scheme.HEADER_LENGTH; ++i) {
                 if (bytes.get(i) != header[i]) {
@@ -93,6 +131,41 @@ public class Compression {
             }
             return new ReuseBuffersLZ4BlockOutputStream(outputStream, LZ4_BLOCK_SIZE, lz4Compressor);
         }
+
+        public static OutputStream zstdOutputStream(OutputStream outputStream) throws IOException {
+            final Zstd zstd = zstd();
+            if (zstd == null) {
+                throw new IllegalStateException("cannot compress transport message with zstd, the native zstd library is not available");
+            }
+            outputStream.write(ZSTD_HEADER);
+            return new ZstdTransportOutputStream(outputStream, zstd, ZSTD_BLOCK_SIZE, ZSTD_LEVEL);
+        }
+
+        /**
+         * Returns the native zstd library, or {@code null} if it isn't available on this node, for instance because native access
+         * is disabled.
+         */
+        @Nullable
+        static Zstd zstd() {
+            return ZstdHolder.ZSTD;
+        }
+
+        /**
+         * Checks that this node can compress messages with the given scheme, which is the value of the given setting.
+         */
+        static void ensureSupported(String settingKey, Scheme scheme) {
+            if (scheme == ZSTD && zstd() == null) {
+                throw new IllegalArgumentException(
+                    "["
+                        + settingKey
+                        + "] is set to [zstd] but the native zstd library is not available on this node, use [lz4] or [deflate] instead"
+                );
+            }
+        }
+    }
+
+    private static final class ZstdHolder {
+        private static final Zstd ZSTD = NativeAccess.instance().getZstd();
     }
 
     public enum Enabled {
@@ -71,6 +71,17 @@ public class Header {
         return TransportStatus.isCompress(status);
     }
 
+    /**
+     * Whether this message is a frame of a larger message, see {@link InboundFrameAssembler}.
+     */
+    boolean isFrame() {
+        return TransportStatus.isFrame(status);
+    }
+
+    boolean isLastFrame() {
+        return TransportStatus.isLastFrame(status);
+    }
+
     public String getActionName() {
         return actionName;
     }
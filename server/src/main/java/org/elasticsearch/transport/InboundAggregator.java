@@ -58,6 +58,10 @@ public class InboundAggregator implements Releasable {
         this.requestCanTripBreaker = requestCanTripBreaker;
     }
 
+    Supplier<CircuitBreaker> getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public void headerReceived(Header header) {
         ensureOpen();
         assert isAggregating() == false;
@@ -0,0 +1,165 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Puts back together the large responses that the sending node split into frames, see {@code OutboundHandler.ResponseFrameSender}.
+ * Frames of different responses may be interleaved with each other and with regular messages on the same channel, so the frames are
+ * collected per request id until the last frame of a response is received. The assembled bytes are the original serialized message,
+ * which the {@link InboundPipeline} then decodes like any other message.
+ * <p>
+ * The bytes of the frames are accounted for in the in-flight requests circuit breaker until the assembled message is released. The
+ * number of responses that are partially received and the number of bytes buffered for them are bounded, and exceeding either of these
+ * limits or tripping the breaker fails the channel, which is then closed.
+ */
+final class InboundFrameAssembler implements Releasable {
+
+    // package-private for tests
+    static final int MAX_PARTIAL_MESSAGES = 1024;
+
+    private final Supplier<CircuitBreaker> circuitBreaker;
+    private final int maxPartialMessages;
+    private final long maxPartialBytes;
+    private final Map<Long, PartialMessage> partialMessages = new HashMap<>();
+    private final ArrayDeque<ReleasableBytesReference> assembledMessages = new ArrayDeque<>();
+    private long partialBytes;
+    private Header currentHeader;
+    private PartialMessage currentMessage;
+    private boolean isClosed = false;
+
+    InboundFrameAssembler(Supplier<CircuitBreaker> circuitBreaker, int maxPartialMessages, long maxPartialBytes) {
+        this.circuitBreaker = circuitBreaker;
+        this.maxPartialMessages = maxPartialMessages;
+        this.maxPartialBytes = maxPartialBytes;
+    }
+
+    void headerReceived(Header header) {
+        ensureOpen();
+        assert isAssembling() == false;
+        assert header.isFrame() && header.isResponse() : header;
+        PartialMessage message = partialMessages.get(header.getRequestId());
+        if (message == null) {
+            if (partialMessages.size() >= maxPartialMessages) {
+                throw new IllegalStateException(
+                    "received a frame of response ["
+                        + header.getRequestId()
+                        + "] while already receiving ["
+                        + partialMessages.size()
+                        + "] responses in frames, closing connection"
+                );
+            }
+            message = new PartialMessage();
+            partialMessages.put(header.getRequestId(), message);
+        }
+        currentHeader = header;
+        currentMessage = message;
+    }
+
+    boolean isAssembling() {
+        return currentHeader != null;
+    }
+
+    void aggregate(ReleasableBytesReference content) {
+        ensureOpen();
+        assert isAssembling();
+        final int length = content.length();
+        if (partialBytes + length > maxPartialBytes) {
+            throw new IllegalStateException(
+                "received a frame of response ["
+                    + currentHeader.getRequestId()
+                    + "] while already buffering ["
+                    + ByteSizeValue.ofBytes(partialBytes)
+                    + "] of responses in frames, which would exceed the limit of ["
+                    + ByteSizeValue.ofBytes(maxPartialBytes)
+                    + "], closing connection"
+            );
+        }
+        circuitBreaker.get().addEstimateBytesAndMaybeBreak(length, "<transport_response_frames>");
+        partialBytes += length;
+        currentMessage.bytes += length;
+        currentMessage.frames.add(content.retain());
+    }
+
+    void finishFrame() {
+        ensureOpen();
+        assert isAssembling();
+        if (currentHeader.isLastFrame()) {
+            partialMessages.remove(currentHeader.getRequestId());
+            partialBytes -= currentMessage.bytes;
+            final ReleasableBytesReference[] frames = currentMessage.frames.toArray(new ReleasableBytesReference[0]);
+            final long bytes = currentMessage.bytes;
+            assembledMessages.add(
+                new ReleasableBytesReference(
+                    CompositeBytesReference.of(frames),
+                    () -> Releasables.close(Releasables.wrap(frames), () -> circuitBreaker.get().addWithoutBreaking(-bytes))
+                )
+            );
+        }
+        currentHeader = null;
+        currentMessage = null;
+    }
+
+    /**
+     * @return the next fully assembled message, or {@code null} if there is none. The caller is responsible for releasing it.
+     */
+    ReleasableBytesReference pollAssembledMessage() {
+        return assembledMessages.pollFirst();
+    }
+
+    // package-private for tests
+    int partialMessages() {
+        return partialMessages.size();
+    }
+
+    // package-private for tests
+    long partialBytes() {
+        return partialBytes;
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        for (PartialMessage message : partialMessages.values()) {
+            Releasables.close(message.frames);
+            circuitBreaker.get().addWithoutBreaking(-message.bytes);
+        }
+        partialMessages.clear();
+        partialBytes = 0;
+        Releasables.close(assembledMessages);
+        assembledMessages.clear();
+        currentHeader = null;
+        currentMessage = null;
+    }
+
+    private void ensureOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("Frame assembler is already closed");
+        }
+    }
+
+    private static final class PartialMessage {
+        private final List<ReleasableBytesReference> frames = new ArrayList<>();
+        private long bytes;
+    }
+}
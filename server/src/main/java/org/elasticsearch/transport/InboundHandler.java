@@ -30,6 +30,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handles inbound messages by first deserializing a {@link TransportMessage} from an {@link InboundMessage} and then passing
@@ -53,6 +54,8 @@ public class InboundHandler {
 
     private volatile long slowLogThresholdMs = Long.MAX_VALUE;
 
+    private volatile TransportActionMetrics actionMetrics = TransportActionMetrics.NOOP;
+
     InboundHandler(
         ThreadPool threadPool,
         OutboundHandler outboundHandler,
@@ -87,6 +90,10 @@ public class InboundHandler {
         this.slowLogThresholdMs = slowLogThreshold.getMillis();
     }
 
+    void setActionMetrics(TransportActionMetrics actionMetrics) {
+        this.actionMetrics = actionMetrics;
+    }
+
     void inboundMessage(TcpChannel channel, InboundMessage message) throws Exception {
         final long startTime = threadPool.rawRelativeTimeInMillis();
         channel.getChannelStats().markAccessed(startTime);
@@ -95,14 +102,14 @@ public class InboundHandler {
         if (message.isPing()) {
             keepAlive.receiveKeepAlive(channel);
         } else {
-            messageReceived(channel, message, startTime);
+            messageReceived(channel, message, startTime, System.nanoTime());
         }
     }
 
     // Empty stream constant to avoid instantiating a new stream for empty messages.
     private static final StreamInput EMPTY_STREAM_INPUT = new ByteBufferStreamInput(ByteBuffer.wrap(BytesRef.EMPTY_BYTES));
 
-    private void messageReceived(TcpChannel channel, InboundMessage message, long startTime) throws IOException {
+    private void messageReceived(TcpChannel channel, InboundMessage message, long startTime, long startNanos) throws IOException {
         final InetSocketAddress remoteAddress = channel.getRemoteAddress();
         final Header header = message.getHeader();
         assert header.needsToReadVariableHeader() == false;
@@ -115,7 +122,7 @@ public class InboundHandler {
             threadContext.setHeaders(header.getHeaders());
             threadContext.putTransient("_remote_address", remoteAddress);
             if (header.isRequest()) {
-                handleRequest(channel, message);
+                handleRequest(channel, message, startNanos);
             } else {
                 // Responses do not support short circuiting currently
                 assert message.isShortCircuit() == false;
@@ -220,7 +227,8 @@ public class InboundHandler {
         }
     }
 
-    private <T extends TransportRequest> void handleRequest(TcpChannel channel, InboundMessage message) throws IOException {
+    private <T extends TransportRequest> void handleRequest(TcpChannel channel, InboundMessage message, long startNanos)
+        throws IOException {
         final Header header = message.getHeader();
         if (header.isHandshake()) {
             handleHandshakeRequest(channel, message);
@@ -246,7 +254,11 @@ public class InboundHandler {
         try {
             messageListener.onRequestReceived(requestId, action);
             if (reg != null) {
-                reg.addRequestStats(header.getNetworkMessageSize() + TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE);
+                final int messageSize = header.getNetworkMessageSize() + TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE;
+                reg.addRequestStats(messageSize);
+                if (header.isCompressed()) {
+                    reg.addCompressedRequestStats(messageSize, message.getContentLength());
+                }
             }
 
             if (message.isShortCircuit()) {
@@ -281,24 +293,39 @@ public class InboundHandler {
             }
         } catch (Exception e) {
             sendErrorResponse(action, transportChannel, e);
+        } finally {
+            if (reg != null) {
+                final long tookMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+                reg.addNetworkThreadTime(tookMicros);
+                actionMetrics.recordNetworkThreadTime(action, tookMicros);
+            }
         }
     }
 
-    private static <T extends TransportRequest> void doHandleRequest(RequestHandlerRegistry<T> reg, T request, TransportChannel channel) {
+    private <T extends TransportRequest> void doHandleRequest(RequestHandlerRegistry<T> reg, T request, TransportChannel channel) {
+        final long startNanos = System.nanoTime();
         try {
             reg.processMessageReceived(request, channel);
         } catch (Exception e) {
             sendErrorResponse(reg.getAction(), channel, e);
+        } finally {
+            final long tookMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            reg.addHandlingTime(tookMicros);
+            actionMetrics.recordHandlingTime(reg.getAction(), tookMicros);
         }
     }
 
     private <T extends TransportRequest> void handleRequestForking(T request, RequestHandlerRegistry<T> reg, TransportChannel channel) {
         boolean success = false;
         request.mustIncRef();
+        final long enqueueNanos = System.nanoTime();
         try {
             reg.getExecutor().execute(threadPool.getThreadContext().preserveContextWithTracing(new AbstractRunnable() {
                 @Override
                 protected void doRun() {
+                    final long queueTimeMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - enqueueNanos);
+                    reg.addQueueTime(queueTimeMicros);
+                    actionMetrics.recordQueueTime(reg.getAction(), queueTimeMicros);
                     doHandleRequest(reg, request, channel);
                 }
 
@@ -28,6 +28,7 @@ public class InboundPipeline implements Releasable {
     private final StatsTracker statsTracker;
     private final InboundDecoder decoder;
     private final InboundAggregator aggregator;
+    private final InboundFrameAssembler frameAssembler;
     private final BiConsumer<TcpChannel, InboundMessage> messageHandler;
     private Exception uncaughtException;
     private final ArrayDeque<ReleasableBytesReference> pending = new ArrayDeque<>(2);
@@ -39,18 +40,42 @@ public class InboundPipeline implements Releasable {
         InboundDecoder decoder,
         InboundAggregator aggregator,
         BiConsumer<TcpChannel, InboundMessage> messageHandler
+    ) {
+        this(
+            statsTracker,
+            relativeTimeInMillis,
+            decoder,
+            aggregator,
+            new InboundFrameAssembler(
+                aggregator.getCircuitBreaker(),
+                InboundFrameAssembler.MAX_PARTIAL_MESSAGES,
+                TcpTransport.THIRTY_PER_HEAP_SIZE
+            ),
+            messageHandler
+        );
+    }
+
+    // package-private for tests
+    InboundPipeline(
+        StatsTracker statsTracker,
+        LongSupplier relativeTimeInMillis,
+        InboundDecoder decoder,
+        InboundAggregator aggregator,
+        InboundFrameAssembler frameAssembler,
+        BiConsumer<TcpChannel, InboundMessage> messageHandler
     ) {
         this.relativeTimeInMillis = relativeTimeInMillis;
         this.statsTracker = statsTracker;
         this.decoder = decoder;
         this.aggregator = aggregator;
+        this.frameAssembler = frameAssembler;
         this.messageHandler = messageHandler;
     }
 
     @Override
     public void close() {
         isClosed = true;
-        Releasables.closeExpectNoException(decoder, aggregator, () -> Releasables.close(pending), pending::clear);
+        Releasables.closeExpectNoException(decoder, aggregator, frameAssembler, () -> Releasables.close(pending), pending::clear);
     }
 
     public void handleBytes(TcpChannel channel, ReleasableBytesReference reference) throws IOException {
@@ -93,6 +118,7 @@ public class InboundPipeline implements Releasable {
                     bytesDecoded = decoder.decode(toDecode, decodeConsumer);
                 }
             }
+            decodeAssembledMessages(decodeConsumer);
             if (bytesDecoded != 0) {
                 releasePendingBytes(bytesDecoded);
             } else {
@@ -101,8 +127,30 @@ public class InboundPipeline implements Releasable {
         } while (pending.isEmpty() == false);
     }
 
+    /**
+     * Decodes the messages that were put back together from frames. The decoder is always between two messages when this is called
+     * since a message is only assembled once the last of its frames was fully decoded.
+     */
+    private void decodeAssembledMessages(CheckedConsumer<Object, IOException> decodeConsumer) throws IOException {
+        ReleasableBytesReference assembled;
+        while ((assembled = frameAssembler.pollAssembledMessage()) != null) {
+            try (assembled) {
+                int offset = 0;
+                while (offset < assembled.length()) {
+                    final int bytesDecoded = decoder.decode(assembled.slice(offset, assembled.length() - offset), decodeConsumer);
+                    if (bytesDecoded == 0) {
+                        throw new IllegalStateException("failed to decode message assembled from frames");
+                    }
+                    offset += bytesDecoded;
+                }
+            }
+        }
+    }
+
     private void forwardFragment(TcpChannel channel, Object fragment) throws IOException {
-        if (fragment instanceof Header) {
+        if (fragment instanceof Header header && header.isFrame()) {
+            frameAssembler.headerReceived(header);
+        } else if (fragment instanceof Header) {
             headerReceived((Header) fragment);
         } else if (fragment instanceof Compression.Scheme) {
             assert aggregator.isAggregating();
@@ -110,6 +158,8 @@ public class InboundPipeline implements Releasable {
         } else if (fragment == InboundDecoder.PING) {
             assert aggregator.isAggregating() == false;
             messageHandler.accept(channel, PING_MESSAGE);
+        } else if (fragment == InboundDecoder.END_CONTENT && frameAssembler.isAssembling()) {
+            frameAssembler.finishFrame();
         } else if (fragment == InboundDecoder.END_CONTENT) {
             assert aggregator.isAggregating();
             InboundMessage aggregated = aggregator.finishAggregation();
@@ -119,6 +169,9 @@ public class InboundPipeline implements Releasable {
             } finally {
                 aggregated.decRef();
             }
+        } else if (frameAssembler.isAssembling()) {
+            assert fragment instanceof ReleasableBytesReference;
+            frameAssembler.aggregate((ReleasableBytesReference) fragment);
         } else {
             assert aggregator.isAggregating();
             assert fragment instanceof ReleasableBytesReference;
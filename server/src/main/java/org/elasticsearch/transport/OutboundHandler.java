@@ -22,6 +22,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.compress.CompressorFactory;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -30,6 +31,7 @@ import org.elasticsearch.common.network.CloseableChannel;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.transport.NetworkExceptionHelper;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.Releasable;
@@ -39,7 +41,11 @@ import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.UpdateForV10;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 
 import static org.elasticsearch.core.Strings.format;
@@ -63,6 +69,10 @@ public final class OutboundHandler {
 
     private volatile TransportMessageListener messageListener = TransportMessageListener.NOOP_LISTENER;
 
+    private volatile TransportActionMetrics actionMetrics = TransportActionMetrics.NOOP;
+
+    private volatile int responseFrameSize = 0;
+
     OutboundHandler(
         String nodeName,
         TransportVersion version,
@@ -85,6 +95,14 @@ public final class OutboundHandler {
         this.slowLogThresholdMs = slowLogThreshold.getMillis();
     }
 
+    void setActionMetrics(TransportActionMetrics actionMetrics) {
+        this.actionMetrics = actionMetrics;
+    }
+
+    void setResponseFrameSize(ByteSizeValue responseFrameSize) {
+        this.responseFrameSize = Math.toIntExact(responseFrameSize.getBytes());
+    }
+
     /**
      * Send a raw message over the given channel.
      *
@@ -231,6 +249,8 @@ public final class OutboundHandler {
         final BytesReference message;
         boolean serializeSuccess = false;
         final RecyclerBytesStreamOutput byteStreamOutput = new RecyclerBytesStreamOutput(recycler);
+        final long[] uncompressedBodySize = new long[1];
+        final long serializationStartNanos = System.nanoTime();
         try {
             message = serialize(
                 messageDirection,
@@ -241,7 +261,8 @@ public final class OutboundHandler {
                 compressionScheme,
                 writeable,
                 threadPool.getThreadContext(),
-                byteStreamOutput
+                byteStreamOutput,
+                size -> uncompressedBodySize[0] = size
             );
             serializeSuccess = true;
         } catch (Exception e) {
@@ -252,32 +273,121 @@ public final class OutboundHandler {
                 Releasables.close(byteStreamOutput, onAfter);
             }
         }
+        if (messageDirection != MessageDirection.REQUEST) {
+            final long serializationTimeMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - serializationStartNanos);
+            responseStatsConsumer.addResponseSerializationTime(serializationTimeMicros);
+            actionMetrics.recordResponseSerializationTime(action, serializationTimeMicros);
+        }
         responseStatsConsumer.addResponseStats(message.length());
+        if (compressionScheme != null) {
+            responseStatsConsumer.addCompressedResponseStats(message.length(), uncompressedBodySize[0]);
+        }
         final var messageType = writeable.getClass();
-        internalSend(
-            channel,
-            message,
-            () -> (messageDirection == MessageDirection.REQUEST ? "Request{" : "Response{")
-                + action
-                + "}{id="
-                + requestId
-                + "}{err="
-                + (messageDirection == MessageDirection.RESPONSE_ERROR)
-                + "}{cs="
-                + compressionScheme
-                + "}{hs="
-                + isHandshake
-                + "}{t="
-                + messageType
-                + "}",
-            ActionListener.releasing(
-                message instanceof ReleasableBytesReference r
-                    ? Releasables.wrap(byteStreamOutput, onAfter, r)
-                    : Releasables.wrap(byteStreamOutput, onAfter)
-            )
+        final Supplier<String> messageDescription = () -> (messageDirection == MessageDirection.REQUEST ? "Request{" : "Response{")
+            + action
+            + "}{id="
+            + requestId
+            + "}{err="
+            + (messageDirection == MessageDirection.RESPONSE_ERROR)
+            + "}{cs="
+            + compressionScheme
+            + "}{hs="
+            + isHandshake
+            + "}{t="
+            + messageType
+            + "}";
+        final ActionListener<Void> listener = ActionListener.releasing(
+            message instanceof ReleasableBytesReference r
+                ? Releasables.wrap(byteStreamOutput, onAfter, r)
+                : Releasables.wrap(byteStreamOutput, onAfter)
         );
+        final int frameSize = responseFrameSize;
+        if (messageDirection != MessageDirection.REQUEST
+            && isHandshake == false
+            && frameSize > 0
+            && message.length() > frameSize
+            && version.onOrAfter(TransportVersions.TRANSPORT_RESPONSE_FRAMES)) {
+            new ResponseFrameSender(channel, message, requestId, version, frameSize, messageDescription, listener).sendNextFrame();
+        } else {
+            internalSend(channel, message, messageDescription, listener);
+        }
+    }
+
+    /**
+     * Sends a large response as a sequence of frames, each of them being sent once the previous one has been written. Messages that are
+     * sent on the same channel in the meantime are written between frames rather than having to wait for the whole response, and the
+     * receiving node puts the response back together in {@link InboundFrameAssembler}. Each frame is a response message of its own with
+     * an empty variable header whose content is the next slice of the serialized response.
+     */
+    private final class ResponseFrameSender implements ActionListener<Void> {
+        private final TcpChannel channel;
+        private final BytesReference message;
+        private final long requestId;
+        private final TransportVersion version;
+        private final int frameSize;
+        private final Supplier<String> messageDescription;
+        private final ActionListener<Void> listener;
+        private int offset;
+
+        ResponseFrameSender(
+            TcpChannel channel,
+            BytesReference message,
+            long requestId,
+            TransportVersion version,
+            int frameSize,
+            Supplier<String> messageDescription,
+            ActionListener<Void> listener
+        ) {
+            this.channel = channel;
+            this.message = message;
+            this.requestId = requestId;
+            this.version = version;
+            this.frameSize = frameSize;
+            this.messageDescription = messageDescription;
+            this.listener = listener;
+        }
+
+        void sendNextFrame() {
+            final int length = Math.min(frameSize, message.length() - offset);
+            final boolean lastFrame = offset + length == message.length();
+            final BytesReference frame;
+            try {
+                frame = CompositeBytesReference.of(frameHeader(requestId, version, length, lastFrame), message.slice(offset, length));
+            } catch (IOException e) {
+                listener.onFailure(e);
+                return;
+            }
+            offset += length;
+            internalSend(channel, frame, messageDescription, lastFrame ? listener : this);
+        }
+
+        @Override
+        public void onResponse(Void unused) {
+            sendNextFrame();
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    // package-private for tests
+    static BytesReference frameHeader(long requestId, TransportVersion version, int length, boolean lastFrame) throws IOException {
+        byte status = TransportStatus.setFrame(TransportStatus.setResponse((byte) 0));
+        if (lastFrame) {
+            status = TransportStatus.setLastFrame(status);
+        }
+        try (BytesStreamOutput out = new BytesStreamOutput(TcpHeader.HEADER_SIZE + FRAME_VARIABLE_HEADER.length)) {
+            TcpHeader.writeHeader(out, requestId, status, version, FRAME_VARIABLE_HEADER.length + length, FRAME_VARIABLE_HEADER.length);
+            out.writeBytes(FRAME_VARIABLE_HEADER);
+            return out.copyBytes();
+        }
     }
 
+    // empty request and response headers
+    private static final byte[] FRAME_VARIABLE_HEADER = new byte[] { 0, 0 };
+
     // public for tests
     public static BytesReference serialize(
         MessageDirection messageDirection,
@@ -289,6 +399,32 @@ public final class OutboundHandler {
         Writeable writeable,
         ThreadContext threadContext,
         RecyclerBytesStreamOutput byteStreamOutput
+    ) throws IOException {
+        return serialize(
+            messageDirection,
+            action,
+            requestId,
+            isHandshake,
+            version,
+            compressionScheme,
+            writeable,
+            threadContext,
+            byteStreamOutput,
+            size -> {}
+        );
+    }
+
+    private static BytesReference serialize(
+        MessageDirection messageDirection,
+        String action,
+        long requestId,
+        boolean isHandshake,
+        TransportVersion version,
+        Compression.Scheme compressionScheme,
+        Writeable writeable,
+        ThreadContext threadContext,
+        RecyclerBytesStreamOutput byteStreamOutput,
+        LongConsumer uncompressedBodySizeConsumer
     ) throws IOException {
         assert action != null;
         assert byteStreamOutput.position() == 0;
@@ -304,7 +440,13 @@ public final class OutboundHandler {
         }
 
         final int variableHeaderLength = Math.toIntExact(byteStreamOutput.position() - TcpHeader.HEADER_SIZE);
-        BytesReference message = serializeMessageBody(writeable, compressionScheme, version, byteStreamOutput);
+        BytesReference message = serializeMessageBody(
+            writeable,
+            compressionScheme,
+            version,
+            byteStreamOutput,
+            uncompressedBodySizeConsumer
+        );
         byte status = 0;
         if (messageDirection != MessageDirection.REQUEST) {
             status = TransportStatus.setResponse(status);
@@ -327,10 +469,14 @@ public final class OutboundHandler {
         Writeable writeable,
         Compression.Scheme compressionScheme,
         TransportVersion version,
-        RecyclerBytesStreamOutput byteStreamOutput
+        RecyclerBytesStreamOutput byteStreamOutput,
+        LongConsumer uncompressedBodySizeConsumer
     ) throws IOException {
         // The compressible bytes stream will not close the underlying bytes stream
-        final StreamOutput stream = compressionScheme != null ? wrapCompressed(compressionScheme, byteStreamOutput) : byteStreamOutput;
+        final CountingOutputStream uncompressedBytes = compressionScheme != null
+            ? wrapCompressed(compressionScheme, byteStreamOutput)
+            : null;
+        final StreamOutput stream = uncompressedBytes != null ? new OutputStreamStreamOutput(uncompressedBytes) : byteStreamOutput;
         final ReleasableBytesReference zeroCopyBuffer;
         try {
             stream.setTransportVersion(version);
@@ -351,6 +497,7 @@ public final class OutboundHandler {
             // are written.
             if (compressionScheme != null) {
                 stream.close();
+                uncompressedBodySizeConsumer.accept(uncompressedBytes.count);
             }
         }
         final BytesReference msg = byteStreamOutput.bytes();
@@ -363,19 +510,44 @@ public final class OutboundHandler {
 
     // compressed stream wrapped bytes must be no-close wrapped since we need to close the compressed wrapper below to release
     // resources and write EOS marker bytes but must not yet release the bytes themselves
-    private static StreamOutput wrapCompressed(Compression.Scheme compressionScheme, RecyclerBytesStreamOutput bytesStream)
+    private static CountingOutputStream wrapCompressed(Compression.Scheme compressionScheme, RecyclerBytesStreamOutput bytesStream)
         throws IOException {
         if (compressionScheme == Compression.Scheme.DEFLATE) {
-            return new OutputStreamStreamOutput(
+            return new CountingOutputStream(
                 CompressorFactory.COMPRESSOR.threadLocalOutputStream(org.elasticsearch.core.Streams.noCloseStream(bytesStream))
             );
         } else if (compressionScheme == Compression.Scheme.LZ4) {
-            return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+            return new CountingOutputStream(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+        } else if (compressionScheme == Compression.Scheme.ZSTD) {
+            return new CountingOutputStream(Compression.Scheme.zstdOutputStream(Streams.noCloseStream(bytesStream)));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
     }
 
+    /**
+     * Counts the bytes written to a compressed stream, i.e. the uncompressed size of the message body.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
     private void internalSend(
         TcpChannel channel,
         BytesReference reference,
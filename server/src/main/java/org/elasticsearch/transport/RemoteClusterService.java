@@ -128,7 +128,12 @@ public final class RemoteClusterService extends RemoteClusterAware
             Compression.Scheme.class,
             key,
             TransportSettings.TRANSPORT_COMPRESSION_SCHEME,
-            new RemoteConnectionEnabled<>(ns, key),
+            new RemoteConnectionEnabled<Compression.Scheme>(ns, key) {
+                @Override
+                public void validate(Compression.Scheme value) {
+                    Compression.Scheme.ensureSupported(key, value);
+                }
+            },
             Setting.Property.Dynamic,
             Setting.Property.NodeScope
         )
@@ -135,11 +135,37 @@ public class RequestHandlerRegistry<Request extends TransportRequest> implements
         statsTracker().addRequestStats(messageSize);
     }
 
+    public void addCompressedRequestStats(int messageSize, long uncompressedBodySize) {
+        statsTracker().addCompressedRequestStats(messageSize, uncompressedBodySize);
+    }
+
     @Override
     public void addResponseStats(int messageSize) {
         statsTracker().addResponseStats(messageSize);
     }
 
+    @Override
+    public void addCompressedResponseStats(int messageSize, long uncompressedBodySize) {
+        statsTracker().addCompressedResponseStats(messageSize, uncompressedBodySize);
+    }
+
+    public void addNetworkThreadTime(long tookMicros) {
+        statsTracker().addNetworkThreadTime(tookMicros);
+    }
+
+    public void addQueueTime(long tookMicros) {
+        statsTracker().addQueueTime(tookMicros);
+    }
+
+    public void addHandlingTime(long tookMicros) {
+        statsTracker().addHandlingTime(tookMicros);
+    }
+
+    @Override
+    public void addResponseSerializationTime(long tookMicros) {
+        statsTracker().addResponseSerializationTime(tookMicros);
+    }
+
     public TransportActionStats getStats() {
         var statsTracker = existingStatsTracker();
         if (statsTracker == null) {
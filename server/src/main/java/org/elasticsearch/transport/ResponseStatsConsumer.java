@@ -13,5 +13,15 @@ public interface ResponseStatsConsumer {
 
     void addResponseStats(int messageSize);
 
+    /**
+     * Called in addition to {@link #addResponseStats} for compressed responses with the size of the response body before compression.
+     */
+    default void addCompressedResponseStats(int messageSize, long uncompressedBodySize) {}
+
+    /**
+     * Called with the time it took to serialize (and possibly compress) a response.
+     */
+    default void addResponseSerializationTime(long tookMicros) {}
+
     ResponseStatsConsumer NONE = messageSize -> {};
 }
@@ -15,6 +15,7 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Build;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.support.ThreadedActionListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -92,7 +93,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
 
     // This is the number of bytes necessary to read the message size
     private static final int BYTES_NEEDED_FOR_MESSAGE_SIZE = TcpHeader.MARKER_BYTES_SIZE + TcpHeader.MESSAGE_LENGTH_SIZE;
-    private static final long THIRTY_PER_HEAP_SIZE = (long) (JvmInfo.jvmInfo().getMem().getHeapMax().getBytes() * 0.3);
+    static final long THIRTY_PER_HEAP_SIZE = (long) (JvmInfo.jvmInfo().getMem().getHeapMax().getBytes() * 0.3);
 
     final StatsTracker statsTracker = new StatsTracker();
 
@@ -165,6 +166,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             outboundHandlingTimeTracker,
             rstOnClose
         );
+        outboundHandler.setResponseFrameSize(TransportSettings.RESPONSE_FRAME_SIZE.get(settings));
 
         ignoreDeserializationErrors = IGNORE_DESERIALIZATION_ERRORS_SETTING.get(settings);
 
@@ -222,6 +224,12 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
         outboundHandler.setSlowLogThreshold(slowLogThreshold);
     }
 
+    @Override
+    public void setActionMetrics(TransportActionMetrics actionMetrics) {
+        inboundHandler.setActionMetrics(actionMetrics);
+        outboundHandler.setActionMetrics(actionMetrics);
+    }
+
     /**
      * Only used in tests, see {@link #IGNORE_DESERIALIZATION_ERRORS_SETTING}.
      */
@@ -325,7 +333,15 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
                 || (compress == Compression.Enabled.INDEXING_DATA
                     && request instanceof RawIndexingDataTransportRequest
                     && ((RawIndexingDataTransportRequest) request).isRawIndexingData());
-            return shouldCompress ? compressionScheme : null;
+            if (shouldCompress == false) {
+                return null;
+            }
+            if (compressionScheme == Compression.Scheme.ZSTD
+                && getTransportVersion().before(TransportVersions.TRANSPORT_ZSTD_COMPRESSION)) {
+                // the other node can't decompress zstd, fall back to the default scheme
+                return Compression.Scheme.LZ4;
+            }
+            return compressionScheme;
         }
 
         @Override
@@ -46,6 +46,11 @@ public interface Transport extends LifecycleComponent {
 
     default void setSlowLogThreshold(TimeValue slowLogThreshold) {}
 
+    /**
+     * Sets the metrics that record the per-action time histograms of the requests handled by this transport.
+     */
+    default void setActionMetrics(TransportActionMetrics actionMetrics) {}
+
     default boolean isSecure() {
         return false;
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.telemetry.metric.LongHistogram;
+import org.elasticsearch.telemetry.metric.MeterRegistry;
+
+import java.util.Map;
+
+/**
+ * Per-action histograms of the time that transport requests spend in each stage of their handling on the receiving node, in
+ * microseconds, exposed through the {@link MeterRegistry}. The same times are also tracked in {@link TransportActionStats} for the
+ * node stats API.
+ */
+public class TransportActionMetrics {
+
+    public static final String NETWORK_THREAD_TIME_HISTOGRAM_NAME = "es.transport.action.network_thread.time.histogram";
+    public static final String QUEUE_TIME_HISTOGRAM_NAME = "es.transport.action.queue.time.histogram";
+    public static final String HANDLING_TIME_HISTOGRAM_NAME = "es.transport.action.handling.time.histogram";
+    public static final String RESPONSE_SERIALIZATION_TIME_HISTOGRAM_NAME = "es.transport.action.response_serialization.time.histogram";
+
+    public static final String ACTION_ATTRIBUTE_NAME = "action";
+
+    public static final TransportActionMetrics NOOP = new TransportActionMetrics(MeterRegistry.NOOP);
+
+    private final LongHistogram networkThreadTime;
+    private final LongHistogram queueTime;
+    private final LongHistogram handlingTime;
+    private final LongHistogram responseSerializationTime;
+    // the attributes of each action, which are the same for every measurement
+    private final Map<String, Map<String, Object>> actionAttributes = ConcurrentCollections.newConcurrentMap();
+
+    public TransportActionMetrics(MeterRegistry meterRegistry) {
+        this.networkThreadTime = meterRegistry.registerLongHistogram(
+            NETWORK_THREAD_TIME_HISTOGRAM_NAME,
+            "Time spent on a transport thread receiving and dispatching a request, expressed as a histogram",
+            "micros"
+        );
+        this.queueTime = meterRegistry.registerLongHistogram(
+            QUEUE_TIME_HISTOGRAM_NAME,
+            "Time a request waited in the queue of the executor of its action, expressed as a histogram",
+            "micros"
+        );
+        this.handlingTime = meterRegistry.registerLongHistogram(
+            HANDLING_TIME_HISTOGRAM_NAME,
+            "Time spent running the request handler of an action until it returned, expressed as a histogram",
+            "micros"
+        );
+        this.responseSerializationTime = meterRegistry.registerLongHistogram(
+            RESPONSE_SERIALIZATION_TIME_HISTOGRAM_NAME,
+            "Time spent serializing and compressing the response of an action, expressed as a histogram",
+            "micros"
+        );
+    }
+
+    void recordNetworkThreadTime(String action, long tookMicros) {
+        networkThreadTime.record(tookMicros, attributes(action));
+    }
+
+    void recordQueueTime(String action, long tookMicros) {
+        queueTime.record(tookMicros, attributes(action));
+    }
+
+    void recordHandlingTime(String action, long tookMicros) {
+        handlingTime.record(tookMicros, attributes(action));
+    }
+
+    void recordResponseSerializationTime(String action, long tookMicros) {
+        responseSerializationTime.record(tookMicros, attributes(action));
+    }
+
+    private Map<String, Object> attributes(String action) {
+        return actionAttributes.computeIfAbsent(action, a -> Map.of(ACTION_ATTRIBUTE_NAME, a));
+    }
+}
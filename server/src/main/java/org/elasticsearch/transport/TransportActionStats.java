@@ -9,6 +9,7 @@
 
 package org.elasticsearch.transport;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -17,6 +18,7 @@ import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public record TransportActionStats(
     long requestCount,
@@ -24,13 +26,76 @@ public record TransportActionStats(
     long[] requestSizeHistogram,
     long responseCount,
     long totalResponseSize,
-    long[] responseSizeHistogram
+    long[] responseSizeHistogram,
+    long compressedRequestCount,
+    long totalCompressedRequestSize,
+    long totalUncompressedRequestBodySize,
+    long compressedResponseCount,
+    long totalCompressedResponseSize,
+    long totalUncompressedResponseBodySize,
+    long[] networkThreadTimeHistogram,
+    long[] queueTimeHistogram,
+    long[] handlingTimeHistogram,
+    long[] responseSerializationTimeHistogram
 ) implements Writeable, ToXContentObject {
 
     public static final TransportActionStats EMPTY = new TransportActionStats(0, 0, new long[0], 0, 0, new long[0]);
 
+    public TransportActionStats(
+        long requestCount,
+        long totalRequestSize,
+        long[] requestSizeHistogram,
+        long responseCount,
+        long totalResponseSize,
+        long[] responseSizeHistogram
+    ) {
+        this(
+            requestCount,
+            totalRequestSize,
+            requestSizeHistogram,
+            responseCount,
+            totalResponseSize,
+            responseSizeHistogram,
+            0,
+            0,
+            0,
+            0,
+            0,
+            0,
+            new long[0],
+            new long[0],
+            new long[0],
+            new long[0]
+        );
+    }
+
     public TransportActionStats(StreamInput in) throws IOException {
-        this(in.readVLong(), in.readVLong(), in.readVLongArray(), in.readVLong(), in.readVLong(), in.readVLongArray());
+        this(
+            in.readVLong(),
+            in.readVLong(),
+            in.readVLongArray(),
+            in.readVLong(),
+            in.readVLong(),
+            in.readVLongArray(),
+            readCompressionStat(in),
+            readCompressionStat(in),
+            readCompressionStat(in),
+            readCompressionStat(in),
+            readCompressionStat(in),
+            readCompressionStat(in),
+            readTimeHistogram(in),
+            readTimeHistogram(in),
+            readTimeHistogram(in),
+            readTimeHistogram(in)
+        );
+    }
+
+    private static long readCompressionStat(StreamInput in) throws IOException {
+        return in.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_ZSTD_COMPRESSION) ? in.readVLong() : 0L;
+    }
+
+    private static long[] readTimeHistogram(StreamInput in) throws IOException {
+        return in.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_ACTION_TIME_HISTOGRAMS) ? in.readVLongArray() : new long[0];
     }
 
     @Override
@@ -41,17 +106,61 @@ public record TransportActionStats(
         builder.field("count", requestCount);
         builder.humanReadableField("total_size_in_bytes", "total_size", ByteSizeValue.ofBytes(totalRequestSize));
         histogramToXContent(builder, requestSizeHistogram);
+        compressionToXContent(builder, compressedRequestCount, totalCompressedRequestSize, totalUncompressedRequestBodySize);
         builder.endObject();
 
         builder.startObject("responses");
         builder.field("count", responseCount);
         builder.humanReadableField("total_size_in_bytes", "total_size", ByteSizeValue.ofBytes(totalResponseSize));
         histogramToXContent(builder, responseSizeHistogram);
+        compressionToXContent(builder, compressedResponseCount, totalCompressedResponseSize, totalUncompressedResponseBodySize);
         builder.endObject();
 
+        if (hasCounts(networkThreadTimeHistogram)
+            || hasCounts(queueTimeHistogram)
+            || hasCounts(handlingTimeHistogram)
+            || hasCounts(responseSerializationTimeHistogram)) {
+            builder.startObject("time");
+            TransportStats.histogramToXContent(builder, networkThreadTimeHistogram, "network_thread_histogram", TimeUnit.MICROSECONDS);
+            TransportStats.histogramToXContent(builder, queueTimeHistogram, "queue_histogram", TimeUnit.MICROSECONDS);
+            TransportStats.histogramToXContent(builder, handlingTimeHistogram, "handling_histogram", TimeUnit.MICROSECONDS);
+            TransportStats.histogramToXContent(
+                builder,
+                responseSerializationTimeHistogram,
+                "response_serialization_histogram",
+                TimeUnit.MICROSECONDS
+            );
+            builder.endObject();
+        }
+
         return builder.endObject();
     }
 
+    private static boolean hasCounts(long[] histogram) {
+        for (long count : histogram) {
+            if (count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void compressionToXContent(XContentBuilder builder, long count, long totalSize, long totalUncompressedBodySize)
+        throws IOException {
+        if (count == 0) {
+            return;
+        }
+        builder.startObject("compressed");
+        builder.field("count", count);
+        builder.humanReadableField("total_size_in_bytes", "total_size", ByteSizeValue.ofBytes(totalSize));
+        builder.humanReadableField(
+            "total_uncompressed_body_size_in_bytes",
+            "total_uncompressed_body_size",
+            ByteSizeValue.ofBytes(totalUncompressedBodySize)
+        );
+        builder.endObject();
+    }
+
     static void histogramToXContent(XContentBuilder builder, long[] sizeHistogram) throws IOException {
         final int[] bucketBounds = TransportActionStatsTracker.getBucketUpperBounds();
         assert sizeHistogram.length == bucketBounds.length + 1;
@@ -89,5 +198,19 @@ public record TransportActionStats(
         out.writeVLong(responseCount);
         out.writeVLong(totalResponseSize);
         out.writeVLongArray(responseSizeHistogram);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_ZSTD_COMPRESSION)) {
+            out.writeVLong(compressedRequestCount);
+            out.writeVLong(totalCompressedRequestSize);
+            out.writeVLong(totalUncompressedRequestBodySize);
+            out.writeVLong(compressedResponseCount);
+            out.writeVLong(totalCompressedResponseSize);
+            out.writeVLong(totalUncompressedResponseBodySize);
+        }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_ACTION_TIME_HISTOGRAMS)) {
+            out.writeVLongArray(networkThreadTimeHistogram);
+            out.writeVLongArray(queueTimeHistogram);
+            out.writeVLongArray(handlingTimeHistogram);
+            out.writeVLongArray(responseSerializationTimeHistogram);
+        }
     }
 }
@@ -9,6 +9,8 @@
 
 package org.elasticsearch.transport;
 
+import org.elasticsearch.common.network.HandlingTimeTracker;
+
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -62,12 +64,30 @@ public class TransportActionStatsTracker {
         }
     }
 
+    private record CompressionStatsTracker(LongAdder count, LongAdder totalSize, LongAdder totalUncompressedBodySize) {
+        CompressionStatsTracker() {
+            this(new LongAdder(), new LongAdder(), new LongAdder());
+        }
+
+        void addStats(int messageSize, long uncompressedBodySize) {
+            count().increment();
+            totalSize().add(messageSize);
+            totalUncompressedBodySize().add(uncompressedBodySize);
+        }
+    }
+
     private static int bucket(int messageSize) {
         return Math.min(Math.max(29 - Integer.numberOfLeadingZeros(messageSize), 0), MAX_BUCKET);
     }
 
     private final StatsTracker requestStats = new StatsTracker();
     private final StatsTracker responseStats = new StatsTracker();
+    private final CompressionStatsTracker compressedRequestStats = new CompressionStatsTracker();
+    private final CompressionStatsTracker compressedResponseStats = new CompressionStatsTracker();
+    private final HandlingTimeTracker networkThreadTime = new HandlingTimeTracker();
+    private final HandlingTimeTracker queueTime = new HandlingTimeTracker();
+    private final HandlingTimeTracker handlingTime = new HandlingTimeTracker();
+    private final HandlingTimeTracker responseSerializationTime = new HandlingTimeTracker();
 
     public void addRequestStats(int messageSize) {
         requestStats.addStats(messageSize);
@@ -77,6 +97,41 @@ public class TransportActionStatsTracker {
         responseStats.addStats(messageSize);
     }
 
+    public void addCompressedRequestStats(int messageSize, long uncompressedBodySize) {
+        compressedRequestStats.addStats(messageSize, uncompressedBodySize);
+    }
+
+    public void addCompressedResponseStats(int messageSize, long uncompressedBodySize) {
+        compressedResponseStats.addStats(messageSize, uncompressedBodySize);
+    }
+
+    /**
+     * Time spent on the transport thread that received a request, from reading the message until the request was dispatched to the
+     * executor of the action, or until its handler returned if the action runs on the transport thread. Like all the times of this
+     * tracker, it is in microseconds.
+     */
+    public void addNetworkThreadTime(long tookMicros) {
+        networkThreadTime.addHandlingTime(tookMicros);
+    }
+
+    /**
+     * Time a request waited for a thread of the executor of the action.
+     */
+    public void addQueueTime(long tookMicros) {
+        queueTime.addHandlingTime(tookMicros);
+    }
+
+    /**
+     * Time until the request handler returned, which does not include any work it forked or waited for asynchronously.
+     */
+    public void addHandlingTime(long tookMicros) {
+        handlingTime.addHandlingTime(tookMicros);
+    }
+
+    public void addResponseSerializationTime(long tookMicros) {
+        responseSerializationTime.addHandlingTime(tookMicros);
+    }
+
     public TransportActionStats getStats() {
         return new TransportActionStats(
             requestStats.count().longValue(),
@@ -84,7 +139,17 @@ public class TransportActionStatsTracker {
             requestStats.getHistogram(),
             responseStats.count().longValue(),
             responseStats.totalSize().longValue(),
-            responseStats.getHistogram()
+            responseStats.getHistogram(),
+            compressedRequestStats.count().longValue(),
+            compressedRequestStats.totalSize().longValue(),
+            compressedRequestStats.totalUncompressedBodySize().longValue(),
+            compressedResponseStats.count().longValue(),
+            compressedResponseStats.totalSize().longValue(),
+            compressedResponseStats.totalUncompressedBodySize().longValue(),
+            networkThreadTime.getHistogram(),
+            queueTime.getHistogram(),
+            handlingTime.getHistogram(),
+            responseSerializationTime.getHistogram()
         );
     }
 
@@ -76,6 +76,15 @@ public final class TransportSettings {
         Compression.Scheme.class,
         "transport.compression_scheme",
         Compression.Scheme.LZ4,
+        scheme -> Compression.Scheme.ensureSupported("transport.compression_scheme", scheme),
+        Setting.Property.NodeScope
+    );
+    // responses larger than this are sent as frames that other messages on the same channel can overtake, defaults to disabled (0)
+    public static final Setting<ByteSizeValue> RESPONSE_FRAME_SIZE = Setting.byteSizeSetting(
+        "transport.response_frame_size",
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ofGb(1),
         Setting.Property.NodeScope
     );
     // the scheduled internal ping interval setting, defaults to disabled (-1)
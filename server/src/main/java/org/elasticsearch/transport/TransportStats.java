@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class TransportStats implements Writeable, ChunkedToXContent {
 
@@ -200,7 +201,19 @@ public class TransportStats implements Writeable, ChunkedToXContent {
     }
 
     static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName) throws IOException {
+        histogramToXContent(builder, bucketFrequencies, fieldName, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renders the bucket frequencies of a {@link HandlingTimeTracker} whose times were recorded in the given unit, which is either
+     * milliseconds or microseconds.
+     */
+    static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName, TimeUnit unit)
+        throws IOException {
+        assert unit == TimeUnit.MILLISECONDS || unit == TimeUnit.MICROSECONDS : unit;
         final int[] bucketBounds = HandlingTimeTracker.getBucketUpperBounds();
+        final String lowerBoundField = unit == TimeUnit.MILLISECONDS ? "ge_millis" : "ge_micros";
+        final String upperBoundField = unit == TimeUnit.MILLISECONDS ? "lt_millis" : "lt_micros";
 
         int firstBucket = 0;
         long remainingCount = 0L;
@@ -216,10 +229,10 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         for (int i = firstBucket; i < bucketFrequencies.length && 0 < remainingCount; i++) {
             builder.startObject();
             if (i > 0 && i <= bucketBounds.length) {
-                builder.humanReadableField("ge_millis", "ge", TimeValue.timeValueMillis(bucketBounds[i - 1]));
+                builder.humanReadableField(lowerBoundField, "ge", new TimeValue(bucketBounds[i - 1], unit));
             }
             if (i < bucketBounds.length) {
-                builder.humanReadableField("lt_millis", "lt", TimeValue.timeValueMillis(bucketBounds[i]));
+                builder.humanReadableField(upperBoundField, "lt", new TimeValue(bucketBounds[i], unit));
             }
             builder.field("count", bucketFrequencies[i]);
             remainingCount -= bucketFrequencies[i];
@@ -15,6 +15,8 @@ public final class TransportStatus {
     private static final byte STATUS_ERROR = 1 << 1;
     private static final byte STATUS_COMPRESS = 1 << 2;
     private static final byte STATUS_HANDSHAKE = 1 << 3;
+    private static final byte STATUS_FRAME = 1 << 4;
+    private static final byte STATUS_LAST_FRAME = 1 << 5;
 
     public static boolean isRequest(byte value) {
         return (value & STATUS_REQRES) == 0;
@@ -56,4 +58,22 @@ public final class TransportStatus {
         value |= STATUS_HANDSHAKE;
         return value;
     }
+
+    static boolean isFrame(byte value) { // pkg private since it's only used internally
+        return (value & STATUS_FRAME) != 0;
+    }
+
+    static byte setFrame(byte value) { // pkg private since it's only used internally
+        value |= STATUS_FRAME;
+        return value;
+    }
+
+    static boolean isLastFrame(byte value) { // pkg private since it's only used internally
+        return (value & STATUS_LAST_FRAME) != 0;
+    }
+
+    static byte setLastFrame(byte value) { // pkg private since it's only used internally
+        value |= STATUS_LAST_FRAME;
+        return value;
+    }
 }
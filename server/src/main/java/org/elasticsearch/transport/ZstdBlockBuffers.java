@@ -0,0 +1,149 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.nativeaccess.CloseableByteBuffer;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The native buffers that {@link ZstdTransportOutputStream} and {@link ZstdTransportDecompressor} compress and decompress
+ * blocks with. Buffers for blocks of up to the default zstd block size come from a small pool that is shared by all threads,
+ * so that sending and receiving zstd compressed messages usually doesn't allocate native memory. The pool holds at most
+ * {@link #MAX_POOLED_BUFFERS} buffers, which bounds the native memory that stays allocated between messages. Blocks that are
+ * larger, or that are processed while all pooled buffers are in use, get temporary buffers that are freed when they are
+ * released, and that must be released by the thread that acquired them.
+ */
+final class ZstdBlockBuffers implements Releasable {
+
+    /**
+     * The block size of the pooled buffers, which is the block size that messages are compressed with.
+     */
+    static final int POOLED_BLOCK_SIZE = Compression.Scheme.ZSTD_BLOCK_SIZE;
+
+    /**
+     * The maximum number of pooled buffers, one per processor is enough since compression and decompression don't block.
+     */
+    static final int MAX_POOLED_BUFFERS = Runtime.getRuntime().availableProcessors();
+
+    private static final Queue<ZstdBlockBuffers> POOL = ConcurrentCollections.newQueue();
+    private static final AtomicInteger POOLED_BUFFERS = new AtomicInteger();
+
+    private final CloseableByteBuffer uncompressed;
+    private final CloseableByteBuffer compressed;
+    private final boolean pooled;
+    private boolean inUse;
+
+    private ZstdBlockBuffers(Zstd zstd, int blockSize, boolean pooled) {
+        final NativeAccess nativeAccess = NativeAccess.instance();
+        this.pooled = pooled;
+        final int compressedSize = zstd.compressBound(blockSize);
+        if (pooled) {
+            // pooled buffers are shared between threads and are never freed, so they must not be confined to a thread
+            this.uncompressed = nativeAccess.newAutoReleasedBuffer(blockSize);
+            this.compressed = nativeAccess.newAutoReleasedBuffer(compressedSize);
+        } else {
+            final CloseableByteBuffer uncompressed = nativeAccess.newBuffer(blockSize);
+            try {
+                this.compressed = nativeAccess.newBuffer(compressedSize);
+            } catch (RuntimeException e) {
+                uncompressed.close();
+                throw e;
+            }
+            this.uncompressed = uncompressed;
+        }
+    }
+
+    /**
+     * Returns buffers for blocks of up to {@code blockSize} bytes, which must be released once the block is processed.
+     */
+    static ZstdBlockBuffers acquire(Zstd zstd, int blockSize) {
+        ZstdBlockBuffers buffers = null;
+        if (blockSize <= POOLED_BLOCK_SIZE) {
+            buffers = POOL.poll();
+            if (buffers == null) {
+                buffers = newPooledBuffers(zstd);
+            }
+        }
+        if (buffers == null) {
+            buffers = new ZstdBlockBuffers(zstd, blockSize, false);
+        } else {
+            assert buffers.inUse == false;
+            buffers.uncompressed.buffer().clear();
+            buffers.compressed.buffer().clear();
+        }
+        buffers.inUse = true;
+        return buffers;
+    }
+
+    /**
+     * Allocates new pooled buffers, or returns {@code null} if the pool already holds its maximum number of buffers.
+     */
+    private static ZstdBlockBuffers newPooledBuffers(Zstd zstd) {
+        int pooledBuffers;
+        do {
+            pooledBuffers = POOLED_BUFFERS.get();
+            if (pooledBuffers >= MAX_POOLED_BUFFERS) {
+                return null;
+            }
+        } while (POOLED_BUFFERS.compareAndSet(pooledBuffers, pooledBuffers + 1) == false);
+        try {
+            return new ZstdBlockBuffers(zstd, POOLED_BLOCK_SIZE, true);
+        } catch (RuntimeException e) {
+            POOLED_BUFFERS.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * The number of pooled buffers that were allocated, whether they are in use or not.
+     */
+    static int pooledBuffers() {
+        return POOLED_BUFFERS.get();
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * A buffer for the decompressed bytes of a block, which holds at least the block size.
+     */
+    CloseableByteBuffer uncompressed() {
+        assert inUse;
+        return uncompressed;
+    }
+
+    /**
+     * A buffer for the compressed bytes of a block, which holds at least the compress bound of the block size.
+     */
+    CloseableByteBuffer compressed() {
+        assert inUse;
+        return compressed;
+    }
+
+    @Override
+    public void close() {
+        assert inUse;
+        inUse = false;
+        if (pooled) {
+            POOL.offer(this);
+        } else {
+            try (compressed) {
+                uncompressed.close();
+            }
+        }
+    }
+}
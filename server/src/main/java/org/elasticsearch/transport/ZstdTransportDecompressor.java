@@ -0,0 +1,181 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.nativeaccess.CloseableByteBuffer;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Decompresses the blocks written by {@link ZstdTransportOutputStream}. Blocks are decompressed as soon as all of their bytes
+ * have been received, so that the decompressed pages of a large message can be consumed before the whole message arrived.
+ * Blocks are decompressed with pooled {@link ZstdBlockBuffers}.
+ */
+public class ZstdTransportDecompressor extends TransportDecompressor {
+
+    static final int MAX_BLOCK_SIZE = 1024 * 1024;
+
+    private enum State {
+        INIT_BLOCK,
+        DECOMPRESS_DATA,
+        CORRUPTED
+    }
+
+    private final Zstd zstd;
+    private State currentState = State.INIT_BLOCK;
+    private int compressedLength;
+    private int decompressedLength;
+
+    public ZstdTransportDecompressor(Recycler<BytesRef> recycler) {
+        super(recycler);
+        this.zstd = Compression.Scheme.zstd();
+        if (zstd == null) {
+            throw new IllegalStateException(
+                "cannot decompress zstd compressed transport message, the native zstd library is not available on this node"
+            );
+        }
+    }
+
+    @Override
+    public Compression.Scheme getScheme() {
+        return Compression.Scheme.ZSTD;
+    }
+
+    @Override
+    public int decompress(BytesReference bytesReference) throws IOException {
+        int bytesConsumed = 0;
+        if (hasSkippedHeader == false) {
+            hasSkippedHeader = true;
+            int esHeaderLength = Compression.Scheme.HEADER_LENGTH;
+            bytesReference = bytesReference.slice(esHeaderLength, bytesReference.length() - esHeaderLength);
+            bytesConsumed += esHeaderLength;
+        }
+
+        while (true) {
+            int consumed = decodeBlock(bytesReference);
+            bytesConsumed += consumed;
+            int newLength = bytesReference.length() - consumed;
+            if (consumed > 0 && newLength > 0) {
+                bytesReference = bytesReference.slice(consumed, newLength);
+            } else {
+                break;
+            }
+        }
+
+        return bytesConsumed;
+    }
+
+    private int decodeBlock(BytesReference reference) throws IOException {
+        try {
+            switch (currentState) {
+                case INIT_BLOCK:
+                    if (reference.length() < ZstdTransportOutputStream.BLOCK_HEADER_LENGTH) {
+                        return 0;
+                    }
+                    final int blockDecompressedLength = reference.getInt(0);
+                    final int blockCompressedLength = reference.getInt(Integer.BYTES);
+                    if (blockDecompressedLength <= 0 || blockDecompressedLength > MAX_BLOCK_SIZE) {
+                        throw new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "invalid decompressedLength: %d (expected: 1-%d)",
+                                blockDecompressedLength,
+                                MAX_BLOCK_SIZE
+                            )
+                        );
+                    }
+                    if (blockCompressedLength <= 0 || blockCompressedLength > blockDecompressedLength) {
+                        throw new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "stream corrupted: compressedLength(%d) and decompressedLength(%d) mismatch",
+                                blockCompressedLength,
+                                blockDecompressedLength
+                            )
+                        );
+                    }
+                    this.decompressedLength = blockDecompressedLength;
+                    this.compressedLength = blockCompressedLength;
+                    currentState = State.DECOMPRESS_DATA;
+                    return ZstdTransportOutputStream.BLOCK_HEADER_LENGTH;
+                case DECOMPRESS_DATA:
+                    if (reference.length() < compressedLength) {
+                        return 0;
+                    }
+                    if (compressedLength == decompressedLength) {
+                        // the block was stored as-is
+                        copyToPages(reference.slice(0, compressedLength));
+                    } else {
+                        decompressToPages(reference.slice(0, compressedLength));
+                    }
+                    currentState = State.INIT_BLOCK;
+                    return compressedLength;
+                case CORRUPTED:
+                    throw new IllegalStateException("Zstd stream corrupted.");
+                default:
+                    throw new IllegalStateException();
+            }
+        } catch (IOException | RuntimeException e) {
+            currentState = State.CORRUPTED;
+            throw e;
+        }
+    }
+
+    private void decompressToPages(BytesReference block) throws IOException {
+        try (ZstdBlockBuffers buffers = ZstdBlockBuffers.acquire(zstd, decompressedLength)) {
+            final CloseableByteBuffer src = buffers.compressed();
+            final CloseableByteBuffer dest = buffers.uncompressed();
+            final BytesRefIterator iterator = block.iterator();
+            BytesRef ref;
+            while ((ref = iterator.next()) != null) {
+                src.buffer().put(ref.bytes, ref.offset, ref.length);
+            }
+            src.buffer().flip();
+            dest.buffer().limit(decompressedLength);
+            final int decompressed = zstd.decompress(dest, src);
+            if (decompressed != decompressedLength) {
+                throw new IllegalStateException(
+                    String.format(Locale.ROOT, "expected %d decompressed bytes, got %d", decompressedLength, decompressed)
+                );
+            }
+            int offset = 0;
+            while (offset < decompressedLength) {
+                maybeAddNewPage();
+                final BytesRef page = pages.getLast().v();
+                final int toCopy = Math.min(decompressedLength - offset, pageLength - pageOffset);
+                dest.buffer().get(offset, page.bytes, page.offset + pageOffset, toCopy);
+                pageOffset += toCopy;
+                offset += toCopy;
+            }
+        }
+    }
+
+    private void copyToPages(BytesReference block) throws IOException {
+        final BytesRefIterator iterator = block.iterator();
+        BytesRef ref;
+        while ((ref = iterator.next()) != null) {
+            int offset = 0;
+            while (offset < ref.length) {
+                maybeAddNewPage();
+                final BytesRef page = pages.getLast().v();
+                final int toCopy = Math.min(ref.length - offset, pageLength - pageOffset);
+                System.arraycopy(ref.bytes, ref.offset + offset, page.bytes, page.offset + pageOffset, toCopy);
+                pageOffset += toCopy;
+                offset += toCopy;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.util.ByteUtils;
+import org.elasticsearch.nativeaccess.CloseableByteBuffer;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compresses a transport message into blocks of zstd compressed data. Each block starts with a header made of the
+ * decompressed length and the compressed length of the block, see {@link ZstdTransportDecompressor}. Blocks that don't
+ * compress are written as-is, which is signalled by a compressed length that is equal to the decompressed length.
+ *
+ * The native buffers are {@link ZstdBlockBuffers} that the stream holds until it is closed. Like the other transport compression
+ * streams, a single thread must write and close the stream.
+ */
+final class ZstdTransportOutputStream extends FilterOutputStream {
+
+    static final int BLOCK_HEADER_LENGTH = 2 * Integer.BYTES;
+
+    private static final ThreadLocal<byte[]> COPY_BUFFER = ThreadLocal.withInitial(() -> new byte[4096]);
+
+    private final Zstd zstd;
+    private final int level;
+    private final int blockSize;
+    private final ZstdBlockBuffers buffers;
+    private final CloseableByteBuffer uncompressed;
+    private final CloseableByteBuffer compressed;
+    private final byte[] copyBuffer;
+    private final byte[] header = new byte[BLOCK_HEADER_LENGTH];
+    private boolean closed;
+
+    ZstdTransportOutputStream(OutputStream out, Zstd zstd, int blockSize, int level) {
+        super(out);
+        this.zstd = zstd;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.copyBuffer = COPY_BUFFER.get();
+        this.buffers = ZstdBlockBuffers.acquire(zstd, blockSize);
+        this.uncompressed = buffers.uncompressed();
+        this.compressed = buffers.compressed();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (uncompressed.buffer().position() == blockSize) {
+            flushBlock();
+        }
+        uncompressed.buffer().put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (uncompressed.buffer().position() == blockSize) {
+                flushBlock();
+            }
+            final int toCopy = Math.min(len, blockSize - uncompressed.buffer().position());
+            uncompressed.buffer().put(b, off, toCopy);
+            off += toCopy;
+            len -= toCopy;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        flushBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBlock();
+            out.close();
+        } finally {
+            closed = true;
+            buffers.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        final int decompressedLength = uncompressed.buffer().position();
+        if (decompressedLength == 0) {
+            return;
+        }
+        uncompressed.buffer().flip();
+        final int compressedLength = zstd.compress(compressed, uncompressed, level);
+        final CloseableByteBuffer block;
+        final int blockLength;
+        if (compressedLength < decompressedLength) {
+            block = compressed;
+            blockLength = compressedLength;
+        } else {
+            // incompressible data, keep it as-is
+            block = uncompressed;
+            blockLength = decompressedLength;
+        }
+        ByteUtils.writeIntBE(decompressedLength, header, 0);
+        ByteUtils.writeIntBE(blockLength, header, Integer.BYTES);
+        out.write(header);
+        for (int written = 0; written < blockLength;) {
+            final int numBytes = Math.min(copyBuffer.length, blockLength - written);
+            block.buffer().get(written, copyBuffer, 0, numBytes);
+            out.write(copyBuffer, 0, numBytes);
+            written += numBytes;
+        }
+        uncompressed.buffer().clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("This stream is already closed");
+        }
+    }
+}
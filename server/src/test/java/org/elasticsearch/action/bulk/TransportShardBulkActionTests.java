@@ -30,7 +30,10 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.lucene.uid.Versions;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.util.concurrent.ThrottledTaskRunner;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.VersionType;
@@ -72,6 +75,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -269,6 +273,112 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         latch.await();
     }
 
+    public void testParseDocumentsAhead() throws Exception {
+        IndexShard shard = newStartedShard(true);
+
+        BulkItemRequest[] items = new BulkItemRequest[randomIntBetween(2, 10)];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<IndexRequest> writeRequest = new IndexRequest("index").id("id_" + i)
+                .source(Requests.INDEX_CONTENT_TYPE)
+                .opType(DocWriteRequest.OpType.INDEX);
+            items[i] = new BulkItemRequest(i, writeRequest);
+        }
+        BulkShardRequest bulkShardRequest = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+
+        // the direct executor parses all items but the first one before any item executes
+        final CountDownLatch latch = new CountDownLatch(1);
+        TransportShardBulkAction.performOnPrimary(
+            bulkShardRequest,
+            shard,
+            null,
+            threadPool::absoluteTimeInMillis,
+            new NoopMappingUpdatePerformer(),
+            (listener, mappingVersion) -> {},
+            ActionListener.runAfter(ActionTestUtils.assertNoFailureListener(result -> {
+                assertThat(result.replicationResponse.getResponses(), arrayWithSize(items.length));
+                for (BulkItemResponse response : result.replicationResponse.getResponses()) {
+                    assertFalse(response.isFailed());
+                }
+            }), latch::countDown),
+            EsExecutors.DIRECT_EXECUTOR_SERVICE,
+            null,
+            null,
+            DocumentParsingProvider.EMPTY_INSTANCE,
+            new ThrottledTaskRunner("test", randomIntBetween(1, 3), EsExecutors.DIRECT_EXECUTOR_SERVICE),
+            randomIntBetween(1, 3)
+        );
+        latch.await();
+
+        assertDocCount(shard, items.length);
+        assertThat(shard.indexingStats().getTotal().getParsedAheadCount(), equalTo((long) items.length - 1));
+        closeShards(shard);
+    }
+
+    public void testParseAheadStaysWithinLookAheadWindow() throws Exception {
+        IndexShard shard = newStartedShard(true);
+
+        final int threads = randomIntBetween(1, 3);
+        final int lookAheadItems = BulkPrimaryParseAhead.lookAheadItems(threads);
+        BulkItemRequest[] items = new BulkItemRequest[3 * lookAheadItems + randomIntBetween(2, 10)];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<IndexRequest> writeRequest = new IndexRequest("index").id("id_" + i)
+                .source(Requests.INDEX_CONTENT_TYPE)
+                .opType(DocWriteRequest.OpType.INDEX);
+            items[i] = new BulkItemRequest(i, writeRequest);
+        }
+        BulkShardRequest bulkShardRequest = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+
+        final DeterministicTaskQueue deterministicTaskQueue = new DeterministicTaskQueue();
+        final AtomicInteger runningTasks = new AtomicInteger();
+        final AtomicInteger maxRunningTasks = new AtomicInteger();
+        final ThrottledTaskRunner taskRunner = new ThrottledTaskRunner("test", threads, command -> {
+            // count the tasks that the runner hands to the executor
+            final int running = runningTasks.incrementAndGet();
+            maxRunningTasks.accumulateAndGet(running, Math::max);
+            deterministicTaskQueue.scheduleNow(() -> {
+                try {
+                    command.run();
+                } finally {
+                    runningTasks.decrementAndGet();
+                }
+            });
+        });
+
+        try (
+            BulkPrimaryParseAhead parseAhead = BulkPrimaryParseAhead.start(
+                bulkShardRequest,
+                shard,
+                DocumentParsingProvider.EMPTY_INSTANCE,
+                taskRunner,
+                threads
+            )
+        ) {
+            assertNotNull(parseAhead);
+            deterministicTaskQueue.runAllTasks();
+            // only the items within the window past the executing first item are parsed
+            int nextItem = lookAheadItems + 1;
+            assertNull(parseAhead.take(nextItem));
+            for (int i = 1; i < nextItem; i++) {
+                assertNotNull(parseAhead.take(i));
+            }
+
+            // executing an item moves the window forward
+            deterministicTaskQueue.runAllTasks();
+            for (int i = nextItem + 1; i <= nextItem + lookAheadItems; i++) {
+                assertNotNull(parseAhead.take(i));
+            }
+            nextItem += lookAheadItems + 1;
+            assertNull(parseAhead.take(nextItem));
+            deterministicTaskQueue.runAllTasks();
+            assertThat(maxRunningTasks.get(), lessThanOrEqualTo(threads));
+        }
+
+        // no more parsing once the request completed
+        deterministicTaskQueue.runAllTasks();
+        assertFalse(deterministicTaskQueue.hasRunnableTasks());
+        closeShards(shard);
+    }
+
     public void testExecuteBulkIndexRequestWithMappingUpdates() throws Exception {
 
         BulkItemRequest[] items = new BulkItemRequest[1];
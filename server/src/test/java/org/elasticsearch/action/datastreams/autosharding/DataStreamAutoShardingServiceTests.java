@@ -966,7 +966,12 @@ public class DataStreamAutoShardingServiceTests extends ESTestCase {
                 totalIndexingTimeSinceShardStartedInNanos,
                 totalActiveTimeInNanos,
                 recentIndexingLoad,
-                peakIndexingLoad
+                peakIndexingLoad,
+                0,
+                0,
+                0,
+                0,
+                0
             )
         );
     }
@@ -0,0 +1,74 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
+import org.elasticsearch.search.query.GlobalMinCompetitiveScore;
+import org.elasticsearch.search.rescore.QueryRescorerBuilder;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BottomScoreCollectorTests extends ESTestCase {
+    public void testConsumeTopDocs() {
+        GlobalMinCompetitiveScore bottomScore = new GlobalMinCompetitiveScore();
+        BottomScoreCollector collector = new BottomScoreCollector(3, bottomScore);
+        assertThat(collector.getBottomScore(), equalTo(Float.NEGATIVE_INFINITY));
+
+        assertTrue(collector.consumeTopDocs(createTopDocs(10f, 8f, 5f)));
+        assertThat(collector.getBottomScore(), equalTo(5f));
+        // ignore bottom if we have less top docs than the requested size
+        assertFalse(collector.consumeTopDocs(createTopDocs(20f, 18f)));
+        assertFalse(collector.consumeTopDocs(createTopDocs()));
+        // lower bottom scores don't lower the threshold
+        assertFalse(collector.consumeTopDocs(createTopDocs(10f, 8f, 2f)));
+        assertThat(collector.getBottomScore(), equalTo(5f));
+        assertTrue(collector.consumeTopDocs(createTopDocs(10f, 9f, 7f, 1f)));
+        assertThat(collector.getBottomScore(), equalTo(7f));
+        assertFalse(collector.consumeTopDocs(createTopDocs(10f, 9f, Float.NaN)));
+        assertThat(bottomScore.get(), equalTo(7f));
+    }
+
+    public void testCanTrackBottomScore() {
+        assertTrue(BottomScoreCollector.canTrackBottomScore(new SearchRequest()));
+        assertTrue(BottomScoreCollector.canTrackBottomScore(new SearchRequest().source(new SearchSourceBuilder().size(5))));
+        assertFalse(BottomScoreCollector.canTrackBottomScore(new SearchRequest().source(new SearchSourceBuilder().size(0))));
+        assertFalse(BottomScoreCollector.canTrackBottomScore(new SearchRequest().scroll(TimeValue.timeValueMinutes(1))));
+        assertFalse(BottomScoreCollector.canTrackBottomScore(new SearchRequest().source(new SearchSourceBuilder().sort("foo"))));
+        assertFalse(BottomScoreCollector.canTrackBottomScore(new SearchRequest().source(new SearchSourceBuilder().sort("_score"))));
+        assertFalse(
+            BottomScoreCollector.canTrackBottomScore(new SearchRequest().source(new SearchSourceBuilder().searchAfter(new Object[] { 1f })))
+        );
+        assertFalse(
+            BottomScoreCollector.canTrackBottomScore(
+                new SearchRequest().source(new SearchSourceBuilder().collapse(new CollapseBuilder("foo")))
+            )
+        );
+        assertFalse(
+            BottomScoreCollector.canTrackBottomScore(
+                new SearchRequest().source(new SearchSourceBuilder().addRescorer(new QueryRescorerBuilder(matchAllQuery())))
+            )
+        );
+    }
+
+    private static TopDocs createTopDocs(float... scores) {
+        ScoreDoc[] scoreDocs = new ScoreDoc[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            scoreDocs[i] = new ScoreDoc(i, scores[i]);
+        }
+        return new TopDocs(new TotalHits(scores.length, TotalHits.Relation.EQUAL_TO), scoreDocs);
+    }
+}
@@ -802,9 +802,15 @@ public class SearchAsyncActionTests extends ESTestCase {
     public static final class MockConnection implements Transport.Connection {
 
         private final DiscoveryNode node;
+        private final TransportVersion transportVersion;
 
         MockConnection(DiscoveryNode node) {
+            this(node, TransportVersion.current());
+        }
+
+        MockConnection(DiscoveryNode node, TransportVersion transportVersion) {
             this.node = node;
+            this.transportVersion = transportVersion;
         }
 
         @Override
@@ -814,7 +820,7 @@ public class SearchAsyncActionTests extends ESTestCase {
 
         @Override
         public TransportVersion getTransportVersion() {
-            return TransportVersion.current();
+            return transportVersion;
         }
 
         @Override
@@ -10,9 +10,12 @@
 package org.elasticsearch.action.search;
 
 import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
 import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.cluster.ClusterName;
@@ -24,6 +27,7 @@ import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.lucene.grouping.TopFieldGroups;
 import org.elasticsearch.search.DocValueFormat;
@@ -38,18 +42,25 @@ import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.InternalAggregationTestCase;
+import org.elasticsearch.test.TransportVersionUtils;
 import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportService;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.Mockito.mock;
@@ -68,6 +79,172 @@ public class SearchQueryThenFetchAsyncActionTests extends ESTestCase {
         testCase(false, true);
     }
 
+    public void testMinCompetitiveScore() throws Exception {
+        minCompetitiveScoreTestCase(true);
+    }
+
+    public void testMinCompetitiveScoreDisabled() throws Exception {
+        minCompetitiveScoreTestCase(false);
+    }
+
+    private void minCompetitiveScoreTestCase(boolean propagateMinCompetitiveScore) throws Exception {
+        final TransportSearchAction.SearchTimeProvider timeProvider = new TransportSearchAction.SearchTimeProvider(
+            0,
+            System.nanoTime(),
+            System::nanoTime
+        );
+
+        // five shards on a node that supports sharing the min competitive score, of which three are queried at a time, and one
+        // shard on a node that doesn't support it
+        DiscoveryNode node = DiscoveryNodeUtils.create("node1");
+        DiscoveryNode oldNode = DiscoveryNodeUtils.create("node2");
+        Map<String, Transport.Connection> lookup = Map.of(
+            "node1",
+            new SearchAsyncActionTests.MockConnection(node),
+            "node2",
+            new SearchAsyncActionTests.MockConnection(
+                oldNode,
+                TransportVersionUtils.getPreviousVersion(TransportVersions.SEARCH_MIN_COMPETITIVE_SCORE)
+            )
+        );
+        OriginalIndices originalIndices = new OriginalIndices(new String[] { "idx" }, SearchRequest.DEFAULT_INDICES_OPTIONS);
+        List<SearchShardIterator> shardsIter = new ArrayList<>(
+            SearchAsyncActionTests.getShardsIter("idx", originalIndices, 5, false, node, null)
+        );
+        shardsIter.addAll(SearchAsyncActionTests.getShardsIter("old_idx", originalIndices, 1, false, oldNode, null));
+
+        Map<ShardId, ActionListener<SearchPhaseResult>> inFlightQueries = new ConcurrentHashMap<>();
+        Map<ShardId, Float> sentMinCompetitiveScores = new ConcurrentHashMap<>();
+        List<Tuple<String, Float>> sharedMinCompetitiveScores = new CopyOnWriteArrayList<>();
+        var transportService = mock(TransportService.class);
+        when(transportService.getLocalNode()).thenReturn(node);
+        SearchTransportService searchTransportService = new SearchTransportService(transportService, null, null) {
+            @Override
+            public void sendExecuteQuery(
+                Transport.Connection connection,
+                ShardSearchRequest request,
+                SearchTask task,
+                ActionListener<SearchPhaseResult> listener
+            ) {
+                sentMinCompetitiveScores.put(request.shardId(), request.getMinCompetitiveScore());
+                inFlightQueries.put(request.shardId(), listener);
+            }
+
+            @Override
+            public void sendMinCompetitiveScore(Transport.Connection connection, MinCompetitiveScoreRequest request, SearchTask task) {
+                sharedMinCompetitiveScores.add(new Tuple<>(connection.getNode().getId(), request.minCompetitiveScore()));
+            }
+        };
+        final SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setMaxConcurrentShardRequests(3);
+        searchRequest.source(new SearchSourceBuilder().size(2));
+        searchRequest.allowPartialSearchResults(false);
+        SearchPhaseController controller = new SearchPhaseController((t, r) -> InternalAggregationTestCase.emptyReduceContextBuilder());
+        SearchTask task = new SearchTask(0, "n/a", "n/a", () -> "test", null, Collections.emptyMap());
+        CountDownLatch latch = new CountDownLatch(1);
+        try (
+            QueryPhaseResultConsumer resultConsumer = new QueryPhaseResultConsumer(
+                searchRequest,
+                EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                new NoopCircuitBreaker(CircuitBreaker.REQUEST),
+                controller,
+                task::isCancelled,
+                task.getProgressListener(),
+                shardsIter.size(),
+                exc -> {}
+            )
+        ) {
+            SearchQueryThenFetchAsyncAction action = new SearchQueryThenFetchAsyncAction(
+                logger,
+                null,
+                searchTransportService,
+                (clusterAlias, nodeId) -> lookup.get(nodeId),
+                Collections.singletonMap("_na_", AliasFilter.EMPTY),
+                Collections.emptyMap(),
+                EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                resultConsumer,
+                searchRequest,
+                null,
+                shardsIter,
+                timeProvider,
+                new ClusterState.Builder(new ClusterName("test")).build(),
+                task,
+                SearchResponse.Clusters.EMPTY,
+                null,
+                false,
+                propagateMinCompetitiveScore
+            ) {
+                @Override
+                protected SearchPhase getNextPhase() {
+                    return new SearchPhase("test") {
+                        @Override
+                        protected void run() {
+                            latch.countDown();
+                        }
+                    };
+                }
+            };
+            action.start();
+            assertThat(inFlightQueries.size(), equalTo(4));
+            assertThat(sentMinCompetitiveScores.values(), everyItem(equalTo(Float.NEGATIVE_INFINITY)));
+            List<ShardId> firstShards = inFlightQueries.keySet().stream().filter(shardId -> shardId.getIndexName().equals("idx")).toList();
+            assertThat(firstShards.size(), equalTo(3));
+
+            // complete a query on the first node while other queries are still running on both nodes
+            respondWithScores(inFlightQueries.remove(firstShards.get(0)), firstShards.get(0), 3f, 2f);
+            if (propagateMinCompetitiveScore) {
+                // the running queries on the first node are told about the new bottom score, the older node isn't
+                assertThat(sharedMinCompetitiveScores, contains(new Tuple<>("node1", 2f)));
+            } else {
+                assertThat(sharedMinCompetitiveScores, empty());
+            }
+
+            // the shard requests that are sent from now on carry the bottom score
+            Set<ShardId> sentShards = Set.copyOf(sentMinCompetitiveScores.keySet());
+            respondWithScores(inFlightQueries.remove(firstShards.get(1)), firstShards.get(1), 1f);
+            ShardId lastShard = sentMinCompetitiveScores.keySet()
+                .stream()
+                .filter(shardId -> sentShards.contains(shardId) == false)
+                .findFirst()
+                .orElseThrow();
+            assertThat(sentMinCompetitiveScores.get(lastShard), equalTo(propagateMinCompetitiveScore ? 2f : Float.NEGATIVE_INFINITY));
+            assertThat(sharedMinCompetitiveScores.size(), equalTo(propagateMinCompetitiveScore ? 1 : 0));
+
+            for (ShardId shardId : List.copyOf(inFlightQueries.keySet())) {
+                respondWithScores(inFlightQueries.remove(shardId), shardId, 1f);
+            }
+            latch.await();
+            SearchPhaseController.ReducedQueryPhase phase = action.results.reduce();
+            assertThat(phase.sortedTopDocs().scoreDocs().length, equalTo(2));
+            assertThat(phase.sortedTopDocs().scoreDocs()[0].score, equalTo(3f));
+            assertThat(phase.sortedTopDocs().scoreDocs()[1].score, equalTo(2f));
+        }
+    }
+
+    private static void respondWithScores(ActionListener<SearchPhaseResult> listener, ShardId shardId, float... scores) {
+        QuerySearchResult queryResult = new QuerySearchResult(
+            new ShardSearchContextId("N/A", 123),
+            new SearchShardTarget("node1", shardId, null),
+            null
+        );
+        try {
+            ScoreDoc[] scoreDocs = new ScoreDoc[scores.length];
+            for (int i = 0; i < scores.length; i++) {
+                scoreDocs[i] = new ScoreDoc(i, scores[i]);
+            }
+            queryResult.topDocs(
+                new TopDocsAndMaxScore(new TopDocs(new TotalHits(scores.length, TotalHits.Relation.EQUAL_TO), scoreDocs), scores[0]),
+                null
+            );
+            queryResult.from(0);
+            queryResult.size(2);
+            queryResult.incRef();
+            ActionListener.respondAndRelease(listener, queryResult);
+        } finally {
+            queryResult.decRef();
+        }
+    }
+
     private void testCase(boolean withScroll, boolean withCollapse) throws Exception {
         final TransportSearchAction.SearchTimeProvider timeProvider = new TransportSearchAction.SearchTimeProvider(
             0,
@@ -207,6 +384,7 @@ public class SearchQueryThenFetchAsyncActionTests extends ESTestCase {
                 task,
                 SearchResponse.Clusters.EMPTY,
                 null,
+                false,
                 false
             ) {
                 @Override
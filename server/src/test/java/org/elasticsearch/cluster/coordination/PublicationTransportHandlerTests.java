@@ -19,6 +19,7 @@ import org.elasticsearch.cluster.ClusterStatePublicationEvent;
 import org.elasticsearch.cluster.Diff;
 import org.elasticsearch.cluster.IncompatibleClusterStateVersionException;
 import org.elasticsearch.cluster.coordination.CoordinationMetadata.VotingConfiguration;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
@@ -37,7 +38,9 @@ import org.elasticsearch.common.util.MockPageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexVersions;
+import org.elasticsearch.node.NodeRoleSettings;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.ESTestCase;
@@ -68,6 +71,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyMap;
 import static org.elasticsearch.cluster.service.MasterService.STATE_UPDATE_ACTION_NAME;
@@ -91,7 +95,12 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         when(transportService.getConnection(any())).thenReturn(connection);
         when(transportService.getThreadPool()).thenReturn(mock(ThreadPool.class));
 
-        final PublicationTransportHandler handler = new PublicationTransportHandler(transportService, writableRegistry(), pu -> null);
+        final PublicationTransportHandler handler = new PublicationTransportHandler(
+            Settings.EMPTY,
+            transportService,
+            writableRegistry(),
+            pu -> null
+        );
 
         final DiscoveryNode otherNode = DiscoveryNodeUtils.create("otherNode");
         final ClusterState clusterState = CoordinationStateTests.clusterState(
@@ -220,7 +229,12 @@ public class PublicationTransportHandlerTests extends ESTestCase {
                 new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
                 Collections.emptySet()
             );
-            final PublicationTransportHandler handler = new PublicationTransportHandler(transportService, writableRegistry(), pu -> null);
+            final PublicationTransportHandler handler = new PublicationTransportHandler(
+                Settings.EMPTY,
+                transportService,
+                writableRegistry(),
+                pu -> null
+            );
             transportService.start();
             transportService.acceptIncomingRequests();
 
@@ -410,6 +424,7 @@ public class PublicationTransportHandlerTests extends ESTestCase {
             transportServicesByNode.put(discoveryNode, transportService);
 
             final var publicationTransportHandler = new PublicationTransportHandler(
+                Settings.EMPTY,
                 transportService,
                 writableRegistry(),
                 publishRequest -> {
@@ -520,4 +535,302 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         assertFalse(deterministicTaskQueue.hasRunnableTasks());
         assertFalse(deterministicTaskQueue.hasDeferredTasks());
     }
+
+    public void testSendsDiffChainToNodeThatMissedPublications() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var localNode = DiscoveryNodeUtils.create("localNode");
+        final var otherNode = DiscoveryNodeUtils.create("otherNode");
+        final var receivedStateRef = new AtomicReference<ClusterState>();
+        final var transportHandlersByNode = createConnectedPublicationHandlers(
+            deterministicTaskQueue,
+            receivedStateRef,
+            localNode,
+            otherNode
+        );
+
+        final var publisher = transportHandlersByNode.get(localNode);
+        final var states = new ArrayList<ClusterState>();
+        states.add(
+            ClusterState.builder(ClusterState.EMPTY_STATE)
+                .nodes(
+                    DiscoveryNodes.builder().add(localNode).add(otherNode).localNodeId(localNode.getId()).masterNodeId(localNode.getId())
+                )
+                .build()
+        );
+        final int missedPublications = between(1, 5);
+        for (int i = 0; i <= missedPublications + 1; i++) {
+            states.add(ClusterState.builder(states.getLast()).incrementVersion().build());
+        }
+
+        for (int i = 1; i < states.size(); i++) {
+            // the other node misses all the publications in between
+            final boolean sendToOtherNode = i == 1 || i == states.size() - 1;
+            final var destination = sendToOtherNode ? otherNode : null;
+            publish(deterministicTaskQueue, publisher, states.get(i - 1), states.get(i), destination, receivedStateRef);
+        }
+
+        final var receivedStateStats = transportHandlersByNode.get(otherNode).stats();
+        // the first state was sent as a full state after its diff failed to apply, the last one as a chain of diffs
+        assertEquals(1, receivedStateStats.getFullClusterStateReceivedCount());
+        assertEquals(1, receivedStateStats.getIncompatibleClusterStateDiffReceivedCount());
+        assertEquals(1, receivedStateStats.getCompatibleClusterStateDiffReceivedCount());
+
+        assertFalse(deterministicTaskQueue.hasRunnableTasks());
+        assertFalse(deterministicTaskQueue.hasDeferredTasks());
+    }
+
+    public void testSendsDiffsAfterFullState() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var localNode = DiscoveryNodeUtils.create("localNode");
+        final var otherNode = DiscoveryNodeUtils.create("otherNode");
+        final var receivedStateRef = new AtomicReference<ClusterState>();
+        final var transportHandlersByNode = createConnectedPublicationHandlers(
+            deterministicTaskQueue,
+            receivedStateRef,
+            localNode,
+            otherNode
+        );
+        final var publisher = transportHandlersByNode.get(localNode);
+        final var receiver = transportHandlersByNode.get(otherNode);
+
+        final var masterOnlyState = ClusterState.builder(ClusterState.EMPTY_STATE)
+            .nodes(DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId()).masterNodeId(localNode.getId()))
+            .build();
+        // the other node joins the cluster so it gets the full state, and then the diffs from the state it accepted
+        final var joinedState = ClusterState.builder(masterOnlyState)
+            .nodes(DiscoveryNodes.builder(masterOnlyState.nodes()).add(otherNode))
+            .incrementVersion()
+            .build();
+        final var firstDiffState = ClusterState.builder(joinedState).incrementVersion().build();
+        final var secondDiffState = ClusterState.builder(firstDiffState).incrementVersion().build();
+
+        publish(deterministicTaskQueue, publisher, masterOnlyState, joinedState, otherNode, receivedStateRef);
+        assertEquals(1, receiver.stats().getFullClusterStateReceivedCount());
+        assertEquals(0, receiver.stats().getCompatibleClusterStateDiffReceivedCount());
+
+        publish(deterministicTaskQueue, publisher, joinedState, firstDiffState, otherNode, receivedStateRef);
+        publish(deterministicTaskQueue, publisher, firstDiffState, secondDiffState, otherNode, receivedStateRef);
+        assertEquals(1, receiver.stats().getFullClusterStateReceivedCount());
+        assertEquals(0, receiver.stats().getIncompatibleClusterStateDiffReceivedCount());
+        assertEquals(2, receiver.stats().getCompatibleClusterStateDiffReceivedCount());
+
+        // once the master forgot its publications it sends the diff from the previous state to a node that missed a publication, which
+        // then needs the full state
+        final var missedState = ClusterState.builder(secondDiffState).incrementVersion().build();
+        final var lastState = ClusterState.builder(missedState).incrementVersion().build();
+        publish(deterministicTaskQueue, publisher, secondDiffState, missedState, null, receivedStateRef);
+        publisher.clearPublicationHistory();
+        publish(deterministicTaskQueue, publisher, missedState, lastState, otherNode, receivedStateRef);
+        assertEquals(2, receiver.stats().getFullClusterStateReceivedCount());
+        assertEquals(1, receiver.stats().getIncompatibleClusterStateDiffReceivedCount());
+        assertEquals(2, receiver.stats().getCompatibleClusterStateDiffReceivedCount());
+
+        assertFalse(deterministicTaskQueue.hasRunnableTasks());
+        assertFalse(deterministicTaskQueue.hasDeferredTasks());
+    }
+
+    public void testCompressesIndexSettingsOfReceivedStatesOnNonMasterNodes() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var localNode = DiscoveryNodeUtils.create("localNode");
+        final var dataNode = DiscoveryNodeUtils.builder("dataNode").roles(Set.of(DiscoveryNodeRole.DATA_ROLE)).build();
+        final var otherDataNode = DiscoveryNodeUtils.builder("otherDataNode").roles(Set.of(DiscoveryNodeRole.DATA_ROLE)).build();
+        final var masterNode = DiscoveryNodeUtils.create("masterNode");
+        final var receivedStateRef = new AtomicReference<ClusterState>();
+        final var transportHandlersByNode = createConnectedPublicationHandlers(deterministicTaskQueue, receivedStateRef, node -> {
+            final var settings = Settings.builder()
+                .putList(NodeRoleSettings.NODE_ROLES_SETTING.getKey(), node.getRoles().stream().map(DiscoveryNodeRole::roleName).toList());
+            // only the other data node does not enable lazy index settings
+            if (node.equals(otherDataNode) == false) {
+                settings.put(PublicationTransportHandler.LAZY_INDEX_SETTINGS_SETTING.getKey(), true);
+            }
+            return settings.build();
+        }, localNode, dataNode, otherDataNode, masterNode);
+        final var publisher = transportHandlersByNode.get(localNode);
+
+        final var firstIndex = IndexMetadata.builder("first").settings(indexSettings(IndexVersion.current(), 1, 0)).build();
+        final var secondIndex = IndexMetadata.builder("second").settings(indexSettings(IndexVersion.current(), 1, 0)).build();
+        final var emptyState = ClusterState.builder(ClusterState.EMPTY_STATE)
+            .nodes(DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId()).masterNodeId(localNode.getId()))
+            .build();
+        final var initialState = ClusterState.builder(emptyState)
+            .nodes(DiscoveryNodes.builder(emptyState.nodes()).add(dataNode).add(otherDataNode).add(masterNode))
+            .metadata(Metadata.builder(emptyState.metadata()).put(firstIndex, false).put(secondIndex, false))
+            .incrementVersion()
+            .build();
+
+        // a full state received by a non-master node with lazy index settings has its index settings compressed
+        final var receivedFullState = publish(deterministicTaskQueue, publisher, emptyState, initialState, dataNode, receivedStateRef);
+        for (final var indexMetadata : List.of(firstIndex, secondIndex)) {
+            final var receivedIndexMetadata = receivedFullState.metadata().getProject().index(indexMetadata.getIndex());
+            assertTrue(receivedIndexMetadata.hasCompressedSettings());
+            assertFalse(receivedIndexMetadata.isSettingsMaterialized());
+            assertEquals(indexMetadata, receivedIndexMetadata);
+        }
+
+        // a master-eligible node or a node without lazy index settings keeps them as they are
+        for (final var node : List.of(masterNode, otherDataNode)) {
+            final var receivedState = publish(deterministicTaskQueue, publisher, emptyState, initialState, node, receivedStateRef);
+            for (final var indexMetadata : List.of(firstIndex, secondIndex)) {
+                assertFalse(receivedState.metadata().getProject().index(indexMetadata.getIndex()).hasCompressedSettings());
+            }
+        }
+
+        // on a diff the unchanged index keeps its compressed settings and the updated one gets compressed again
+        final var updatedSecondIndex = IndexMetadata.builder(secondIndex)
+            .settings(Settings.builder().put(secondIndex.getSettings()).put(IndexMetadata.LIFECYCLE_NAME, "policy"))
+            .settingsVersion(secondIndex.getSettingsVersion() + 1)
+            .build();
+        final var updatedState = ClusterState.builder(initialState)
+            .metadata(Metadata.builder(initialState.metadata()).put(updatedSecondIndex, true))
+            .incrementVersion()
+            .build();
+        final var receivedDiffState = publish(deterministicTaskQueue, publisher, initialState, updatedState, dataNode, receivedStateRef);
+        assertEquals(1, transportHandlersByNode.get(dataNode).stats().getCompatibleClusterStateDiffReceivedCount());
+        assertSame(
+            receivedFullState.metadata().getProject().index(firstIndex.getIndex()),
+            receivedDiffState.metadata().getProject().index(firstIndex.getIndex())
+        );
+        final var receivedSecondIndex = receivedDiffState.metadata().getProject().index(secondIndex.getIndex());
+        assertTrue(receivedSecondIndex.hasCompressedSettings());
+        assertFalse(receivedSecondIndex.isSettingsMaterialized());
+        assertEquals(updatedSecondIndex, receivedSecondIndex);
+        assertEquals("policy", receivedSecondIndex.getLifecyclePolicyName());
+
+        assertFalse(deterministicTaskQueue.hasRunnableTasks());
+        assertFalse(deterministicTaskQueue.hasDeferredTasks());
+    }
+
+    /**
+     * Publishes {@code newState} and, if {@code destination} is not {@code null}, sends it to the destination and checks that the
+     * destination accepted it.
+     *
+     * @return the state accepted by the destination, or {@code null} if there is no destination
+     */
+    @Nullable
+    private static ClusterState publish(
+        DeterministicTaskQueue deterministicTaskQueue,
+        PublicationTransportHandler publisher,
+        ClusterState previousState,
+        ClusterState newState,
+        @Nullable DiscoveryNode destination,
+        AtomicReference<ClusterState> receivedStateRef
+    ) {
+        final var context = publisher.newPublicationContext(
+            new ClusterStatePublicationEvent(
+                new BatchSummary(() -> "test"),
+                previousState,
+                newState,
+                new Task(randomNonNegativeLong(), "test", "test", "", TaskId.EMPTY_TASK_ID, Map.of()),
+                0L,
+                0L
+            )
+        );
+        try {
+            if (destination == null) {
+                return null;
+            } else {
+                final var completed = new AtomicBoolean();
+                context.sendPublishRequest(
+                    destination,
+                    new PublishRequest(newState),
+                    ActionListener.running(() -> assertTrue(completed.compareAndSet(false, true)))
+                );
+                deterministicTaskQueue.runAllRunnableTasks();
+                assertTrue(completed.get());
+                final var receivedState = receivedStateRef.getAndSet(null);
+                assertEquals(newState.stateUUID(), receivedState.stateUUID());
+                return receivedState;
+            }
+        } finally {
+            context.decRef();
+        }
+    }
+
+    /**
+     * Creates a {@link PublicationTransportHandler} for each of the given nodes, which send their publish requests to each other and
+     * put the states they accept into {@code receivedStateRef}. The thread context of the returned handlers is a system context.
+     */
+    private Map<DiscoveryNode, PublicationTransportHandler> createConnectedPublicationHandlers(
+        DeterministicTaskQueue deterministicTaskQueue,
+        AtomicReference<ClusterState> receivedStateRef,
+        DiscoveryNode... nodes
+    ) {
+        return createConnectedPublicationHandlers(deterministicTaskQueue, receivedStateRef, node -> Settings.EMPTY, nodes);
+    }
+
+    /**
+     * Like {@link #createConnectedPublicationHandlers(DeterministicTaskQueue, AtomicReference, DiscoveryNode...)} but with the node
+     * settings of each handler given by {@code nodeSettings}.
+     */
+    private Map<DiscoveryNode, PublicationTransportHandler> createConnectedPublicationHandlers(
+        DeterministicTaskQueue deterministicTaskQueue,
+        AtomicReference<ClusterState> receivedStateRef,
+        Function<DiscoveryNode, Settings> nodeSettings,
+        DiscoveryNode... nodes
+    ) {
+        final var threadPool = deterministicTaskQueue.getThreadPool();
+        final var transportsByNode = new HashMap<DiscoveryNode, MockTransport>();
+        final var transportHandlersByNode = new HashMap<DiscoveryNode, PublicationTransportHandler>();
+        final var transportServicesByNode = new HashMap<DiscoveryNode, TransportService>();
+
+        for (final var discoveryNode : nodes) {
+            final var transport = new MockTransport() {
+                @Override
+                protected void onSendRequest(long requestId, String action, TransportRequest request, DiscoveryNode node) {
+                    @SuppressWarnings("unchecked")
+                    final var context = (ResponseContext<TransportResponse>) getResponseHandlers().remove(requestId);
+                    try {
+                        transportsByNode.get(node)
+                            .getRequestHandlers()
+                            .getHandler(action)
+                            .getHandler()
+                            .messageReceived(request, new TestTransportChannel(new ActionListener<>() {
+                                @Override
+                                public void onResponse(TransportResponse transportResponse) {
+                                    context.handler().handleResponse(transportResponse);
+                                }
+
+                                @Override
+                                public void onFailure(Exception e) {
+                                    fail(e);
+                                }
+                            }), new Task(randomNonNegativeLong(), "test", "test", "", TaskId.EMPTY_TASK_ID, Map.of()));
+                    } catch (IncompatibleClusterStateVersionException e) {
+                        context.handler().handleException(new RemoteTransportException("wrapped", e));
+                    } catch (Exception e) {
+                        fail(e);
+                    }
+                }
+            };
+            transportsByNode.put(discoveryNode, transport);
+
+            final var transportService = transport.createTransportService(
+                Settings.EMPTY,
+                threadPool,
+                TransportService.NOOP_TRANSPORT_INTERCEPTOR,
+                ignored -> discoveryNode,
+                null,
+                Set.of()
+            );
+            transportServicesByNode.put(discoveryNode, transportService);
+            transportHandlersByNode.put(
+                discoveryNode,
+                new PublicationTransportHandler(nodeSettings.apply(discoveryNode), transportService, writableRegistry(), publishRequest -> {
+                    assertTrue(receivedStateRef.compareAndSet(null, publishRequest.getAcceptedState()));
+                    return new PublishWithJoinResponse(
+                        new PublishResponse(publishRequest.getAcceptedState().term(), publishRequest.getAcceptedState().version()),
+                        Optional.empty()
+                    );
+                })
+            );
+        }
+
+        for (final var transportService : transportServicesByNode.values()) {
+            transportService.start();
+            transportService.acceptIncomingRequests();
+        }
+
+        threadPool.getThreadContext().markAsSystemContext();
+        return transportHandlersByNode;
+    }
 }
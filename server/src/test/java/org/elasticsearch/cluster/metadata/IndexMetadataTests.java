@@ -61,6 +61,7 @@ import static org.elasticsearch.index.IndexModule.INDEX_STORE_TYPE_SETTING;
 import static org.elasticsearch.snapshots.SearchableSnapshotsSettings.SNAPSHOT_PARTIAL_SETTING;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -559,6 +560,54 @@ public class IndexMetadataTests extends ESTestCase {
         assertTrue(indexMetadata.isHidden()); // preserved if settings unchanged
     }
 
+    public void testWithCompressedSettings() throws IOException {
+        final Settings settings = indexSettings(IndexVersion.current(), randomIntBetween(1, 8), randomIntBetween(0, 2))
+            .put(INDEX_HIDDEN_SETTING.getKey(), randomBoolean())
+            .put(IndexMetadata.LIFECYCLE_NAME, randomAlphaOfLength(10))
+            .put(IndexMetadata.INDEX_DOWNSAMPLE_INTERVAL_KEY, randomFrom("1m", "1h", "1d"))
+            .build();
+        final IndexMetadata indexMetadata = IndexMetadata.builder("test").settings(settings).build();
+        assertFalse(indexMetadata.hasCompressedSettings());
+        assertTrue(indexMetadata.isSettingsMaterialized());
+
+        final IndexMetadata compressed = indexMetadata.withCompressedSettings();
+        assertTrue(compressed.hasCompressedSettings());
+        assertFalse(compressed.isSettingsMaterialized());
+        assertThat(compressed.getCompressedSettingsSizeInBytes(), greaterThan(0L));
+        assertSame(compressed, compressed.withCompressedSettings());
+
+        // values derived from the settings, serialization and equality do not decompress the settings for good
+        assertEquals(indexMetadata.getNumberOfShards(), compressed.getNumberOfShards());
+        assertEquals(indexMetadata.isHidden(), compressed.isHidden());
+        assertEquals(indexMetadata.getLifecyclePolicyName(), compressed.getLifecyclePolicyName());
+        assertEquals(indexMetadata, compressed);
+        assertEquals(indexMetadata.hashCode(), compressed.hashCode());
+        final IndexMetadata otherCompressed = IndexMetadata.builder(indexMetadata).build().withCompressedSettings();
+        assertEquals(compressed, otherCompressed);
+        assertEquals(compressed.hashCode(), otherCompressed.hashCode());
+        assertFalse(otherCompressed.isSettingsMaterialized());
+        final IndexMetadata otherSettings = IndexMetadata.builder(indexMetadata)
+            .settings(Settings.builder().put(settings).put(IndexMetadata.LIFECYCLE_NAME, randomAlphaOfLength(11)))
+            .build()
+            .withCompressedSettings();
+        assertNotEquals(compressed, otherSettings);
+        assertFalse(otherSettings.isSettingsMaterialized());
+        final BytesStreamOutput out = new BytesStreamOutput();
+        compressed.writeTo(out);
+        assertEquals(indexMetadata, IndexMetadata.readFrom(out.bytes().streamInput()));
+        assertFalse(compressed.isSettingsMaterialized());
+
+        assertEquals(settings.get(IndexMetadata.INDEX_DOWNSAMPLE_INTERVAL_KEY), compressed.getDownsamplingInterval());
+        assertEquals(settings, compressed.getSettings());
+        assertTrue(compressed.isSettingsMaterialized());
+        assertSame(compressed.getSettings(), compressed.getSettings());
+
+        // copies keep the compressed form
+        final IndexMetadata copy = IndexMetadata.builder(compressed).build().withCompressedSettings().withIncrementedPrimaryTerm(0);
+        assertTrue(copy.hasCompressedSettings());
+        assertFalse(copy.isSettingsMaterialized());
+    }
+
     public void testGetTierPreference() {
         final Settings indexSettings = indexSettingsWithDataTier("data_warm,data_cold");
         final IndexMetadata indexMetadata = IndexMetadata.builder("myindex").settings(indexSettings).build();
@@ -137,6 +137,54 @@ public class RoutingNodeTests extends ESTestCase {
         assertThat(routingNode.numberOfOwningShardsForIndex(new Index("test3", IndexMetadata.INDEX_UUID_NA_VALUE)), equalTo(0));
     }
 
+    public void testNumberOfOwningShardsForIndexAfterUpdate() {
+        final Index index = new Index("test", IndexMetadata.INDEX_UUID_NA_VALUE);
+        assertThat(routingNode.numberOfOwningShardsForIndex(index), equalTo(2));
+
+        // the relocation completes elsewhere, so the relocating shard is removed
+        routingNode.remove(relocatingShard0);
+        assertThat(routingNode.numberOfOwningShardsForIndex(index), equalTo(2));
+
+        // a started shard starts relocating away
+        routingNode.update(
+            unassignedShard0,
+            TestShardRouting.newShardRouting("test", 0, "node-1", "node-2", false, ShardRoutingState.RELOCATING)
+        );
+        assertThat(routingNode.numberOfOwningShardsForIndex(index), equalTo(1));
+    }
+
+    public void testNumberOfPrimariesInInitialRecovery() {
+        assertThat(routingNode.numberOfPrimariesInInitialRecovery(), equalTo(0));
+
+        final ShardRouting initializingPrimary = TestShardRouting.newShardRouting(
+            "test",
+            3,
+            "node-1",
+            true,
+            ShardRoutingState.INITIALIZING
+        );
+        routingNode.add(initializingPrimary);
+        assertThat(routingNode.numberOfPrimariesInInitialRecovery(), equalTo(1));
+
+        // a primary relocating to this node is not recovering from its store
+        final ShardRouting relocatingPrimary = TestShardRouting.newShardRouting(
+            "test",
+            4,
+            "node-2",
+            "node-1",
+            true,
+            ShardRoutingState.RELOCATING
+        ).getTargetRelocatingShard();
+        routingNode.add(relocatingPrimary);
+        assertThat(routingNode.numberOfPrimariesInInitialRecovery(), equalTo(1));
+
+        routingNode.update(initializingPrimary, initializingPrimary.moveToStarted(ShardRouting.UNAVAILABLE_EXPECTED_SHARD_SIZE));
+        assertThat(routingNode.numberOfPrimariesInInitialRecovery(), equalTo(0));
+
+        routingNode.remove(relocatingPrimary);
+        assertThat(routingNode.numberOfPrimariesInInitialRecovery(), equalTo(0));
+    }
+
     public void testReturnStartedShards() {
         assertThat(startedShardsSet(routingNode), equalTo(Set.of(ShardId.fromString("[test][0]"))));
 
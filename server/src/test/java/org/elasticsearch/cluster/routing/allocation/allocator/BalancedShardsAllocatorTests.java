@@ -44,6 +44,7 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.Tuple;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
@@ -456,6 +457,41 @@ public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
         }
     }
 
+    public void testSimulatedRebalanceScopeRestrictsRebalancing() {
+        var metadataBuilder = Metadata.builder();
+        var routingTableBuilder = RoutingTable.builder();
+        addIndex(metadataBuilder, routingTableBuilder, "in-scope", Map.of("node-0", 4));
+        addIndex(metadataBuilder, routingTableBuilder, "out-of-scope", Map.of("node-0", 4));
+        var clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(DiscoveryNodes.builder().add(newNode("node-0")).add(newNode("node-1")))
+            .metadata(metadataBuilder)
+            .routingTable(routingTableBuilder)
+            .build();
+        var inScope = clusterState.metadata().getProject().index("in-scope").getIndex();
+
+        // without a scope the shards of both indices are spread over both nodes
+        assertThat(getRelocatingIndices(clusterState, null), equalTo(Set.of("in-scope", "out-of-scope")));
+        // with a scope only the shards of the indices in scope move
+        assertThat(getRelocatingIndices(clusterState, Set.of(inScope)), equalTo(Set.of("in-scope")));
+        assertThat(getRelocatingIndices(clusterState, Set.of()), equalTo(Set.of()));
+    }
+
+    private static Set<String> getRelocatingIndices(ClusterState clusterState, Set<Index> rebalanceScope) {
+        var allocation = new RoutingAllocation(
+            new AllocationDeciders(List.of()),
+            clusterState,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            0L
+        ).mutableCloneForSimulation();
+        allocation.setSimulatedRebalanceScope(rebalanceScope);
+        new BalancedShardsAllocator(Settings.EMPTY).allocate(allocation);
+        return RoutingNodesHelper.shardsWithState(allocation.routingNodes(), RELOCATING)
+            .stream()
+            .map(ShardRouting::getIndexName)
+            .collect(toSet());
+    }
+
     public void testGetIndexDiskUsageInBytes() {
         {
             final var indexDiskUsageInBytes = getIndexDiskUsageInBytes(
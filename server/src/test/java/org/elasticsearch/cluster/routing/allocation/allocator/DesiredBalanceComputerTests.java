@@ -51,6 +51,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.repositories.IndexId;
@@ -95,6 +96,7 @@ import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 public class DesiredBalanceComputerTests extends ESAllocationTestCase {
 
@@ -552,6 +554,95 @@ public class DesiredBalanceComputerTests extends ESAllocationTestCase {
         assertDesiredAssignments(desiredBalance, Map.of());
     }
 
+    public void testIncrementalComputationOnlyRebalancesAffectedIndices() {
+        final var rebalanceScopes = new ArrayList<Set<Index>>();
+        var desiredBalanceComputer = createDesiredBalanceComputer(
+            createBuiltInClusterSettings(
+                Settings.builder().put(DesiredBalanceComputer.INCREMENTAL_COMPUTATION_ENABLED_SETTING.getKey(), true).build()
+            ),
+            allocation -> rebalanceScopes.add(allocation.simulatedRebalanceScope())
+        );
+        var clusterState = createInitialClusterState(3);
+
+        // the first computation rebalances the whole cluster
+        var desiredBalance1 = desiredBalanceComputer.compute(
+            DesiredBalance.BECOME_MASTER_INITIAL,
+            createInput(clusterState),
+            queue(),
+            input -> true
+        );
+        assertThat(rebalanceScopes, everyItem(nullValue()));
+
+        // creating an index only rebalances the new index
+        var newIndexMetadata = IndexMetadata.builder("new-index").settings(indexSettings(IndexVersion.current(), 1, 1)).build();
+        clusterState = ClusterState.builder(clusterState)
+            .metadata(Metadata.builder(clusterState.metadata()).put(newIndexMetadata, true))
+            .routingTable(
+                RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY, clusterState.routingTable())
+                    .addAsNew(newIndexMetadata)
+            )
+            .build();
+        rebalanceScopes.clear();
+        var desiredBalance2 = desiredBalanceComputer.compute(desiredBalance1, createInput(clusterState), queue(), input -> true);
+        assertThat(rebalanceScopes, everyItem(equalTo(Set.of(newIndexMetadata.getIndex()))));
+        assertDesiredAssignments(
+            desiredBalance2,
+            Map.of(
+                findShardId(clusterState, TEST_INDEX),
+                new ShardAssignment(Set.of("node-0", "node-1"), 2, 0, 0),
+                new ShardId(clusterState.metadata().getProject().index(TEST_INDEX).getIndex(), 1),
+                new ShardAssignment(Set.of("node-0", "node-1"), 2, 0, 0),
+                findShardId(clusterState, "new-index"),
+                new ShardAssignment(Set.of("node-0", "node-1"), 2, 0, 0)
+            )
+        );
+
+        // a balance that was not computed by the previous computation (e.g. after a reset) is rebalanced in full
+        rebalanceScopes.clear();
+        var desiredBalance3 = desiredBalanceComputer.compute(
+            new DesiredBalance(desiredBalance2.lastConvergedIndex(), Map.of()),
+            createInput(clusterState),
+            queue(),
+            input -> true
+        );
+        assertThat(rebalanceScopes, everyItem(nullValue()));
+
+        // without any changes nothing needs to be rebalanced
+        rebalanceScopes.clear();
+        var desiredBalance4 = desiredBalanceComputer.compute(desiredBalance3, createInput(clusterState), queue(), input -> true);
+        assertThat(rebalanceScopes, everyItem(equalTo(Set.<Index>of())));
+        assertThat(desiredBalance4.assignments(), equalTo(desiredBalance3.assignments()));
+
+        // removing an index leaves room on its nodes that shards of any index may take, so the whole cluster is rebalanced
+        clusterState = ClusterState.builder(clusterState)
+            .metadata(Metadata.builder(clusterState.metadata()).remove("new-index"))
+            .routingTable(
+                RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY, clusterState.routingTable()).remove("new-index")
+            )
+            .build();
+        rebalanceScopes.clear();
+        var desiredBalance5 = desiredBalanceComputer.compute(desiredBalance4, createInput(clusterState), queue(), input -> true);
+        assertThat(rebalanceScopes, everyItem(nullValue()));
+        assertThat(
+            desiredBalance5.assignments().keySet().stream().map(ShardId::getIndexName).distinct().toList(),
+            equalTo(List.of(TEST_INDEX))
+        );
+
+        // a joining node may take shards of any index, so the whole cluster is rebalanced
+        rebalanceScopes.clear();
+        desiredBalanceComputer.compute(
+            desiredBalance5,
+            createInput(
+                ClusterState.builder(clusterState)
+                    .nodes(DiscoveryNodes.builder(clusterState.nodes()).add(newNode("node-3", Set.of(DiscoveryNodeRole.DATA_ROLE))))
+                    .build()
+            ),
+            queue(),
+            input -> true
+        );
+        assertThat(rebalanceScopes, everyItem(nullValue()));
+    }
+
     public void testAppliesMoveCommands() {
         var desiredBalanceComputer = createDesiredBalanceComputer();
         var clusterState = createInitialClusterState(3);
@@ -1504,9 +1595,21 @@ public class DesiredBalanceComputerTests extends ESAllocationTestCase {
      * @return a {@link DesiredBalanceComputer} which allocates unassigned primaries to node-0 and unassigned replicas to node-1
      */
     private static DesiredBalanceComputer createDesiredBalanceComputer() {
-        return createDesiredBalanceComputer(new ShardsAllocator() {
+        return createDesiredBalanceComputer(createBuiltInClusterSettings(), allocation -> {});
+    }
+
+    /**
+     * @return a {@link DesiredBalanceComputer} which allocates unassigned primaries to node-0 and unassigned replicas to node-1, and which
+     *         passes each simulated {@link RoutingAllocation} to {@code onAllocate} first
+     */
+    private static DesiredBalanceComputer createDesiredBalanceComputer(
+        ClusterSettings clusterSettings,
+        Consumer<RoutingAllocation> onAllocate
+    ) {
+        return new DesiredBalanceComputer(clusterSettings, TimeProviderUtils.create(() -> 0L), new ShardsAllocator() {
             @Override
             public void allocate(RoutingAllocation allocation) {
+                onAllocate.accept(allocation);
                 final var unassignedIterator = allocation.routingNodes().unassigned().iterator();
                 while (unassignedIterator.hasNext()) {
                     final var shardRouting = unassignedIterator.next();
@@ -11,8 +11,11 @@ package org.elasticsearch.cluster.service;
 
 import org.apache.logging.log4j.Level;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.ClusterStateApplier;
 import org.elasticsearch.cluster.ClusterStateObserver;
 import org.elasticsearch.cluster.LocalNodeMasterListener;
 import org.elasticsearch.cluster.block.ClusterBlocks;
@@ -39,6 +42,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -47,6 +51,7 @@ import static java.util.Collections.emptySet;
 import static org.elasticsearch.test.ClusterServiceUtils.createNoOpNodeConnectionsService;
 import static org.elasticsearch.test.ClusterServiceUtils.setState;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 
 public class ClusterApplierServiceTests extends ESTestCase {
@@ -455,6 +460,96 @@ public class ClusterApplierServiceTests extends ESTestCase {
         assertThat(error.get().getMessage(), containsString("dummy exception"));
     }
 
+    public void testIndependentAppliersRunConcurrentlyWithOtherAppliers() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final AtomicBoolean independentApplierCalled = new AtomicBoolean();
+        final AtomicBoolean lowPriorityApplierCalled = new AtomicBoolean();
+        clusterApplierService.addStateApplier(new ClusterStateApplier() {
+            @Override
+            public void applyClusterState(ClusterChangedEvent event) {
+                assertThat(Thread.currentThread().getName(), containsString(ClusterApplierService.CLUSTER_UPDATE_THREAD_NAME));
+                safeAwait(barrier);
+            }
+
+            @Override
+            public String toString() {
+                return "normal-applier";
+            }
+        });
+        clusterApplierService.addIndependentApplier(new ClusterStateApplier() {
+            @Override
+            public void applyClusterState(ClusterChangedEvent event) {
+                assertThat(Thread.currentThread().getName(), containsString(ClusterApplierService.INDEPENDENT_APPLIER_THREAD_NAME));
+                // only completes if it runs at the same time as the normal applier
+                safeAwait(barrier);
+                assertTrue(independentApplierCalled.compareAndSet(false, true));
+            }
+
+            @Override
+            public String toString() {
+                return "independent-applier";
+            }
+        });
+        clusterApplierService.addLowPriorityApplier(event -> {
+            assertTrue(independentApplierCalled.get());
+            assertTrue(lowPriorityApplierCalled.compareAndSet(false, true));
+        });
+
+        final PlainActionFuture<Void> future = new PlainActionFuture<>();
+        clusterApplierService.onNewClusterState("test", () -> ClusterState.builder(clusterApplierService.state()).build(), future);
+        safeGet(future);
+        assertTrue(lowPriorityApplierCalled.get());
+
+        final Map<String, ClusterApplierRecordingService.Stats.Recording> recordings = clusterApplierService.getStats().getRecordings();
+        assertThat(recordings.keySet(), hasItems("normal-applier", "independent-applier", "waiting for independent appliers"));
+    }
+
+    public void testClusterStateApplierBubblesUpExceptionsInIndependentApplier() {
+        clusterApplierService.addIndependentApplier(event -> { throw new RuntimeException("dummy exception"); });
+        final AtomicBoolean lowPriorityApplierCalled = new AtomicBoolean();
+        clusterApplierService.addLowPriorityApplier(event -> lowPriorityApplierCalled.set(true));
+        allowClusterStateApplicationFailure = true;
+
+        final Exception e = safeAwaitFailure(
+            Void.class,
+            listener -> clusterApplierService.onNewClusterState(
+                "test",
+                () -> ClusterState.builder(clusterApplierService.state()).build(),
+                listener
+            )
+        );
+        assertThat(e.getMessage(), containsString("dummy exception"));
+        assertFalse(lowPriorityApplierCalled.get());
+    }
+
+    public void testInterruptDoesNotStopWaitingForIndependentAppliers() {
+        final CountDownLatch normalApplierDone = new CountDownLatch(1);
+        final CountDownLatch releaseIndependentApplier = new CountDownLatch(1);
+        final AtomicBoolean independentApplierDone = new AtomicBoolean();
+        final AtomicBoolean lowPriorityApplierCalled = new AtomicBoolean();
+        clusterApplierService.addStateApplier(event -> {
+            Thread.currentThread().interrupt();
+            normalApplierDone.countDown();
+        });
+        clusterApplierService.addIndependentApplier(event -> {
+            safeAwait(releaseIndependentApplier);
+            independentApplierDone.set(true);
+        });
+        clusterApplierService.addLowPriorityApplier(event -> {
+            assertTrue(independentApplierDone.get());
+            // the interrupt is kept, clear it so that it does not leak into the next task on the applier thread
+            assertTrue(Thread.interrupted());
+            lowPriorityApplierCalled.set(true);
+        });
+
+        final PlainActionFuture<Void> future = new PlainActionFuture<>();
+        clusterApplierService.onNewClusterState("test", () -> ClusterState.builder(clusterApplierService.state()).build(), future);
+        safeAwait(normalApplierDone);
+        releaseIndependentApplier.countDown();
+        safeGet(future);
+        assertTrue(lowPriorityApplierCalled.get());
+    }
+
     public void testClusterStateApplierBubblesUpExceptionsInSettingsApplier() throws InterruptedException {
         AtomicReference<Throwable> error = new AtomicReference<>();
         clusterSettings.addSettingsUpdateConsumer(EnableAllocationDecider.CLUSTER_ROUTING_ALLOCATION_ENABLE_SETTING, v -> {});
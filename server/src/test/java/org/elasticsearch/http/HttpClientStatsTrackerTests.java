@@ -242,6 +242,47 @@ public class HttpClientStatsTrackerTests extends ESTestCase {
         assertThat(httpClientStatsTracker.getClientStats(), empty());
     }
 
+    public void testStreamRequestsCountTowardsTheirConnection() {
+        final FakeTimeThreadPool threadPool = new FakeTimeThreadPool();
+        final HttpClientStatsTracker httpClientStatsTracker = new HttpClientStatsTracker(
+            Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            threadPool
+        );
+
+        threadPool.setRandomTime();
+        final HttpChannel httpChannel = randomHttpChannel();
+        httpClientStatsTracker.addClientStats(httpChannel);
+
+        final int streamCount = between(1, 10);
+        long requestLength = 0L;
+        HttpRequest lastRequest = null;
+        for (int i = 0; i < streamCount; i++) {
+            final HttpChannel stream = new FakeRestRequest.FakeHttpChannel(httpChannel.getRemoteAddress());
+            httpClientStatsTracker.addStreamClientStats(httpChannel, stream);
+            lastRequest = randomHttpRequest();
+            httpClientStatsTracker.updateClientStats(lastRequest, stream);
+            requestLength += lastRequest.body().asFull().bytes().length();
+            stream.close();
+        }
+
+        // streams are not reported as clients of their own, also not once closed
+        final List<HttpStats.ClientStats> clientsStats = httpClientStatsTracker.getClientStats();
+        assertThat(clientsStats, hasSize(1));
+        final HttpStats.ClientStats clientStats = clientsStats.get(0);
+        assertThat(clientStats.requestCount(), equalTo((long) streamCount));
+        assertThat(clientStats.requestSizeBytes(), equalTo(requestLength));
+        assertThat(clientStats.lastUri(), equalTo(lastRequest.uri()));
+        assertThat(clientStats.closedTimeMillis(), equalTo(-1L));
+
+        // streams of closed connections are not tracked
+        httpChannel.close();
+        final HttpChannel stream = new FakeRestRequest.FakeHttpChannel(httpChannel.getRemoteAddress());
+        httpClientStatsTracker.addStreamClientStats(httpChannel, stream);
+        httpClientStatsTracker.updateClientStats(randomHttpRequest(), stream);
+        assertThat(httpClientStatsTracker.getClientStats().get(0).requestCount(), equalTo((long) streamCount));
+    }
+
     public void testLimitsNumberOfClosedClients() throws InterruptedException {
 
         final Settings settings;
@@ -17,6 +17,8 @@ import org.elasticsearch.test.ESTestCase;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -38,6 +40,25 @@ public class HttpStatsTests extends ESTestCase {
         final Map<String, HttpRouteStats> m = new HashMap<>(first.httpRouteStats());
         second.httpRouteStats().forEach((k, v) -> m.merge(k, v, HttpRouteStats::merge));
         assertEquals(merged.httpRouteStats(), m);
+        final Map<String, HttpStats.ProtocolStats> p = new HashMap<>(first.protocolStats());
+        second.protocolStats().forEach((k, v) -> p.merge(k, v, HttpStats.ProtocolStats::merge));
+        assertEquals(merged.protocolStats(), p);
+    }
+
+    public void testProtocolStatsToXContent() {
+        final HttpStats httpStats = new HttpStats(
+            3,
+            7,
+            List.of(),
+            Map.of(),
+            Map.of(HttpStats.HTTP_2, new HttpStats.ProtocolStats(1, 2, 42))
+        );
+        assertThat(
+            Strings.toString(httpStats, false, true),
+            equalTo("""
+                {"http":{"current_open":3,"total_opened":7,"clients":[],"routes":{},\
+                "protocols":{"h2":{"current_open":1,"total_opened":2,"request_count":42}}}}""")
+        );
     }
 
     public void testToXContent() {
@@ -80,10 +101,16 @@ public class HttpStatsTests extends ESTestCase {
             randomLongBetween(0, Long.MAX_VALUE),
             randomLongBetween(0, Long.MAX_VALUE),
             IntStream.range(1, randomIntBetween(2, 10)).mapToObj(HttpStatsTests::randomClients).toList(),
-            randomMap(1, 3, () -> new Tuple<>(randomAlphaOfLength(10), randomHttpRouteStats()))
+            randomMap(1, 3, () -> new Tuple<>(randomAlphaOfLength(10), randomHttpRouteStats())),
+            randomSubsetOf(List.of(HttpStats.HTTP_1_1, HttpStats.HTTP_2)).stream()
+                .collect(Collectors.toMap(Function.identity(), protocol -> randomProtocolStats()))
         );
     }
 
+    public static HttpStats.ProtocolStats randomProtocolStats() {
+        return new HttpStats.ProtocolStats(randomLongBetween(0, 9999), randomLongBetween(0, 9999), randomLongBetween(0, 9999));
+    }
+
     public static HttpStats.ClientStats randomClients(int i) {
         return new HttpStats.ClientStats(
             randomInt(),
@@ -23,6 +23,7 @@ import org.apache.lucene.store.Directory;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 import org.hamcrest.Matchers;
@@ -121,6 +122,30 @@ public class MergePolicyConfigTests extends ESTestCase {
             newIndexMeta("index", Settings.builder().put(MergePolicyConfig.INDEX_MERGE_POLICY_TYPE_SETTING.getKey(), "time_based").build())
         );
         assertThat(indexSettings.getMergePolicy(randomBoolean()), Matchers.instanceOf(LogByteSizeMergePolicy.class));
+        indexSettings.updateIndexMetadata(
+            newIndexMeta(
+                "index",
+                Settings.builder().put(MergePolicyConfig.INDEX_MERGE_POLICY_TYPE_SETTING.getKey(), "time_partitioned").build()
+            )
+        );
+        assertThat(indexSettings.getMergePolicy(randomBoolean()), Matchers.instanceOf(TimePartitionedMergePolicy.class));
+        assertThat(
+            ((TimePartitionedMergePolicy) indexSettings.getMergePolicy(randomBoolean())).getPartitionInterval(),
+            equalTo(MergePolicyConfig.DEFAULT_TIME_PARTITION_INTERVAL)
+        );
+        indexSettings.updateIndexMetadata(
+            newIndexMeta(
+                "index",
+                Settings.builder()
+                    .put(MergePolicyConfig.INDEX_MERGE_POLICY_TYPE_SETTING.getKey(), "time_partitioned")
+                    .put(MergePolicyConfig.INDEX_MERGE_POLICY_TIME_PARTITION_INTERVAL_SETTING.getKey(), "1h")
+                    .build()
+            )
+        );
+        assertThat(
+            ((TimePartitionedMergePolicy) indexSettings.getMergePolicy(randomBoolean())).getPartitionInterval(),
+            equalTo(TimeValue.timeValueHours(1))
+        );
     }
 
     public void testTieredMergePolicySettingsUpdate() {
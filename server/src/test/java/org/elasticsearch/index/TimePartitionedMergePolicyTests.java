@@ -0,0 +1,234 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.lucene90.Lucene90DocValuesFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.LogMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.BaseMergePolicyTestCase;
+import org.apache.lucene.tests.util.TestUtil;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.codec.TimestampRangeDocValuesFormat;
+import org.elasticsearch.index.codec.TimestampRangeDocValuesFormat.TimestampRange;
+import org.elasticsearch.index.mapper.DateFieldMapper;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TimePartitionedMergePolicyTests extends BaseMergePolicyTestCase {
+
+    private static final long HOUR = TimeValue.timeValueHours(1).millis();
+
+    @Override
+    protected MergePolicy mergePolicy() {
+        return new TimePartitionedMergePolicy(new LogByteSizeMergePolicy(), TimeValue.timeValueHours(randomIntBetween(1, 24)));
+    }
+
+    @Override
+    protected void assertSegmentInfos(MergePolicy policy, SegmentInfos infos) throws IOException {}
+
+    @Override
+    protected void assertMerge(MergePolicy policy, MergePolicy.MergeSpecification merge) throws IOException {}
+
+    public void testInvalidPartitionInterval() {
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new TimePartitionedMergePolicy(new LogByteSizeMergePolicy(), TimeValue.ZERO)
+        );
+        assertThat(e.getMessage(), equalTo("partition interval must be positive but was [0s]"));
+    }
+
+    public void testOnlyMergesSegmentsOfTheSamePartition() throws IOException {
+        final int numHours = randomIntBetween(3, 6);
+        final int flushesPerHour = randomIntBetween(4, 8);
+        final int docsPerFlush = randomIntBetween(1, 10);
+        final int spanningDocs = randomIntBetween(1, 10);
+        final LogMergePolicy logMergePolicy = new LogByteSizeMergePolicy();
+        logMergePolicy.setMergeFactor(2);
+        final TimePartitionedMergePolicy mergePolicy = new TimePartitionedMergePolicy(logMergePolicy, TimeValue.timeValueHours(1));
+        final IndexWriterConfig iwc = new IndexWriterConfig().setMergePolicy(mergePolicy)
+            .setMergeScheduler(new SerialMergeScheduler())
+            .setMaxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+            .setRAMBufferSizeMB(IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB)
+            .setCodec(timestampRangeCodec(DateFieldMapper.Resolution.MILLISECONDS));
+        try (Directory dir = newDirectory(); IndexWriter writer = new IndexWriter(dir, iwc)) {
+            final int spanningHour = randomIntBetween(1, numHours - 1);
+            for (int hour = 0; hour < numHours; hour++) {
+                for (int flush = 0; flush < flushesPerHour; flush++) {
+                    for (int i = 0; i < docsPerFlush; i++) {
+                        writer.addDocument(timestampDoc(hour * HOUR + randomLongBetween(0, HOUR - 1)));
+                    }
+                    writer.flush();
+                }
+                if (hour == spanningHour) {
+                    // late data from the first hour, flushed together with current data
+                    for (int i = 0; i < spanningDocs; i++) {
+                        writer.addDocument(timestampDoc(i % 2 == 0 ? randomLongBetween(0, HOUR - 1) : hour * HOUR));
+                    }
+                    writer.addDocument(timestampDoc(0));
+                    writer.addDocument(timestampDoc(hour * HOUR));
+                    writer.flush();
+                }
+            }
+            writer.commit();
+
+            final SegmentInfos infos = SegmentInfos.readLatestCommit(dir);
+            int spanningSegments = 0;
+            int mergedSegments = 0;
+            long previousHour = 0;
+            for (SegmentCommitInfo info : infos) {
+                final TimestampRange range = TimestampRangeDocValuesFormat.timestampRange(info.info);
+                assertThat(range, notNullValue());
+                if (range.min() / HOUR != range.max() / HOUR) {
+                    // the only segment with late data has no other segment that spans partitions to be merged with
+                    assertThat(info.info.maxDoc(), equalTo(spanningDocs + 2));
+                    spanningSegments++;
+                } else {
+                    // segments stay in the order of their data
+                    assertThat(range.min() / HOUR, greaterThanOrEqualTo(previousHour));
+                    previousHour = range.min() / HOUR;
+                    if (info.info.maxDoc() > docsPerFlush) {
+                        mergedSegments++;
+                    }
+                }
+            }
+            assertThat(spanningSegments, equalTo(1));
+            assertThat(mergedSegments, greaterThan(0));
+        }
+    }
+
+    public void testSpanningSegmentsOfSustainedLateDataAreMerged() throws IOException {
+        final int numHours = randomIntBetween(16, 32);
+        final int flushesPerHour = randomIntBetween(2, 4);
+        final int docsPerFlush = randomIntBetween(1, 10);
+        final LogMergePolicy logMergePolicy = new LogByteSizeMergePolicy();
+        logMergePolicy.setMergeFactor(2);
+        final TimePartitionedMergePolicy mergePolicy = new TimePartitionedMergePolicy(logMergePolicy, TimeValue.timeValueHours(1));
+        final IndexWriterConfig iwc = new IndexWriterConfig().setMergePolicy(mergePolicy)
+            .setMergeScheduler(new SerialMergeScheduler())
+            .setMaxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+            .setRAMBufferSizeMB(IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB)
+            .setCodec(timestampRangeCodec(DateFieldMapper.Resolution.MILLISECONDS));
+        try (Directory dir = newDirectory(); IndexWriter writer = new IndexWriter(dir, iwc)) {
+            for (int hour = 1; hour <= numHours; hour++) {
+                for (int flush = 0; flush < flushesPerHour; flush++) {
+                    for (int i = 0; i < docsPerFlush; i++) {
+                        writer.addDocument(timestampDoc(hour * HOUR + randomLongBetween(0, HOUR - 1)));
+                    }
+                    writer.flush();
+                }
+                // every hour some late data from the previous hour is flushed together with current data
+                writer.addDocument(timestampDoc((hour - 1) * HOUR + randomLongBetween(0, HOUR - 1)));
+                writer.addDocument(timestampDoc(hour * HOUR + randomLongBetween(0, HOUR - 1)));
+                writer.flush();
+            }
+            writer.commit();
+
+            final SegmentInfos infos = SegmentInfos.readLatestCommit(dir);
+            int spanningSegments = 0;
+            int spanningDocs = 0;
+            for (SegmentCommitInfo info : infos) {
+                final TimestampRange range = TimestampRangeDocValuesFormat.timestampRange(info.info);
+                assertThat(range, notNullValue());
+                if (range.min() / HOUR != range.max() / HOUR) {
+                    spanningSegments++;
+                    spanningDocs += info.info.maxDoc();
+                }
+            }
+            // segments that span partitions are only merged with each other
+            assertThat(spanningDocs, equalTo(2 * numHours));
+            // without merging them there would be one of them per hour
+            assertThat(spanningSegments, lessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(numHours)));
+        }
+    }
+
+    public void testPartitions() throws IOException {
+        try (Directory dir = newDirectory()) {
+            final IndexWriterConfig iwc = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+                .setCodec(timestampRangeCodec(DateFieldMapper.Resolution.MILLISECONDS));
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                writer.addDocument(timestampDoc(0));
+                writer.flush();
+                // spans two partitions
+                writer.addDocument(timestampDoc(HOUR));
+                writer.addDocument(timestampDoc(2 * HOUR));
+                writer.flush();
+                for (long timestamp : new long[] { HOUR - 1, HOUR, 2 * HOUR + 1, 2 * HOUR }) {
+                    writer.addDocument(timestampDoc(timestamp));
+                    writer.flush();
+                }
+                // no timestamp
+                writer.addDocument(new Document());
+                writer.flush();
+                // spans two partitions
+                writer.addDocument(timestampDoc(0));
+                writer.addDocument(timestampDoc(HOUR));
+                writer.flush();
+            }
+            final SegmentInfos infos = SegmentInfos.readLatestCommit(dir);
+            assertThat(infos.size(), equalTo(8));
+            final List<SegmentInfos> partitions = TimePartitionedMergePolicy.partitions(infos, HOUR);
+            // the segments that span partitions don't break the run of the first partition and are put into a run of their own
+            assertThat(partitions.stream().map(SegmentInfos::size).toList(), equalTo(List.of(2, 1, 3, 2)));
+            assertThat(partitions.get(3).info(0), sameInstance(infos.info(1)));
+            assertThat(partitions.get(3).info(1), sameInstance(infos.info(7)));
+        }
+    }
+
+    public void testDateNanosTimestampRanges() throws IOException {
+        final long nanosPerMilli = TimeValue.timeValueMillis(1).nanos();
+        try (Directory dir = newDirectory()) {
+            final IndexWriterConfig iwc = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+                .setCodec(timestampRangeCodec(DateFieldMapper.Resolution.NANOSECONDS));
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                for (long timestamp : new long[] { 0, HOUR - 1, HOUR }) {
+                    writer.addDocument(timestampDoc(timestamp * nanosPerMilli + randomLongBetween(0, nanosPerMilli - 1)));
+                    writer.flush();
+                }
+            }
+            final SegmentInfos infos = SegmentInfos.readLatestCommit(dir);
+            // ranges are recorded in milliseconds, so the partitions are the same as for millisecond timestamps
+            assertThat(
+                infos.asList().stream().map(info -> TimestampRangeDocValuesFormat.timestampRange(info.info)).toList(),
+                equalTo(List.of(new TimestampRange(0, 0), new TimestampRange(HOUR - 1, HOUR - 1), new TimestampRange(HOUR, HOUR)))
+            );
+            final List<SegmentInfos> partitions = TimePartitionedMergePolicy.partitions(infos, HOUR);
+            assertThat(partitions.stream().map(SegmentInfos::size).toList(), equalTo(List.of(2, 1)));
+        }
+    }
+
+    private static Codec timestampRangeCodec(DateFieldMapper.Resolution resolution) {
+        return TestUtil.alwaysDocValuesFormat(new TimestampRangeDocValuesFormat(new Lucene90DocValuesFormat(), resolution));
+    }
+
+    private static Document timestampDoc(long timestamp) {
+        final Document doc = new Document();
+        doc.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+        return doc;
+    }
+}
@@ -9,6 +9,7 @@
 
 package org.elasticsearch.index.codec;
 
+import org.apache.lucene.codecs.lucene101.Lucene101PostingsFormat;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.settings.Settings;
@@ -196,6 +197,21 @@ public class PerFieldMapperCodecTests extends ESTestCase {
         assertThat((perFieldMapperCodec.useTSDBDocValuesFormat("response_size")), is(true));
     }
 
+    public void testLucenePostingsFormatForTextFields() throws IOException {
+        Settings settings = Settings.builder().put(IndexSettings.TEXT_FIELDS_USE_LUCENE_POSTINGS_FORMAT_SETTING.getKey(), true).build();
+        MapperService mapperService = MapperTestUtils.newMapperService(xContentRegistry(), createTempDir(), settings, "test");
+        mapperService.merge("type", new CompressedXContent(MAPPING_3), MapperService.MergeReason.MAPPING_UPDATE);
+        PerFieldFormatSupplier perFieldMapperCodec = new PerFieldFormatSupplier(mapperService, BigArrays.NON_RECYCLING_INSTANCE);
+        assertThat(perFieldMapperCodec.getPostingsFormatForField("message"), instanceOf(Lucene101PostingsFormat.class));
+        assertThat(perFieldMapperCodec.getPostingsFormatForField("hostname"), instanceOf(ES812PostingsFormat.class));
+    }
+
+    public void testLucenePostingsFormatForTextFieldsDisabled() throws IOException {
+        PerFieldFormatSupplier perFieldMapperCodec = createFormatSupplier(true, IndexMode.STANDARD, MAPPING_3);
+        assertThat(perFieldMapperCodec.getPostingsFormatForField("message"), instanceOf(ES812PostingsFormat.class));
+        assertThat(perFieldMapperCodec.getPostingsFormatForField("hostname"), instanceOf(ES812PostingsFormat.class));
+    }
+
     private PerFieldFormatSupplier createFormatSupplier(boolean enableES87TSDBCodec, IndexMode mode, String mapping) throws IOException {
         Settings.Builder settings = Settings.builder();
         settings.put(IndexSettings.MODE.getKey(), mode);
@@ -0,0 +1,172 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.codec;
+
+import org.apache.lucene.codecs.DocValuesFormat;
+import org.apache.lucene.codecs.lucene90.Lucene90DocValuesFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.util.TestUtil;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.index.codec.SegmentFieldSummaries.NumericSummary;
+import org.elasticsearch.index.codec.SegmentFieldSummaries.TermCount;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SegmentSummaryDocValuesFormatTests extends ESTestCase {
+
+    public void testSummariesOfFlushedAndMergedSegments() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter writer = new IndexWriter(directory, newConfig())) {
+            int id = 0;
+            final int segments = randomIntBetween(1, 5);
+            for (int segment = 0; segment < segments; segment++) {
+                final int docs = randomIntBetween(1, 100);
+                for (int i = 0; i < docs; i++) {
+                    final Document doc = new Document();
+                    doc.add(new StringField("id", Integer.toString(id++), Field.Store.NO));
+                    for (int v = randomIntBetween(0, 3); v > 0; v--) {
+                        doc.add(new SortedNumericDocValuesField("number", randomIntBetween(-1000, 1000)));
+                        doc.add(new SortedNumericDocValuesField("other_number", randomIntBetween(-1000, 1000)));
+                    }
+                    for (int v = randomIntBetween(0, 2); v > 0; v--) {
+                        doc.add(new SortedSetDocValuesField("keyword", new BytesRef(randomFrom("a", "b", "c", "d"))));
+                    }
+                    writer.addDocument(doc);
+                }
+                writer.flush();
+            }
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                for (LeafReaderContext ctx : reader.leaves()) {
+                    assertSummaries(ctx.reader());
+                }
+            }
+
+            for (int i = randomIntBetween(0, id / 2); i > 0; i--) {
+                writer.deleteDocuments(new Term("id", Integer.toString(randomIntBetween(0, id - 1))));
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                assertSummaries(getOnlyLeafReader(reader));
+            }
+        }
+    }
+
+    public void testTooManyTerms() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter writer = new IndexWriter(directory, newConfig())) {
+            for (String term : List.of("a", "b", "c")) {
+                final Document doc = new Document();
+                doc.add(new SortedSetDocValuesField("keyword", new BytesRef(term)));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                assertThat(SegmentFieldSummaries.terms(getOnlyLeafReader(reader), "keyword").size(), equalTo(3));
+            }
+
+            for (int i = 0; i <= SegmentSummaryDocValuesFormat.MAX_SUMMARY_TERMS; i++) {
+                final Document doc = new Document();
+                doc.add(new SortedSetDocValuesField("keyword", new BytesRef("term_" + i)));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                // the summary of the first segment must not be carried over to the merged segment
+                assertThat(SegmentFieldSummaries.terms(getOnlyLeafReader(reader), "keyword"), nullValue());
+            }
+        }
+    }
+
+    public void testTooManyTermsBytes() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter writer = new IndexWriter(directory, newConfig())) {
+            for (int i = 0; i < 2; i++) {
+                final Document doc = new Document();
+                final String term = i + randomAlphaOfLength(SegmentSummaryDocValuesFormat.MAX_SUMMARY_TERMS_BYTES / 2);
+                doc.add(new SortedSetDocValuesField("keyword", new BytesRef(term)));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                assertThat(SegmentFieldSummaries.terms(getOnlyLeafReader(reader), "keyword"), nullValue());
+            }
+        }
+    }
+
+    private static IndexWriterConfig newConfig() {
+        final DocValuesFormat format = new SegmentSummaryDocValuesFormat(
+            new Lucene90DocValuesFormat(),
+            field -> field.equals("number") ? value -> value : null,
+            "keyword"::equals
+        );
+        return newIndexWriterConfig().setCodec(TestUtil.alwaysDocValuesFormat(format));
+    }
+
+    /**
+     * Checks the recorded summaries against the doc values of all documents of the segment.
+     */
+    private static void assertSummaries(LeafReader reader) throws IOException {
+        assertThat(SegmentFieldSummaries.numeric(reader, "other_number"), nullValue());
+
+        final SortedNumericDocValues numbers = reader.getSortedNumericDocValues("number");
+        if (numbers == null) {
+            assertThat(SegmentFieldSummaries.numeric(reader, "number"), nullValue());
+        } else {
+            long valueCount = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            for (int doc = numbers.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = numbers.nextDoc()) {
+                for (int i = 0; i < numbers.docValueCount(); i++) {
+                    final long value = numbers.nextValue();
+                    valueCount++;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    sum += value;
+                }
+            }
+            assertThat(SegmentFieldSummaries.numeric(reader, "number"), equalTo(new NumericSummary(valueCount, min, max, sum)));
+        }
+
+        final SortedSetDocValues keywords = reader.getSortedSetDocValues("keyword");
+        if (keywords == null) {
+            assertThat(SegmentFieldSummaries.terms(reader, "keyword"), nullValue());
+        } else {
+            final Map<BytesRef, Long> docCounts = new TreeMap<>();
+            for (int doc = keywords.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = keywords.nextDoc()) {
+                for (int i = 0; i < keywords.docValueCount(); i++) {
+                    docCounts.merge(BytesRef.deepCopyOf(keywords.lookupOrd(keywords.nextOrd())), 1L, Long::sum);
+                }
+            }
+            final List<TermCount> expected = new ArrayList<>();
+            docCounts.forEach((term, docCount) -> expected.add(new TermCount(term, docCount)));
+            assertThat(SegmentFieldSummaries.terms(reader, "keyword"), equalTo(expected));
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergePriority;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergeTask;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.Schedule;
 import org.elasticsearch.test.ESTestCase;
@@ -30,6 +32,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -42,13 +45,17 @@ import static org.elasticsearch.index.engine.ThreadPoolMergeScheduler.Schedule.R
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,6 +68,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
         // shutdown the thread pool
         testThreadPool.shutdown();
         MergeTask mergeTask = mock(MergeTask.class);
+        when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
         when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
         assertFalse(threadPoolMergeExecutorService.submitMergeTask(mergeTask));
         verify(mergeTask).abort();
@@ -87,6 +95,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
         // submit more merge tasks than there are threads so that some are enqueued
         for (int i = 0; i < mergesToSubmit; i++) {
             MergeTask mergeTask = mock(MergeTask.class);
+            when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
             when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
             Schedule runOrAbort = randomFrom(RUN, ABORT);
             doAnswer(mock -> {
@@ -184,6 +193,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
                 if (mergesStillToSubmit > 0 && (threadPoolMergeExecutorService.getRunningMergeTasks().isEmpty() || randomBoolean())) {
                     // submit new merge task
                     MergeTask mergeTask = mock(MergeTask.class);
+                    when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                     boolean supportsIOThrottling = randomBoolean();
                     when(mergeTask.supportsIOThrottling()).thenReturn(supportsIOThrottling);
                     doAnswer(mock -> {
@@ -264,6 +274,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
             while (mergesStillToComplete > 0) {
                 if (mergesStillToSubmit > 0 && (currentlyRunningMergeTasksSet.isEmpty() || randomBoolean())) {
                     MergeTask mergeTask = mock(MergeTask.class);
+                    when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                     // all tasks support IO throttling in this test case
                     when(mergeTask.supportsIOThrottling()).thenReturn(true);
                     doAnswer(mock -> {
@@ -360,6 +371,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
                 || (randomIntBetween(0, 1000) < submittedVsExecutedRateOutOf1000 && totalTasksToSubmit > 0)) {
                 // submit new merge task
                 MergeTask mergeTask = mock(MergeTask.class);
+                when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                 // all merge tasks support IO throttling in this test
                 when(mergeTask.supportsIOThrottling()).thenReturn(true);
                 // always run the task
@@ -418,6 +430,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
             // submit all merge tasks
             for (int i = 0; i < totalMergeTasksCount; i++) {
                 MergeTask mergeTask = mock(MergeTask.class);
+                when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                 when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
                 doAnswer(mock -> {
                     // each individual merge task can either "run" or be "backlogged"
@@ -496,6 +509,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
             List<MergeTask> backloggedMergeTasksList = new ArrayList<>();
             for (int i = 0; i < totalMergeTasksCount; i++) {
                 MergeTask mergeTask = mock(MergeTask.class);
+                when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                 when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
                 boolean runNowOrBacklog = randomBoolean();
                 if (runNowOrBacklog) {
@@ -553,6 +567,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
             for (int i = 0; i < mergeTaskCount; i++) {
                 new Thread(() -> {
                     MergeTask mergeTask = mock(MergeTask.class);
+                    when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
                     when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
                     doAnswer(mock -> {
                         // each individual merge task can either "run" or be "backlogged"
@@ -611,6 +626,7 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
         );
         for (int i = 0; i < mergeTaskCount; i++) {
             MergeTask mergeTask = mock(MergeTask.class);
+            when(mergeTask.priority()).thenReturn(MergePriority.REGULAR);
             when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
             // merge tasks of various sizes (0 might be a valid value)
             when(mergeTask.estimatedMergeSize()).thenReturn(randomLongBetween(0, 10));
@@ -660,6 +676,193 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
         }
     }
 
+    public void testMergeTasksExecuteInPriorityThenSizeOrder() {
+        DeterministicTaskQueue mergeExecutorTaskQueue = new DeterministicTaskQueue();
+        ThreadPool mergeExecutorThreadPool = mergeExecutorTaskQueue.getThreadPool();
+        ThreadPoolMergeExecutorService threadPoolMergeExecutorService = getThreadPoolMergeExecutorService(mergeExecutorThreadPool);
+        int mergeTaskCount = randomIntBetween(10, 100);
+        List<MergeTask> executedMergeTasks = new ArrayList<>();
+        for (int i = 0; i < mergeTaskCount; i++) {
+            MergeTask mergeTask = mock(MergeTask.class);
+            when(mergeTask.priority()).thenReturn(randomFrom(MergePriority.values()));
+            when(mergeTask.supportsIOThrottling()).thenReturn(randomBoolean());
+            when(mergeTask.estimatedMergeSize()).thenReturn(randomLongBetween(0, 10));
+            when(mergeTask.schedule()).thenReturn(RUN);
+            doAnswer(mock -> {
+                executedMergeTasks.add(mergeTask);
+                return null;
+            }).when(mergeTask).run();
+            assertTrue(threadPoolMergeExecutorService.submitMergeTask(mergeTask));
+        }
+        mergeExecutorTaskQueue.runAllTasks();
+        assertThat(executedMergeTasks.size(), is(mergeTaskCount));
+        // all the merge tasks were queued before any of them ran, so they ran by priority class first, and then smallest first
+        Comparator<MergeTask> priorityThenSize = Comparator.comparing(MergeTask::priority)
+            .thenComparingLong(MergeTask::estimatedMergeSize);
+        for (int i = 1; i < mergeTaskCount; i++) {
+            assertThat(priorityThenSize.compare(executedMergeTasks.get(i - 1), executedMergeTasks.get(i)), lessThanOrEqualTo(0));
+        }
+        for (MergeTask mergeTask : executedMergeTasks) {
+            if (mergeTask.supportsIOThrottling()) {
+                // small merges are allowed to write faster than the other merges
+                long expectedIORate = mergeTask.priority() == MergePriority.SMALL
+                    ? Math.min(MAX_IO_RATE.getBytes(), threadPoolMergeExecutorService.getTargetIORateBytesPerSec() * 2)
+                    : threadPoolMergeExecutorService.getTargetIORateBytesPerSec();
+                verify(mergeTask).setIORateLimit(expectedIORate);
+            }
+        }
+        assertTrue(threadPoolMergeExecutorService.allDone());
+    }
+
+    public void testForcedMergeTasksAreCappedAndDeferred() {
+        DeterministicTaskQueue mergeExecutorTaskQueue = new DeterministicTaskQueue();
+        ThreadPool mergeExecutorThreadPool = mergeExecutorTaskQueue.getThreadPool();
+        ThreadPoolMergeExecutorService threadPoolMergeExecutorService = getThreadPoolMergeExecutorService(mergeExecutorThreadPool);
+        final int maxForcedMerges = threadPoolMergeExecutorService.getMaxConcurrentForcedMerges();
+        final AtomicInteger runningForcedMerges = new AtomicInteger();
+        final List<MergeTask> ranMergeTasks = new ArrayList<>();
+
+        // forced merge tasks that are taken while the cap is reached: one that runs, one that is backlogged once, one that is aborted
+        final MergeTask deferredToRun = mockForcedMergeTask(maxForcedMerges + 1, runningForcedMerges, maxForcedMerges, ranMergeTasks);
+        final MergeTask deferredToBacklog = mockForcedMergeTask(maxForcedMerges + 2, runningForcedMerges, maxForcedMerges, ranMergeTasks);
+        final AtomicBoolean backlogged = new AtomicBoolean();
+        doAnswer(mock -> {
+            if (backlogged.compareAndSet(false, true)) {
+                // re-enqueued straight away, as if another merge of its scheduler completed in the meantime
+                threadPoolMergeExecutorService.reEnqueueBackloggedMergeTask(deferredToBacklog);
+                return BACKLOG;
+            }
+            return RUN;
+        }).when(deferredToBacklog).schedule();
+        final MergeTask deferredToAbort = mockForcedMergeTask(maxForcedMerges + 3, runningForcedMerges, maxForcedMerges, ranMergeTasks);
+        when(deferredToAbort.schedule()).thenReturn(ABORT);
+
+        final MergeTask regularMergeTask = mock(MergeTask.class);
+        when(regularMergeTask.priority()).thenReturn(MergePriority.REGULAR);
+        when(regularMergeTask.schedule()).thenReturn(RUN);
+        doAnswer(mock -> {
+            // a regular merge still runs while the maximum number of forced merges are running
+            assertThat(runningForcedMerges.get(), equalTo(maxForcedMerges));
+            ranMergeTasks.add(regularMergeTask);
+            return null;
+        }).when(regularMergeTask).run();
+
+        final List<MergeTask> forcedMergeTasks = mockNestedForcedMergeTasks(
+            mergeExecutorTaskQueue,
+            maxForcedMerges,
+            runningForcedMerges,
+            ranMergeTasks,
+            () -> {
+                // the smallest queued merge task is forced, so it is deferred
+                assertTrue(runOneTask(mergeExecutorTaskQueue));
+                assertThat(ranMergeTasks, not(hasItem(deferredToRun)));
+                assertThat(threadPoolMergeExecutorService.getQueuedMergeTasks(), not(hasItem(deferredToRun)));
+                assertFalse(threadPoolMergeExecutorService.allDone());
+
+                assertTrue(threadPoolMergeExecutorService.submitMergeTask(regularMergeTask));
+                assertTrue(runOneTask(mergeExecutorTaskQueue));
+                assertThat(ranMergeTasks, hasItem(regularMergeTask));
+            }
+        );
+        for (MergeTask mergeTask : forcedMergeTasks) {
+            assertTrue(threadPoolMergeExecutorService.submitMergeTask(mergeTask));
+        }
+        for (MergeTask mergeTask : List.of(deferredToRun, deferredToBacklog, deferredToAbort)) {
+            assertTrue(threadPoolMergeExecutorService.submitMergeTask(mergeTask));
+        }
+        // runs all the forced merges up to the cap, each one from within the previous one
+        assertTrue(runOneTask(mergeExecutorTaskQueue));
+        assertThat(ranMergeTasks, hasItems(forcedMergeTasks.toArray(new MergeTask[0])));
+        assertThat(runningForcedMerges.get(), equalTo(0));
+
+        // the deferred merge tasks run once the forced merges completed
+        mergeExecutorTaskQueue.runAllTasks();
+        verify(deferredToRun, times(1)).run();
+        verify(deferredToBacklog, times(2)).schedule();
+        verify(deferredToBacklog, times(1)).run();
+        verify(deferredToAbort, times(1)).abort();
+        verify(deferredToAbort, never()).run();
+        assertTrue(threadPoolMergeExecutorService.allDone());
+
+        // the backlogged and aborted forced merges gave their slots back, so the cap can be reached again
+        final List<MergeTask> moreForcedMergeTasks = mockNestedForcedMergeTasks(
+            mergeExecutorTaskQueue,
+            maxForcedMerges,
+            runningForcedMerges,
+            ranMergeTasks,
+            () -> assertThat(runningForcedMerges.get(), equalTo(maxForcedMerges))
+        );
+        for (MergeTask mergeTask : moreForcedMergeTasks) {
+            assertTrue(threadPoolMergeExecutorService.submitMergeTask(mergeTask));
+        }
+        mergeExecutorTaskQueue.runAllTasks();
+        assertThat(ranMergeTasks, hasItems(moreForcedMergeTasks.toArray(new MergeTask[0])));
+        assertFalse(mergeExecutorTaskQueue.hasAnyTasks());
+        assertTrue(threadPoolMergeExecutorService.allDone());
+    }
+
+    /**
+     * Mocks {@code count} forced merge tasks of increasing sizes, each of which runs the next one from within its own execution so that
+     * they all run at the same time, and the last one runs {@code whileAllRunning}.
+     */
+    private static List<MergeTask> mockNestedForcedMergeTasks(
+        DeterministicTaskQueue mergeExecutorTaskQueue,
+        int count,
+        AtomicInteger runningForcedMerges,
+        List<MergeTask> ranMergeTasks,
+        Runnable whileAllRunning
+    ) {
+        final List<MergeTask> mergeTasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            mergeTasks.add(mockForcedMergeTask(i, runningForcedMerges, count, ranMergeTasks, () -> {
+                if (index == count - 1) {
+                    whileAllRunning.run();
+                } else {
+                    // any merge thread takes the next forced merge task, since it is the smallest queued one
+                    assertTrue(runOneTask(mergeExecutorTaskQueue));
+                    assertThat(ranMergeTasks, hasItem(mergeTasks.get(index + 1)));
+                }
+            }));
+        }
+        return mergeTasks;
+    }
+
+    private static MergeTask mockForcedMergeTask(
+        long estimatedMergeSize,
+        AtomicInteger runningForcedMerges,
+        int maxForcedMerges,
+        List<MergeTask> ranMergeTasks
+    ) {
+        return mockForcedMergeTask(estimatedMergeSize, runningForcedMerges, maxForcedMerges, ranMergeTasks, null);
+    }
+
+    private static MergeTask mockForcedMergeTask(
+        long estimatedMergeSize,
+        AtomicInteger runningForcedMerges,
+        int maxForcedMerges,
+        List<MergeTask> ranMergeTasks,
+        @Nullable Runnable whileRunning
+    ) {
+        final MergeTask mergeTask = mock(MergeTask.class);
+        when(mergeTask.priority()).thenReturn(MergePriority.FORCED);
+        when(mergeTask.estimatedMergeSize()).thenReturn(estimatedMergeSize);
+        when(mergeTask.schedule()).thenReturn(RUN);
+        doAnswer(mock -> {
+            assertThat(runningForcedMerges.incrementAndGet(), lessThanOrEqualTo(maxForcedMerges));
+            ranMergeTasks.add(mergeTask);
+            try {
+                if (whileRunning != null) {
+                    whileRunning.run();
+                }
+            } finally {
+                runningForcedMerges.decrementAndGet();
+            }
+            return null;
+        }).when(mergeTask).run();
+        return mergeTask;
+    }
+
     static ThreadPoolMergeExecutorService getThreadPoolMergeExecutorService(ThreadPool threadPool) {
         ThreadPoolMergeExecutorService threadPoolMergeExecutorService = ThreadPoolMergeExecutorService
             .maybeCreateThreadPoolMergeExecutorService(
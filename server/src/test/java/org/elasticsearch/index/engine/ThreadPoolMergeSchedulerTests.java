@@ -19,6 +19,7 @@ import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.MergeSchedulerConfig;
+import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergePriority;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergeTask;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.Schedule;
 import org.elasticsearch.index.shard.ShardId;
@@ -82,17 +83,68 @@ public class ThreadPoolMergeSchedulerTests extends ESTestCase {
             }
             threadPoolTaskQueue.runAllTasks();
             assertThat(executedMergesList.size(), is(mergeCount));
-            // assert merges are executed in ascending size order
+            // assert merges are executed in ascending size order, with forced merges after all the other (small) merges
             for (int i = 1; i < mergeCount; i++) {
-                assertThat(
-                    executedMergesList.get(i - 1).getStoreMergeInfo().estimatedMergeBytes(),
-                    lessThanOrEqualTo(executedMergesList.get(i).getStoreMergeInfo().estimatedMergeBytes())
-                );
+                MergeInfo previousMergeInfo = executedMergesList.get(i - 1).getStoreMergeInfo();
+                MergeInfo mergeInfo = executedMergesList.get(i).getStoreMergeInfo();
+                boolean previousIsForced = previousMergeInfo.mergeMaxNumSegments() != -1;
+                boolean isForced = mergeInfo.mergeMaxNumSegments() != -1;
+                assertThat(previousIsForced && isForced == false, is(false));
+                if (previousIsForced == isForced) {
+                    assertThat(previousMergeInfo.estimatedMergeBytes(), lessThanOrEqualTo(mergeInfo.estimatedMergeBytes()));
+                }
             }
         }
         assertTrue(threadPoolMergeExecutorService.allDone());
     }
 
+    public void testMergeTaskPriorityAndQueuedStats() {
+        long smallMergeSizeBytes = randomLongBetween(10L, 100L);
+        List<MergeTask> submittedMergeTasks = new ArrayList<>();
+        ThreadPoolMergeExecutorService threadPoolMergeExecutorService = mockThreadPoolMergeExecutorService(
+            submittedMergeTasks,
+            new AtomicBoolean(false)
+        );
+        when(threadPoolMergeExecutorService.getSmallMergeSizeBytes()).thenReturn(smallMergeSizeBytes);
+        try (
+            ThreadPoolMergeScheduler threadPoolMergeScheduler = new ThreadPoolMergeScheduler(
+                new ShardId("index", "_na_", 1),
+                IndexSettingsModule.newIndexSettings("index", Settings.EMPTY),
+                threadPoolMergeExecutorService
+            )
+        ) {
+            int mergeCount = randomIntBetween(1, 10);
+            long mergesSizeInBytes = 0L;
+            for (int i = 0; i < mergeCount; i++) {
+                long estimatedMergeBytes = randomLongBetween(1L, 2 * smallMergeSizeBytes);
+                int maxNumSegments = randomFrom(-1, randomNonNegativeInt());
+                MergeSource mergeSource = mock(MergeSource.class);
+                OneMerge oneMerge = mock(OneMerge.class);
+                when(oneMerge.getStoreMergeInfo()).thenReturn(getNewMergeInfo(estimatedMergeBytes, maxNumSegments));
+                when(oneMerge.getMergeProgress()).thenReturn(new MergePolicy.OneMergeProgress());
+                when(mergeSource.getNextMerge()).thenReturn(oneMerge, (OneMerge) null);
+                threadPoolMergeScheduler.merge(mergeSource, randomFrom(MergeTrigger.values()));
+                mergesSizeInBytes += estimatedMergeBytes;
+                MergeTask mergeTask = submittedMergeTasks.getLast();
+                if (maxNumSegments != -1) {
+                    assertThat(mergeTask.priority(), is(MergePriority.FORCED));
+                } else if (estimatedMergeBytes <= smallMergeSizeBytes) {
+                    assertThat(mergeTask.priority(), is(MergePriority.SMALL));
+                } else {
+                    assertThat(mergeTask.priority(), is(MergePriority.REGULAR));
+                }
+            }
+            // none of the submitted merges has started yet
+            assertThat(threadPoolMergeScheduler.stats().getQueued(), is((long) mergeCount));
+            assertThat(threadPoolMergeScheduler.stats().getQueuedSizeInBytes(), is(mergesSizeInBytes));
+            for (MergeTask mergeTask : submittedMergeTasks) {
+                mergeTask.abort();
+            }
+            assertThat(threadPoolMergeScheduler.stats().getQueued(), is(0L));
+            assertThat(threadPoolMergeScheduler.stats().getQueuedSizeInBytes(), is(0L));
+        }
+    }
+
     public void testSimpleMergeTaskBacklogging() {
         int mergeExecutorThreadCount = randomIntBetween(1, 5);
         Settings mergeSchedulerSettings = Settings.builder()
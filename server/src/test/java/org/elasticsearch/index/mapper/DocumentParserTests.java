@@ -46,8 +46,11 @@ import static org.elasticsearch.test.StreamsUtils.copyToBytesFromClasspath;
 import static org.elasticsearch.test.StreamsUtils.copyToStringFromClasspath;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
@@ -314,6 +317,46 @@ public class DocumentParserTests extends MapperServiceTestCase {
         assertNotNull(doc.rootDoc().getField(IdFieldMapper.NAME));
     }
 
+    public void testDocumentParsingPlan() throws Exception {
+        DocumentMapper mapper = createDocumentMapper(mapping(b -> {
+            b.startObject("foo").field("type", "keyword").endObject();
+            b.startObject("obj").startObject("properties").startObject("bar").field("type", "long").endObject().endObject().endObject();
+        }));
+        DocumentParsingPlan plan = mapper.mappers().getDocumentParsingPlan();
+        assertThat(plan.getRootMapper("foo"), sameInstance(mapper.mappers().getMapper("foo")));
+        assertThat(plan.getRootMapper("obj"), sameInstance(mapper.mappers().objectMappers().get("obj")));
+        assertThat(plan.getRootMapper(IdFieldMapper.NAME), sameInstance(mapper.mapping().getMetadataMapperByName(IdFieldMapper.NAME)));
+        assertNull(plan.getRootMapper("bar"));
+        assertNull(plan.getRootMapper("unmapped"));
+        assertEquals(0, plan.expectedRootFields());
+
+        ParsedDocument doc = mapper.parse(source(b -> {
+            b.field("foo", "value");
+            b.startObject("obj").field("bar", 10).endObject();
+            b.field("unmapped", "value");
+        }));
+        assertNotNull(doc.rootDoc().getField("foo"));
+        assertNotNull(doc.rootDoc().getField("obj.bar"));
+        assertEquals(doc.rootDoc().getFields().size(), plan.expectedRootFields());
+
+        // the expected number of fields follows larger documents up to a bound, and decays towards the size of smaller documents
+        plan.onRootDocumentParsed(DocumentParsingPlan.MAX_EXPECTED_ROOT_FIELDS + 1);
+        assertEquals(DocumentParsingPlan.MAX_EXPECTED_ROOT_FIELDS, plan.expectedRootFields());
+        ParsedDocument smallDoc = mapper.parse(source(b -> b.field("foo", "value")));
+        int smallDocFields = smallDoc.rootDoc().getFields().size();
+        assertThat(plan.expectedRootFields(), lessThan(DocumentParsingPlan.MAX_EXPECTED_ROOT_FIELDS));
+        assertThat(plan.expectedRootFields(), greaterThan(smallDocFields));
+        int previous = plan.expectedRootFields();
+        for (int i = 0; i < 200; i++) {
+            plan.onRootDocumentParsed(smallDocFields);
+            assertThat(plan.expectedRootFields(), lessThanOrEqualTo(previous));
+            previous = plan.expectedRootFields();
+        }
+        assertEquals(smallDocFields, plan.expectedRootFields());
+        plan.onRootDocumentParsed(smallDocFields + 1);
+        assertEquals(smallDocFields + 1, plan.expectedRootFields());
+    }
+
     public void testDotsWithFieldDisabled() throws IOException {
         DocumentMapper mapper = createDocumentMapper(fieldMapping(b -> b.field("enabled", false)));
         {
@@ -13,6 +13,7 @@ import org.elasticsearch.cluster.node.DiscoveryNodeUtils;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.engine.InternalEngine;
 import org.elasticsearch.index.engine.InternalEngineFactory;
 import org.elasticsearch.index.shard.IndexShard;
@@ -34,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptySet;
@@ -232,6 +234,61 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
         closeShards(shard0, shard1);
     }
 
+    public void testAllocateByWriteRate() throws IOException {
+        AtomicLong relativeTimeInNanos = new AtomicLong();
+        MockController controller = new MockController(
+            Settings.builder()
+                .put("indices.memory.index_buffer_size", "4mb")
+                .put(IndexingMemoryController.ALLOCATE_BY_WRITE_RATE_SETTING.getKey(), true)
+                .build()
+        ) {
+            @Override
+            protected long relativeTimeInNanos() {
+                return relativeTimeInNanos.get();
+            }
+        };
+
+        IndexShard shard0 = newStartedShard(
+            p -> newShard(p, new ShardId("index0", "uuid0", 0), Settings.EMPTY, new InternalEngineFactory()),
+            randomBoolean()
+        );
+        IndexShard shard1 = newStartedShard(
+            p -> newShard(p, new ShardId("index1", "uuid1", 0), Settings.EMPTY, new InternalEngineFactory()),
+            randomBoolean()
+        );
+        controller.simulateIndexing(shard0);
+        controller.simulateIndexing(shard1);
+
+        // shard0 receives three times as many bytes as shard1, so it gets three times as much of the buffer
+        controller.recordShardBytes(shard0.shardId(), ByteSizeValue.of(3, ByteSizeUnit.MB).getBytes());
+        controller.recordShardBytes(shard1.shardId(), ByteSizeValue.of(1, ByteSizeUnit.MB).getBytes());
+        controller.forceCheck();
+        long budget0 = shard0.indexingStats().getTotal().getIndexBufferBudget().getBytes();
+        long budget1 = shard1.indexingStats().getTotal().getIndexBufferBudget().getBytes();
+        assertThat(budget0, greaterThanOrEqualTo(3 * budget1 - 1));
+        assertThat(budget0 + budget1, greaterThanOrEqualTo(ByteSizeValue.of(4, ByteSizeUnit.MB).getBytes() - 2));
+
+        // shard1 goes furthest beyond its share of the buffer, so it is written first, even though shard0 comes first in shard ID order
+        controller.simulateIndexing(shard1);
+        controller.simulateIndexing(shard1);
+        controller.assertBuffer(shard1, 3);
+        controller.simulateIndexing(shard1);
+        controller.assertBuffer(shard0, 1);
+        controller.assertBuffer(shard1, 0);
+        controller.assertWriting(shard1, 4);
+        assertThat(shard1.indexingStats().getTotal().getIndexBufferOverBudgetWriteCount(), equalTo(1L));
+        assertThat(shard0.indexingStats().getTotal().getIndexBufferOverBudgetWriteCount(), equalTo(0L));
+
+        // shard0 does not receive any more writes, so its buffer is written even though the node's buffer is not full
+        relativeTimeInNanos.addAndGet(TimeValue.timeValueHours(200).nanos());
+        controller.forceCheck();
+        controller.assertBuffer(shard0, 0);
+        controller.assertWriting(shard0, 1);
+        assertThat(shard0.indexingStats().getTotal().getIndexBufferIdleWriteCount(), equalTo(1L));
+        assertThat(shard1.indexingStats().getTotal().getIndexBufferIdleWriteCount(), equalTo(0L));
+        closeShards(shard0, shard1);
+    }
+
     public void testMinBufferSizes() {
         MockController controller = new MockController(
             Settings.builder().put("indices.memory.index_buffer_size", "0.001%").put("indices.memory.min_index_buffer_size", "6mb").build()
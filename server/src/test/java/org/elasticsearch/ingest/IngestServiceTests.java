@@ -67,8 +67,10 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.script.TemplateScript;
+import org.elasticsearch.test.ClusterServiceUtils;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.MockLog;
+import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentType;
@@ -89,6 +91,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -2458,6 +2462,26 @@ public class IngestServiceTests extends ESTestCase {
         assertThat(counter.get(), equalTo(2));
     }
 
+    public void testPipelinesAreCreatedConcurrentlyWithOtherAppliers() {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final IngestService ingestService = createWithProcessors(Map.of("slow", (factories, tag, description, config, projectId) -> {
+            // only completes if the pipeline is created at the same time as the other appliers are called
+            safeAwait(barrier);
+            return new FakeProcessor("slow", tag, description, ingestDocument -> {});
+        }));
+        final ThreadPool testThreadPool = new TestThreadPool(getTestName());
+        try (ClusterService clusterService = ClusterServiceUtils.createClusterService(testThreadPool)) {
+            clusterService.addStateApplier(event -> safeAwait(barrier));
+            clusterService.addIndependentApplier(ingestService);
+
+            PutPipelineRequest putRequest = putJsonPipelineRequest("_id", "{\"processors\": [{\"slow\" : {}}]}");
+            ClusterServiceUtils.setState(clusterService, executePut(putRequest, clusterService.state()));
+            assertThat(ingestService.getPipeline(DEFAULT_PROJECT_ID, "_id"), notNullValue());
+        } finally {
+            ThreadPool.terminate(testThreadPool, 10, TimeUnit.SECONDS);
+        }
+    }
+
     public void testCBORParsing() throws Exception {
         AtomicReference<Object> reference = new AtomicReference<>();
         Consumer<IngestDocument> executor = doc -> reference.set(doc.getFieldValueAsBytes("data"));
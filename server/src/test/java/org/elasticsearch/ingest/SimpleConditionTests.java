@@ -0,0 +1,69 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.ingest;
+
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SimpleConditionTests extends ESTestCase {
+
+    public void testParse() {
+        assertThat(parse("ctx.foo == null"), notNullValue());
+        assertThat(parse("ctx?.foo?.bar != null"), notNullValue());
+        assertThat(parse(" ctx.foo.bar == 'baz' "), notNullValue());
+        assertThat(parse("ctx.foo?.bar != \"baz\";"), notNullValue());
+
+        assertThat(parse("ctx.foo == 1"), nullValue());
+        assertThat(parse("ctx.foo == null && ctx.bar == null"), nullValue());
+        assertThat(parse("ctx['foo'] == null"), nullValue());
+        assertThat(parse("ctx.foo.contains('bar')"), nullValue());
+        assertThat(parse("ctx.foo == 'it\\'s'"), nullValue());
+        assertThat(parse("ctx._type == null"), nullValue());
+        assertThat(SimpleCondition.parse(new Script(ScriptType.INLINE, "mustache", "ctx.foo == null", Map.of())), nullValue());
+        assertThat(SimpleCondition.parse(new Script(ScriptType.STORED, null, "ctx.foo == null", Map.of())), nullValue());
+    }
+
+    public void testEvaluate() {
+        Map<String, Object> event = new HashMap<>();
+        event.put("dataset", "system.auth");
+        event.put("original", null);
+        Map<String, Object> ctx = new HashMap<>();
+        ctx.put("event", event);
+        ctx.put("message", "hello");
+
+        assertThat(parse("ctx.message != null").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.message == 'hello'").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.message != \"hello\"").evaluate(ctx), equalTo(false));
+        assertThat(parse("ctx.missing == null").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.event.dataset == 'system.auth'").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.event?.dataset == 'system.syslog'").evaluate(ctx), equalTo(false));
+        assertThat(parse("ctx.event.original == null").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.missing?.field == null").evaluate(ctx), equalTo(true));
+        assertThat(parse("ctx.missing?.field?.other != null").evaluate(ctx), equalTo(false));
+
+        // the script would fail, so it must be executed to report the failure
+        assertThat(parse("ctx.missing.field == null").evaluate(ctx), nullValue());
+        assertThat(parse("ctx.missing?.field.other == null").evaluate(ctx), nullValue());
+        assertThat(parse("ctx.message.field == null").evaluate(ctx), nullValue());
+        assertThat(parse("ctx.message?.field == null").evaluate(ctx), nullValue());
+    }
+
+    private static SimpleCondition parse(String source) {
+        return SimpleCondition.parse(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, source, Map.of()));
+    }
+}
@@ -207,6 +207,12 @@ public class SinglePassGroupingCollectorTests extends ESTestCase {
         }
         TopFieldGroups mergedFieldDocs = TopFieldGroups.merge(sort, 0, expectedNumGroups, shardHits, true);
         assertTopDocsEquals(query, mergedFieldDocs, collapseTopFieldDocs);
+        // slices of a shard may come in any order
+        List<TopFieldGroups> sliceHits = new ArrayList<>(List.of(shardHits));
+        Collections.shuffle(sliceHits, random());
+        TopFieldGroups mergedSlices = TopFieldGroups.mergeSlices(sort, expectedNumGroups, sliceHits.toArray(new TopFieldGroups[0]));
+        assertTopDocsEquals(query, mergedSlices, collapseTopFieldDocs);
+        assertEquals(collapseTopFieldDocs.totalHits, mergedSlices.totalHits);
         w.close();
         reader.close();
         dir.close();
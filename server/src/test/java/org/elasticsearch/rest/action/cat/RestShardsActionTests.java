@@ -154,7 +154,12 @@ public class RestShardsActionTests extends ESTestCase {
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
                             randomDoubleBetween(0.0, 1.0, true),
-                            randomDoubleBetween(0.0, 1.0, true)
+                            randomDoubleBetween(0.0, 1.0, true),
+                            0,
+                            0,
+                            0,
+                            0,
+                            0
                         )
                     )
                 );
@@ -70,6 +70,11 @@ public class AggregatorBaseTests extends MapperServiceTestCase {
         return new BogusAggregator(context, parent).pointReaderIfAvailable(config);
     }
 
+    private Function<byte[], Number> segmentPointReaderShim(AggregationContext context, Aggregator parent, ValuesSourceConfig config)
+        throws IOException {
+        return new BogusAggregator(context, parent).segmentPointReaderIfAvailable(config);
+    }
+
     private Aggregator mockAggregator() {
         return mock(Aggregator.class);
     }
@@ -141,6 +146,13 @@ public class AggregatorBaseTests extends MapperServiceTestCase {
                 assertNull(pointReaderShim(context(null), mockAggregator(), getVSConfig("number", resolution, true, context)));
                 assertNull(pointReaderShim(context(null), null, getVSConfig("number", resolution, false, context)));
             }
+            for (NumberFieldMapper.NumberType type : NumberFieldMapper.NumberType.values()) {
+                Query termQuery = new TermQuery(new Term("foo", "bar"));
+                assertNotNull(segmentPointReaderShim(context(termQuery), null, getVSConfig("number", type, true, context)));
+                assertNotNull(segmentPointReaderShim(context(new MatchAllDocsQuery()), null, getVSConfig("number", type, true, context)));
+                assertNull(segmentPointReaderShim(context(termQuery), mockAggregator(), getVSConfig("number", type, true, context)));
+                assertNull(segmentPointReaderShim(context(termQuery), null, getVSConfig("number", type, false, context)));
+            }
             // Check that we decode a dates "just like" the doc values instance.
             Instant expected = Instant.from(DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.parse("2020-01-01T00:00:00Z"));
             byte[] scratch = new byte[8];
@@ -0,0 +1,222 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.compress.CompressedXContent;
+import org.elasticsearch.common.lucene.search.Queries;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.MapperTestUtils;
+import org.elasticsearch.index.codec.PerFieldMapperCodec;
+import org.elasticsearch.index.codec.zstd.Zstd814StoredFieldsFormat;
+import org.elasticsearch.index.mapper.IdFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.SourceToParse;
+import org.elasticsearch.index.mapper.Uid;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.AvgAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.StatsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xcontent.json.JsonXContent;
+import org.hamcrest.Matcher;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Checks that aggregations which are computed from the {@link org.elasticsearch.index.codec.SegmentFieldSummaries} recorded
+ * with {@code index.segment_summaries.enabled} return the same results as collecting the doc values, and that the summaries
+ * are only used for segments where they describe exactly the matching documents.
+ */
+public class SegmentSummaryAggregatorTests extends AggregatorTestCase {
+
+    private static final String MAPPING = """
+        {
+          "_doc": {
+            "properties": {
+              "number": { "type": "long" },
+              "keyword": { "type": "keyword", "index": false },
+              "nested": { "type": "nested", "properties": { "number": { "type": "long" } } }
+            }
+          }
+        }""";
+
+    private static final String SEGMENTS_ANSWERED_FROM_SUMMARIES = "segments_answered_from_summaries";
+
+    public void testSameResultsAsDocValues() throws IOException {
+        assertSameResultsAsDocValues(randomSegments(false), false, new MatchAllDocsQuery(), greaterThan(0));
+    }
+
+    public void testSummariesNotUsedWithDeletes() throws IOException {
+        assertSameResultsAsDocValues(randomSegments(false), true, new MatchAllDocsQuery(), equalTo(0));
+    }
+
+    public void testSummariesNotUsedWithFilteredQuery() throws IOException {
+        // the first document of every segment only has positive values so the query never matches all documents of a segment
+        assertSameResultsAsDocValues(randomSegments(false), false, LongPoint.newRangeQuery("number", Long.MIN_VALUE, 0), equalTo(0));
+    }
+
+    public void testSummariesNotUsedWithNestedDocs() throws IOException {
+        // searches add this filter to the query when the mapping has nested fields
+        Query query = Queries.newNonNestedFilter(IndexVersion.current());
+        assertSameResultsAsDocValues(randomSegments(true), false, query, equalTo(0));
+    }
+
+    /**
+     * Indexes the documents once with and once without segment summaries and checks that every aggregation that may use
+     * the summaries returns the same result for both indices.
+     *
+     * @param segments the sources of the documents of every segment
+     * @param deleteFirstDocs whether to delete the first document of every segment
+     * @param segmentsAnsweredFromSummaries the expected number of segments answered from summaries on the index that has them
+     */
+    private void assertSameResultsAsDocValues(
+        List<List<BytesReference>> segments,
+        boolean deleteFirstDocs,
+        Query query,
+        Matcher<Integer> segmentsAnsweredFromSummaries
+    ) throws IOException {
+        Settings settings = Settings.builder().put(IndexSettings.SEGMENT_SUMMARIES_ENABLED_SETTING.getKey(), true).build();
+        try (
+            MapperService mapperService = MapperTestUtils.newMapperService(xContentRegistry(), createTempDir(), settings, "test");
+            Directory summarizedDirectory = newDirectory();
+            Directory directory = newDirectory()
+        ) {
+            mapperService.merge("_doc", new CompressedXContent(MAPPING), MapperService.MergeReason.MAPPING_UPDATE);
+            IndexWriterConfig summarizedConfig = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+                .setCodec(
+                    new PerFieldMapperCodec(Zstd814StoredFieldsFormat.Mode.BEST_SPEED, mapperService, BigArrays.NON_RECYCLING_INSTANCE)
+                );
+            IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+            writeSegments(mapperService, summarizedDirectory, summarizedConfig, segments, deleteFirstDocs);
+            writeSegments(mapperService, directory, config, segments, deleteFirstDocs);
+
+            MappedFieldType[] fieldTypes = { mapperService.fieldType("number"), mapperService.fieldType("keyword") };
+            List<AggregationBuilder> builders = List.of(
+                new SumAggregationBuilder("name").field("number"),
+                new AvgAggregationBuilder("name").field("number"),
+                new StatsAggregationBuilder("name").field("number"),
+                new TermsAggregationBuilder("name").field("keyword")
+            );
+            try (
+                DirectoryReader summarizedReader = DirectoryReader.open(summarizedDirectory);
+                DirectoryReader reader = DirectoryReader.open(directory)
+            ) {
+                for (AggregationBuilder builder : builders) {
+                    InternalAggregation summarized = aggregate(builder, query, summarizedReader, fieldTypes, segmentsAnsweredFromSummaries);
+                    InternalAggregation collected = aggregate(builder, query, reader, fieldTypes, equalTo(0));
+                    assertThat(builder.getType(), summarized, equalTo(collected));
+                }
+            }
+        }
+    }
+
+    private InternalAggregation aggregate(
+        AggregationBuilder builder,
+        Query query,
+        DirectoryReader reader,
+        MappedFieldType[] fieldTypes,
+        Matcher<Integer> segmentsAnsweredFromSummaries
+    ) throws IOException {
+        List<InternalAggregation> results = new ArrayList<>();
+        debugTestCase(
+            builder,
+            query,
+            reader,
+            (InternalAggregation result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                Integer answered = (Integer) debug.get("name").get(SEGMENTS_ANSWERED_FROM_SUMMARIES);
+                assertThat(builder.getType(), answered, segmentsAnsweredFromSummaries);
+                results.add(result);
+            },
+            null,
+            fieldTypes
+        );
+        return results.get(0);
+    }
+
+    private static void writeSegments(
+        MapperService mapperService,
+        Directory directory,
+        IndexWriterConfig config,
+        List<List<BytesReference>> segments,
+        boolean deleteFirstDocs
+    ) throws IOException {
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (int segment = 0; segment < segments.size(); segment++) {
+                List<BytesReference> sources = segments.get(segment);
+                for (int doc = 0; doc < sources.size(); doc++) {
+                    SourceToParse source = new SourceToParse(segment + "_" + doc, sources.get(doc), XContentType.JSON);
+                    writer.addDocuments(mapperService.documentMapper().parse(source).docs());
+                }
+                if (deleteFirstDocs) {
+                    writer.deleteDocuments(new Term(IdFieldMapper.NAME, Uid.encodeId(segment + "_0")));
+                }
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * Returns the sources of the documents of a few segments. The first document of every segment only has positive
+     * values and every segment has values for all fields, so that the segments record summaries.
+     */
+    private static List<List<BytesReference>> randomSegments(boolean nested) throws IOException {
+        List<List<BytesReference>> segments = new ArrayList<>();
+        for (int segment = randomIntBetween(1, 4); segment > 0; segment--) {
+            List<BytesReference> sources = new ArrayList<>();
+            sources.add(new BytesArray("""
+                { "number": 1, "keyword": "a" }"""));
+            for (int doc = randomIntBetween(10, 50); doc > 0; doc--) {
+                XContentBuilder source = JsonXContent.contentBuilder().startObject();
+                source.startArray("number");
+                for (int v = randomIntBetween(0, 3); v > 0; v--) {
+                    source.value(randomIntBetween(-1000, 1000));
+                }
+                source.endArray();
+                source.startArray("keyword");
+                for (int v = randomIntBetween(0, 2); v > 0; v--) {
+                    source.value(randomFrom("a", "b", "c", "d", "e"));
+                }
+                source.endArray();
+                if (nested) {
+                    source.startArray("nested");
+                    for (int v = randomIntBetween(1, 3); v > 0; v--) {
+                        source.startObject().field("number", randomIntBetween(-1000, 1000)).endObject();
+                    }
+                    source.endArray();
+                }
+                sources.add(BytesReference.bytes(source.endObject()));
+            }
+            segments.add(sources);
+        }
+        return segments;
+    }
+}
@@ -1694,6 +1694,7 @@ public class TermsAggregatorTests extends AggregatorTestCase {
             m -> m.entry("has_filter", false)
                 .entry("collection_strategy", "dense")
                 .entry("segments_without_values", greaterThanOrEqualTo(0))
+                .entry("segments_answered_from_summaries", 0)
         );
     }
 
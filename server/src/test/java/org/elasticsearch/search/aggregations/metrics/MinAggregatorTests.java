@@ -47,6 +47,7 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
 import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.bucket.filter.Filter;
@@ -78,6 +79,8 @@ import java.util.function.Supplier;
 
 import static java.util.Collections.singleton;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.elasticsearch.test.MapMatcher.assertMap;
+import static org.elasticsearch.test.MapMatcher.matchesMap;
 import static org.hamcrest.Matchers.equalTo;
 
 public class MinAggregatorTests extends AggregatorTestCase {
@@ -225,6 +228,54 @@ public class MinAggregatorTests extends AggregatorTestCase {
         });
     }
 
+    public void testShortcutWithQueryContainingSegments() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.INTEGER);
+        try (Directory directory = newDirectory()) {
+            // two segments, one with the values 0 to 4 and one with the values 5 to 9
+            IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+            try (IndexWriter indexWriter = new IndexWriter(directory, config)) {
+                for (int i = 0; i < 10; i++) {
+                    indexWriter.addDocument(Arrays.asList(new IntPoint("number", i), new SortedNumericDocValuesField("number", i)));
+                    if (i == 4) {
+                        indexWriter.commit();
+                    }
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                assertThat(reader.leaves().size(), equalTo(2));
+                debugTestCase(
+                    new MinAggregationBuilder("min").field("number"),
+                    IntPoint.newRangeQuery("number", -5, 50),
+                    reader,
+                    (Min min, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                        assertEquals(0, min.value(), 0);
+                        assertMap(
+                            debug,
+                            matchesMap().entry("min", matchesMap().entry("segments_answered_from_points", 2).entry("segments_collected", 0))
+                        );
+                    },
+                    null,
+                    fieldType
+                );
+                debugTestCase(
+                    new MinAggregationBuilder("min").field("number"),
+                    IntPoint.newRangeQuery("number", 5, 50),
+                    reader,
+                    (Min min, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                        assertEquals(5, min.value(), 0);
+                        // the segment that only holds values in the range is answered from the points, the other one is collected
+                        assertMap(
+                            debug,
+                            matchesMap().entry("min", matchesMap().entry("segments_answered_from_points", 1).entry("segments_collected", 1))
+                        );
+                    },
+                    null,
+                    fieldType
+                );
+            }
+        }
+    }
+
     public void testIpField() throws IOException {
         final String fieldName = "IP_field";
         MinAggregationBuilder aggregationBuilder = new MinAggregationBuilder("min").field(fieldName);
@@ -42,6 +42,7 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
 import org.elasticsearch.search.aggregations.support.AggregationInspectionHelper;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
@@ -59,6 +60,9 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static java.util.Collections.singleton;
+import static org.elasticsearch.test.MapMatcher.assertMap;
+import static org.elasticsearch.test.MapMatcher.matchesMap;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class ValueCountAggregatorTests extends AggregatorTestCase {
 
@@ -186,6 +190,31 @@ public class ValueCountAggregatorTests extends AggregatorTestCase {
         });
     }
 
+    public void testCountFromPointsWithQueryContainingSegments() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType(FIELD_NAME, NumberFieldMapper.NumberType.INTEGER);
+        debugTestCase(new ValueCountAggregationBuilder("count").field(FIELD_NAME), IntPoint.newRangeQuery(FIELD_NAME, 0, 100), iw -> {
+            for (int i = 0; i < 10; i++) {
+                iw.addDocument(
+                    Arrays.asList(
+                        new IntPoint(FIELD_NAME, i),
+                        new IntPoint(FIELD_NAME, i + 1),
+                        new SortedNumericDocValuesField(FIELD_NAME, i),
+                        new SortedNumericDocValuesField(FIELD_NAME, i + 1)
+                    )
+                );
+            }
+        }, (InternalValueCount count, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            assertEquals(20L, count.getValue());
+            assertMap(
+                debug,
+                matchesMap().entry(
+                    "count",
+                    matchesMap().entry("segments_counted_from_points", greaterThan(0)).entry("segments_collected", 0)
+                )
+            );
+        }, fieldType);
+    }
+
     public void testQueryFiltersAll() throws IOException {
         testAggregation(IntPoint.newRangeQuery("level", -1, 0), ValueType.STRING, iw -> {
             iw.addDocument(Arrays.asList(new IntPoint("level", 3), new SortedDocValuesField(FIELD_NAME, new BytesRef("foo"))));
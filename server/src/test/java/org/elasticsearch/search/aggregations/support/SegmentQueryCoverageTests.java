@@ -0,0 +1,112 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations.support;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public class SegmentQueryCoverageTests extends ESTestCase {
+
+    public void testCollectRequiredClauses() {
+        Query range = LongPoint.newRangeQuery("n", 0, 10);
+        Query term = new TermQuery(new Term("k", "v"));
+
+        assertThat(requiredClauses(new MatchAllDocsQuery()), empty());
+        assertThat(requiredClauses(range), contains(range));
+        assertThat(requiredClauses(new ConstantScoreQuery(new BoostQuery(range, 2f))), contains(range));
+
+        Query conjunction = new BooleanQuery.Builder().add(range, Occur.FILTER)
+            .add(term, Occur.MUST)
+            .add(new MatchAllDocsQuery(), Occur.FILTER)
+            .build();
+        assertThat(requiredClauses(conjunction), contains(range, term));
+
+        Query withOptional = new BooleanQuery.Builder().add(range, Occur.FILTER).add(term, Occur.SHOULD).build();
+        assertThat(requiredClauses(withOptional), contains(range));
+
+        Query withRequiredShould = new BooleanQuery.Builder().add(range, Occur.FILTER)
+            .add(term, Occur.SHOULD)
+            .setMinimumNumberShouldMatch(1)
+            .build();
+        assertThat(requiredClauses(withRequiredShould), contains(withRequiredShould));
+
+        Query withNegation = new BooleanQuery.Builder().add(range, Occur.FILTER).add(term, Occur.MUST_NOT).build();
+        assertThat(requiredClauses(withNegation), contains(withNegation));
+
+        Query disjunction = new BooleanQuery.Builder().add(range, Occur.SHOULD).add(term, Occur.SHOULD).build();
+        assertThat(requiredClauses(disjunction), contains(disjunction));
+    }
+
+    public void testMatchesAllLiveDocs() throws IOException {
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                List<Document> docs = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    Document doc = new Document();
+                    doc.add(new LongPoint("n", i));
+                    doc.add(new StringField("k", "v", Field.Store.NO));
+                    docs.add(doc);
+                }
+                writer.addDocuments(docs);
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                LeafReaderContext ctx = reader.leaves().get(0);
+
+                Query range = LongPoint.newRangeQuery("n", -5, 50);
+                Query term = new TermQuery(new Term("k", "v"));
+                assertTrue(new SegmentQueryCoverage(range, reader).matchesAllLiveDocs(ctx));
+                assertTrue(new SegmentQueryCoverage(term, reader).matchesAllLiveDocs(ctx));
+                assertTrue(
+                    new SegmentQueryCoverage(new BooleanQuery.Builder().add(range, Occur.FILTER).add(term, Occur.FILTER).build(), reader)
+                        .matchesAllLiveDocs(ctx)
+                );
+
+                Query partialRange = LongPoint.newRangeQuery("n", 5, 50);
+                assertFalse(new SegmentQueryCoverage(partialRange, reader).matchesAllLiveDocs(ctx));
+                assertFalse(
+                    new SegmentQueryCoverage(
+                        new BooleanQuery.Builder().add(partialRange, Occur.FILTER).add(term, Occur.FILTER).build(),
+                        reader
+                    ).matchesAllLiveDocs(ctx)
+                );
+                assertFalse(new SegmentQueryCoverage(new TermQuery(new Term("k", "missing")), reader).matchesAllLiveDocs(ctx));
+            }
+        }
+    }
+
+    private static List<Query> requiredClauses(Query query) {
+        List<Query> clauses = new ArrayList<>();
+        SegmentQueryCoverage.collectRequiredClauses(query, clauses);
+        return clauses;
+    }
+}
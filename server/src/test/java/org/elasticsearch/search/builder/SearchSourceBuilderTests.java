@@ -1031,11 +1031,14 @@ public class SearchSourceBuilderTests extends AbstractSearchTestCase {
         {
             SearchSourceBuilder searchSourceBuilder = newSearchSourceBuilder.get();
             searchSourceBuilder.collapse(CollapseBuilderTests.randomCollapseBuilder());
-            assertFalse(searchSourceBuilder.supportsParallelCollection(fieldCardinality));
+            assertEquals(
+                searchSourceBuilder.aggregations() == null || searchSourceBuilder.aggregations().supportsParallelCollection(fieldCardinality),
+                searchSourceBuilder.supportsParallelCollection(fieldCardinality)
+            );
         }
         {
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().collapse(CollapseBuilderTests.randomCollapseBuilder());
-            assertFalse(searchSourceBuilder.supportsParallelCollection(fieldCardinality));
+            assertTrue(searchSourceBuilder.supportsParallelCollection(fieldCardinality));
         }
         {
             SearchSourceBuilder searchSourceBuilder = newSearchSourceBuilder.get();
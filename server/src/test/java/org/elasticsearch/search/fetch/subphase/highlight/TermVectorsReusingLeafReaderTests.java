@@ -0,0 +1,66 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.fetch.subphase.highlight;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.TermVectors;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TermVectorsReusingLeafReaderTests extends ESTestCase {
+
+    public void testReusesTermVectors() throws IOException {
+        FieldType fieldType = new FieldType(TextField.TYPE_STORED);
+        fieldType.setStoreTermVectors(true);
+        fieldType.setStoreTermVectorPositions(true);
+        fieldType.setStoreTermVectorOffsets(true);
+        fieldType.freeze();
+        int numDocs = randomIntBetween(1, 20);
+        try (Directory dir = newDirectory(); RandomIndexWriter writer = new RandomIndexWriter(random(), dir)) {
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                doc.add(new Field("field", "value" + i, fieldType));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = writer.getReader()) {
+                LeafReader leaf = reader.leaves().get(0).reader();
+                TermVectorsReusingLeafReader wrapped = new TermVectorsReusingLeafReader(leaf);
+                TermVectors termVectors = wrapped.termVectors();
+                assertThat(wrapped.termVectors(), sameInstance(termVectors));
+                assertThat(wrapped.getCoreCacheHelper(), sameInstance(leaf.getCoreCacheHelper()));
+                assertThat(wrapped.getReaderCacheHelper(), sameInstance(leaf.getReaderCacheHelper()));
+                TermVectors expected = leaf.termVectors();
+                for (int docId = 0; docId < numDocs; docId++) {
+                    TermsEnum actualTerms = wrapped.termVectors().get(docId, "field").iterator();
+                    TermsEnum expectedTerms = expected.get(docId, "field").iterator();
+                    BytesRef term;
+                    while ((term = expectedTerms.next()) != null) {
+                        assertThat(actualTerms.next(), equalTo(term));
+                    }
+                    assertNull(actualTerms.next());
+                }
+            }
+        }
+    }
+}
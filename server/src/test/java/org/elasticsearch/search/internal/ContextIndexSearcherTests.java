@@ -14,6 +14,7 @@ import org.apache.lucene.codecs.StoredFieldsReader;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.FilterDirectoryReader;
@@ -27,6 +28,8 @@ import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BoostQuery;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.CollectorManager;
@@ -59,6 +62,7 @@ import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.SparseFixedBitSet;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.cluster.metadata.DataStream;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.elasticsearch.common.settings.Settings;
@@ -70,6 +74,7 @@ import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.lucene.util.MatchAllBitSet;
 import org.elasticsearch.search.aggregations.BucketCollector;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.profile.query.QueryProfiler;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.IndexSettingsModule;
 
@@ -77,6 +82,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
@@ -437,6 +443,87 @@ public class ContextIndexSearcherTests extends ESTestCase {
         dir.close();
     }
 
+    public void testTimestampSegmentPruning() throws IOException {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter w = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))
+        ) {
+            for (long start : new long[] { 0, 100, 200 }) {
+                for (long timestamp = start; timestamp < start + 10; timestamp++) {
+                    Document doc = new Document();
+                    doc.add(new LongPoint(DataStream.TIMESTAMP_FIELD_NAME, timestamp));
+                    w.addDocument(doc);
+                }
+                w.flush();
+            }
+            // a segment with a tombstone, which doesn't have a timestamp
+            Document tombstone = new Document();
+            tombstone.add(new StringField("_id", "1", Field.Store.NO));
+            w.addDocument(tombstone);
+            w.flush();
+
+            try (DirectoryReader directoryReader = DirectoryReader.open(w)) {
+                assertThat(directoryReader.leaves().size(), equalTo(4));
+                ContextIndexSearcher searcher = new ContextIndexSearcher(
+                    directoryReader,
+                    IndexSearcher.getDefaultSimilarity(),
+                    IndexSearcher.getDefaultQueryCache(),
+                    IndexSearcher.getDefaultQueryCachingPolicy(),
+                    randomBoolean()
+                );
+                QueryProfiler profiler = new QueryProfiler();
+                searcher.setProfiler(profiler);
+                searcher.setTimestampSegmentPruning(true);
+
+                Query query = new BooleanQuery.Builder().add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newRangeQuery(DataStream.TIMESTAMP_FIELD_NAME, 105, 150), BooleanClause.Occur.FILTER)
+                    .build();
+                Set<Integer> visitedSegments = new HashSet<>();
+                searcher.search(query, new CollectorManager<Collector, Void>() {
+                    @Override
+                    public Collector newCollector() {
+                        return new Collector() {
+                            @Override
+                            public LeafCollector getLeafCollector(LeafReaderContext context) {
+                                visitedSegments.add(context.ord);
+                                return new LeafCollector() {
+                                    @Override
+                                    public void setScorer(Scorable scorer) {}
+
+                                    @Override
+                                    public void collect(int doc) {}
+                                };
+                            }
+
+                            @Override
+                            public ScoreMode scoreMode() {
+                                return ScoreMode.COMPLETE_NO_SCORES;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public Void reduce(Collection<Collector> collectors) {
+                        return null;
+                    }
+                });
+                assertThat(visitedSegments, equalTo(Set.of(1)));
+                assertThat(profiler.getTimestampSkippedSegments(), equalTo(3L));
+                assertThat(searcher.count(query), equalTo(5));
+
+                // ranges that aren't required don't restrict the segments that can match
+                Query optionalRange = new BooleanQuery.Builder().add(new MatchAllDocsQuery(), BooleanClause.Occur.SHOULD)
+                    .add(LongPoint.newRangeQuery(DataStream.TIMESTAMP_FIELD_NAME, 105, 150), BooleanClause.Occur.SHOULD)
+                    .build();
+                assertThat(searcher.count(optionalRange), equalTo(31));
+
+                searcher.setTimestampSegmentPruning(false);
+                assertThat(searcher.count(query), equalTo(5));
+                assertThat(profiler.getTimestampSkippedSegments(), equalTo(6L));
+            }
+        }
+    }
+
     public void testReduceIsCalledOnTimeout() throws IOException {
         try (Directory dir = newDirectory()) {
             indexDocs(dir);
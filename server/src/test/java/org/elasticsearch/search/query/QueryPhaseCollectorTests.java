@@ -1204,6 +1204,60 @@ public class QueryPhaseCollectorTests extends ESTestCase {
         assertTrue(scorer.setMinCompetitiveScoreCalled);
     }
 
+    public void testGlobalMinCompetitiveScoreTopDocsOnly() throws IOException {
+        GlobalMinCompetitiveScore globalMinCompetitiveScore = new GlobalMinCompetitiveScore();
+        globalMinCompetitiveScore.raise(5f);
+        TopScoresCollector topDocs = new TopScoresCollector();
+        Collector queryPhaseCollector = new QueryPhaseCollector(
+            topDocs,
+            null,
+            resolveTerminateAfterChecker(0),
+            null,
+            null,
+            globalMinCompetitiveScore
+        );
+        LeafReaderContext leafReaderContext = searcher.getLeafContexts().get(0);
+        LeafCollector leafCollector = queryPhaseCollector.getLeafCollector(leafReaderContext);
+        MinCompetitiveScoreScorable scorer = new MinCompetitiveScoreScorable();
+        leafCollector.setScorer(scorer);
+        // the global min competitive score only applies once the top docs collector starts skipping hits
+        assertFalse(scorer.setMinCompetitiveScoreCalled);
+        leafCollector.collect(0);
+        assertTrue(scorer.setMinCompetitiveScoreCalled);
+        assertEquals(5f, scorer.minCompetitiveScore, 0f);
+
+        // updates from other shards are picked up while collecting
+        globalMinCompetitiveScore.raise(10f);
+        leafCollector.collect(1);
+        assertEquals(10f, scorer.minCompetitiveScore, 0f);
+
+        // lower values are ignored
+        assertFalse(globalMinCompetitiveScore.raise(7f));
+        leafCollector.collect(2);
+        assertEquals(10f, scorer.minCompetitiveScore, 0f);
+    }
+
+    public void testGlobalMinCompetitiveScoreIsIgnoredWithAggs() throws IOException {
+        GlobalMinCompetitiveScore globalMinCompetitiveScore = new GlobalMinCompetitiveScore();
+        globalMinCompetitiveScore.raise(5f);
+        TopScoresCollector topDocs = new TopScoresCollector();
+        Collector aggs = new MockCollector(randomBoolean() ? ScoreMode.COMPLETE : ScoreMode.COMPLETE_NO_SCORES);
+        Collector queryPhaseCollector = new QueryPhaseCollector(
+            topDocs,
+            null,
+            resolveTerminateAfterChecker(0),
+            aggs,
+            null,
+            globalMinCompetitiveScore
+        );
+        LeafReaderContext leafReaderContext = searcher.getLeafContexts().get(0);
+        LeafCollector leafCollector = queryPhaseCollector.getLeafCollector(leafReaderContext);
+        MinCompetitiveScoreScorable scorer = new MinCompetitiveScoreScorable();
+        leafCollector.setScorer(scorer);
+        leafCollector.collect(0);
+        assertFalse(scorer.setMinCompetitiveScoreCalled);
+    }
+
     public void testSetMinCompetitiveScoreIsDisabledWithAggs() throws IOException {
         Weight filterWeight = null;
         int terminateAfter = 0;
@@ -1462,6 +1516,7 @@ public class QueryPhaseCollectorTests extends ESTestCase {
 
     private static class MinCompetitiveScoreScorable extends Scorable {
         boolean setMinCompetitiveScoreCalled = false;
+        float minCompetitiveScore = Float.NEGATIVE_INFINITY;
 
         @Override
         public float score() throws IOException {
@@ -1471,6 +1526,7 @@ public class QueryPhaseCollectorTests extends ESTestCase {
         @Override
         public void setMinCompetitiveScore(float minScore) {
             setMinCompetitiveScoreCalled = true;
+            minCompetitiveScore = minScore;
         }
     }
 
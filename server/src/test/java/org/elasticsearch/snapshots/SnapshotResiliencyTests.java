@@ -217,6 +217,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -2102,6 +2103,11 @@ public class SnapshotResiliencyTests extends ESTestCase {
                             });
                         }
 
+                        @Override
+                        protected ExecutorService createIndependentAppliersExecutor() {
+                            return null; // run the independent appliers on the deterministic applier thread too
+                        }
+
                         @Override
                         protected void connectToNodesAndWait(ClusterState newClusterState) {
                             connectToNodesAsync(newClusterState, () -> {
@@ -0,0 +1,182 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class InboundFrameAssemblerTests extends ESTestCase {
+
+    private final MockBigArrays.LimitedBreaker breaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofMb(1));
+
+    public void testAssembleInterleavedFrames() {
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, 10, Long.MAX_VALUE);
+        final byte[] first = randomByteArrayOfLength(between(2, 100));
+        final byte[] second = randomByteArrayOfLength(between(2, 100));
+        final int firstSplit = between(1, first.length - 1);
+        final int secondSplit = between(1, second.length - 1);
+
+        receiveFrame(assembler, 1, false, new BytesArray(first, 0, firstSplit));
+        receiveFrame(assembler, 2, false, new BytesArray(second, 0, secondSplit));
+        assertNull(assembler.pollAssembledMessage());
+        assertEquals(2, assembler.partialMessages());
+        assertEquals(firstSplit + secondSplit, assembler.partialBytes());
+        assertEquals(firstSplit + secondSplit, breaker.getUsed());
+
+        // the second response completes first
+        receiveFrame(assembler, 2, true, new BytesArray(second, secondSplit, second.length - secondSplit));
+        receiveFrame(assembler, 1, true, new BytesArray(first, firstSplit, first.length - firstSplit));
+        assertEquals(0, assembler.partialMessages());
+        assertEquals(0, assembler.partialBytes());
+        assertEquals(first.length + second.length, breaker.getUsed());
+
+        try (ReleasableBytesReference assembled = assembler.pollAssembledMessage()) {
+            assertEquals(new BytesArray(second), assembled);
+        }
+        assertEquals(first.length, breaker.getUsed());
+        try (ReleasableBytesReference assembled = assembler.pollAssembledMessage()) {
+            assertEquals(new BytesArray(first), assembled);
+        }
+        assertNull(assembler.pollAssembledMessage());
+        assertEquals(0, breaker.getUsed());
+        assembler.close();
+    }
+
+    public void testSingleFrame() {
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, 10, Long.MAX_VALUE);
+        final BytesArray content = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        receiveFrame(assembler, randomNonNegativeLong(), true, content);
+        try (ReleasableBytesReference assembled = assembler.pollAssembledMessage()) {
+            assertEquals(content, assembled);
+        }
+        assertEquals(0, breaker.getUsed());
+        assembler.close();
+    }
+
+    public void testLimitsNumberOfPartialMessages() {
+        final int maxPartialMessages = between(1, 10);
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, maxPartialMessages, Long.MAX_VALUE);
+        for (int requestId = 0; requestId < maxPartialMessages; requestId++) {
+            receiveFrame(assembler, requestId, false, new BytesArray(randomByteArrayOfLength(10)));
+        }
+        // more frames of the responses that are already being received are fine
+        receiveFrame(assembler, randomIntBetween(0, maxPartialMessages - 1), false, new BytesArray(randomByteArrayOfLength(10)));
+
+        final IllegalStateException e = expectThrows(
+            IllegalStateException.class,
+            () -> assembler.headerReceived(frameHeader(maxPartialMessages, randomBoolean()))
+        );
+        assertThat(e.getMessage(), containsString("closing connection"));
+        assembler.close();
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testLimitsNumberOfPartialBytes() {
+        final int maxPartialBytes = between(10, 100);
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, 10, maxPartialBytes);
+        receiveFrame(assembler, 1, false, new BytesArray(randomByteArrayOfLength(maxPartialBytes - 5)));
+        receiveFrame(assembler, 2, false, new BytesArray(randomByteArrayOfLength(5)));
+
+        assembler.headerReceived(frameHeader(2, true));
+        final AtomicBoolean released = new AtomicBoolean();
+        try (ReleasableBytesReference content = new ReleasableBytesReference(new BytesArray(new byte[1]), () -> released.set(true))) {
+            final IllegalStateException e = expectThrows(IllegalStateException.class, () -> assembler.aggregate(content));
+            assertThat(e.getMessage(), containsString("closing connection"));
+        }
+        // the rejected frame is not retained
+        assertTrue(released.get());
+        assertEquals(maxPartialBytes, breaker.getUsed());
+        assembler.close();
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testTripsCircuitBreaker() {
+        final MockBigArrays.LimitedBreaker smallBreaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofBytes(100));
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> smallBreaker, 10, Long.MAX_VALUE);
+        receiveFrame(assembler, 1, false, new BytesArray(randomByteArrayOfLength(60)));
+
+        assembler.headerReceived(frameHeader(2, false));
+        final AtomicBoolean released = new AtomicBoolean();
+        try (ReleasableBytesReference content = new ReleasableBytesReference(new BytesArray(new byte[60]), () -> released.set(true))) {
+            expectThrows(CircuitBreakingException.class, () -> assembler.aggregate(content));
+        }
+        assertTrue(released.get());
+        assertEquals(60, smallBreaker.getUsed());
+        assembler.close();
+        assertEquals(0, smallBreaker.getUsed());
+    }
+
+    public void testReleasesFramesOnClose() {
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, 10, Long.MAX_VALUE);
+        final AtomicInteger released = new AtomicInteger();
+        for (int requestId = 0; requestId < 3; requestId++) {
+            // the first response is complete but not yet polled, the others are partial
+            assembler.headerReceived(frameHeader(requestId, requestId == 0));
+            try (ReleasableBytesReference content = new ReleasableBytesReference(new BytesArray(new byte[10]), released::incrementAndGet)) {
+                assembler.aggregate(content);
+            }
+            assembler.finishFrame();
+        }
+        assertEquals(0, released.get());
+        assertEquals(30, breaker.getUsed());
+
+        assembler.close();
+        assertEquals(3, released.get());
+        assertEquals(0, breaker.getUsed());
+        expectThrows(IllegalStateException.class, () -> assembler.headerReceived(frameHeader(0, true)));
+    }
+
+    public void testAssembledMessageIsCompositeOfFrames() {
+        final InboundFrameAssembler assembler = new InboundFrameAssembler(() -> breaker, 10, Long.MAX_VALUE);
+        final List<BytesReference> expected = new ArrayList<>();
+        final int frames = between(1, 10);
+        final long requestId = randomNonNegativeLong();
+        for (int i = 0; i < frames; i++) {
+            final BytesArray content = new BytesArray(randomByteArrayOfLength(between(1, 20)));
+            expected.add(content);
+            receiveFrame(assembler, requestId, i == frames - 1, content);
+        }
+        try (ReleasableBytesReference assembled = assembler.pollAssembledMessage()) {
+            assertThat(assembled, equalTo(CompositeBytesReference.of(expected.toArray(new BytesReference[0]))));
+        }
+        assembler.close();
+    }
+
+    private static void receiveFrame(InboundFrameAssembler assembler, long requestId, boolean lastFrame, BytesReference content) {
+        assembler.headerReceived(frameHeader(requestId, lastFrame));
+        try (ReleasableBytesReference releasable = ReleasableBytesReference.wrap(content)) {
+            assembler.aggregate(releasable);
+        }
+        assembler.finishFrame();
+    }
+
+    private static Header frameHeader(long requestId, boolean lastFrame) {
+        byte status = TransportStatus.setFrame(TransportStatus.setResponse((byte) 0));
+        if (lastFrame) {
+            status = TransportStatus.setLastFrame(status);
+        }
+        return new Header(randomInt(), requestId, status, TransportVersion.current());
+    }
+}
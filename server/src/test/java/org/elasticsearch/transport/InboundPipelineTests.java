@@ -17,9 +17,12 @@ import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.breaker.TestCircuitBreaker;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.MockBigArrays;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Releasable;
@@ -32,11 +35,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class InboundPipelineTests extends ESTestCase {
@@ -294,6 +300,218 @@ public class InboundPipelineTests extends ESTestCase {
         }
     }
 
+    public void testAssembleInterleavedResponseFrames() throws IOException {
+        final List<Tuple<Long, String>> actual = new ArrayList<>();
+        final BiConsumer<TcpChannel, InboundMessage> messageHandler = (c, m) -> {
+            assertFalse(m.getHeader().isFrame());
+            try {
+                actual.add(new Tuple<>(m.getHeader().getRequestId(), new TestResponse(m.openOrGetStreamInput()).value));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        };
+        final MockBigArrays.LimitedBreaker breaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofMb(10));
+        final StatsTracker statsTracker = new StatsTracker();
+        final int maxPartialMessages = InboundFrameAssembler.MAX_PARTIAL_MESSAGES;
+        final InboundPipeline pipeline = newFramesPipeline(statsTracker, breaker, maxPartialMessages, messageHandler);
+
+        final TransportVersion version = TransportVersion.current();
+        final int framedResponses = between(2, 5);
+        final List<String> framedValues = new ArrayList<>();
+        final List<List<BytesReference>> frames = new ArrayList<>();
+        for (int requestId = 0; requestId < framedResponses; requestId++) {
+            final String value = randomAlphaOfLength(between(500, 2000));
+            final BytesReference message = serializeResponse(requestId, version, getCompressionScheme(), value);
+            framedValues.add(value);
+            // sometimes the whole response fits into a single, last, frame
+            frames.add(splitIntoFrames(requestId, version, message, between(16, message.length())));
+        }
+
+        // interleave the frames of the responses with each other and with regular responses, so that the responses complete in a
+        // different order than they started in
+        final List<BytesReference> networkMessages = new ArrayList<>();
+        final List<Tuple<Long, String>> expected = new ArrayList<>();
+        final int[] nextFrame = new int[framedResponses];
+        long nextRequestId = framedResponses;
+        int remainingFrames = frames.stream().mapToInt(List::size).sum();
+        while (remainingFrames > 0) {
+            if (randomBoolean()) {
+                final String value = randomAlphaOfLength(between(1, 100));
+                networkMessages.add(serializeResponse(nextRequestId, version, getCompressionScheme(), value));
+                expected.add(new Tuple<>(nextRequestId++, value));
+            }
+            final int requestId = randomValueOtherThanMany(
+                i -> nextFrame[i] == frames.get(i).size(),
+                () -> between(0, framedResponses - 1)
+            );
+            networkMessages.add(frames.get(requestId).get(nextFrame[requestId]++));
+            remainingFrames--;
+            if (nextFrame[requestId] == frames.get(requestId).size()) {
+                expected.add(new Tuple<>((long) requestId, framedValues.get(requestId)));
+            }
+        }
+
+        final BytesReference networkBytes = CompositeBytesReference.of(networkMessages.toArray(new BytesReference[0]));
+        int offset = 0;
+        while (offset < networkBytes.length()) {
+            final int length = Math.min(between(1, 1024), networkBytes.length() - offset);
+            pipeline.handleBytes(new FakeTcpChannel(), new ReleasableBytesReference(networkBytes.slice(offset, length), () -> {}));
+            offset += length;
+        }
+
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), statsTracker.getMessagesReceived());
+        assertEquals(0, breaker.getUsed());
+        pipeline.close();
+    }
+
+    public void testReleaseFramesOnClose() throws IOException {
+        final MockBigArrays.LimitedBreaker breaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofMb(10));
+        final InboundPipeline pipeline = newFramesPipeline(
+            new StatsTracker(),
+            breaker,
+            InboundFrameAssembler.MAX_PARTIAL_MESSAGES,
+            (c, m) -> fail("no response is complete")
+        );
+
+        final TransportVersion version = TransportVersion.current();
+        final AtomicInteger released = new AtomicInteger();
+        final int partialResponses = between(1, 3);
+        int received = 0;
+        for (int requestId = 0; requestId < partialResponses; requestId++) {
+            final BytesReference message = serializeResponse(requestId, version, null, randomAlphaOfLength(between(500, 2000)));
+            final List<BytesReference> frames = splitIntoFrames(requestId, version, message, between(16, message.length() / 2));
+            // all but the last frame
+            for (BytesReference frame : frames.subList(0, frames.size() - 1)) {
+                pipeline.handleBytes(new FakeTcpChannel(), new ReleasableBytesReference(frame, released::incrementAndGet));
+                received++;
+            }
+        }
+        assertThat(breaker.getUsed(), greaterThan(0L));
+
+        pipeline.close();
+        assertEquals(received, released.get());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testTooManyPartialResponsesFailPipeline() throws IOException {
+        final MockBigArrays.LimitedBreaker breaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofMb(10));
+        final int maxPartialMessages = between(1, 5);
+        final InboundPipeline pipeline = newFramesPipeline(
+            new StatsTracker(),
+            breaker,
+            maxPartialMessages,
+            (c, m) -> fail("no response is complete")
+        );
+
+        final TransportVersion version = TransportVersion.current();
+        for (int requestId = 0; requestId <= maxPartialMessages; requestId++) {
+            final BytesReference message = serializeResponse(requestId, version, null, randomAlphaOfLength(1000));
+            final BytesReference firstFrame = splitIntoFrames(requestId, version, message, 100).get(0);
+            final ReleasableBytesReference reference = new ReleasableBytesReference(firstFrame, () -> {});
+            if (requestId < maxPartialMessages) {
+                pipeline.handleBytes(new FakeTcpChannel(), reference);
+            } else {
+                // the exception makes the transport close the channel
+                final IllegalStateException e = expectThrows(
+                    IllegalStateException.class,
+                    () -> pipeline.handleBytes(new FakeTcpChannel(), reference)
+                );
+                assertThat(e.getMessage(), containsString("closing connection"));
+            }
+        }
+
+        pipeline.close();
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testResponseWithoutFrameFlagIsNotAssembled() throws IOException {
+        // nodes before TRANSPORT_RESPONSE_FRAMES never send frames, so their large responses are decoded directly
+        final MockBigArrays.LimitedBreaker breaker = new MockBigArrays.LimitedBreaker("test", ByteSizeValue.ofMb(10));
+        final List<String> actual = new ArrayList<>();
+        final BiConsumer<TcpChannel, InboundMessage> messageHandler = (c, m) -> {
+            assertFalse(m.getHeader().isFrame());
+            // an assembled response would still be accounted for in the breaker while it is handled
+            assertEquals(0, breaker.getUsed());
+            try {
+                actual.add(new TestResponse(m.openOrGetStreamInput()).value);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        };
+        final InboundPipeline pipeline = newFramesPipeline(
+            new StatsTracker(),
+            breaker,
+            InboundFrameAssembler.MAX_PARTIAL_MESSAGES,
+            messageHandler
+        );
+
+        final TransportVersion version = TransportVersionUtils.getPreviousVersion(TransportVersions.TRANSPORT_RESPONSE_FRAMES);
+        final String value = randomAlphaOfLength(between(10_000, 20_000));
+        final BytesReference message = serializeResponse(randomNonNegativeLong(), version, getCompressionScheme(), value);
+        int offset = 0;
+        while (offset < message.length()) {
+            final int length = Math.min(between(1, 1024), message.length() - offset);
+            pipeline.handleBytes(new FakeTcpChannel(), new ReleasableBytesReference(message.slice(offset, length), () -> {}));
+            offset += length;
+        }
+
+        assertEquals(List.of(value), actual);
+        pipeline.close();
+    }
+
+    private InboundPipeline newFramesPipeline(
+        StatsTracker statsTracker,
+        CircuitBreaker breaker,
+        int maxPartialMessages,
+        BiConsumer<TcpChannel, InboundMessage> messageHandler
+    ) {
+        return new InboundPipeline(
+            statsTracker,
+            () -> TimeValue.nsecToMSec(System.nanoTime()),
+            new InboundDecoder(recycler),
+            new InboundAggregator(() -> breaker, (Predicate<String>) action -> true),
+            new InboundFrameAssembler(() -> breaker, maxPartialMessages, Long.MAX_VALUE),
+            messageHandler
+        );
+    }
+
+    private BytesReference serializeResponse(long requestId, TransportVersion version, Compression.Scheme scheme, String value)
+        throws IOException {
+        try (RecyclerBytesStreamOutput streamOutput = new RecyclerBytesStreamOutput(recycler)) {
+            final BytesReference message = OutboundHandler.serialize(
+                OutboundHandler.MessageDirection.RESPONSE,
+                "actionName",
+                requestId,
+                false,
+                version,
+                scheme,
+                new TestResponse(value),
+                threadContext,
+                streamOutput
+            );
+            return new BytesArray(BytesReference.toBytes(message));
+        }
+    }
+
+    private static List<BytesReference> splitIntoFrames(long requestId, TransportVersion version, BytesReference message, int frameSize)
+        throws IOException {
+        final List<BytesReference> frames = new ArrayList<>();
+        int offset = 0;
+        while (offset < message.length()) {
+            final int length = Math.min(frameSize, message.length() - offset);
+            final boolean lastFrame = offset + length == message.length();
+            frames.add(
+                CompositeBytesReference.of(
+                    OutboundHandler.frameHeader(requestId, version, length, lastFrame),
+                    message.slice(offset, length)
+                )
+            );
+            offset += length;
+        }
+        return frames;
+    }
+
     private record MessageData(
         TransportVersion version,
         long requestId,
@@ -12,6 +12,7 @@ package org.elasticsearch.transport;
 import org.apache.logging.log4j.Level;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -28,6 +29,7 @@ import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.network.NetworkAddress;
 import org.elasticsearch.common.transport.TransportAddress;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.AbstractRefCounted;
@@ -55,7 +57,9 @@ import java.util.function.Supplier;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class OutboundHandlerTests extends ESTestCase {
 
@@ -268,6 +272,81 @@ public class OutboundHandlerTests extends ESTestCase {
         assertEquals("header_value", header.getHeaders().v1().get("header"));
     }
 
+    public void testSendLargeResponseInFrames() throws IOException {
+        final int frameSize = between(32, 256);
+        handler.setResponseFrameSize(ByteSizeValue.ofBytes(frameSize));
+        final TransportVersion version = TransportVersion.current();
+        final long requestId = randomLongBetween(0, 300);
+        final String value = randomAlphaOfLength(between(2_000, 10_000));
+        final Compression.Scheme scheme = randomBoolean() ? compressionScheme : null;
+        handler.sendResponse(version, channel, requestId, "large", new TestResponse(value), scheme, false, ResponseStatsConsumer.NONE);
+
+        int frames = 0;
+        boolean sentSmallResponse = false;
+        ActionListener<Void> frameListener;
+        while ((frameListener = channel.getListenerCaptor().getAndSet(null)) != null) {
+            final BytesReference frame = channel.getMessageCaptor().getAndSet(null);
+            assertThat(frame.length(), lessThanOrEqualTo(TcpHeader.HEADER_SIZE + 2 + frameSize));
+            frames++;
+            pipeline.handleBytes(channel, new ReleasableBytesReference(frame, () -> {}));
+            if (sentSmallResponse == false) {
+                assertNull(message.get());
+                // a small response overtakes the remaining frames of the large response
+                handler.sendResponse(
+                    version,
+                    channel,
+                    requestId + 1,
+                    "small",
+                    new TestResponse("small"),
+                    null,
+                    false,
+                    ResponseStatsConsumer.NONE
+                );
+                final ActionListener<Void> smallListener = channel.getListenerCaptor().getAndSet(null);
+                pipeline.handleBytes(channel, new ReleasableBytesReference(channel.getMessageCaptor().getAndSet(null), () -> {}));
+                smallListener.onResponse(null);
+                final Tuple<Header, BytesReference> smallResponse = message.getAndSet(null);
+                assertEquals(requestId + 1, smallResponse.v1().getRequestId());
+                assertEquals("small", new TestResponse(smallResponse.v2().streamInput()).value);
+                sentSmallResponse = true;
+            }
+            frameListener.onResponse(null);
+        }
+        assertThat(frames, greaterThan(1));
+
+        final Tuple<Header, BytesReference> tuple = message.get();
+        final Header header = tuple.v1();
+        assertEquals(requestId, header.getRequestId());
+        assertTrue(header.isResponse());
+        assertFalse(header.isFrame());
+        assertEquals(scheme != null, header.isCompressed());
+        assertEquals(value, new TestResponse(tuple.v2().streamInput()).value);
+    }
+
+    public void testLargeResponseToOlderNodeIsNotSentInFrames() throws IOException {
+        final int frameSize = between(32, 256);
+        handler.setResponseFrameSize(ByteSizeValue.ofBytes(frameSize));
+        final TransportVersion version = TransportVersionUtils.randomVersionBetween(
+            random(),
+            TransportVersions.MINIMUM_COMPATIBLE,
+            TransportVersionUtils.getPreviousVersion(TransportVersions.TRANSPORT_RESPONSE_FRAMES)
+        );
+        final long requestId = randomLongBetween(0, 300);
+        final String value = randomAlphaOfLength(between(2_000, 10_000));
+        handler.sendResponse(version, channel, requestId, "large", new TestResponse(value), null, false, ResponseStatsConsumer.NONE);
+
+        final BytesReference reference = channel.getMessageCaptor().getAndSet(null);
+        assertThat(reference.length(), greaterThan(frameSize));
+        pipeline.handleBytes(channel, new ReleasableBytesReference(reference, () -> {}));
+        channel.getListenerCaptor().getAndSet(null).onResponse(null);
+        assertNull(channel.getListenerCaptor().get());
+
+        final Tuple<Header, BytesReference> tuple = message.get();
+        assertEquals(requestId, tuple.v1().getRequestId());
+        assertFalse(tuple.v1().isFrame());
+        assertEquals(value, new TestResponse(tuple.v2().streamInput()).value);
+    }
+
     public void testErrorResponse() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         TransportVersion version = TransportVersionUtils.randomCompatibleVersion(random());
@@ -10,10 +10,16 @@
 package org.elasticsearch.transport;
 
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.telemetry.InstrumentType;
+import org.elasticsearch.telemetry.Measurement;
+import org.elasticsearch.telemetry.RecordingMeterRegistry;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.xcontent.ToXContentFragment;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 public class TransportActionStatsTests extends ESTestCase {
 
@@ -38,6 +44,48 @@ public class TransportActionStatsTests extends ESTestCase {
             ]}}""", Strings.toString(new TransportActionStats(7, 8, requestSizeHistogram, 11, 12, responseSizeHistogram), false, true));
     }
 
+    public void testToXContentWithCompressionAndTimes() {
+        final var networkThreadTimeHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+        networkThreadTimeHistogram[0] = 3;
+        final var queueTimeHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+        queueTimeHistogram[1] = 2;
+        final var responseSerializationTimeHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+        responseSerializationTimeHistogram[0] = 5;
+
+        assertEquals("""
+            {"requests":{"count":7,"total_size":"8b","total_size_in_bytes":8,"histogram":[],\
+            "compressed":{"count":1,"total_size":"20b","total_size_in_bytes":20,\
+            "total_uncompressed_body_size":"50b","total_uncompressed_body_size_in_bytes":50}},\
+            "responses":{"count":11,"total_size":"12b","total_size_in_bytes":12,"histogram":[]},\
+            "time":{"network_thread_histogram":[{"lt":"1micros","lt_micros":1,"count":3}],\
+            "queue_histogram":[{"ge":"1micros","ge_micros":1,"lt":"2micros","lt_micros":2,"count":2}],\
+            "handling_histogram":[],\
+            "response_serialization_histogram":[{"lt":"1micros","lt_micros":1,"count":5}]}}""",
+            Strings.toString(
+                new TransportActionStats(
+                    7,
+                    8,
+                    new long[29],
+                    11,
+                    12,
+                    new long[29],
+                    1,
+                    20,
+                    50,
+                    0,
+                    0,
+                    0,
+                    networkThreadTimeHistogram,
+                    queueTimeHistogram,
+                    new long[HandlingTimeTracker.BUCKET_COUNT],
+                    responseSerializationTimeHistogram
+                ),
+                false,
+                true
+            )
+        );
+    }
+
     private static void assertHistogram(long[] histogram, String expectedJson) {
         assertEquals(expectedJson, Strings.toString((ToXContentFragment) (builder, params) -> {
             TransportActionStats.histogramToXContent(builder, histogram);
@@ -45,6 +93,32 @@ public class TransportActionStatsTests extends ESTestCase {
         }, false, true));
     }
 
+    public void testSubMillisecondTimes() {
+        final var tracker = new TransportActionStatsTracker();
+        tracker.addQueueTime(0);
+        tracker.addQueueTime(500);
+        tracker.addHandlingTime(3);
+        final var stats = tracker.getStats();
+        // times are recorded in microseconds, so sub-millisecond times don't all end up in the first bucket
+        assertEquals(1, stats.queueTimeHistogram()[0]);
+        assertEquals(1, stats.queueTimeHistogram()[9]);
+        assertEquals(1, stats.handlingTimeHistogram()[2]);
+    }
+
+    public void testMetricsReuseActionAttributes() {
+        final var meterRegistry = new RecordingMeterRegistry();
+        final var metrics = new TransportActionMetrics(meterRegistry);
+        metrics.recordQueueTime("internal:test", 10);
+        metrics.recordQueueTime("internal:test", 20);
+        final List<Measurement> measurements = meterRegistry.getRecorder()
+            .getMeasurements(InstrumentType.LONG_HISTOGRAM, TransportActionMetrics.QUEUE_TIME_HISTOGRAM_NAME);
+        assertEquals(2, measurements.size());
+        assertEquals(10L, measurements.get(0).getLong());
+        assertEquals(20L, measurements.get(1).getLong());
+        assertEquals(Map.of(TransportActionMetrics.ACTION_ATTRIBUTE_NAME, "internal:test"), measurements.get(0).attributes());
+        assertSame(measurements.get(0).attributes(), measurements.get(1).attributes());
+    }
+
     public void testHistogram() {
         final var histogram = new long[29];
 
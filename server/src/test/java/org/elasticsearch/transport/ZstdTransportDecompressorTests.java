@@ -0,0 +1,253 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.nativeaccess.Zstd;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ZstdTransportDecompressorTests extends ESTestCase {
+
+    private final Recycler<BytesRef> recycler = new BytesRefRecycler(new MockPageCacheRecycler(Settings.EMPTY));
+
+    public void testSimpleCompression() throws IOException {
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            byte randomByte = randomByte();
+            try (OutputStream zstdStream = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(output))) {
+                zstdStream.write(randomByte);
+            }
+
+            BytesReference bytes = output.bytes();
+            assertTrue(Compression.Scheme.isZstd(bytes));
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+            int bytesConsumed = decompressor.decompress(bytes);
+            assertEquals(bytes.length(), bytesConsumed);
+            ReleasableBytesReference releasableBytesReference = decompressor.pollDecompressedPage(true);
+            assertEquals(1, releasableBytesReference.length());
+            assertEquals(randomByte, releasableBytesReference.get(0));
+            releasableBytesReference.close();
+        }
+    }
+
+    public void testMultiBlockCompression() throws IOException {
+        int intsToWrite = 200_000;
+        int uncompressedLength = intsToWrite * 4;
+        BytesReference bytes = compressInts(intsToWrite);
+        // the data is mostly repeated, so we should get a compression ratio of at least 50%
+        assertThat(bytes.length(), lessThan(uncompressedLength / 2));
+
+        ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+        int bytesConsumed = decompressor.decompress(bytes);
+        assertEquals(bytes.length(), bytesConsumed);
+        assertDecompressedInts(decompressor, intsToWrite);
+    }
+
+    public void testIncrementalMultiBlockCompression() throws IOException {
+        int intsToWrite = 200_000;
+        BytesReference bytes = compressInts(intsToWrite);
+
+        ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+        int totalConsumed = 0;
+        BytesReference pending = BytesArray.EMPTY;
+        int offset = 0;
+        while (offset < bytes.length()) {
+            int chunk = Math.min(bytes.length() - offset, randomIntBetween(1, 64 * 1024));
+            BytesReference next = CompositeBytesReference.of(pending, bytes.slice(offset, chunk));
+            offset += chunk;
+            int consumed = decompressor.decompress(next);
+            totalConsumed += consumed;
+            pending = next.slice(consumed, next.length() - consumed);
+        }
+        assertEquals(bytes.length(), totalConsumed);
+        assertEquals(0, pending.length());
+        assertDecompressedInts(decompressor, intsToWrite);
+    }
+
+    public void testIncompressibleData() throws IOException {
+        byte[] data = randomByteArrayOfLength(randomIntBetween(1, 300_000));
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (OutputStream zstdStream = Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(output))) {
+                zstdStream.write(data);
+            }
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+            BytesReference bytes = output.bytes();
+            assertEquals(bytes.length(), decompressor.decompress(bytes));
+            List<ReleasableBytesReference> pages = pollAll(decompressor);
+            try {
+                assertThat(BytesReference.toBytes(CompositeBytesReference.of(pages.toArray(BytesReference[]::new))), equalTo(data));
+            } finally {
+                Releasables.close(pages);
+            }
+        }
+    }
+
+    public void testCorruptedBlockHeader() throws IOException {
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            output.write(new byte[] { 'Z', 'S', 'T', '\0' });
+            output.writeInt(ZstdTransportDecompressor.MAX_BLOCK_SIZE + 1);
+            output.writeInt(1);
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+            IllegalStateException e = expectThrows(IllegalStateException.class, () -> decompressor.decompress(output.bytes()));
+            assertThat(e.getMessage(), containsString("invalid decompressedLength"));
+            e = expectThrows(IllegalStateException.class, () -> decompressor.decompress(output.bytes()));
+            assertThat(e.getMessage(), containsString("corrupted"));
+            decompressor.close();
+        }
+    }
+
+    public void testConcurrentStreamsOnSameThread() throws IOException {
+        byte[] first = randomByteArrayOfLength(randomIntBetween(1, 300_000));
+        byte[] second = randomByteArrayOfLength(randomIntBetween(1, 300_000));
+        try (BytesStreamOutput firstOutput = new BytesStreamOutput(); BytesStreamOutput secondOutput = new BytesStreamOutput()) {
+            // the second stream can't use the buffers of the thread, which the first stream holds
+            try (
+                OutputStream firstStream = Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(firstOutput));
+                OutputStream secondStream = Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(secondOutput))
+            ) {
+                firstStream.write(first);
+                secondStream.write(second);
+            }
+            assertThat(decompress(firstOutput.bytes()), equalTo(first));
+            assertThat(decompress(secondOutput.bytes()), equalTo(second));
+        }
+    }
+
+    public void testPooledBuffersAreBounded() {
+        Zstd zstd = Compression.Scheme.zstd();
+        List<ZstdBlockBuffers> acquired = new ArrayList<>();
+        try {
+            for (int i = 0; i <= ZstdBlockBuffers.MAX_POOLED_BUFFERS; i++) {
+                ZstdBlockBuffers buffers = ZstdBlockBuffers.acquire(zstd, randomIntBetween(1, ZstdBlockBuffers.POOLED_BLOCK_SIZE));
+                acquired.add(buffers);
+                assertThat(buffers.uncompressed().buffer().capacity(), greaterThanOrEqualTo(ZstdBlockBuffers.POOLED_BLOCK_SIZE));
+            }
+            // once all pooled buffers are in use, buffers are only allocated temporarily
+            assertFalse(acquired.get(acquired.size() - 1).isPooled());
+            assertThat(ZstdBlockBuffers.pooledBuffers(), equalTo(ZstdBlockBuffers.MAX_POOLED_BUFFERS));
+        } finally {
+            Releasables.close(acquired);
+        }
+
+        try (ZstdBlockBuffers reused = ZstdBlockBuffers.acquire(zstd, randomIntBetween(1, ZstdBlockBuffers.POOLED_BLOCK_SIZE))) {
+            assertTrue(reused.isPooled());
+            assertThat(reused.uncompressed().buffer().position(), equalTo(0));
+            assertThat(reused.compressed().buffer().position(), equalTo(0));
+        }
+        assertThat(ZstdBlockBuffers.pooledBuffers(), equalTo(ZstdBlockBuffers.MAX_POOLED_BUFFERS));
+
+        int largerBlockSize = ZstdTransportDecompressor.MAX_BLOCK_SIZE + randomIntBetween(1, 1024);
+        try (ZstdBlockBuffers larger = ZstdBlockBuffers.acquire(zstd, largerBlockSize)) {
+            assertFalse(larger.isPooled());
+            assertThat(larger.uncompressed().buffer().capacity(), greaterThanOrEqualTo(largerBlockSize));
+            assertThat(larger.compressed().buffer().capacity(), greaterThanOrEqualTo(zstd.compressBound(largerBlockSize)));
+        }
+    }
+
+    public void testZstdSchemeRequiresNativeLibrary() {
+        Settings settings = Settings.builder().put(TransportSettings.TRANSPORT_COMPRESSION_SCHEME.getKey(), "zstd").build();
+        if (Compression.Scheme.zstd() != null) {
+            assertThat(TransportSettings.TRANSPORT_COMPRESSION_SCHEME.get(settings), equalTo(Compression.Scheme.ZSTD));
+        } else {
+            IllegalArgumentException e = expectThrows(
+                IllegalArgumentException.class,
+                () -> TransportSettings.TRANSPORT_COMPRESSION_SCHEME.get(settings)
+            );
+            assertThat(e.getMessage(), containsString("the native zstd library is not available on this node"));
+            IllegalStateException ise = expectThrows(IllegalStateException.class, () -> new ZstdTransportDecompressor(recycler));
+            assertThat(ise.getMessage(), containsString("the native zstd library is not available on this node"));
+        }
+    }
+
+    private byte[] decompress(BytesReference bytes) throws IOException {
+        ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+        assertEquals(bytes.length(), decompressor.decompress(bytes));
+        List<ReleasableBytesReference> pages = pollAll(decompressor);
+        try {
+            return BytesReference.toBytes(CompositeBytesReference.of(pages.toArray(BytesReference[]::new)));
+        } finally {
+            Releasables.close(pages);
+        }
+    }
+
+    private static BytesReference compressInts(int intsToWrite) throws IOException {
+        BytesStreamOutput output = new BytesStreamOutput();
+        try (
+            StreamOutput zstdStream = new OutputStreamStreamOutput(Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(output)))
+        ) {
+            for (int i = 0; i < intsToWrite; ++i) {
+                int lowByte = (i & 0xFF);
+                if (lowByte < 128) {
+                    zstdStream.writeInt(0);
+                } else if (lowByte < 200) {
+                    zstdStream.writeInt(1);
+                } else {
+                    zstdStream.writeInt(i);
+                }
+            }
+        }
+        return output.bytes();
+    }
+
+    private static void assertDecompressedInts(ZstdTransportDecompressor decompressor, int intsToWrite) throws IOException {
+        List<ReleasableBytesReference> pages = pollAll(decompressor);
+        try {
+            BytesReference composite = CompositeBytesReference.of(pages.toArray(BytesReference[]::new));
+            assertEquals(intsToWrite * 4, composite.length());
+            StreamInput streamInput = composite.streamInput();
+            for (int i = 0; i < intsToWrite; ++i) {
+                int lowByte = (i & 0xFF);
+                if (lowByte < 128) {
+                    assertEquals(0, streamInput.readInt());
+                } else if (lowByte < 200) {
+                    assertEquals(1, streamInput.readInt());
+                } else {
+                    assertEquals(i, streamInput.readInt());
+                }
+            }
+        } finally {
+            Releasables.close(pages);
+        }
+    }
+
+    private static List<ReleasableBytesReference> pollAll(ZstdTransportDecompressor decompressor) {
+        List<ReleasableBytesReference> pages = new ArrayList<>();
+        ReleasableBytesReference page;
+        while ((page = decompressor.pollDecompressedPage(true)) != null) {
+            pages.add(page);
+        }
+        return pages;
+    }
+}
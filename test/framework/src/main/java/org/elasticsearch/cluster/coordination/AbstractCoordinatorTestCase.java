@@ -105,6 +105,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -1863,6 +1864,11 @@ public class AbstractCoordinatorTestCase extends ESTestCase {
             }));
         }
 
+        @Override
+        protected ExecutorService createIndependentAppliersExecutor() {
+            return null; // run the independent appliers on the deterministic applier thread too
+        }
+
         @Override
         public void onNewClusterState(String source, Supplier<ClusterState> clusterStateSupplier, ActionListener<Void> listener) {
             if (clusterStateApplyResponse == ClusterStateApplyResponse.HANG) {
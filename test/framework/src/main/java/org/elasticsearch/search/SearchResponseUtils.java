@@ -663,6 +663,7 @@ public enum SearchResponseUtils {
         List<ProfileResult> queryProfileResults = new ArrayList<>();
         long rewriteTime = 0;
         Long vectorOperationsCount = null;
+        Long timestampSkippedSegments = null;
         CollectorResult collector = null;
         while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
             if (token == XContentParser.Token.FIELD_NAME) {
@@ -672,6 +673,8 @@ public enum SearchResponseUtils {
                     rewriteTime = parser.longValue();
                 } else if (QueryProfileShardResult.VECTOR_OPERATIONS_COUNT.equals(currentFieldName)) {
                     vectorOperationsCount = parser.longValue();
+                } else if (QueryProfileShardResult.TIMESTAMP_SKIPPED_SEGMENTS.equals(currentFieldName)) {
+                    timestampSkippedSegments = parser.longValue();
                 } else {
                     parser.skipChildren();
                 }
@@ -691,7 +694,7 @@ public enum SearchResponseUtils {
                 parser.skipChildren();
             }
         }
-        return new QueryProfileShardResult(queryProfileResults, rewriteTime, collector, vectorOperationsCount);
+        return new QueryProfileShardResult(queryProfileResults, rewriteTime, collector, vectorOperationsCount, timestampSkippedSegments);
     }
 
     public static SearchHits parseSearchHits(XContentParser parser) throws IOException {
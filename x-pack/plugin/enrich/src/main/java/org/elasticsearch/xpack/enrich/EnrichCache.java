@@ -9,10 +9,12 @@ package org.elasticsearch.xpack.enrich;
 
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.SubscribableListener;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.FixForMultiProject;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.search.SearchHit;
@@ -23,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
@@ -46,6 +49,9 @@ public final class EnrichCache {
     private static final CacheValue EMPTY_CACHE_VALUE = new CacheValue(List.of(), CacheKey.CACHE_KEY_SIZE);
 
     private final Cache<CacheKey, CacheValue> cache;
+    // the lookups that are being fetched, so that concurrent lookups of the same value wait for the same search instead of each running
+    // their own, which is common when many documents of a bulk request carry the same value
+    private final ConcurrentMap<CacheKey, SubscribableListener<CacheValue>> inFlightLookups = ConcurrentCollections.newConcurrentMap();
     private final LongSupplier relativeNanoTimeProvider;
     private final AtomicLong hitsTimeInNanos = new AtomicLong(0);
     private final AtomicLong missesTimeInNanos = new AtomicLong(0);
@@ -82,7 +88,9 @@ public final class EnrichCache {
 
     /**
      * This method notifies the given listener of the value in this cache for the given search parameters. If there is no value in the cache
-     * for these search parameters, then the new cache value is computed using searchResponseFetcher.
+     * for these search parameters, then the new cache value is computed using searchResponseFetcher, unless the same value is already
+     * being computed for another caller in which case the listener is notified once that computation completes. The listener may thus
+     * be completed in the thread context of another caller, which callers must account for.
      *
      * @param enrichIndex The enrich index from which the results will be retrieved
      * @param lookupValue The value that will be used in the search
@@ -107,15 +115,28 @@ public final class EnrichCache {
             hitsTimeInNanos.addAndGet(cacheRequestTime);
             listener.onResponse(response);
         } else {
+            final SubscribableListener<CacheValue> lookup = new SubscribableListener<>();
+            final SubscribableListener<CacheValue> inFlightLookup = inFlightLookups.putIfAbsent(cacheKey, lookup);
+            if (inFlightLookup != null) {
+                inFlightLookup.addListener(listener.map(cacheValue -> deepCopy(cacheValue.hits, false)));
+                return;
+            }
             final long retrieveStart = relativeNanoTimeProvider.getAsLong();
             searchResponseFetcher.accept(ActionListener.wrap(resp -> {
                 CacheValue cacheValue = toCacheValue(resp);
                 put(cacheKey, cacheValue);
+                inFlightLookups.remove(cacheKey, lookup);
+                lookup.onResponse(cacheValue);
                 List<Map<?, ?>> copy = deepCopy(cacheValue.hits, false);
                 long databaseQueryAndCachePutTime = relativeNanoTimeProvider.getAsLong() - retrieveStart;
                 missesTimeInNanos.addAndGet(cacheRequestTime + databaseQueryAndCachePutTime);
                 listener.onResponse(copy);
-            }, listener::onFailure));
+            }, e -> {
+                inFlightLookups.remove(cacheKey, lookup);
+                // no-op if the waiting lookups were already completed and the failure came from the listener
+                lookup.onFailure(e);
+                listener.onFailure(e);
+            }));
         }
     }
 
@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.enrich;
 
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.support.ContextPreservingActionListener;
 import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.client.internal.OriginSettingClient;
 import org.elasticsearch.cluster.ClusterState;
@@ -146,7 +147,11 @@ final class EnrichProcessorFactory implements Processor.Factory, Consumer<Cluste
                     reqSupplier.get(),
                     searchResponseActionListener
                 ),
-                ActionListener.wrap(resp -> handler.accept(resp, null), e -> handler.accept(null, e))
+                // the result may be delivered by the lookup of another document, possibly from another request, see EnrichCache
+                ContextPreservingActionListener.wrapPreservingContext(
+                    ActionListener.wrap(resp -> handler.accept(resp, null), e -> handler.accept(null, e)),
+                    client.threadPool().getThreadContext()
+                )
             );
         };
     }
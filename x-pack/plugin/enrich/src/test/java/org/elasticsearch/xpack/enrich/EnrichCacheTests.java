@@ -6,6 +6,7 @@
  */
 package org.elasticsearch.xpack.enrich;
 
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.core.TimeValue;
@@ -25,6 +26,7 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.elasticsearch.action.support.ActionTestUtils.assertNoFailureListener;
 import static org.hamcrest.Matchers.equalTo;
@@ -154,6 +156,46 @@ public class EnrichCacheTests extends ESTestCase {
         }
     }
 
+    public void testComputeIfAbsentWaitsForInFlightLookup() {
+        final List<Map<String, ?>> searchResponseMap = List.of(Map.of("key1", "value1"));
+        EnrichCache enrichCache = new EnrichCache(3);
+
+        final AtomicReference<ActionListener<SearchResponse>> inFlightSearch = new AtomicReference<>();
+        final List<List<Map<?, ?>>> responses = new ArrayList<>();
+        enrichCache.computeIfAbsent("policy1-1", "1", 1, inFlightSearch::set, assertNoFailureListener(responses::add));
+        assertThat(inFlightSearch.get(), notNullValue());
+        for (int i = 0; i < 3; i++) {
+            enrichCache.computeIfAbsent("policy1-1", "1", 1, searchResponseActionListener -> {
+                fail("Expected no call to the database because the same lookup is in flight");
+            }, assertNoFailureListener(responses::add));
+        }
+        assertThat(responses.size(), equalTo(0));
+
+        SearchResponse searchResponse = convertToSearchResponse(searchResponseMap);
+        inFlightSearch.get().onResponse(searchResponse);
+        searchResponse.decRef();
+        assertThat(responses.size(), equalTo(4));
+        for (List<Map<?, ?>> response : responses) {
+            assertThat(response, equalTo(searchResponseMap));
+        }
+        // every caller gets its own copy that it can modify
+        assertThat(responses.get(0), not(sameInstance(responses.get(1))));
+
+        // the lookup is done, so failures are not shared with later lookups
+        enrichCache.computeIfAbsent(
+            "policy1-1",
+            "2",
+            1,
+            searchResponseActionListener -> searchResponseActionListener.onFailure(new IllegalStateException("boom")),
+            ActionListener.wrap(r -> fail("expected a failure"), e -> assertThat(e.getMessage(), equalTo("boom")))
+        );
+        enrichCache.computeIfAbsent("policy1-1", "2", 1, searchResponseActionListener -> {
+            SearchResponse response = convertToSearchResponse(searchResponseMap);
+            searchResponseActionListener.onResponse(response);
+            response.decRef();
+        }, assertNoFailureListener(response -> assertThat(response, equalTo(searchResponseMap))));
+    }
+
     private SearchResponse convertToSearchResponse(List<Map<String, ?>> searchResponseList) {
         SearchHit[] hitArray = searchResponseList.stream().map(map -> {
             try {
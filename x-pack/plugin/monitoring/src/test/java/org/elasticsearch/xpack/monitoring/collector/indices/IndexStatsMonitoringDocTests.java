@@ -404,7 +404,12 @@ public class IndexStatsMonitoringDocTests extends BaseFilteredMonitoringDocTestC
             no,
             no,
             no,
-            no
+            no,
+            0,
+            0,
+            0,
+            0,
+            0
         );
         commonStats.getIndexing().add(new IndexingStats(indexingStats));
 
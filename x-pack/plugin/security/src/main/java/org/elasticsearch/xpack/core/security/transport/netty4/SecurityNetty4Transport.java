@@ -13,6 +13,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.Future;
 
@@ -385,6 +386,7 @@ public class SecurityNetty4Transport extends Netty4Transport {
         }
 
         void configure(Bootstrap bootstrap) {
+            final EventLoopGroup group = bootstrap.config().group();
             if (tcpNoDelay != null) {
                 bootstrap.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
             }
@@ -395,29 +397,29 @@ public class SecurityNetty4Transport extends Netty4Transport {
                     // Note that Netty logs a warning if it can't set the option
                     if (tcpKeepIdle != null) {
                         if (tcpKeepIdle >= 0) {
-                            bootstrap.option(OPTION_TCP_KEEP_IDLE, tcpKeepIdle);
+                            bootstrap.option(tcpKeepIdleOption(group), tcpKeepIdle);
                         } else {
-                            bootstrap.option(OPTION_TCP_KEEP_IDLE, null);
+                            bootstrap.option(tcpKeepIdleOption(group), null);
                         }
                     }
                     if (tcpKeepInterval != null) {
                         if (tcpKeepInterval >= 0) {
-                            bootstrap.option(OPTION_TCP_KEEP_INTERVAL, tcpKeepInterval);
+                            bootstrap.option(tcpKeepIntervalOption(group), tcpKeepInterval);
                         } else {
-                            bootstrap.option(OPTION_TCP_KEEP_INTERVAL, null);
+                            bootstrap.option(tcpKeepIntervalOption(group), null);
                         }
                     }
                     if (tcpKeepCount != null) {
                         if (tcpKeepCount >= 0) {
-                            bootstrap.option(OPTION_TCP_KEEP_COUNT, tcpKeepCount);
+                            bootstrap.option(tcpKeepCountOption(group), tcpKeepCount);
                         } else {
-                            bootstrap.option(OPTION_TCP_KEEP_COUNT, null);
+                            bootstrap.option(tcpKeepCountOption(group), null);
                         }
                     }
                 } else {
-                    bootstrap.option(OPTION_TCP_KEEP_IDLE, null);
-                    bootstrap.option(OPTION_TCP_KEEP_INTERVAL, null);
-                    bootstrap.option(OPTION_TCP_KEEP_COUNT, null);
+                    bootstrap.option(tcpKeepIdleOption(group), null);
+                    bootstrap.option(tcpKeepIntervalOption(group), null);
+                    bootstrap.option(tcpKeepCountOption(group), null);
                 }
             }
 
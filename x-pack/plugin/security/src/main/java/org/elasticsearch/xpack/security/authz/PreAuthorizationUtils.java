@@ -44,6 +44,7 @@ public final class PreAuthorizationUtils {
             SearchTransportService.DFS_ACTION_NAME,
             SearchTransportService.QUERY_ACTION_NAME,
             SearchTransportService.QUERY_ID_ACTION_NAME,
+            SearchTransportService.QUERY_MIN_COMPETITIVE_SCORE_ACTION_NAME,
             SearchTransportService.FETCH_ID_ACTION_NAME,
             SearchTransportService.RANK_FEATURE_SHARD_ACTION_NAME,
             SearchTransportService.QUERY_CAN_MATCH_NODE_NAME